@@ -0,0 +1,65 @@
+--
+-- Copyright 2005-2015 The Kuali Foundation
+--
+-- Licensed under the Educational Community License, Version 2.0 (the "License")/
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.opensource.org/licenses/ecl2.php
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+
+
+--
+-- Denormalized searchable attribute index tables.  These are only needed if the
+-- documentSearch.attributeIndex.documentTypes config parameter is set.
+--
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_T
+(
+    DOC_TYP_NM VARCHAR(64) NOT NULL,
+    DOC_HDR_ID VARCHAR(40) NOT NULL,
+    KEY_CD VARCHAR(256) NOT NULL,
+    VAL VARCHAR(2000),
+    INDEX KREW_DOC_HDR_EXT_IDX_TI1 (DOC_TYP_NM, KEY_CD (255), VAL (255), DOC_HDR_ID),
+    INDEX KREW_DOC_HDR_EXT_IDX_TI2 (DOC_HDR_ID)
+) ENGINE InnoDB CHARACTER SET utf8 COLLATE utf8_bin
+/
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_LONG_T
+(
+    DOC_TYP_NM VARCHAR(64) NOT NULL,
+    DOC_HDR_ID VARCHAR(40) NOT NULL,
+    KEY_CD VARCHAR(256) NOT NULL,
+    VAL DECIMAL(22),
+    INDEX KREW_DOC_HDR_EXT_IDX_LONG_TI1 (DOC_TYP_NM, KEY_CD (255), VAL, DOC_HDR_ID),
+    INDEX KREW_DOC_HDR_EXT_IDX_LONG_TI2 (DOC_HDR_ID)
+) ENGINE InnoDB CHARACTER SET utf8 COLLATE utf8_bin
+/
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_FLT_T
+(
+    DOC_TYP_NM VARCHAR(64) NOT NULL,
+    DOC_HDR_ID VARCHAR(40) NOT NULL,
+    KEY_CD VARCHAR(256) NOT NULL,
+    VAL DECIMAL(30,15),
+    INDEX KREW_DOC_HDR_EXT_IDX_FLT_TI1 (DOC_TYP_NM, KEY_CD (255), VAL, DOC_HDR_ID),
+    INDEX KREW_DOC_HDR_EXT_IDX_FLT_TI2 (DOC_HDR_ID)
+) ENGINE InnoDB CHARACTER SET utf8 COLLATE utf8_bin
+/
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_DT_T
+(
+    DOC_TYP_NM VARCHAR(64) NOT NULL,
+    DOC_HDR_ID VARCHAR(40) NOT NULL,
+    KEY_CD VARCHAR(256) NOT NULL,
+    VAL DATETIME,
+    INDEX KREW_DOC_HDR_EXT_IDX_DT_TI1 (DOC_TYP_NM, KEY_CD (255), VAL, DOC_HDR_ID),
+    INDEX KREW_DOC_HDR_EXT_IDX_DT_TI2 (DOC_HDR_ID)
+) ENGINE InnoDB CHARACTER SET utf8 COLLATE utf8_bin
+/
@@ -0,0 +1,29 @@
+--
+-- Copyright 2005-2015 The Kuali Foundation
+--
+-- Licensed under the Educational Community License, Version 2.0 (the "License")/
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.opensource.org/licenses/ecl2.php
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+
+
+--
+-- Action list change stamps.  This table is only needed if the actionList.materializedCounts.enabled
+-- config parameter is set to true.
+--
+
+CREATE TABLE KREW_ACTN_LIST_CHNG_T
+(
+    PRNCPL_ID VARCHAR(40),
+    CHNG_NBR DECIMAL(19) NOT NULL,
+    PRIMARY KEY (PRNCPL_ID)
+) ENGINE InnoDB CHARACTER SET utf8 COLLATE utf8_bin
+/
@@ -0,0 +1,28 @@
+--
+-- Copyright 2005-2015 The Kuali Foundation
+--
+-- Licensed under the Educational Community License, Version 2.0 (the "License")/
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.opensource.org/licenses/ecl2.php
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+
+
+--
+-- Lease owners for KEN and KCB work items.  Records which node claimed a notification or message delivery
+-- so that a claim made with a single conditional update can be read back by the claimant.
+--
+
+ALTER TABLE KREN_NTFCTN_T ADD LEASE_OWNR VARCHAR(40)
+/
+ALTER TABLE KREN_NTFCTN_MSG_DELIV_T ADD LEASE_OWNR VARCHAR(40)
+/
+ALTER TABLE KREN_MSG_DELIV_T ADD LEASE_OWNR VARCHAR(40)
+/
@@ -0,0 +1,81 @@
+--
+-- Copyright 2005-2015 The Kuali Foundation
+--
+-- Licensed under the Educational Community License, Version 2.0 (the "License")/
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.opensource.org/licenses/ecl2.php
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+
+
+--
+-- Denormalized searchable attribute index tables.  These are only needed if the
+-- documentSearch.attributeIndex.documentTypes config parameter is set.
+--
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_T
+(
+    DOC_TYP_NM VARCHAR2(64) NOT NULL,
+    DOC_HDR_ID VARCHAR2(40) NOT NULL,
+    KEY_CD VARCHAR2(256) NOT NULL,
+    VAL VARCHAR2(2000)
+)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_TI1 ON KREW_DOC_HDR_EXT_IDX_T (DOC_TYP_NM, KEY_CD, VAL, DOC_HDR_ID)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_TI2 ON KREW_DOC_HDR_EXT_IDX_T (DOC_HDR_ID)
+/
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_LONG_T
+(
+    DOC_TYP_NM VARCHAR2(64) NOT NULL,
+    DOC_HDR_ID VARCHAR2(40) NOT NULL,
+    KEY_CD VARCHAR2(256) NOT NULL,
+    VAL NUMBER(22)
+)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_LONG_TI1 ON KREW_DOC_HDR_EXT_IDX_LONG_T (DOC_TYP_NM, KEY_CD, VAL, DOC_HDR_ID)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_LONG_TI2 ON KREW_DOC_HDR_EXT_IDX_LONG_T (DOC_HDR_ID)
+/
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_FLT_T
+(
+    DOC_TYP_NM VARCHAR2(64) NOT NULL,
+    DOC_HDR_ID VARCHAR2(40) NOT NULL,
+    KEY_CD VARCHAR2(256) NOT NULL,
+    VAL NUMBER(30,15)
+)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_FLT_TI1 ON KREW_DOC_HDR_EXT_IDX_FLT_T (DOC_TYP_NM, KEY_CD, VAL, DOC_HDR_ID)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_FLT_TI2 ON KREW_DOC_HDR_EXT_IDX_FLT_T (DOC_HDR_ID)
+/
+
+CREATE TABLE KREW_DOC_HDR_EXT_IDX_DT_T
+(
+    DOC_TYP_NM VARCHAR2(64) NOT NULL,
+    DOC_HDR_ID VARCHAR2(40) NOT NULL,
+    KEY_CD VARCHAR2(256) NOT NULL,
+    VAL DATE
+)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_DT_TI1 ON KREW_DOC_HDR_EXT_IDX_DT_T (DOC_TYP_NM, KEY_CD, VAL, DOC_HDR_ID)
+/
+
+CREATE INDEX KREW_DOC_HDR_EXT_IDX_DT_TI2 ON KREW_DOC_HDR_EXT_IDX_DT_T (DOC_HDR_ID)
+/
@@ -0,0 +1,37 @@
+--
+-- Copyright 2005-2015 The Kuali Foundation
+--
+-- Licensed under the Educational Community License, Version 2.0 (the "License")/
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.opensource.org/licenses/ecl2.php
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+--
+
+--
+-- Flattened group membership closure.  This table is only needed if the kim.groupMembershipClosure.enabled
+-- config parameter is set to true.
+--
+
+CREATE TABLE KRIM_GRP_MBR_CLSR_T
+(
+    GRP_ID VARCHAR2(40) NOT NULL,
+    MBR_ID VARCHAR2(40) NOT NULL,
+    MBR_TYP_CD CHAR(1) NOT NULL,
+    ACTV_FRM_DT DATE,
+    ACTV_TO_DT DATE
+)
+/
+
+CREATE INDEX KRIM_GRP_MBR_CLSR_TI1 ON KRIM_GRP_MBR_CLSR_T (MBR_ID, MBR_TYP_CD, GRP_ID)
+/
+
+CREATE INDEX KRIM_GRP_MBR_CLSR_TI2 ON KRIM_GRP_MBR_CLSR_T (GRP_ID, MBR_TYP_CD)
+/
@@ -0,0 +1,37 @@
+--
+-- Copyright 2005-2015 The Kuali Foundation
+--
+-- Licensed under the Educational Community License, Version 2.0 (the "License")/
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.opensource.org/licenses/ecl2.php
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+
+
+--
+-- Service registry change log.  Records the services changed through any registry node so that clients can
+-- synchronize only the changes since their last synchronization regardless of which node they poll.
+--
+
+CREATE TABLE KRSB_SVC_CHG_T
+(
+    CHG_VER NUMBER(19),
+    SVC_DEF_ID VARCHAR2(40) NOT NULL,
+    PRIMARY KEY (CHG_VER)
+)
+/
+CREATE TABLE KRSB_SVC_REG_VER_T
+(
+    REG_VER_ID NUMBER(1),
+    REG_ID VARCHAR2(40) NOT NULL,
+    CHG_VER NUMBER(19) NOT NULL,
+    PRIMARY KEY (REG_VER_ID)
+)
+/
@@ -48,6 +48,8 @@ public final class KRADConstants {
     public static final String KRAD_INITIATED_DOCUMENT_VIEW_NAME = "InitiatedDocumentView";
 
     public static final String KRAD_DICTIONARY_INDEX_POOL_SIZE = "krad.dictionary.indexPoolSize";
+    public static final String KRAD_VIEW_POOL_SIZE_LIMIT = "krad.dictionary.viewPoolSizeLimit";
+    public static final String KRAD_VIEW_POOL_ON_DEMAND = "krad.dictionary.viewPoolOnDemand";
 
     public static final String PARAM_MAINTENANCE_VIEW_MODE = "maintenanceViewMode";
     public static final String PARAM_MAINTENANCE_VIEW_MODE_MAINTENANCE = "maintenance";
@@ -728,6 +730,7 @@ public final class KRADConstants {
         public static final String KRAD_VIEW_LIFECYCLE_MAXTHREADS = "rice.krad.lifecycle.asynchronous.maxThreads";
         public static final String KRAD_VIEW_LIFECYCLE_TIMEOUT = "rice.krad.lifecycle.asynchronous.timeout";
         public static final String KRAD_COPY_DELAY = "rice.krad.copyable.delay";
+        public static final String KRAD_COPY_ON_WRITE = "rice.krad.copyable.copyOnWrite";
         public static final String KRAD_INCLUDE_LESS = "rice.krad.include.less";
         public static final String SCHEMA_PACKAGES = "rice.krad.schema.packages";
     }
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krad.data;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} over the results of a query which holds on to backend resources (such as a database cursor)
+ * until it has been closed.
+ *
+ * <p>Results are read from the backend data store as the iterator is advanced, rather than being loaded into memory
+ * up front. The iterator should always be closed once the caller is done with it, preferably by using it within a
+ * try-with-resources statement.</p>
+ *
+ * @param <T> the type of the results
+ *
+ * @see DataObjectService#findMatchingIterator(Class, org.kuali.rice.core.api.criteria.QueryByCriteria, int)
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+
+    /**
+     * Releases the backend resources held by this iterator. Calling this method more than once has no effect.
+     *
+     * @throws org.springframework.dao.DataAccessException if the resources could not be released
+     */
+    @Override
+    void close();
+
+}
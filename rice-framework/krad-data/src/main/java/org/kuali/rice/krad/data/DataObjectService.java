@@ -15,6 +15,10 @@
  */
 package org.kuali.rice.krad.data;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.QueryResults;
 import org.kuali.rice.krad.data.metadata.MetadataRepository;
@@ -109,6 +113,68 @@ public interface DataObjectService {
      */
     <T> T findUnique(Class<T> type, QueryByCriteria queryByCriteria);
 
+    /**
+     * Executes a query for the given data object, returning an iterator which reads the matching data objects from the
+     * backend data store as it is advanced rather than loading them all into memory.
+     *
+     * <p>Data objects are read from the backend data store {@code fetchSize} at a time. Once a batch has been handed
+     * out, pending changes are flushed and the persistence context is cleared so that the data objects read so far can
+     * be garbage collected. Clearing detaches every data object in the persistence context, not only those returned
+     * by the iterator: data objects the caller loaded earlier in the same transaction are detached as well, and
+     * changes made to detached data objects are only written if they are saved again. Data objects returned from the
+     * iterator should therefore be treated as detached.</p>
+     *
+     * <p>The returned iterator holds on to backend resources and must be closed once the caller is done with it. It
+     * can only be used within the transaction in which it was created.</p>
+     *
+     * @param type the type of the data objects to query
+     * @param queryByCriteria query object, can contain sorting and page request configuration
+     * @param fetchSize the number of data objects to read from the backend data store at a time
+     * @param <T> the data object class type
+     * @return an iterator over the results of the query, will never return null but may return an empty iterator
+     * @throws IllegalArgumentException if {@code type} does not denote a data object type, if the
+     *  {@code queryByCriteria} is null or if {@code fetchSize} is not positive
+     * @throws DataAccessException if data access fails
+     */
+    <T> CloseableIterator<T> findMatchingIterator(Class<T> type, QueryByCriteria queryByCriteria, int fetchSize);
+
+    /**
+     * Executes a query for the given data object, selecting only the given attributes of the matching data objects.
+     *
+     * <p>Each result is a map from the given attribute names to their values, in the order in which the attribute
+     * names were given. Attribute names may be property paths into related data objects.</p>
+     *
+     * @param type the type of the data objects to query
+     * @param queryByCriteria query object, can contain sorting and page request configuration
+     * @param attributeNames the names of the attributes to select, must be non-null and non-empty
+     * @return the results of the query, will never return null but may return empty results
+     * @throws IllegalArgumentException if {@code type} does not denote a data object type, if the
+     *  {@code queryByCriteria} is null or if {@code attributeNames} is null or empty
+     * @throws DataAccessException if data access fails
+     */
+    QueryResults<Map<String, Object>> findMatchingProjection(Class<?> type, QueryByCriteria queryByCriteria,
+            List<String> attributeNames);
+
+    /**
+     * Executes a query for the given data object, selecting only the given attributes of the matching data objects
+     * into new instances of the given projection type.
+     *
+     * <p>The projection type must have a public no-argument constructor, and each attribute name is used as the
+     * property path on the projection type which the attribute value is set on.</p>
+     *
+     * @param type the type of the data objects to query
+     * @param queryByCriteria query object, can contain sorting and page request configuration
+     * @param attributeNames the names of the attributes to select, must be non-null and non-empty
+     * @param projectionType the type of the objects to return the selected attributes in
+     * @param <P> the projection class type
+     * @return the results of the query, will never return null but may return empty results
+     * @throws IllegalArgumentException if {@code type} does not denote a data object type, if the
+     *  {@code queryByCriteria} is null or if {@code attributeNames} is null or empty
+     * @throws DataAccessException if data access fails
+     */
+    <P> QueryResults<P> findMatchingProjection(Class<?> type, QueryByCriteria queryByCriteria,
+            List<String> attributeNames, Class<P> projectionType);
+
     /**
      * Deletes a given data object.
      *
@@ -143,6 +209,19 @@ public interface DataObjectService {
      */
     <T> void deleteAll(Class<T> type);
 
+    /**
+     * Deletes the given data objects, sending the deletes to the backend data store in batches where the backend
+     * persistence technology supports it.
+     *
+     * <p>As with {@link #saveAll(Collection, PersistenceOption...)}, a persistence context is cleared after each batch,
+     * which detaches any data objects loaded earlier in the same transaction.</p>
+     *
+     * @param dataObjects the data objects to delete
+     * @throws IllegalArgumentException if {@code dataObjects} is null or contains an invalid data object
+     * @throws DataAccessException if data access fails
+     */
+    void deleteAll(Collection<?> dataObjects);
+
     /**
      * Saves the given data object, determining whether or not this is a new data object which is being created, or an
      * existing one which should be updated.
@@ -162,6 +241,27 @@ public interface DataObjectService {
      */
 	<T> T save(T dataObject, PersistenceOption... options);
 
+    /**
+     * Saves the given data objects, sending the inserts and updates to the backend data store in batches where the
+     * backend persistence technology supports it.
+     *
+     * <p>This behaves as if {@link #save(Object, PersistenceOption...)} had been called for each data object, except
+     * that outstanding work is flushed to the backend data store after each batch rather than depending on the given
+     * options.  Where the backend persistence technology keeps a persistence context, it is cleared after each batch so
+     * that saving a large collection does not hold every saved data object in memory; the returned data objects, and
+     * any data objects loaded earlier in the same transaction, are then detached.</p>
+     *
+     * @param dataObjects the data objects to save
+     * @param options the options to use when saving the data objects
+     * @param <T> the data object class type
+     * @return the saved data objects, in the same order as the given data objects. Calling code should always use the
+     * references returned from this method for future operations after calling the save since they could have been
+     * updated
+     * @throws IllegalArgumentException if {@code dataObjects} is null or contains an invalid data object
+     * @throws DataAccessException if data access fails
+     */
+    <T> List<T> saveAll(Collection<T> dataObjects, PersistenceOption... options);
+
     /**
      * Flushes any outstanding work to the backend data store.
      *
@@ -17,6 +17,10 @@ package org.kuali.rice.krad.data.jpa;
 
 import org.kuali.rice.core.api.criteria.GenericQueryResults;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.krad.data.CloseableIterator;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Simple interface that abstracts ORM query by criteria and delete logic.
@@ -35,6 +39,30 @@ interface CriteriaQuery {
      */
     <T> GenericQueryResults<T> lookup(final Class<T> queryClass, final QueryByCriteria criteria);
 
+    /**
+     * Looks up a type based on a query criteria, reading the results as the returned iterator is advanced.
+     *
+     * @param queryClass the class to lookup
+     * @param criteria the criteria to lookup against. cannot be null.
+     * @param fetchSize the number of results to read at a time. must be positive.
+     * @param <T> the type that is being looked up.
+     * @return an iterator over the results, which must be closed by the caller. will never be null.
+     * @throws IllegalArgumentException if the criteria is null or the fetch size is not positive
+     */
+    <T> CloseableIterator<T> lookupIterator(final Class<T> queryClass, final QueryByCriteria criteria, int fetchSize);
+
+    /**
+     * Looks up the given attributes of a type based on a query criteria.
+     *
+     * @param queryClass the class to lookup
+     * @param criteria the criteria to lookup against. cannot be null.
+     * @param attributeNames the names of the attributes to select. cannot be null or empty.
+     * @return the results, mapping each attribute name to its value. will never be null.
+     * @throws IllegalArgumentException if the criteria is null or there are no attribute names
+     */
+    GenericQueryResults<Map<String, Object>> lookupProjection(final Class<?> queryClass,
+            final QueryByCriteria criteria, List<String> attributeNames);
+
     /**
      * Deletes all data objects based on the given type.
      *
@@ -18,9 +18,13 @@ package org.kuali.rice.krad.data.jpa;
 import org.kuali.rice.core.api.criteria.CountFlag;
 import org.kuali.rice.core.api.criteria.GenericQueryResults;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.krad.data.CloseableIterator;
 
 import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base class for QueryByCriteria lookups and deletes for JPA PersistenceProvider implementations.
@@ -68,6 +72,16 @@ abstract class DataObjectCriteriaQueryBase<C, Q> implements CriteriaQuery {
      */
     protected abstract <T> List<T> getResults(Q query);
 
+    /**
+     * Gets an iterator which reads the results from the given query as it is advanced.
+     *
+     * @param query the query to use to get the results.
+     * @param fetchSize the number of results to read at a time.
+     * @param <T> the type of results to return.
+     * @return an iterator over the results from the given query.
+     */
+    protected abstract <T> CloseableIterator<T> getResultIterator(Q query, int fetchSize);
+
     /**
      * Executes the given query.
      *
@@ -135,6 +149,86 @@ abstract class DataObjectCriteriaQueryBase<C, Q> implements CriteriaQuery {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> CloseableIterator<T> lookupIterator(Class<T> queryClass, QueryByCriteria criteria, int fetchSize) {
+        if (queryClass == null) {
+            throw new IllegalArgumentException("queryClass is null");
+        }
+
+        if (criteria == null) {
+            throw new IllegalArgumentException("criteria is null");
+        }
+
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be at least 1");
+        }
+
+        final C parent = getQueryTranslator().translateCriteria(queryClass, criteria);
+        final Q query = getQueryTranslator().createQuery(queryClass, parent);
+        getQueryTranslator().convertQueryFlags(criteria, query);
+
+        return getResultIterator(query, fetchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GenericQueryResults<Map<String, Object>> lookupProjection(Class<?> queryClass, QueryByCriteria criteria,
+            List<String> attributeNames) {
+        if (queryClass == null) {
+            throw new IllegalArgumentException("queryClass is null");
+        }
+
+        if (criteria == null) {
+            throw new IllegalArgumentException("criteria is null");
+        }
+
+        if (attributeNames == null || attributeNames.isEmpty()) {
+            throw new IllegalArgumentException("attributeNames is null or empty");
+        }
+
+        final GenericQueryResults.Builder<Map<String, Object>> results =
+                GenericQueryResults.Builder.<Map<String, Object>>create();
+
+        if (criteria.getCountFlag() == CountFlag.ONLY) {
+            final C parent = getQueryTranslator().translateCriteria(queryClass, criteria);
+            results.setTotalRowCount(getRowCount(getQueryTranslator().createQuery(queryClass, parent)));
+            return results.build();
+        }
+
+        final C parent = getQueryTranslator().translateProjectionCriteria(queryClass, criteria);
+        final Q query = getQueryTranslator().createProjectionQuery(queryClass, parent, attributeNames);
+        getQueryTranslator().convertQueryFlags(criteria, query);
+
+        final List<Object> rows = getResults(query);
+        if (criteria.getCountFlag() == CountFlag.INCLUDE) {
+            results.setTotalRowCount(getIncludedRowCount(query, rows));
+        }
+
+        if (criteria.getMaxResults() != null && rows.size() > criteria.getMaxResults()) {
+            results.setMoreResultsAvailable(true);
+            //remove the extra row that was returned
+            rows.remove(criteria.getMaxResults().intValue());
+        }
+
+        final List<Map<String, Object>> projections = new ArrayList<Map<String, Object>>(rows.size());
+        for (Object row : rows) {
+            final Object[] values = row instanceof Object[] ? (Object[]) row : new Object[] {row};
+            final Map<String, Object> projection = new LinkedHashMap<String, Object>();
+            for (int i = 0; i < attributeNames.size(); i++) {
+                projection.put(attributeNames.get(i), values[i]);
+            }
+            projections.add(projection);
+        }
+
+        results.setResults(projections);
+        return results.build();
+    }
+
     /**
      * Gets results where the actual rows are requested.
      *
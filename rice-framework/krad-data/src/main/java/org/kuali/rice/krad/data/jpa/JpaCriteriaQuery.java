@@ -15,10 +15,16 @@
  */
 package org.kuali.rice.krad.data.jpa;
 
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.queries.CursoredStream;
+import org.kuali.rice.krad.data.CloseableIterator;
+
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * JPA specialization of DataObjectCriteriaQuery.
@@ -32,6 +38,11 @@ class JpaCriteriaQuery extends DataObjectCriteriaQueryBase<NativeJpaQueryTransla
      */
     protected QueryTranslator<NativeJpaQueryTranslator.TranslationContext, TypedQuery> queryTranslator;
 
+    /**
+     * The entity manager used in interacting with the database.
+     */
+    protected EntityManager entityManager;
+
     /**
      * Creates a new JPA-specific criteria query.
      *
@@ -39,6 +50,7 @@ class JpaCriteriaQuery extends DataObjectCriteriaQueryBase<NativeJpaQueryTransla
      */
     public JpaCriteriaQuery(EntityManager em) {
         this.queryTranslator = new NativeJpaQueryTranslator(em);
+        this.entityManager = em;
     }
 
     /**
@@ -58,6 +70,19 @@ class JpaCriteriaQuery extends DataObjectCriteriaQueryBase<NativeJpaQueryTransla
         return query.getResultList();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The results are read through an EclipseLink cursor, {@code fetchSize} rows at a time.</p>
+     */
+    @Override
+    protected <T> CloseableIterator<T> getResultIterator(TypedQuery query, int fetchSize) {
+        query.setHint(QueryHints.CURSOR, HintValues.TRUE);
+        query.setHint(QueryHints.CURSOR_PAGE_SIZE, fetchSize);
+        query.setHint(QueryHints.JDBC_FETCH_SIZE, fetchSize);
+        return new CursorIterator<T>(entityManager, (CursoredStream) query.getSingleResult(), fetchSize);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -82,4 +107,64 @@ class JpaCriteriaQuery extends DataObjectCriteriaQueryBase<NativeJpaQueryTransla
     public int getIncludedRowCount(TypedQuery query, List rows) {
         return rows.size();
     }
+
+    /**
+     * Iterates over the results of an EclipseLink cursor, clearing the persistence context each time another
+     * {@code fetchSize} results have been handed out so that they can be garbage collected.
+     *
+     * <p>The persistence context is flushed before it is cleared so that no pending changes are lost, but every
+     * entity it manages is detached, including those the caller loaded before the iterator was created.</p>
+     *
+     * @param <T> the type of the results.
+     */
+    private static class CursorIterator<T> implements CloseableIterator<T> {
+
+        private final EntityManager entityManager;
+        private final CursoredStream cursor;
+        private final int fetchSize;
+        private int count;
+        private boolean closed;
+
+        CursorIterator(EntityManager entityManager, CursoredStream cursor, int fetchSize) {
+            this.entityManager = entityManager;
+            this.cursor = cursor;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !closed && cursor.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            if (count > 0 && count % fetchSize == 0) {
+                cursor.clear();
+                // write pending changes first, clearing would silently discard them
+                entityManager.flush();
+                entityManager.clear();
+            }
+            count++;
+
+            return (T) cursor.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove is not supported");
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                cursor.close();
+            }
+        }
+    }
 }
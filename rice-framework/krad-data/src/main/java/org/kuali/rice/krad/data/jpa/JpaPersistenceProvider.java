@@ -16,8 +16,10 @@
 package org.kuali.rice.krad.data.jpa;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -38,6 +40,7 @@ import org.kuali.rice.core.api.criteria.QueryResults;
 import org.kuali.rice.core.api.exception.RiceRuntimeException;
 import org.kuali.rice.core.api.mo.common.GloballyUnique;
 import org.kuali.rice.core.api.mo.common.Versioned;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.data.CompoundKey;
 import org.kuali.rice.krad.data.CopyOption;
 import org.kuali.rice.krad.data.DataObjectService;
@@ -59,6 +62,7 @@ import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
 import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.google.common.collect.Sets;
 
@@ -96,6 +100,21 @@ public class JpaPersistenceProvider implements PersistenceProvider, BeanFactoryA
      */
     public static final String AUTO_FLUSH = "rice.krad.data.jpa.autoFlush";
 
+    /**
+     * Indicates the number of data objects to save or delete between each {@code EntityManager} flush when calling
+     * {@link #saveAll(Collection, PersistenceOption...)} or {@link #deleteAll(Collection)}.
+     *
+     * <p>JDBC batch writing is off by default, since it applies to every flush of the persistence unit. When it is
+     * enabled (e.g. {@code rice.krad.jpa.global.eclipselink.jdbc.batch-writing=JDBC}), this should match the batch
+     * writing size of the persistence unit, so that each flush is sent to the database as a single JDBC batch.</p>
+     */
+    public static final String BATCH_SIZE = "rice.krad.data.jpa.batchSize";
+
+    /**
+     * The batch size used when {@link #BATCH_SIZE} is not configured.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
     private EntityManager sharedEntityManager;
     private DataObjectService dataObjectService;
 
@@ -108,6 +127,8 @@ public class JpaPersistenceProvider implements PersistenceProvider, BeanFactoryA
      */
     private static final class LazyConfigHolder {
         private static final boolean autoFlush = ConfigContext.getCurrentContextConfig().getBooleanProperty(AUTO_FLUSH, false);
+        private static final int batchSize = (int) Math.max(1, ConfigContext.getCurrentContextConfig()
+                .getNumericProperty(BATCH_SIZE, DEFAULT_BATCH_SIZE));
     }
 
     /**
@@ -204,24 +225,61 @@ public class JpaPersistenceProvider implements PersistenceProvider, BeanFactoryA
 					sharedEntityManager.flush();
                 }
 
-				if (sharedEntityManager.getEntityManagerFactory().getCache() != null) {
-					try {
-						Object dataObjectKey = sharedEntityManager.getEntityManagerFactory().getPersistenceUnitUtil()
-								.getIdentifier(mergedDataObject);
-						if (dataObjectKey != null) {
-							sharedEntityManager.getEntityManagerFactory().getCache()
-									.evict(dataObject.getClass(), dataObjectKey);
-						}
-					} catch (PersistenceException ex) {
-						// JPA fails if it can't create the key field classes - we just need to catch and ignore here
-					}
-				}
+				evictFromCache(dataObject.getClass(), mergedDataObject);
 
                 return mergedDataObject;
             }
         });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The data objects are merged {@link #BATCH_SIZE} at a time, flushing and then clearing the {@code EntityManager}
+     * after each batch so that the persistence context does not grow with the size of the collection. The returned
+     * data objects, and any other data objects loaded earlier in the transaction, are therefore detached. When JDBC
+     * batch writing is enabled for the persistence unit, each flush is sent to the database as a single JDBC batch.
+     * The time taken by each batch is logged at debug level.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public <T> List<T> saveAll(final Collection<T> dataObjects, final PersistenceOption... options) {
+        if (dataObjects == null) {
+            throw new IllegalArgumentException("dataObjects is null");
+        }
+
+        return doWithExceptionTranslation(new Callable<List<T>>() {
+            @Override
+            public List<T> call() {
+                List<T> mergedDataObjects = new ArrayList<T>(dataObjects.size());
+                int batchSize = getBatchSize();
+                long batchStartTime = System.currentTimeMillis();
+
+                for (T dataObject : dataObjects) {
+                    verifyDataObjectWritable(dataObject);
+                    mergedDataObjects.add(sharedEntityManager.merge(dataObject));
+
+                    if (mergedDataObjects.size() % batchSize == 0) {
+                        flushBatch("save", mergedDataObjects.size(), batchStartTime);
+                        batchStartTime = System.currentTimeMillis();
+                    }
+                }
+
+                if (mergedDataObjects.size() % batchSize != 0) {
+                    flushBatch("save", mergedDataObjects.size(), batchStartTime);
+                }
+
+                for (T mergedDataObject : mergedDataObjects) {
+                    evictFromCache(mergedDataObject.getClass(), mergedDataObject);
+                }
+
+                return mergedDataObjects;
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -277,6 +335,45 @@ public class JpaPersistenceProvider implements PersistenceProvider, BeanFactoryA
         });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The shared entity manager is only held open for the duration of a transaction, so this method must be called
+     * within an existing transaction which stays open while the returned iterator is in use.
+     * </p>
+     */
+    @Override
+    public <T> CloseableIterator<T> findMatchingIterator(final Class<T> type, final QueryByCriteria queryByCriteria,
+            final int fetchSize) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("findMatchingIterator must be called within an active transaction");
+        }
+
+        return doWithExceptionTranslation(new Callable<CloseableIterator<T>>() {
+            @Override
+            public CloseableIterator<T> call() {
+                return new JpaCriteriaQuery(sharedEntityManager).lookupIterator(type, queryByCriteria, fetchSize);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResults<Map<String, Object>> findMatchingProjection(final Class<?> type,
+            final QueryByCriteria queryByCriteria, final List<String> attributeNames) {
+        return doWithExceptionTranslation(new Callable<QueryResults<Map<String, Object>>>() {
+            @Override
+            public QueryResults<Map<String, Object>> call() {
+                return new JpaCriteriaQuery(sharedEntityManager).lookupProjection(type, queryByCriteria,
+                        attributeNames);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -289,18 +386,7 @@ public class JpaPersistenceProvider implements PersistenceProvider, BeanFactoryA
                 verifyDataObjectWritable(dataObject);
 				// If the L2 cache is enabled, the item will still be served from the cache
 				// So, we need to flush that as well for the given type and key
-				if (sharedEntityManager.getEntityManagerFactory().getCache() != null) {
-					try {
-						Object dataObjectKey = sharedEntityManager.getEntityManagerFactory().getPersistenceUnitUtil()
-								.getIdentifier(dataObject);
-						if (dataObjectKey != null) {
-							sharedEntityManager.getEntityManagerFactory().getCache()
-									.evict(dataObject.getClass(), dataObjectKey);
-						}
-					} catch (PersistenceException ex) {
-						// JPA fails if it can't create the key field classes - we just need to catch and ignore here
-					}
-				}
+				evictFromCache(dataObject.getClass(), dataObject);
 				Object mergedDataObject = sharedEntityManager.merge(dataObject);
 				sharedEntityManager.remove(mergedDataObject);
                 return null;
@@ -308,6 +394,100 @@ public class JpaPersistenceProvider implements PersistenceProvider, BeanFactoryA
         });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The data objects are removed {@link #BATCH_SIZE} at a time, flushing and then clearing the {@code EntityManager}
+     * after each batch, which detaches any data objects loaded earlier in the transaction. When JDBC batch writing is
+     * enabled for the persistence unit, each flush is sent to the database as a single JDBC batch. The time taken by
+     * each batch is logged at debug level.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public void deleteAll(final Collection<?> dataObjects) {
+        if (dataObjects == null) {
+            throw new IllegalArgumentException("dataObjects is null");
+        }
+
+        doWithExceptionTranslation(new Callable<Object>() {
+            @Override
+            public Object call() {
+                int batchSize = getBatchSize();
+                int count = 0;
+                long batchStartTime = System.currentTimeMillis();
+
+                for (Object dataObject : dataObjects) {
+                    verifyDataObjectWritable(dataObject);
+                    // If the L2 cache is enabled, the item will still be served from the cache
+                    // So, we need to flush that as well for the given type and key
+                    evictFromCache(dataObject.getClass(), dataObject);
+                    sharedEntityManager.remove(sharedEntityManager.merge(dataObject));
+
+                    if (++count % batchSize == 0) {
+                        flushBatch("delete", count, batchStartTime);
+                        batchStartTime = System.currentTimeMillis();
+                    }
+                }
+
+                if (count % batchSize != 0) {
+                    flushBatch("delete", count, batchStartTime);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Evicts the given data object from the second level cache, if it is enabled.
+     *
+     * @param type the type of the data object to evict.
+     * @param dataObject the data object whose identifier to evict.
+     */
+    protected void evictFromCache(Class<?> type, Object dataObject) {
+        if (sharedEntityManager.getEntityManagerFactory().getCache() != null) {
+            try {
+                Object dataObjectKey = sharedEntityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+                        .getIdentifier(dataObject);
+                if (dataObjectKey != null) {
+                    sharedEntityManager.getEntityManagerFactory().getCache().evict(type, dataObjectKey);
+                }
+            } catch (PersistenceException ex) {
+                // JPA fails if it can't create the key field classes - we just need to catch and ignore here
+            }
+        }
+    }
+
+    /**
+     * Returns the number of data objects to save or delete between each {@code EntityManager} flush.
+     *
+     * @return the configured {@link #BATCH_SIZE}, or {@link #DEFAULT_BATCH_SIZE} if it is not configured.
+     */
+    protected int getBatchSize() {
+        return LazyConfigHolder.batchSize;
+    }
+
+    /**
+     * Flushes the batch of work which ends with the data object at the given position, logging the time taken, and
+     * then clears the persistence context so that the data objects of the batch can be garbage collected.
+     *
+     * @param operation the name of the operation performed on the batch, used for logging.
+     * @param count the number of data objects processed so far, including this batch.
+     * @param batchStartTime the time at which the batch was started.
+     */
+    protected void flushBatch(String operation, int count, long batchStartTime) {
+        sharedEntityManager.flush();
+        sharedEntityManager.clear();
+        if (LOG.isDebugEnabled()) {
+            int batchSize = getBatchSize();
+            int batchNumber = (count - 1) / batchSize + 1;
+            LOG.debug("Flushed " + operation + " batch " + batchNumber + " (" + (count - (batchNumber - 1) * batchSize)
+                    + " data objects, " + count + " total) in " + (System.currentTimeMillis() - batchStartTime)
+                    + "ms");
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
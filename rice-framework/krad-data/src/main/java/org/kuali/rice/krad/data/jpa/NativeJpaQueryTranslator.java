@@ -29,6 +29,7 @@ import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import javax.persistence.criteria.Subquery;
 
 import org.apache.commons.lang.StringUtils;
@@ -108,6 +109,19 @@ class NativeJpaQueryTranslator extends QueryTranslatorBase<NativeJpaQueryTransla
             root = query.from(query.getResultType());
         }
 
+        /**
+         * Creates a new criteria parsing context for a query which selects individual attributes of the query type.
+         *
+         * @param entityManager the entity manager to use for interacting with the database.
+         * @param queryClass the type of the query.
+         * @param resultClass the type of the results of the query.
+         */
+        TranslationContext(EntityManager entityManager, Class queryClass, Class resultClass) {
+            builder = entityManager.getCriteriaBuilder();
+            query = builder.createQuery(resultClass);
+            root = query.from(queryClass);
+        }
+
         /**
          * 
          * Creates a new criteria parsing context for an inner subquery.  The parent context is stored
@@ -285,6 +299,25 @@ class NativeJpaQueryTranslator extends QueryTranslatorBase<NativeJpaQueryTransla
         return entityManager.createQuery(jpaQuery);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery createProjectionQuery(Class queryClazz, TranslationContext criteria,
+            List<String> attributeNames) {
+        List<Selection<?>> selections = new ArrayList<Selection<?>>(attributeNames.size());
+        for (String attributeName : attributeNames) {
+            selections.add(criteria.attr(attributeName));
+        }
+
+        CriteriaQuery jpaQuery = criteria.query.multiselect(selections);
+        // it is important to not create an empty or predicate
+        if (!criteria.predicates.isEmpty()) {
+            jpaQuery = jpaQuery.where(criteria.getCriteriaPredicate());
+        }
+        return entityManager.createQuery(jpaQuery);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -307,6 +340,14 @@ class NativeJpaQueryTranslator extends QueryTranslatorBase<NativeJpaQueryTransla
         return new TranslationContext(entityManager, queryClazz);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected TranslationContext createProjectionCriteria(Class queryClazz) {
+        return new TranslationContext(entityManager, queryClazz, Object[].class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -42,6 +42,8 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  *   &#064;PortableSequenceGenerator(name="EMP_SEQ")
  *
  *   &#064;PortableSequenceGenerator(name="EMP_SEQ", sequenceName="EMP_SEQ", initialValue = 1)
+ *
+ *   &#064;PortableSequenceGenerator(name="EMP_SEQ", sequenceName="EMP_SEQ", allocationSize = 50)
  * </pre>
  *
  * <p>
@@ -86,4 +88,19 @@ public @interface PortableSequenceGenerator {
      */
     int initialValue() default 1000;
 
+    /**
+     * (Optional) The number of primary key values to preallocate from each value obtained from the sequence.
+     *
+     * <p>
+     * When greater than one, each value obtained from the sequence is treated as the first of a block of
+     * {@code allocationSize} values which are handed out without returning to the database, which avoids a round trip
+     * per inserted row when many data objects are saved at once. The sequence (or the emulated sequence on platforms
+     * without native sequence support) must therefore be incremented by {@code allocationSize}, otherwise the blocks
+     * handed out by different sessions will overlap.
+     * </p>
+     *
+     * @return the number of primary key values to preallocate.
+     */
+    int allocationSize() default 1;
+
 }
@@ -19,6 +19,7 @@ import org.kuali.rice.core.api.criteria.Predicate;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 
 import javax.persistence.Query;
+import java.util.List;
 
 /**
  * Translates queries from generic API classes to platform-specific concrete classes.
@@ -36,6 +37,16 @@ interface QueryTranslator<C, Q> {
      */
     C translateCriteria(Class queryClazz, QueryByCriteria criteria);
 
+    /**
+     * Translates the given {@link org.kuali.rice.core.api.criteria.QueryByCriteria} to a platform-specific criteria
+     * for a query which selects individual attributes rather than whole data objects.
+     *
+     * @param queryClazz the type of the query.
+     * @param criteria the {@link org.kuali.rice.core.api.criteria.QueryByCriteria} to translate.
+     * @return a projection criteria for the given {@link org.kuali.rice.core.api.criteria.QueryByCriteria}.
+     */
+    C translateProjectionCriteria(Class queryClazz, QueryByCriteria criteria);
+
     /**
      * Creates a query from the given criteria.
      *
@@ -45,6 +56,17 @@ interface QueryTranslator<C, Q> {
      */
     Q createQuery(Class queryClazz, C criteria);
 
+    /**
+     * Creates a query from the given projection criteria which selects the given attributes, returning each result
+     * as an array of attribute values in the order of the given attribute names.
+     *
+     * @param queryClazz the type of the query.
+     * @param criteria the projection criteria to translate.
+     * @param attributeNames the names of the attributes to select.
+     * @return a query from the given criteria.
+     */
+    Q createProjectionQuery(Class queryClazz, C criteria, List<String> attributeNames);
+
     /**
      * Creates a query to delete records from the given criteria
      * @param queryClass the type of the query
@@ -76,6 +76,14 @@ abstract class QueryTranslatorBase<C, Q> implements QueryTranslator<C, Q> {
      */
 	protected abstract C createCriteria(Class entityClass);
 
+    /**
+     * Creates a criteria from the given type for a query which selects individual attributes.
+     *
+     * @param entityClass the type to create the criteria from.
+     * @return a projection criteria created from the given type.
+     */
+    protected abstract C createProjectionCriteria(Class entityClass);
+
 	/**
 	 * Creates a new criteria parsing context from the given type for an inner subquery. The parent context is stored to
 	 * allow references between the inner and outer queries.
@@ -332,8 +340,25 @@ abstract class QueryTranslatorBase<C, Q> implements QueryTranslator<C, Q> {
      */
     @Override
     public C translateCriteria(Class queryClazz, QueryByCriteria qbc) {
-        final C parent = createCriteria(queryClazz);
+        return translateCriteria(createCriteria(queryClazz), qbc);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public C translateProjectionCriteria(Class queryClazz, QueryByCriteria qbc) {
+        return translateCriteria(createProjectionCriteria(queryClazz), qbc);
+    }
+
+    /**
+     * Adds the predicate and order by fields of the given {@link QueryByCriteria} to the given criteria.
+     *
+     * @param parent the criteria to add to.
+     * @param qbc the {@link QueryByCriteria} to translate.
+     * @return the given criteria.
+     */
+    protected C translateCriteria(C parent, QueryByCriteria qbc) {
         if (qbc.getPredicate() != null) {
             addPredicate(qbc.getPredicate(), parent);
         }
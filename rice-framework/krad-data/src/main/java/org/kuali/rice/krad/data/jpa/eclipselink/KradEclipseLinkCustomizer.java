@@ -316,7 +316,7 @@ public class KradEclipseLinkCustomizer implements SessionCustomizer {
     /**
      * Translates our {@link PortableSequenceGenerator} into an EclipseLink {@link Sequence}.
      */
-    private static final class MaxValueIncrementerSequenceWrapper extends Sequence {
+    static final class MaxValueIncrementerSequenceWrapper extends Sequence {
 
         private static final long serialVersionUID = 2375805962996574386L;
 
@@ -328,7 +328,7 @@ public class KradEclipseLinkCustomizer implements SessionCustomizer {
          * @param sequenceGenerator the {@link PortableSequenceGenerator} to process.
          */
         MaxValueIncrementerSequenceWrapper(PortableSequenceGenerator sequenceGenerator) {
-            super(sequenceGenerator.name(), 0);
+            super(sequenceGenerator.name(), Math.max(1, sequenceGenerator.allocationSize()));
             // default sequenceName to the name of the sequence generator if the sequence name was not provided
             if (StringUtils.isBlank(sequenceGenerator.sequenceName())) {
                 sequenceName = sequenceGenerator.name();
@@ -358,7 +358,7 @@ public class KradEclipseLinkCustomizer implements SessionCustomizer {
          */
         @Override
         public boolean shouldUsePreallocation() {
-            return false;
+            return getPreallocationSize() > 1;
         }
 
         /**
@@ -377,8 +377,19 @@ public class KradEclipseLinkCustomizer implements SessionCustomizer {
          */
         @Override
         public Vector<?> getGeneratedVector(Accessor accessor, AbstractSession writeSession, String seqName, int size) {
-            // we're not in the business of pre-fetching/allocating ids
-            throw new UnsupportedOperationException(getClass().getName() + " does pre-generate sequence ids");
+            if (!shouldUsePreallocation()) {
+                // we're not in the business of pre-fetching/allocating ids
+                throw new UnsupportedOperationException(getClass().getName() + " does pre-generate sequence ids");
+            }
+
+            // the sequence is incremented by the allocation size, so each value is the first of a block of values
+            long firstValue = ((Long) getGeneratedValue(accessor, writeSession, seqName)).longValue();
+            int count = Math.min(size, getPreallocationSize());
+            Vector<Long> values = new Vector<Long>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(Long.valueOf(firstValue + i));
+            }
+            return values;
         }
 
         /**
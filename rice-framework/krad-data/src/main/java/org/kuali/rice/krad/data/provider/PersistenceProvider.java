@@ -15,8 +15,13 @@
  */
 package org.kuali.rice.krad.data.provider;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.QueryResults;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.data.CopyOption;
 import org.kuali.rice.krad.data.PersistenceOption;
 
@@ -55,6 +60,27 @@ public interface PersistenceProvider extends Provider {
      */
     <T> T save(T dataObject, PersistenceOption... options);
 
+    /**
+     * Saves the given data objects, determining for each whether it is new and should be created or existing and should
+     * be updated.
+     *
+     * <p>
+     * Where the backend persistence technology supports it, the inserts and updates are sent to the backend data store
+     * in batches, and outstanding work is flushed after each batch. A persistence context is cleared after each flush,
+     * which detaches the returned data objects and any loaded earlier in the transaction.
+     * </p>
+     *
+     * @param dataObjects the data objects to save
+     * @param options the options to use when saving the data objects
+     * @param <T> the data object class type
+     *
+     * @return the saved data objects, in the same order as the given data objects
+     *
+     * @throws IllegalArgumentException if {@code dataObjects} is null or contains an invalid data object
+     * @throws org.springframework.dao.DataAccessException if data access fails
+     */
+    <T> List<T> saveAll(Collection<T> dataObjects, PersistenceOption... options);
+
     /**
      * Invoked to retrieve a data object instance by a single primary key field or id object.
      *
@@ -108,6 +134,49 @@ public interface PersistenceProvider extends Provider {
      */
     <T> QueryResults<T> findAll(Class<T> type);
 
+    /**
+     * Executes a query for the given data object, returning an iterator which reads the matching data objects from the
+     * backend data store as it is advanced.
+     *
+     * <p>
+     * Data objects are read {@code fetchSize} at a time, and after each batch has been handed out pending changes are
+     * flushed and the persistence context is cleared, which detaches every data object it manages. The returned
+     * iterator must be closed by the caller, and can only be used within the transaction in which it was created.
+     * </p>
+     *
+     * @param type the type of the data objects to query
+     * @param queryByCriteria query object, can contain sorting and page request configuration
+     * @param fetchSize the number of data objects to read from the backend data store at a time
+     * @param <T> the data object class type
+     *
+     * @return an iterator over the results of the query, will never return null but may return an empty iterator
+     *
+     * @throws IllegalArgumentException if {@code type} does not denote a data object type, if {@code queryByCriteria}
+     *  is null or if {@code fetchSize} is not positive
+     * @throws org.springframework.dao.DataAccessException if data access fails
+     */
+    <T> CloseableIterator<T> findMatchingIterator(Class<T> type, QueryByCriteria queryByCriteria, int fetchSize);
+
+    /**
+     * Executes a query for the given data object, selecting only the given attributes of the matching data objects.
+     *
+     * <p>
+     * Each result maps the given attribute names to their values, in the order in which the attribute names were given.
+     * </p>
+     *
+     * @param type the type of the data objects to query
+     * @param queryByCriteria query object, can contain sorting and page request configuration
+     * @param attributeNames the names of the attributes to select
+     *
+     * @return the results of the query, will never return null but may return empty results
+     *
+     * @throws IllegalArgumentException if {@code type} does not denote a data object type, if {@code queryByCriteria}
+     *  is null or if {@code attributeNames} is null or empty
+     * @throws org.springframework.dao.DataAccessException if data access fails
+     */
+    QueryResults<Map<String, Object>> findMatchingProjection(Class<?> type, QueryByCriteria queryByCriteria,
+            List<String> attributeNames);
+
     /**
      * Deletes a given data object.
      *
@@ -143,6 +212,22 @@ public interface PersistenceProvider extends Provider {
      */
     <T> void deleteAll(Class<T> type);
 
+    /**
+     * Deletes the given data objects.
+     *
+     * <p>
+     * Where the backend persistence technology supports it, the deletes are sent to the backend data store in batches.
+     * A persistence context is cleared after each batch, which detaches any data objects loaded earlier in the
+     * transaction.
+     * </p>
+     *
+     * @param dataObjects the data objects to delete
+     *
+     * @throws IllegalArgumentException if {@code dataObjects} is null or contains an invalid data object
+     * @throws org.springframework.dao.DataAccessException if data access fails
+     */
+    void deleteAll(Collection<?> dataObjects);
+
     /**
      * Returns a copy of the given data object instance.
      *
@@ -15,6 +15,7 @@
  */
 package org.kuali.rice.krad.data.provider.impl;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
 import java.lang.reflect.Field;
@@ -39,10 +40,13 @@ import org.kuali.rice.krad.data.metadata.DataObjectCollection;
 import org.kuali.rice.krad.data.metadata.DataObjectMetadata;
 import org.kuali.rice.krad.data.metadata.DataObjectRelationship;
 import org.kuali.rice.krad.data.metadata.MetadataChild;
+import org.kuali.rice.krad.data.util.PropertyHandle;
+import org.kuali.rice.krad.data.util.PropertyHandles;
 import org.kuali.rice.krad.data.util.ReferenceLinker;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.InvalidPropertyException;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NullValueInNestedPathException;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.PropertyAccessorUtils;
@@ -71,6 +75,7 @@ public abstract class DataObjectWrapperBase<T> implements DataObjectWrapper<T> {
     private final BeanWrapper wrapper;
     private final DataObjectService dataObjectService;
     private final ReferenceLinker referenceLinker;
+    private boolean customEditorsRegistered;
 
     /**
      * Creates a data object wrapper.
@@ -244,20 +249,89 @@ public abstract class DataObjectWrapperBase<T> implements DataObjectWrapper<T> {
 
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * Simple nested paths are read directly through cached {@link PropertyHandle}s rather than through the underlying
+     * {@link BeanWrapper}, which avoids reflective invocation on hot property paths. Indexed paths, unknown
+     * properties and wrappers which auto grow nested paths are delegated to the bean wrapper.
+     * </p>
      */
     @Override
     public Object getPropertyValue(String propertyName) throws BeansException {
-        return wrapper.getPropertyValue(propertyName);
+        String[] path = PropertyHandles.compilePath(propertyName);
+        if (path == null || isAutoGrowNestedPaths()) {
+            return wrapper.getPropertyValue(propertyName);
+        }
+
+        Object value = dataObject;
+        for (int i = 0; i < path.length; i++) {
+            if (value == null) {
+                throw new NullValueInNestedPathException(getWrappedClass(), StringUtils.join(path, '.', 0, i));
+            }
+            PropertyHandle handle = PropertyHandles.getPropertyHandle(value.getClass(), path[i]);
+            if (handle == null || !handle.isReadable()) {
+                // let the bean wrapper resolve the property or report why it cannot
+                return wrapper.getPropertyValue(propertyName);
+            }
+            value = readPropertyValue(handle, value, propertyName);
+        }
+
+        return value;
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * Simple nested paths are written directly through cached {@link PropertyHandle}s when the value does not need
+     * any conversion. All other cases (indexed paths, null intermediate properties, type conversion and custom
+     * editors) are delegated to the underlying {@link BeanWrapper}.
+     * </p>
      */
     @Override
     public void setPropertyValue(String propertyName, Object value) throws BeansException {
+        String[] path = PropertyHandles.compilePath(propertyName);
+        if (path != null && !customEditorsRegistered) {
+            Object target = dataObject;
+            for (int i = 0; i < path.length - 1 && target != null; i++) {
+                PropertyHandle handle = PropertyHandles.getPropertyHandle(target.getClass(), path[i]);
+                target = handle == null || !handle.isReadable() ? null :
+                        readPropertyValue(handle, target, propertyName);
+            }
+
+            PropertyHandle handle = target == null ? null :
+                    PropertyHandles.getPropertyHandle(target.getClass(), path[path.length - 1]);
+            if (handle != null && handle.isWritable() && handle.isAssignable(value)) {
+                try {
+                    handle.setValue(target, value);
+                } catch (RuntimeException e) {
+                    throw new MethodInvocationException(new PropertyChangeEvent(dataObject, propertyName, null, value),
+                            e);
+                }
+                return;
+            }
+        }
+
         wrapper.setPropertyValue(propertyName, value);
     }
 
+    /**
+     * Reads a property along a nested path, translating exceptions thrown by the read method.
+     *
+     * @param handle the handle of the property to read.
+     * @param bean the bean to read the property from.
+     * @param propertyName the full property path being resolved.
+     * @return the value of the property.
+     */
+    private Object readPropertyValue(PropertyHandle handle, Object bean, String propertyName) {
+        try {
+            return handle.getValue(bean);
+        } catch (RuntimeException e) {
+            throw new InvalidPropertyException(getWrappedClass(), propertyName,
+                    "Getter for property '" + handle.getName() + "' threw exception", e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -304,6 +378,7 @@ public abstract class DataObjectWrapperBase<T> implements DataObjectWrapper<T> {
      */
     @Override
     public void registerCustomEditor(Class<?> requiredType, PropertyEditor propertyEditor) {
+        customEditorsRegistered = true;
         wrapper.registerCustomEditor(requiredType, propertyEditor);
     }
 
@@ -312,6 +387,7 @@ public abstract class DataObjectWrapperBase<T> implements DataObjectWrapper<T> {
      */
     @Override
     public void registerCustomEditor(Class<?> requiredType, String propertyPath, PropertyEditor propertyEditor) {
+        customEditorsRegistered = true;
         wrapper.registerCustomEditor(requiredType, propertyPath, propertyEditor);
     }
 
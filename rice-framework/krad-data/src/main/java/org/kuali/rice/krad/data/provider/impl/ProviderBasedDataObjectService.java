@@ -15,10 +15,17 @@
  */
 package org.kuali.rice.krad.data.provider.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.kuali.rice.core.api.criteria.GenericQueryResults;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.QueryResults;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.data.CompoundKey;
 import org.kuali.rice.krad.data.CopyOption;
 import org.kuali.rice.krad.data.DataObjectService;
@@ -32,6 +39,9 @@ import org.kuali.rice.krad.data.metadata.MetadataRepository;
 import org.kuali.rice.krad.data.provider.PersistenceProvider;
 import org.kuali.rice.krad.data.provider.ProviderRegistry;
 import org.kuali.rice.krad.data.util.ReferenceLinker;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Required;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 
@@ -104,6 +114,52 @@ public class ProviderBasedDataObjectService implements DataObjectService {
         return persistenceProviderForType(type).findAll(type);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> CloseableIterator<T> findMatchingIterator(Class<T> type, QueryByCriteria queryByCriteria,
+            int fetchSize) {
+        return persistenceProviderForType(type).findMatchingIterator(type, queryByCriteria, fetchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QueryResults<Map<String, Object>> findMatchingProjection(Class<?> type, QueryByCriteria queryByCriteria,
+            List<String> attributeNames) {
+        return persistenceProviderForType(type).findMatchingProjection(type, queryByCriteria, attributeNames);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> QueryResults<P> findMatchingProjection(Class<?> type, QueryByCriteria queryByCriteria,
+            List<String> attributeNames, Class<P> projectionType) {
+        if (projectionType == null) {
+            throw new IllegalArgumentException("projectionType is null");
+        }
+
+        QueryResults<Map<String, Object>> rows = findMatchingProjection(type, queryByCriteria, attributeNames);
+
+        List<P> projections = new ArrayList<P>(rows.getResults().size());
+        for (Map<String, Object> row : rows.getResults()) {
+            P projection = BeanUtils.instantiateClass(projectionType);
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(projection);
+            wrapper.setAutoGrowNestedPaths(true);
+            wrapper.setPropertyValues(row);
+            projections.add(projection);
+        }
+
+        GenericQueryResults.Builder<P> results = GenericQueryResults.Builder.<P>create();
+        results.setResults(projections);
+        results.setTotalRowCount(rows.getTotalRowCount());
+        results.setMoreResultsAvailable(rows.isMoreResultsAvailable());
+        return results.build();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -145,6 +201,32 @@ public class ProviderBasedDataObjectService implements DataObjectService {
         persistenceProviderForType(type).deleteAll(type);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAll(Collection<?> dataObjects) {
+        if (dataObjects == null) {
+            throw new IllegalArgumentException("dataObjects is null");
+        }
+
+        Map<PersistenceProvider, List<Object>> dataObjectsByProvider =
+                new LinkedHashMap<PersistenceProvider, List<Object>>();
+        for (Object dataObject : dataObjects) {
+            PersistenceProvider provider = persistenceProviderForObject(dataObject);
+            List<Object> providerDataObjects = dataObjectsByProvider.get(provider);
+            if (providerDataObjects == null) {
+                providerDataObjects = new ArrayList<Object>();
+                dataObjectsByProvider.put(provider, providerDataObjects);
+            }
+            providerDataObjects.add(dataObject);
+        }
+
+        for (Map.Entry<PersistenceProvider, List<Object>> entry : dataObjectsByProvider.entrySet()) {
+            entry.getKey().deleteAll(entry.getValue());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -160,6 +242,52 @@ public class ProviderBasedDataObjectService implements DataObjectService {
         return saved;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> List<T> saveAll(Collection<T> dataObjects, PersistenceOption... options) {
+        if (dataObjects == null) {
+            throw new IllegalArgumentException("dataObjects is null");
+        }
+
+        // group the data objects by provider, remembering their positions so the results keep the given order
+        Map<PersistenceProvider, List<T>> dataObjectsByProvider = new LinkedHashMap<PersistenceProvider, List<T>>();
+        Map<PersistenceProvider, List<Integer>> indexesByProvider =
+                new LinkedHashMap<PersistenceProvider, List<Integer>>();
+        int index = 0;
+        for (T dataObject : dataObjects) {
+            pushOneToOneKeysToChildObjects(dataObject);
+            PersistenceProvider provider = persistenceProviderForObject(dataObject);
+            if (!dataObjectsByProvider.containsKey(provider)) {
+                dataObjectsByProvider.put(provider, new ArrayList<T>());
+                indexesByProvider.put(provider, new ArrayList<Integer>());
+            }
+            dataObjectsByProvider.get(provider).add(dataObject);
+            indexesByProvider.get(provider).add(index++);
+        }
+
+        List<T> saved = new ArrayList<T>(index);
+        for (int i = 0; i < index; i++) {
+            saved.add(null);
+        }
+        for (Map.Entry<PersistenceProvider, List<T>> entry : dataObjectsByProvider.entrySet()) {
+            List<T> providerSaved = entry.getKey().saveAll(entry.getValue(), options);
+            List<Integer> providerIndexes = indexesByProvider.get(entry.getKey());
+            for (int i = 0; i < providerIndexes.size(); i++) {
+                saved.set(providerIndexes.get(i), providerSaved.get(i));
+            }
+        }
+
+        if (Sets.newHashSet(options).contains(PersistenceOption.LINK_KEYS)) {
+            for (T savedDataObject : saved) {
+                wrap(savedDataObject).linkForeignKeys(true);
+            }
+        }
+
+        return saved;
+    }
+
 	protected void pushOneToOneKeysToChildObjects(Object dataObject) {
 		DataObjectWrapper<Object> wrappedParent = wrap(dataObject);
 		if (wrappedParent.getMetadata() == null) {
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krad.data.util;
+
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches {@link PropertyHandle}s by class and compiled property paths, for fast non-reflective property access.
+ *
+ * <p>
+ *     Handles are held in a {@link ClassValue}, so lookups never block and the cached handles do not prevent the
+ *     classes (or their class loaders) from being unloaded. Property paths are compiled once into their segments; only
+ *     simple nested paths (such as {@code "account.organization.name"}) can be compiled, indexed or mapped paths
+ *     (such as {@code "accounts[0].name"}) must be resolved through a {@link org.springframework.beans.BeanWrapper}.
+ * </p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class PropertyHandles {
+
+    /**
+     * The maximum number of compiled property paths to cache.
+     */
+    private static final int MAX_COMPILED_PATHS = 10000;
+
+    private static final ClassValue<Map<String, PropertyHandle>> HANDLES_BY_CLASS =
+            new ClassValue<Map<String, PropertyHandle>>() {
+        @Override
+        protected Map<String, PropertyHandle> computeValue(Class<?> type) {
+            Map<String, PropertyHandle> handles = new HashMap<String, PropertyHandle>();
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+                if (descriptor.getReadMethod() != null || descriptor.getWriteMethod() != null) {
+                    handles.put(descriptor.getName(), PropertyHandle.create(descriptor.getName(),
+                            descriptor.getReadMethod(), descriptor.getWriteMethod()));
+                }
+            }
+            return Collections.unmodifiableMap(handles);
+        }
+    };
+
+    private static final ConcurrentMap<String, String[]> COMPILED_PATHS = new ConcurrentHashMap<String, String[]>();
+
+    private static final String[] NOT_COMPILABLE = new String[0];
+
+    private PropertyHandles() {}
+
+    /**
+     * Gets the property handles for all properties of the given class.
+     *
+     * @param type the class to get the property handles for.
+     * @return an unmodifiable map of property handles by property name.
+     */
+    public static Map<String, PropertyHandle> getPropertyHandles(Class<?> type) {
+        return HANDLES_BY_CLASS.get(type);
+    }
+
+    /**
+     * Gets the property handle for a single property of the given class.
+     *
+     * @param type the class to get the property handle for.
+     * @param propertyName the name of the property, which must not be a nested path.
+     * @return the property handle, or null if the class has no such property.
+     */
+    public static PropertyHandle getPropertyHandle(Class<?> type, String propertyName) {
+        return HANDLES_BY_CLASS.get(type).get(propertyName);
+    }
+
+    /**
+     * Compiles the given property path into its property name segments.
+     *
+     * @param propertyPath the property path to compile.
+     * @return the property names along the path, or null if the path is not a simple nested path.
+     */
+    public static String[] compilePath(String propertyPath) {
+        if (propertyPath == null) {
+            return null;
+        }
+
+        String[] path = COMPILED_PATHS.get(propertyPath);
+        if (path == null) {
+            path = split(propertyPath);
+            if (COMPILED_PATHS.size() < MAX_COMPILED_PATHS) {
+                COMPILED_PATHS.putIfAbsent(propertyPath, path);
+            }
+        }
+
+        return path == NOT_COMPILABLE ? null : path;
+    }
+
+    /**
+     * Splits the given property path on the nested property separator.
+     *
+     * @param propertyPath the property path to split.
+     * @return the property names along the path, or {@link #NOT_COMPILABLE} if the path contains index or map keys or
+     * empty segments.
+     */
+    private static String[] split(String propertyPath) {
+        if (propertyPath.isEmpty() || propertyPath.indexOf('[') >= 0 || propertyPath.indexOf(']') >= 0) {
+            return NOT_COMPILABLE;
+        }
+
+        String[] path = propertyPath.split("\\.", -1);
+        for (String segment : path) {
+            if (segment.isEmpty()) {
+                return NOT_COMPILABLE;
+            }
+        }
+
+        return path;
+    }
+
+}
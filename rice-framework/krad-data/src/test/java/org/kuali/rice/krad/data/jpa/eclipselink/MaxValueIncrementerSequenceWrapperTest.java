@@ -0,0 +1,141 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krad.data.jpa.eclipselink;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Vector;
+
+import javax.sql.DataSource;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.JNDIConnector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kuali.rice.krad.data.jpa.PortableSequenceGenerator;
+import org.kuali.rice.krad.data.platform.DatabasePlatforms;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * Tests the preallocation of sequence values by {@link KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MaxValueIncrementerSequenceWrapperTest {
+
+    @Mock private DataSource dataSource;
+    @Mock private Statement statement;
+    @Mock private ResultSet resultSet;
+    @Mock private AbstractSession session;
+
+    @Before
+    public void setUp() throws Exception {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(DatabasePlatforms.ORACLE);
+        when(metaData.getDatabaseMajorVersion()).thenReturn(11);
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.createStatement()).thenReturn(statement);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(statement.executeQuery("select TEST_SEQ.nextval from dual")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+
+        DatabaseLogin login = new DatabaseLogin();
+        login.setConnector(new JNDIConnector(dataSource));
+        when(session.getLogin()).thenReturn(login);
+    }
+
+    @Test
+    public void testGetGeneratedVector() throws Exception {
+        KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper sequence =
+                new KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper(getSequenceGenerator("allocated"));
+        assertTrue(sequence.shouldUsePreallocation());
+        assertEquals(5, sequence.getPreallocationSize());
+
+        // the sequence is incremented by the allocation size
+        when(resultSet.getLong(1)).thenReturn(41L, 46L);
+
+        Vector<?> values = sequence.getGeneratedVector(null, session, "TEST_SEQ", 5);
+        assertEquals(Arrays.asList(41L, 42L, 43L, 44L, 45L), values);
+        values = sequence.getGeneratedVector(null, session, "TEST_SEQ", 5);
+        assertEquals(Arrays.asList(46L, 47L, 48L, 49L, 50L), values);
+
+        // one round trip per block of values
+        verify(statement, times(2)).executeQuery("select TEST_SEQ.nextval from dual");
+    }
+
+    /**
+     * Never hands out more values than were allocated from a single sequence value.
+     */
+    @Test
+    public void testGetGeneratedVectorLargerThanAllocationSize() throws Exception {
+        KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper sequence =
+                new KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper(getSequenceGenerator("allocated"));
+        when(resultSet.getLong(1)).thenReturn(41L);
+
+        Vector<?> values = sequence.getGeneratedVector(null, session, "TEST_SEQ", 50);
+        assertEquals(Arrays.asList(41L, 42L, 43L, 44L, 45L), values);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetGeneratedVectorWithoutPreallocation() throws Exception {
+        KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper sequence =
+                new KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper(getSequenceGenerator("unallocated"));
+        assertFalse(sequence.shouldUsePreallocation());
+
+        sequence.getGeneratedVector(null, session, "TEST_SEQ", 5);
+    }
+
+    @Test
+    public void testGetGeneratedValue() throws Exception {
+        KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper sequence =
+                new KradEclipseLinkCustomizer.MaxValueIncrementerSequenceWrapper(getSequenceGenerator("unallocated"));
+        when(resultSet.getLong(1)).thenReturn(41L, 42L);
+
+        assertEquals(Long.valueOf(41L), sequence.getGeneratedValue(null, session, "TEST_SEQ"));
+        assertEquals(Long.valueOf(42L), sequence.getGeneratedValue(null, session, "TEST_SEQ"));
+    }
+
+    private PortableSequenceGenerator getSequenceGenerator(String fieldName) throws Exception {
+        return SequencedEntity.class.getDeclaredField(fieldName).getAnnotation(PortableSequenceGenerator.class);
+    }
+
+    private static final class SequencedEntity {
+
+        @PortableSequenceGenerator(name = "TEST_SEQ_ALLOCATED", sequenceName = "TEST_SEQ", allocationSize = 5)
+        private Long allocated;
+
+        @PortableSequenceGenerator(name = "TEST_SEQ")
+        private Long unallocated;
+
+    }
+
+}
@@ -15,8 +15,13 @@
  */
 package org.kuali.rice.krad.data.provider;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.QueryResults;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.data.CopyOption;
 import org.kuali.rice.krad.data.PersistenceOption;
 
@@ -26,6 +31,11 @@ public class TestPersistenceProvider implements PersistenceProvider {
         return null;
     }
 
+    @Override
+    public <T> List<T> saveAll(Collection<T> dataObjects, PersistenceOption... options) {
+        return null;
+    }
+
     @Override
     public <T> T find(Class<T> type, Object id) {
         return null;
@@ -41,6 +51,18 @@ public class TestPersistenceProvider implements PersistenceProvider {
         return null;
     }
 
+    @Override
+    public <T> CloseableIterator<T> findMatchingIterator(Class<T> type, QueryByCriteria queryByCriteria,
+            int fetchSize) {
+        return null;
+    }
+
+    @Override
+    public QueryResults<Map<String, Object>> findMatchingProjection(Class<?> type, QueryByCriteria queryByCriteria,
+            List<String> attributeNames) {
+        return null;
+    }
+
     @Override
     public void delete(Object dataObject) {
 
@@ -56,6 +78,11 @@ public class TestPersistenceProvider implements PersistenceProvider {
 
     }
 
+    @Override
+    public void deleteAll(Collection<?> dataObjects) {
+
+    }
+
     @Override
 	public <T> T copyInstance(T dataObject, CopyOption... options) {
         return null;
@@ -22,6 +22,7 @@ import org.junit.runner.RunWith;
 import org.kuali.rice.core.api.criteria.GenericQueryResults;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.QueryResults;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.data.CompoundKey;
 import org.kuali.rice.krad.data.metadata.MetadataRepository;
 import org.kuali.rice.krad.data.provider.PersistenceProvider;
@@ -32,6 +33,8 @@ import org.springframework.dao.IncorrectResultSizeDataAccessException;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -179,6 +182,49 @@ public class ProviderBasedDataObjectServiceTest {
         verify(mockProvider).findMatching(any(Class.class), eq(query));
     }
 
+    @Test
+    public void testFindMatchingIterator() {
+        CloseableIterator iterator = mock(CloseableIterator.class);
+        QueryByCriteria query = QueryByCriteria.Builder.create().build();
+        when(mockProvider.findMatchingIterator(any(Class.class), any(QueryByCriteria.class), anyInt())).thenReturn(
+                iterator);
+
+        assertSame(iterator, service.findMatchingIterator(Object.class, query, 100));
+
+        verify(mockProvider).findMatchingIterator(any(Class.class), eq(query), eq(100));
+    }
+
+    @Test
+    public void testFindMatchingProjection() {
+        QueryByCriteria query = QueryByCriteria.Builder.create().build();
+        List<String> attributeNames = Lists.newArrayList("id", "name", "child.name");
+
+        Map<String, Object> row = new LinkedHashMap<String, Object>();
+        row.put("id", 1L);
+        row.put("name", "parent");
+        row.put("child.name", "child");
+        GenericQueryResults.Builder<Map<String, Object>> resultsBuilder =
+                GenericQueryResults.Builder.<Map<String, Object>>create();
+        resultsBuilder.setResults(Lists.newArrayList(row));
+        resultsBuilder.setTotalRowCount(1);
+        resultsBuilder.setMoreResultsAvailable(true);
+        when(mockProvider.findMatchingProjection(Object.class, query, attributeNames)).thenReturn(
+                resultsBuilder.build());
+
+        assertSame(row, service.findMatchingProjection(Object.class, query, attributeNames).getResults().get(0));
+
+        QueryResults<Projection> results = service.findMatchingProjection(Object.class, query, attributeNames,
+                Projection.class);
+        assertEquals(1, results.getResults().size());
+        assertEquals(Integer.valueOf(1), results.getTotalRowCount());
+        assertTrue(results.isMoreResultsAvailable());
+
+        Projection projection = results.getResults().get(0);
+        assertEquals(Long.valueOf(1L), projection.getId());
+        assertEquals("parent", projection.getName());
+        assertEquals("child", projection.getChild().getName());
+    }
+
     @Test
     public void testFindAll() {
         QueryResults allResults = mock(QueryResults.class);
@@ -213,6 +259,19 @@ public class ProviderBasedDataObjectServiceTest {
         verify(mockProvider).deleteAll(any(Class.class));
     }
 
+    @Test
+    public void testDeleteAllCollection() {
+        List<String> dataObjects = Lists.newArrayList("a", "b");
+        service.deleteAll(dataObjects);
+
+        verify(mockProvider).deleteAll(eq(Lists.<Object>newArrayList("a", "b")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteAllCollectionNull() {
+        service.deleteAll((List<Object>) null);
+    }
+
     @Test
     public void testSave() {
         Serializable dataObject = new Serializable() {};
@@ -221,6 +280,22 @@ public class ProviderBasedDataObjectServiceTest {
         verify(mockProvider).save(eq(dataObject));
     }
 
+    @Test
+    public void testSaveAll() {
+        List<String> dataObjects = Lists.newArrayList("a", "b", "c");
+        when(mockProvider.saveAll(eq(dataObjects))).thenReturn(Lists.newArrayList("a1", "b1", "c1"));
+
+        List<String> saved = service.saveAll(dataObjects);
+
+        verify(mockProvider).saveAll(eq(dataObjects));
+        assertEquals(Lists.newArrayList("a1", "b1", "c1"), saved);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveAllNull() {
+        service.saveAll((List<Object>) null);
+    }
+
     @Test
     public void testSupportsSupportedType() {
         // should support a type our mock is configured to support
@@ -233,4 +308,34 @@ public class ProviderBasedDataObjectServiceTest {
         when(providerRegistry.getPersistenceProvider(String.class)).thenReturn(null);
         assertFalse(service.supports(String.class));
     }
+
+    public static class Projection {
+        private Long id;
+        private String name;
+        private Projection child;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Projection getChild() {
+            return child;
+        }
+
+        public void setChild(Projection child) {
+            this.child = child;
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krad.data.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and writing a bean property through a {@link PropertyHandle} with reflective
+ * {@link Method#invoke(Object, Object...)}, which is what {@code ObjectPropertyReference} and the Spring bean wrapper
+ * used before.
+ *
+ * <p>
+ * A direct call and a {@code static final} method handle, which the JIT can treat as a constant, are included as
+ * baselines. {@link PropertyHandle}s hold their method handles in instance fields, so they are expected to fall
+ * between the reflective and constant handle results, by an amount that depends on the JVM version.
+ * </p>
+ *
+ * <p>This is not run as part of the unit tests, run the main method (or the JMH runner) with the test classpath.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PropertyHandleBenchmark {
+
+    private static final MethodHandle CONSTANT_GETTER;
+    private static final MethodHandle CONSTANT_SETTER;
+
+    static {
+        try {
+            CONSTANT_GETTER = MethodHandles.publicLookup().unreflect(Bean.class.getMethod("getName")).asType(
+                    MethodType.methodType(Object.class, Object.class));
+            CONSTANT_SETTER = MethodHandles.publicLookup().unreflect(Bean.class.getMethod("setName",
+                    String.class)).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Bean bean;
+    private Object value;
+    private Method readMethod;
+    private Method writeMethod;
+    private PropertyHandle propertyHandle;
+
+    @Setup
+    public void setUp() throws Exception {
+        bean = new Bean();
+        value = "value";
+        readMethod = Bean.class.getMethod("getName");
+        writeMethod = Bean.class.getMethod("setName", String.class);
+        propertyHandle = PropertyHandles.getPropertyHandle(Bean.class, "name");
+    }
+
+    @Benchmark
+    public Object getDirect() {
+        return bean.getName();
+    }
+
+    @Benchmark
+    public Object getReflective() throws Exception {
+        return readMethod.invoke(bean);
+    }
+
+    @Benchmark
+    public Object getPropertyHandle() {
+        return propertyHandle.getValue(bean);
+    }
+
+    @Benchmark
+    public Object getConstantMethodHandle() throws Throwable {
+        return (Object) CONSTANT_GETTER.invokeExact((Object) bean);
+    }
+
+    @Benchmark
+    public void setDirect() {
+        bean.setName((String) value);
+    }
+
+    @Benchmark
+    public void setReflective() throws Exception {
+        writeMethod.invoke(bean, value);
+    }
+
+    @Benchmark
+    public void setPropertyHandle() {
+        propertyHandle.setValue(bean, value);
+    }
+
+    @Benchmark
+    public void setConstantMethodHandle() throws Throwable {
+        CONSTANT_SETTER.invokeExact((Object) bean, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PropertyHandleBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    public static class Bean {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krad.data.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link PropertyHandles} and {@link PropertyHandle}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class PropertyHandlesTest {
+
+    @Test
+    public void testGetAndSetValue() {
+        Bean bean = new Bean();
+        PropertyHandle name = PropertyHandles.getPropertyHandle(Bean.class, "name");
+        PropertyHandle count = PropertyHandles.getPropertyHandle(Bean.class, "count");
+
+        name.setValue(bean, "test");
+        count.setValue(bean, 5);
+
+        assertEquals("test", name.getValue(bean));
+        assertEquals(5, count.getValue(bean));
+        assertEquals(String.class, name.getPropertyType());
+        assertEquals(int.class, count.getPropertyType());
+    }
+
+    @Test
+    public void testReadOnlyAndUnknownProperties() {
+        PropertyHandle readOnly = PropertyHandles.getPropertyHandle(Bean.class, "readOnly");
+        assertTrue(readOnly.isReadable());
+        assertFalse(readOnly.isWritable());
+        assertEquals("readOnly", readOnly.getValue(new Bean()));
+
+        assertNull(PropertyHandles.getPropertyHandle(Bean.class, "unknown"));
+    }
+
+    @Test
+    public void testIsAssignable() {
+        PropertyHandle count = PropertyHandles.getPropertyHandle(Bean.class, "count");
+        assertTrue(count.isAssignable(Integer.valueOf(1)));
+        assertFalse(count.isAssignable(null));
+        assertFalse(count.isAssignable("1"));
+        assertFalse(count.isAssignable(Long.valueOf(1)));
+
+        // unboxing followed by a widening primitive conversion, as accepted by Method.invoke
+        PropertyHandle total = PropertyHandles.getPropertyHandle(Bean.class, "total");
+        assertTrue(total.isAssignable(Long.valueOf(1)));
+        assertTrue(total.isAssignable(Integer.valueOf(1)));
+        assertTrue(total.isAssignable(Character.valueOf('a')));
+        assertFalse(total.isAssignable(Double.valueOf(1)));
+
+        // no widening between wrapper types
+        PropertyHandle name = PropertyHandles.getPropertyHandle(Bean.class, "name");
+        assertTrue(name.isAssignable(null));
+        assertFalse(name.isAssignable(Integer.valueOf(1)));
+    }
+
+    @Test
+    public void testSetValueWidening() {
+        Bean bean = new Bean();
+        PropertyHandle total = PropertyHandles.getPropertyHandle(Bean.class, "total");
+
+        total.setValue(bean, Integer.valueOf(5));
+        assertEquals(Long.valueOf(5), total.getValue(bean));
+
+        total.setValue(bean, Short.valueOf((short) 6));
+        assertEquals(Long.valueOf(6), total.getValue(bean));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetValueNotAssignable() {
+        PropertyHandles.getPropertyHandle(Bean.class, "count").setValue(new Bean(), "1");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testExceptionsRethrown() {
+        PropertyHandles.getPropertyHandle(Bean.class, "failing").getValue(new Bean());
+    }
+
+    @Test
+    public void testCompilePath() {
+        assertArrayEquals(new String[] {"a", "b", "c"}, PropertyHandles.compilePath("a.b.c"));
+        assertArrayEquals(new String[] {"a"}, PropertyHandles.compilePath("a"));
+        assertNull(PropertyHandles.compilePath("a[0].b"));
+        assertNull(PropertyHandles.compilePath("a..b"));
+        assertNull(PropertyHandles.compilePath(""));
+        assertNull(PropertyHandles.compilePath(null));
+    }
+
+    private static class Bean {
+        private String name;
+        private int count;
+        private long total;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public String getReadOnly() {
+            return "readOnly";
+        }
+
+        public String getFailing() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
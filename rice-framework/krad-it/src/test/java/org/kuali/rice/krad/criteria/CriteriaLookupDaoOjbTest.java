@@ -0,0 +1,220 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krad.criteria;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kuali.rice.core.api.criteria.CountFlag;
+import org.kuali.rice.core.api.criteria.GenericQueryResults;
+import org.kuali.rice.core.api.criteria.OrderByField;
+import org.kuali.rice.core.api.criteria.OrderDirection;
+import org.kuali.rice.core.api.criteria.PredicateFactory;
+import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.core.api.resourceloader.GlobalResourceLoader;
+import org.kuali.rice.krad.data.CloseableIterator;
+import org.kuali.rice.krad.test.KRADTestCase;
+import org.kuali.rice.krad.test.document.bo.Account;
+import org.kuali.rice.krad.test.document.bo.AccountExtension;
+import org.kuali.rice.test.BaselineTestCase;
+import org.kuali.rice.test.TestHarnessServiceLocator;
+import org.kuali.rice.test.data.PerTestUnitTestData;
+import org.kuali.rice.test.data.UnitTestData;
+import org.kuali.rice.test.data.UnitTestFile;
+import org.kuali.rice.test.data.UnitTestSql;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests the streaming and projection lookups of {@link CriteriaLookupDaoOjb} against the database.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+@PerTestUnitTestData(
+        value = @UnitTestData(
+                order = {UnitTestData.Type.SQL_STATEMENTS, UnitTestData.Type.SQL_FILES},
+                sqlStatements = {
+                        @UnitTestSql("delete from trv_acct_ext where acct_num like 'c%'")
+                        ,@UnitTestSql("delete from trv_acct where acct_num like 'c%'")
+                        ,@UnitTestSql("delete from trv_acct_type")
+                        ,@UnitTestSql("insert into trv_acct (acct_num, obj_id, acct_name, acct_fo_id) values ('c1', 'C1', 'Account c1', '1')")
+                        ,@UnitTestSql("insert into trv_acct (acct_num, obj_id, acct_name, acct_fo_id) values ('c2', 'C2', 'Account c2', '1')")
+                        ,@UnitTestSql("insert into trv_acct (acct_num, obj_id, acct_name, acct_fo_id) values ('c3', 'C3', 'Account c3', '1')")
+                        ,@UnitTestSql("insert into trv_acct_ext (acct_num, acct_type, ver_nbr) values ('c1', 'IAT', 0)")
+                        ,@UnitTestSql("insert into trv_acct_ext (acct_num, acct_type, ver_nbr) values ('c2', 'EAT', 0)")
+                        ,@UnitTestSql("insert into trv_acct_ext (acct_num, acct_type, ver_nbr) values ('c3', 'CAT', 0)")
+                },
+                sqlFiles = {
+                        @UnitTestFile(filename = "classpath:testAccountType.sql", delimiter = ";")
+                }
+        ),
+        tearDown = @UnitTestData(
+                sqlStatements = {
+                        @UnitTestSql("delete from trv_acct_ext where acct_num like 'c%'")
+                        ,@UnitTestSql("delete from trv_acct where acct_num like 'c%'")
+                        ,@UnitTestSql("delete from trv_acct_type")
+                }
+       )
+)
+@BaselineTestCase.BaselineMode(BaselineTestCase.Mode.NONE)
+@KRADTestCase.Legacy
+public class CriteriaLookupDaoOjbTest extends KRADTestCase {
+
+    private static final List<String> NUMBERS = Arrays.asList("c1", "c2", "c3");
+
+    @Test
+    public void testLookupIterator() {
+        new TransactionTemplate(TestHarnessServiceLocator.getJtaTransactionManager()).execute(
+                new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                CloseableIterator<Account> iterator = getCriteriaLookupDao().lookupIterator(Account.class,
+                        createQuery().build(), 2);
+                try {
+                    List<String> found = new ArrayList<String>();
+                    while (iterator.hasNext()) {
+                        Account account = iterator.next();
+                        found.add(account.getNumber());
+                        // references are still retrieved for the streamed objects
+                        assertEquals(account.getNumber(), ((AccountExtension) account.getExtension()).getNumber());
+                    }
+                    assertEquals(NUMBERS, found);
+                } finally {
+                    iterator.close();
+                }
+                assertFalse("a closed iterator should have no more results", iterator.hasNext());
+                // closing more than once has no effect
+                iterator.close();
+            }
+        });
+    }
+
+    @Test
+    public void testLookupIteratorWindow() {
+        new TransactionTemplate(TestHarnessServiceLocator.getJtaTransactionManager()).execute(
+                new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                QueryByCriteria.Builder query = createQuery();
+                query.setStartAtIndex(1);
+                query.setMaxResults(1);
+                CloseableIterator<Account> iterator = getCriteriaLookupDao().lookupIterator(Account.class,
+                        query.build(), 10);
+                try {
+                    assertTrue(iterator.hasNext());
+                    assertEquals("c2", iterator.next().getNumber());
+                    assertFalse(iterator.hasNext());
+                } finally {
+                    iterator.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * The broker backing the iterator is only held open inside a transaction.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testLookupIteratorWithoutTransaction() {
+        getCriteriaLookupDao().lookupIterator(Account.class, createQuery().build(), 10);
+    }
+
+    /**
+     * Selects attributes of the object itself and of related objects through nested attribute paths.
+     */
+    @Test
+    public void testLookupProjection() {
+        List<String> attributeNames = Arrays.asList("number", "name", "extension.accountTypeCode",
+                "extension.accountType.name");
+        GenericQueryResults<Map<String, Object>> results = getCriteriaLookupDao().lookupProjection(Account.class,
+                createQuery().build(), attributeNames);
+
+        List<Map<String, Object>> rows = results.getResults();
+        assertEquals(3, rows.size());
+        assertFalse(results.isMoreResultsAvailable());
+        for (Map<String, Object> row : rows) {
+            Iterator<String> keys = row.keySet().iterator();
+            for (String attributeName : attributeNames) {
+                assertEquals("rows should keep the order of the requested attributes", attributeName, keys.next());
+            }
+        }
+
+        assertEquals("c1", rows.get(0).get("number"));
+        assertEquals("Account c1", rows.get(0).get("name"));
+        assertEquals("IAT", rows.get(0).get("extension.accountTypeCode"));
+        assertEquals("Income Account Type", rows.get(0).get("extension.accountType.name"));
+        assertEquals("EAT", rows.get(1).get("extension.accountTypeCode"));
+        assertEquals("Expense Account Type", rows.get(1).get("extension.accountType.name"));
+        assertEquals("CAT", rows.get(2).get("extension.accountTypeCode"));
+        assertEquals("Clearing Account Type", rows.get(2).get("extension.accountType.name"));
+    }
+
+    @Test
+    public void testLookupProjectionByNestedCriteria() {
+        QueryByCriteria.Builder query = createQuery();
+        query.setPredicates(PredicateFactory.equal("extension.accountType.accountTypeCode", "EAT"));
+        GenericQueryResults<Map<String, Object>> results = getCriteriaLookupDao().lookupProjection(Account.class,
+                query.build(), Arrays.asList("number"));
+
+        assertEquals(1, results.getResults().size());
+        assertEquals("c2", results.getResults().get(0).get("number"));
+    }
+
+    @Test
+    public void testLookupProjectionWindowAndCount() {
+        QueryByCriteria.Builder query = createQuery();
+        query.setMaxResults(2);
+        query.setCountFlag(CountFlag.INCLUDE);
+        GenericQueryResults<Map<String, Object>> results = getCriteriaLookupDao().lookupProjection(Account.class,
+                query.build(), Arrays.asList("number"));
+
+        assertEquals(2, results.getResults().size());
+        assertEquals("c1", results.getResults().get(0).get("number"));
+        assertEquals("c2", results.getResults().get(1).get("number"));
+        assertTrue(results.isMoreResultsAvailable());
+        assertEquals(Integer.valueOf(3), results.getTotalRowCount());
+
+        query.setCountFlag(CountFlag.ONLY);
+        results = getCriteriaLookupDao().lookupProjection(Account.class, query.build(), Arrays.asList("number"));
+        assertTrue(results.getResults().isEmpty());
+        assertEquals(Integer.valueOf(3), results.getTotalRowCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookupProjectionWithoutAttributes() {
+        getCriteriaLookupDao().lookupProjection(Account.class, createQuery().build(), new ArrayList<String>());
+    }
+
+    private QueryByCriteria.Builder createQuery() {
+        QueryByCriteria.Builder query = QueryByCriteria.Builder.create();
+        query.setPredicates(PredicateFactory.in("number", NUMBERS));
+        query.setOrderByFields(OrderByField.Builder.create("number", OrderDirection.ASCENDING).build());
+        return query;
+    }
+
+    private CriteriaLookupDao getCriteriaLookupDao() {
+        return GlobalResourceLoader.getService("criterialookupDaoOjb");
+    }
+}
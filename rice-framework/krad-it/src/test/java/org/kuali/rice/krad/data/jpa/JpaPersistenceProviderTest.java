@@ -1,6 +1,7 @@
 package org.kuali.rice.krad.data.jpa;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -9,6 +10,7 @@ import static org.junit.Assert.fail;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -26,6 +28,7 @@ import org.kuali.rice.core.api.criteria.Predicate;
 import org.kuali.rice.core.api.criteria.PredicateFactory;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.QueryResults;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.data.CompoundKey;
 import org.kuali.rice.krad.data.DataObjectWrapper;
 import org.kuali.rice.krad.data.KradDataServiceLocator;
@@ -41,7 +44,10 @@ import org.kuali.rice.krad.test.document.bo.SimpleAccountExtension;
 import org.kuali.rice.test.BaselineTestCase;
 import org.kuali.rice.test.TestHarnessServiceLocator;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Tests JPAPersistenceProvider
@@ -613,6 +619,222 @@ public class JpaPersistenceProviderTest extends KRADTestCase {
         assertEquals(0, results.getResults().size());
     }
 
+    /**
+     * Streams saved objects through a cursor, making sure the persistence context is cleared once every fetch size
+     * results so that the objects already handed out are detached.
+     */
+    @Test
+    public void testFindMatchingIterator() {
+        Map.Entry<List<Object>, QueryByCriteria.Builder> fixture = createForQuery(5);
+        final List<String> numbers = new ArrayList<String>();
+        for (Object a : fixture.getKey()) {
+            numbers.add((String) getIdForLookup(provider.save(a)));
+        }
+        final QueryByCriteria.Builder query = fixture.getValue();
+        query.setOrderByFields(OrderByField.Builder.create("number", OrderDirection.ASCENDING).build());
+
+        new TransactionTemplate(TestHarnessServiceLocator.getJtaTransactionManager()).execute(
+                new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                JpaPersistenceProvider jpaProvider = (JpaPersistenceProvider) provider;
+                CloseableIterator<SimpleAccount> iterator = provider.findMatchingIterator(SimpleAccount.class,
+                        query.build(), 2);
+                try {
+                    List<SimpleAccount> found = new ArrayList<SimpleAccount>();
+                    while (iterator.hasNext()) {
+                        found.add(iterator.next());
+                        if (found.size() == 2) {
+                            assertTrue("first result should still be managed before the fetch size is exceeded",
+                                    jpaProvider.getSharedEntityManager().contains(found.get(0)));
+                        } else if (found.size() == 3) {
+                            assertFalse("persistence context should have been cleared after the first two results",
+                                    jpaProvider.getSharedEntityManager().contains(found.get(0)));
+                            assertTrue(jpaProvider.getSharedEntityManager().contains(found.get(2)));
+                        }
+                    }
+
+                    assertEquals(5, found.size());
+                    for (int i = 0; i < found.size(); i++) {
+                        assertEquals(numbers.get(i), found.get(i).getNumber());
+                    }
+                } finally {
+                    iterator.close();
+                }
+                assertFalse("a closed iterator should have no more results", iterator.hasNext());
+                // closing more than once has no effect
+                iterator.close();
+            }
+        });
+    }
+
+    /**
+     * Changes made before the persistence context is cleared by the iterator are flushed rather than discarded.
+     */
+    @Test
+    public void testFindMatchingIteratorFlushesPendingChanges() {
+        Map.Entry<List<Object>, QueryByCriteria.Builder> fixture = createForQuery(3);
+        final List<String> numbers = new ArrayList<String>();
+        for (Object a : fixture.getKey()) {
+            numbers.add((String) getIdForLookup(provider.save(a)));
+        }
+        final QueryByCriteria.Builder query = fixture.getValue();
+        final String newName = RandomStringUtils.randomAlphanumeric(10);
+
+        new TransactionTemplate(TestHarnessServiceLocator.getJtaTransactionManager()).execute(
+                new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                SimpleAccount changed = provider.find(SimpleAccount.class, numbers.get(0));
+                changed.setName(newName);
+
+                CloseableIterator<SimpleAccount> iterator = provider.findMatchingIterator(SimpleAccount.class,
+                        query.build(), 1);
+                try {
+                    int count = 0;
+                    while (iterator.hasNext()) {
+                        iterator.next();
+                        count++;
+                    }
+                    assertEquals(3, count);
+                } finally {
+                    iterator.close();
+                }
+                assertFalse("the changed account should have been detached",
+                        ((JpaPersistenceProvider) provider).getSharedEntityManager().contains(changed));
+            }
+        });
+
+        assertEquals("the change should have been flushed before the persistence context was cleared", newName,
+                provider.find(SimpleAccount.class, numbers.get(0)).getName());
+    }
+
+    /**
+     * The shared entity manager backing the cursor only stays open inside a transaction.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testFindMatchingIteratorWithoutTransaction() {
+        provider.findMatchingIterator(SimpleAccount.class, QueryByCriteria.Builder.create().build(), 10);
+    }
+
+    /**
+     * Selects attributes of the object itself and of a related object through nested attribute paths.
+     */
+    @Test
+    public void testFindMatchingProjection() {
+        Map.Entry<List<Object>, QueryByCriteria.Builder> fixture = createForQuery(2);
+        List<SimpleAccount> saved = new ArrayList<SimpleAccount>();
+        for (Object a : fixture.getKey()) {
+            saved.add((SimpleAccount) provider.save(a));
+        }
+        SimpleAccount account = saved.get(0);
+        String accountTypeCode = ((SimpleAccountExtension) account.getExtension()).getAccountTypeCode();
+
+        QueryByCriteria query = QueryByCriteria.Builder.fromPredicates(PredicateFactory.equal("account.number",
+                account.getNumber()));
+        List<String> attributeNames = Arrays.asList("account.number", "account.name", "accountTypeCode");
+        QueryResults<Map<String, Object>> results = provider.findMatchingProjection(SimpleAccountExtension.class,
+                query, attributeNames);
+
+        assertEquals(1, results.getResults().size());
+        Map<String, Object> row = results.getResults().get(0);
+        Iterator<String> keys = row.keySet().iterator();
+        for (String attributeName : attributeNames) {
+            assertEquals("rows should keep the order of the requested attributes", attributeName, keys.next());
+        }
+        assertEquals(account.getNumber(), row.get("account.number"));
+        assertEquals(account.getName(), row.get("account.name"));
+        assertEquals(accountTypeCode, row.get("accountTypeCode"));
+
+        // a single attribute of each of the saved objects
+        query = fixture.getValue().build();
+        results = provider.findMatchingProjection(SimpleAccount.class, query, Arrays.asList("number"));
+        assertEquals(2, results.getResults().size());
+        for (Map<String, Object> numberRow : results.getResults()) {
+            assertEquals(1, numberRow.size());
+        }
+    }
+
+    /**
+     * Saves more data objects than fit in one batch, making sure that the entity manager is flushed and cleared after
+     * each batch and that the saved data objects are returned in the order they were given.
+     */
+    @Test
+    public void testSaveAllInBatches() {
+        final BatchRecordingPersistenceProvider batchProvider = createBatchRecordingPersistenceProvider(2);
+        final List<SimpleAccount> accounts = new ArrayList<SimpleAccount>();
+        for (int i = 0; i < 5; i++) {
+            accounts.add((SimpleAccount) createTopLevelObject());
+        }
+
+        final List<SimpleAccount> saved = new ArrayList<SimpleAccount>();
+        new TransactionTemplate(TestHarnessServiceLocator.getJtaTransactionManager()).execute(
+                new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                saved.addAll(batchProvider.saveAll(accounts));
+                for (SimpleAccount account : saved) {
+                    assertFalse("the persistence context should have been cleared after each batch",
+                            batchProvider.getSharedEntityManager().contains(account));
+                }
+            }
+        });
+
+        assertEquals(Arrays.asList(2, 4, 5), batchProvider.flushedCounts);
+        assertEquals(accounts.size(), saved.size());
+        for (int i = 0; i < accounts.size(); i++) {
+            assertNotNull(saved.get(i).getNumber());
+            assertEquals(accounts.get(i).getName(), saved.get(i).getName());
+            assertTestObjectEquals(saved.get(i), provider.find(SimpleAccount.class, saved.get(i).getNumber()));
+        }
+    }
+
+    /**
+     * Deletes more data objects than fit in one batch, making sure that the entity manager is flushed after each batch.
+     */
+    @Test
+    public void testDeleteAllInBatches() {
+        final List<Object> saved = new ArrayList<Object>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(provider.save(createTopLevelObject()));
+        }
+
+        final BatchRecordingPersistenceProvider batchProvider = createBatchRecordingPersistenceProvider(2);
+        new TransactionTemplate(TestHarnessServiceLocator.getJtaTransactionManager()).execute(
+                new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                batchProvider.deleteAll(saved);
+            }
+        });
+
+        assertEquals(Arrays.asList(2, 4, 5), batchProvider.flushedCounts);
+        for (Object a : saved) {
+            assertNull(provider.find(SimpleAccount.class, getIdForLookup(a)));
+        }
+    }
+
+    /**
+     * A collection which fits in a single batch is flushed once, and an empty collection is not flushed at all.
+     */
+    @Test
+    public void testSaveAllSingleBatch() {
+        final BatchRecordingPersistenceProvider batchProvider = createBatchRecordingPersistenceProvider(10);
+        final List<Object> accounts = Arrays.asList(createTopLevelObject(), createTopLevelObject());
+
+        new TransactionTemplate(TestHarnessServiceLocator.getJtaTransactionManager()).execute(
+                new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                assertEquals(2, batchProvider.saveAll(accounts).size());
+                assertTrue(batchProvider.saveAll(new ArrayList<Object>()).isEmpty());
+                batchProvider.deleteAll(new ArrayList<Object>());
+            }
+        });
+
+        assertEquals(Arrays.asList(2), batchProvider.flushedCounts);
+    }
+
     @Test
     public void testHandles() {
         Object a = createTopLevelObject();
@@ -697,6 +919,39 @@ public class JpaPersistenceProviderTest extends KRADTestCase {
 
     }
 
+    /**
+     * Creates a provider sharing the entity manager of the provider under test, which uses the given batch size and
+     * records the running count of data objects at each flush.
+     */
+    protected BatchRecordingPersistenceProvider createBatchRecordingPersistenceProvider(int batchSize) {
+        JpaPersistenceProvider jpaProvider = (JpaPersistenceProvider) provider;
+        BatchRecordingPersistenceProvider batchProvider = new BatchRecordingPersistenceProvider(batchSize);
+        batchProvider.setSharedEntityManager(jpaProvider.getSharedEntityManager());
+        batchProvider.setDataObjectService(jpaProvider.getDataObjectService());
+        return batchProvider;
+    }
+
+    protected static final class BatchRecordingPersistenceProvider extends JpaPersistenceProvider {
+
+        private final int batchSize;
+        private final List<Integer> flushedCounts = new ArrayList<Integer>();
+
+        BatchRecordingPersistenceProvider(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected int getBatchSize() {
+            return batchSize;
+        }
+
+        @Override
+        protected void flushBatch(String operation, int count, long batchStartTime) {
+            super.flushBatch(operation, count, batchStartTime);
+            flushedCounts.add(count);
+        }
+    }
+
     protected PersistenceProvider getPersistenceProvider() {
         return getKRADTestHarnessContext().getBean("kradTestJpaPersistenceProvider", PersistenceProvider.class);
     }
@@ -15,14 +15,19 @@
  */
 package org.kuali.rice.krad.bo;
 
+import org.kuali.rice.core.api.cache.CacheKeyUtils;
 import org.kuali.rice.kim.api.KimConstants;
 import org.kuali.rice.kim.api.identity.PersonService;
+import org.kuali.rice.kim.api.permission.PermissionCheck;
 import org.kuali.rice.kim.api.permission.PermissionService;
 import org.kuali.rice.kim.api.services.KimApiServiceLocator;
+import org.kuali.rice.krad.uif.view.RequestAuthorizationCache;
 import org.kuali.rice.krad.util.KRADUtils;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -36,8 +41,8 @@ public class DataObjectAuthorizerBase implements DataObjectAuthorizer, Serializa
      */
     public final boolean isAuthorized(Object dataObject, String namespaceCode, String permissionName,
             String principalId) {
-        return getPermissionService().isAuthorized(principalId, namespaceCode, permissionName,
-                new HashMap<String, String>(getRoleQualification(dataObject, principalId)));
+        return isAuthorized(principalId, PermissionCheck.Builder.createForPermission(namespaceCode, permissionName,
+                getRoleQualification(dataObject, principalId)).build());
     }
 
     /**
@@ -46,9 +51,9 @@ public class DataObjectAuthorizerBase implements DataObjectAuthorizer, Serializa
      */
     public final boolean isAuthorizedByTemplate(Object dataObject, String namespaceCode, String permissionTemplateName,
             String principalId) {
-        return getPermissionService().isAuthorizedByTemplate(principalId, namespaceCode, permissionTemplateName,
-                new HashMap<String, String>(getPermissionDetailValues(dataObject)), new HashMap<String, String>(
-                (getRoleQualification(dataObject, principalId))));
+        return isAuthorized(principalId, PermissionCheck.Builder.createForTemplate(namespaceCode,
+                permissionTemplateName, getPermissionDetailValues(dataObject), getRoleQualification(dataObject,
+                principalId)).build());
     }
 
     /**
@@ -58,7 +63,6 @@ public class DataObjectAuthorizerBase implements DataObjectAuthorizer, Serializa
             String principalId, Map<String, String> collectionOrFieldLevelPermissionDetails,
             Map<String, String> collectionOrFieldLevelRoleQualification) {
         Map<String, String> roleQualifiers;
-        Map<String, String> permissionDetails;
         if (collectionOrFieldLevelRoleQualification != null) {
             roleQualifiers = new HashMap<String, String>(getRoleQualification(dataObject, principalId));
             roleQualifiers.putAll(collectionOrFieldLevelRoleQualification);
@@ -66,14 +70,8 @@ public class DataObjectAuthorizerBase implements DataObjectAuthorizer, Serializa
             roleQualifiers = new HashMap<String, String>(getRoleQualification(dataObject, principalId));
         }
 
-        if (collectionOrFieldLevelPermissionDetails != null) {
-            permissionDetails = new HashMap<String, String>(getPermissionDetailValues(dataObject));
-            permissionDetails.putAll(collectionOrFieldLevelPermissionDetails);
-        } else {
-            permissionDetails = new HashMap<String, String>(getPermissionDetailValues(dataObject));
-        }
-
-        return getPermissionService().isAuthorized(principalId, namespaceCode, permissionName, roleQualifiers);
+        return isAuthorized(principalId, PermissionCheck.Builder.createForPermission(namespaceCode, permissionName,
+                roleQualifiers).build());
     }
 
     /**
@@ -94,8 +92,133 @@ public class DataObjectAuthorizerBase implements DataObjectAuthorizer, Serializa
             permissionDetails.putAll(collectionOrFieldLevelPermissionDetails);
         }
 
-        return getPermissionService().isAuthorizedByTemplate(principalId, namespaceCode, permissionTemplateName,
-                permissionDetails, roleQualifiers);
+        return isAuthorized(principalId, PermissionCheck.Builder.createForTemplate(namespaceCode,
+                permissionTemplateName, permissionDetails, roleQualifiers).build());
+    }
+
+    /**
+     * Evaluates a number of permission checks against the given data object with a single call to the
+     * {@link PermissionService}.
+     *
+     * <p>The permission details and role qualification of the data object are merged into each check, with the
+     * details and qualification of the check taking precedence, exactly as the collection or field level maps are
+     * merged by {@link #isAuthorizedByTemplate(Object, String, String, String, java.util.Map, java.util.Map)}.
+     * Results already present in the {@link #getRequestAuthorizationCache()} are not evaluated again, and the
+     * results of the call are added to it so that later single checks for the same permission within the request
+     * do not go back to the permission service.</p>
+     *
+     * @param dataObject the primary data object or document the checks are for
+     * @param principalId the principal to check
+     * @param permissionChecks the checks to evaluate
+     * @return the results of the checks, in the same order as the given checks
+     */
+    protected final List<Boolean> isAuthorized(Object dataObject, String principalId,
+            List<PermissionCheck> permissionChecks) {
+        Map<String, String> dataObjectPermissionDetails = getPermissionDetailValues(dataObject);
+        Map<String, String> dataObjectRoleQualification = getRoleQualification(dataObject, principalId);
+
+        List<Boolean> results = new ArrayList<Boolean>(permissionChecks.size());
+        List<PermissionCheck> uncachedChecks = new ArrayList<PermissionCheck>();
+        List<Integer> uncachedIndexes = new ArrayList<Integer>();
+        for (PermissionCheck permissionCheck : permissionChecks) {
+            Map<String, String> roleQualifiers = new HashMap<String, String>(dataObjectRoleQualification);
+            roleQualifiers.putAll(permissionCheck.getQualification());
+
+            PermissionCheck mergedCheck;
+            if (permissionCheck.isTemplateCheck()) {
+                Map<String, String> permissionDetails = new HashMap<String, String>(dataObjectPermissionDetails);
+                permissionDetails.putAll(permissionCheck.getPermissionDetails());
+                mergedCheck = PermissionCheck.Builder.createForTemplate(permissionCheck.getNamespaceCode(),
+                        permissionCheck.getPermissionTemplateName(), permissionDetails, roleQualifiers).build();
+            } else {
+                mergedCheck = PermissionCheck.Builder.createForPermission(permissionCheck.getNamespaceCode(),
+                        permissionCheck.getPermissionName(), roleQualifiers).build();
+            }
+
+            Boolean cachedResult = getCachedPermissionResult(principalId, mergedCheck);
+            if (cachedResult == null) {
+                uncachedIndexes.add(Integer.valueOf(results.size()));
+                uncachedChecks.add(mergedCheck);
+            }
+            results.add(cachedResult);
+        }
+
+        if (!uncachedChecks.isEmpty()) {
+            List<Boolean> uncachedResults = getPermissionService().isAuthorized(principalId, uncachedChecks);
+            for (int i = 0; i < uncachedChecks.size(); i++) {
+                boolean result = uncachedResults.get(i).booleanValue();
+                results.set(uncachedIndexes.get(i).intValue(), Boolean.valueOf(result));
+                cachePermissionResult(principalId, uncachedChecks.get(i), result);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Evaluates a single permission check, using the result from the {@link #getRequestAuthorizationCache()} if
+     * one is available.
+     */
+    private boolean isAuthorized(String principalId, PermissionCheck permissionCheck) {
+        Boolean cachedResult = getCachedPermissionResult(principalId, permissionCheck);
+        if (cachedResult != null) {
+            return cachedResult.booleanValue();
+        }
+
+        boolean result;
+        if (permissionCheck.isTemplateCheck()) {
+            result = getPermissionService().isAuthorizedByTemplate(principalId, permissionCheck.getNamespaceCode(),
+                    permissionCheck.getPermissionTemplateName(), new HashMap<String, String>(
+                    permissionCheck.getPermissionDetails()), new HashMap<String, String>(
+                    permissionCheck.getQualification()));
+        } else {
+            result = getPermissionService().isAuthorized(principalId, permissionCheck.getNamespaceCode(),
+                    permissionCheck.getPermissionName(), new HashMap<String, String>(
+                    permissionCheck.getQualification()));
+        }
+        cachePermissionResult(principalId, permissionCheck, result);
+
+        return result;
+    }
+
+    private Boolean getCachedPermissionResult(String principalId, PermissionCheck permissionCheck) {
+        RequestAuthorizationCache requestAuthorizationCache = getRequestAuthorizationCache();
+        if (requestAuthorizationCache == null) {
+            return null;
+        }
+
+        return requestAuthorizationCache.getPermissionResult(getPermissionResultKey(principalId, permissionCheck));
+    }
+
+    private void cachePermissionResult(String principalId, PermissionCheck permissionCheck, boolean result) {
+        RequestAuthorizationCache requestAuthorizationCache = getRequestAuthorizationCache();
+        if (requestAuthorizationCache != null) {
+            requestAuthorizationCache.addPermissionResult(getPermissionResultKey(principalId, permissionCheck),
+                    result);
+        }
+    }
+
+    private String getPermissionResultKey(String principalId, PermissionCheck permissionCheck) {
+        return new StringBuilder("principalId=").append(principalId).append("|")
+                .append("namespaceCode=").append(permissionCheck.getNamespaceCode()).append("|")
+                .append("permissionName=").append(permissionCheck.getPermissionName()).append("|")
+                .append("permissionTemplateName=").append(permissionCheck.getPermissionTemplateName()).append("|")
+                .append("permissionDetails=").append(CacheKeyUtils.mapKey(permissionCheck.getPermissionDetails()))
+                .append("|").append("qualification=").append(CacheKeyUtils.mapKey(permissionCheck.getQualification()))
+                .toString();
+    }
+
+    /**
+     * Returns the cache of authorization results for the current request, if the authorizer has one.
+     *
+     * <p>When available, the results of permission checks made through this authorizer are kept in the cache for
+     * the remainder of the request.  Returns null by default, in which case every check goes to the
+     * {@link PermissionService}.</p>
+     *
+     * @return the request authorization cache, or null
+     */
+    protected RequestAuthorizationCache getRequestAuthorizationCache() {
+        return null;
     }
 
     /**
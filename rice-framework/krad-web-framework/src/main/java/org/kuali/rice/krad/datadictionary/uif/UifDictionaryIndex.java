@@ -16,12 +16,17 @@
 package org.kuali.rice.krad.datadictionary.uif;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -58,6 +63,8 @@ public class UifDictionaryIndex implements Runnable {
     
     private static final int VIEW_CACHE_SIZE = 1000;
 
+    private static final int DEFAULT_VIEW_POOL_SIZE_LIMIT = 10;
+
     private DefaultListableBeanFactory ddBeans;
 
     // view entries keyed by view id with value the spring bean name
@@ -67,11 +74,22 @@ public class UifDictionaryIndex implements Runnable {
     private Map<String, ViewTypeDictionaryIndex> viewEntriesByType = new HashMap<String, ViewTypeDictionaryIndex>();
 
     // views that are loaded eagerly
-    private Map<String, UifViewPool> viewPools;
+    private ConcurrentMap<String, UifViewPool> viewPools;
+
+    // refills the view pools in the background
+    private ExecutorService viewPoolExecutor;
 
     // threadpool size
     private int threadPoolSize = 4;
 
+    // upper bound for the adaptive max size of the view pools
+    private int viewPoolSizeLimit = DEFAULT_VIEW_POOL_SIZE_LIMIT;
+
+    // whether pools are created for views without a preload pool size when they are first requested
+    private boolean viewPoolOnDemand;
+
+    private boolean inDevMode;
+
     public UifDictionaryIndex(DefaultListableBeanFactory ddBeans) {
         this.ddBeans = ddBeans;
     }
@@ -86,6 +104,17 @@ public class UifDictionaryIndex implements Runnable {
             // ignore this, instead the pool will be set to DEFAULT_SIZE
         }
 
+        try {
+            Integer limit = new Integer(ConfigContext.getCurrentContextConfig().getProperty(
+                    KRADConstants.KRAD_VIEW_POOL_SIZE_LIMIT));
+            viewPoolSizeLimit = limit.intValue();
+        } catch (NumberFormatException nfe) {
+            // ignore this, instead the limit will be set to DEFAULT_VIEW_POOL_SIZE_LIMIT
+        }
+
+        viewPoolOnDemand = ConfigContext.getCurrentContextConfig().getBooleanProperty(
+                KRADConstants.KRAD_VIEW_POOL_ON_DEMAND, false);
+
         buildViewIndicies();
     }
 
@@ -95,40 +124,102 @@ public class UifDictionaryIndex implements Runnable {
      * <p>Invokes {@link UifDictionaryIndex#getImmutableViewById(java.lang.String)} to get the view singleton
      * from spring then returns a copy.</p>
      *
+     * <p>If the view has a pool, a preloaded instance is taken from the pool when available and the pool is refilled
+     * in the background, so the request thread only pays for the copy when the pool is empty.</p>
+     *
      * @param viewId the unique id for the view
      * @return View instance with the given id
      * @throws org.kuali.rice.krad.datadictionary.DataDictionaryException if view doesn't exist for id
      */
     public View getViewById(final String viewId) {
         // check for preloaded view
-        if (viewPools.containsKey(viewId)) {
-            final UifViewPool viewPool = viewPools.get(viewId);
-            synchronized (viewPool) {
-                if (!viewPool.isEmpty()) {
-                    View view = viewPool.getViewInstance();
-
-                    // replace view in the pool
-                    Runnable createView = new Runnable() {
-                        public void run() {
-                            View newViewInstance = CopyUtils.copy(getImmutableViewById(viewId));
-                            viewPool.addViewInstance(newViewInstance);
-                        }
-                    };
+        UifViewPool viewPool = getOrCreateViewPool(viewId);
+        if (viewPool != null) {
+            View view = viewPool.takeViewInstance();
+            refillViewPool(viewId, viewPool);
 
-                    Thread t = new Thread(createView);
-                    t.start();
+            if (view != null) {
+                return view;
+            }
 
-                    return view;
-                } else {
-                    LOG.info("Pool size for view with id: " + viewId
-                            + " is empty. Considering increasing max pool size.");
-                }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Pool for view with id: " + viewId + " is empty, " + viewPool);
             }
         }
 
-        View view = getImmutableViewById(viewId);
+        long start = System.nanoTime();
+        View view = CopyUtils.copy(getImmutableViewById(viewId));
+        if (viewPool != null) {
+            viewPool.recordCopy(System.nanoTime() - start);
+        }
+
+        return view;
+    }
+
+    /**
+     * Retrieves the pool for the view with the given id, creating it if pools are created on demand
+     *
+     * @param viewId the unique id for the view
+     * @return UifViewPool for the view, or null if the view has no pool
+     */
+    protected UifViewPool getOrCreateViewPool(String viewId) {
+        UifViewPool viewPool = viewPools.get(viewId);
+        if (viewPool == null && viewPoolOnDemand && !inDevMode && viewBeanEntriesById.containsKey(viewId)) {
+            UifViewPool newViewPool = new UifViewPool();
+            newViewPool.setSizeLimit(viewPoolSizeLimit);
+
+            viewPool = viewPools.putIfAbsent(viewId, newViewPool);
+            if (viewPool == null) {
+                viewPool = newViewPool;
+            }
+        }
 
-        return CopyUtils.copy(view);
+        return viewPool;
+    }
+
+    /**
+     * Creates view instances in the background until the given pool, including the instances already being created,
+     * is full
+     *
+     * @param viewId the unique id for the view
+     * @param viewPool the pool for the view
+     */
+    protected void refillViewPool(final String viewId, final UifViewPool viewPool) {
+        while (viewPool.reserveRefill()) {
+            Runnable createView = new Runnable() {
+                @Override
+                public void run() {
+                    boolean refilled = false;
+                    try {
+                        long start = System.nanoTime();
+                        View newViewInstance = CopyUtils.copy(getImmutableViewById(viewId));
+                        viewPool.completeRefill(newViewInstance, System.nanoTime() - start);
+                        refilled = true;
+                    } finally {
+                        if (!refilled) {
+                            viewPool.cancelRefill();
+                        }
+                    }
+                }
+            };
+
+            try {
+                viewPoolExecutor.execute(createView);
+            } catch (RejectedExecutionException e) {
+                viewPool.cancelRefill();
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the view pools keyed by view id, which hold the metrics of each pool
+     *
+     * @return unmodifiable map of view pools keyed by view id
+     */
+    public Map<String, UifViewPool> getViewPools() {
+        return Collections.<String, UifViewPool>unmodifiableMap(viewPools);
     }
 
     /**
@@ -303,13 +394,29 @@ public class UifDictionaryIndex implements Runnable {
 
         viewBeanEntriesById = new HashMap<String, String>();
         viewEntriesByType = new HashMap<String, ViewTypeDictionaryIndex>();
-        viewPools = new HashMap<String, UifViewPool>();
+        viewPools = new ConcurrentHashMap<String, UifViewPool>();
 
-        boolean inDevMode = Boolean.parseBoolean(ConfigContext.getCurrentContextConfig().getProperty(
+        inDevMode = Boolean.parseBoolean(ConfigContext.getCurrentContextConfig().getProperty(
                 KRADConstants.ConfigParameters.KRAD_DEV_MODE));
 
         ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
 
+        if (viewPoolExecutor != null) {
+            viewPoolExecutor.shutdown();
+        }
+        viewPoolExecutor = Executors.newFixedThreadPool(threadPoolSize, new ThreadFactory() {
+            private final ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = defaultThreadFactory.newThread(runnable);
+                thread.setName("UifViewPool-" + thread.getName());
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        });
+
         String[] beanNames = ddBeans.getBeanNamesForType(View.class);
         for (final String beanName : beanNames) {
             BeanDefinition beanDefinition = ddBeans.getMergedBeanDefinition(beanName);
@@ -340,6 +447,7 @@ public class UifDictionaryIndex implements Runnable {
                     final View view = (View) ddBeans.getBean(beanName);
                     final UifViewPool viewPool = new UifViewPool();
                     viewPool.setMaxSize(poolSize);
+                    viewPool.setSizeLimit(Math.max(poolSize, viewPoolSizeLimit));
                     for (int j = 0; j < poolSize; j++) {
                         Runnable createView = new Runnable() {
                             @Override
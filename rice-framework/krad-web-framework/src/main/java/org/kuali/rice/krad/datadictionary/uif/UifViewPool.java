@@ -17,7 +17,11 @@ package org.kuali.rice.krad.datadictionary.uif;
 
 import org.kuali.rice.krad.uif.view.View;
 
-import java.util.Stack;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Holds preloaded view instances up to a configured size
@@ -28,21 +32,45 @@ import java.util.Stack;
  * to see if there is a pool and if so pull the already loaded view
  * </p>
  *
+ * <p>
+ * The pool is safe for use by multiple threads without locking. Its max size adapts to the observed demand: each
+ * time a view is requested from an empty pool the max size grows by one, up to the size limit, and when the pool has
+ * not run dry over an interval of requests while always holding spare views, the max size shrinks by one. The pool
+ * also keeps metrics of its hit rate, miss rate, copy cost and depth.
+ * </p>
+ *
  * @author Kuali Rice Team (rice.collab@kuali.org)
  * @see UifDictionaryIndex#getViewById(java.lang.String)
  */
 public class UifViewPool {
-   private int maxSize;
-   private Stack<View> views;
+
+   /**
+     * Number of requests over which the pool decides whether its max size can shrink
+     */
+   protected static final int ADJUSTMENT_INTERVAL = 100;
+
+   private final Queue<View> views = new ConcurrentLinkedQueue<View>();
+   private final AtomicInteger size = new AtomicInteger();
+   private final AtomicInteger pendingRefills = new AtomicInteger();
+   private final AtomicInteger maxSize;
+   private volatile int sizeLimit;
+
+   private final AtomicLong hitCount = new AtomicLong();
+   private final AtomicLong missCount = new AtomicLong();
+   private final AtomicLong copyCount = new AtomicLong();
+   private final AtomicLong copyTimeNanos = new AtomicLong();
+
+   private final AtomicInteger intervalRequests = new AtomicInteger();
+   private final AtomicInteger intervalMisses = new AtomicInteger();
+   private final AtomicInteger intervalMinSize = new AtomicInteger(Integer.MAX_VALUE);
 
    public UifViewPool() {
-       maxSize = 1;
-       views = new Stack<View>();
+       this(1);
    }
 
    public UifViewPool(int maxSize) {
-       this.maxSize = maxSize;
-       views = new Stack<View>();
+       this.maxSize = new AtomicInteger(maxSize);
+       this.sizeLimit = maxSize;
    }
 
    /**
@@ -52,24 +80,43 @@ public class UifViewPool {
      * On initial startup of the application (during dictionary loading), view instances will be loaded and
      * filled in a pool up to the max size configuration. The default is to preload one view, and each time
      * the view is retrieved it is replaced. If a request is made before the view is replaced, the view is rebuilt
-     * from Spring. Therefore the performance gain is not present. For views with high concurrency, this property
-     * can be tweaked as needed. Please note larger pool sizes cost more in memory storage and application
+     * from Spring. Therefore the performance gain is not present. The max size then adapts to demand between one
+     * and the {@link #getSizeLimit()}. Please note larger pool sizes cost more in memory storage and application
      * start up time
      * </p>
      *
      * @return int max pool size
      */
    public int getMaxSize() {
-       return maxSize;
+       return maxSize.get();
    }
 
    /**
-     * Setter for the pool max size
+     * Setter for the pool max size, the size limit is raised to the max size if it is lower
      *
      * @param maxSize
      */
    public void setMaxSize(int maxSize) {
-       this.maxSize = maxSize;
+       this.maxSize.set(maxSize);
+       if (sizeLimit < maxSize) {
+           sizeLimit = maxSize;
+       }
+   }
+
+   /**
+     * Upper bound the max size of the pool may grow to when views are requested from the empty pool
+     *
+     * @return int size limit
+     */
+   public int getSizeLimit() {
+       return sizeLimit;
+   }
+
+   /**
+     * @see UifViewPool#getSizeLimit()
+     */
+   public void setSizeLimit(int sizeLimit) {
+       this.sizeLimit = sizeLimit;
    }
 
    /**
@@ -78,34 +125,141 @@ public class UifViewPool {
      * @param view - view instance to add
      */
    public void addViewInstance(View view) {
-       views.push(view);
+       views.offer(view);
+       size.incrementAndGet();
    }
 
    /**
      * Retrieves a view instance from the pool and removes the instance
      *
-     * @return View instance
+     * <p>
+     * Since the pool is shared by concurrent requests, it may be emptied between a call to {@link #isEmpty()} and
+     * this call. Rather than throwing an {@link java.util.EmptyStackException} as it did when the pool was a stack,
+     * this method returns null when the pool is empty, so callers must handle a null view instance.
+     * </p>
+     *
+     * @return View instance, or null if the pool is empty
      */
    public View getViewInstance() {
-       return views.pop();
+       View view = views.poll();
+       if (view != null) {
+           size.decrementAndGet();
+       }
+
+       return view;
+   }
+
+   /**
+     * Retrieves a view instance from the pool and removes the instance, recording the request in the pool metrics
+     * and adapting the max size of the pool to the demand
+     *
+     * <p>
+     * The caller is responsible for refilling the pool, see {@link #reserveRefill()}
+     * </p>
+     *
+     * @return View instance, or null if the pool is empty
+     */
+   public View takeViewInstance() {
+       View view = getViewInstance();
+       if (view != null) {
+           hitCount.incrementAndGet();
+       } else {
+           missCount.incrementAndGet();
+           intervalMisses.incrementAndGet();
+           growMaxSize();
+       }
+
+       int currentSize = size.get();
+       int minSize = intervalMinSize.get();
+       while (currentSize < minSize && !intervalMinSize.compareAndSet(minSize, currentSize)) {
+           minSize = intervalMinSize.get();
+       }
+
+       if (intervalRequests.incrementAndGet() % ADJUSTMENT_INTERVAL == 0) {
+           boolean missed = intervalMisses.getAndSet(0) > 0;
+           boolean spare = intervalMinSize.getAndSet(Integer.MAX_VALUE) > 1;
+           if (!missed && spare) {
+               shrinkMaxSize();
+           }
+       }
+
+       return view;
    }
 
    /**
      * Retrieves a view instance from the pool without removing it
      *
-     * @return instance of a View
+     * <p>
+     * Like {@link #getViewInstance()}, returns null rather than throwing an {@link java.util.EmptyStackException}
+     * when the pool is empty
+     * </p>
+     *
+     * @return instance of a View, or null if the pool is empty
      */
    public View getViewSharedInstance() {
        return views.peek();
    }
 
+   /**
+     * Reserves the creation of a view instance to add to the pool, if the pool plus the instances already being
+     * created is not yet full
+     *
+     * <p>
+     * Each successful reservation must be followed by a call to {@link #completeRefill(View, long)} or
+     * {@link #cancelRefill()}
+     * </p>
+     *
+     * @return boolean true if a view instance should be created for the pool, false if not
+     */
+   public boolean reserveRefill() {
+       while (true) {
+           int pending = pendingRefills.get();
+           if (size.get() + pending >= maxSize.get()) {
+               return false;
+           }
+
+           if (pendingRefills.compareAndSet(pending, pending + 1)) {
+               return true;
+           }
+       }
+   }
+
+   /**
+     * Adds a view instance created for a reserved refill to the pool
+     *
+     * @param view view instance to add
+     * @param copyTimeNanos time it took to create the view instance, in nanoseconds
+     */
+   public void completeRefill(View view, long copyTimeNanos) {
+       recordCopy(copyTimeNanos);
+       addViewInstance(view);
+       pendingRefills.decrementAndGet();
+   }
+
+   /**
+     * Releases a refill reservation for which no view instance could be created
+     */
+   public void cancelRefill() {
+       pendingRefills.decrementAndGet();
+   }
+
+   /**
+     * Records the time it took to create a view instance
+     *
+     * @param copyTimeNanos time it took to create the view instance, in nanoseconds
+     */
+   public void recordCopy(long copyTimeNanos) {
+       copyCount.incrementAndGet();
+       this.copyTimeNanos.addAndGet(copyTimeNanos);
+   }
+
    /**
      * Indicates whether the pool is full (number of view instances equals configured max size)
      *
      * @return boolean true if pool is full, else if not
      */
    public boolean isFull() {
-       return views.size() == maxSize;
+       return size.get() >= maxSize.get();
    }
 
    /**
@@ -120,6 +274,103 @@ public class UifViewPool {
      * @return boolean true if the pool is empty, false if not
      */
    public boolean isEmpty() {
-       return (views == null) || (views.size() == 0);
+       return size.get() <= 0;
+   }
+
+   /**
+     * Number of view instances currently held in the pool
+     *
+     * @return int pool depth
+     */
+   public int getSize() {
+       return size.get();
+   }
+
+   /**
+     * Number of requests which were served a view instance from the pool
+     *
+     * @return long hit count
+     */
+   public long getHitCount() {
+       return hitCount.get();
+   }
+
+   /**
+     * Number of requests which found the pool empty
+     *
+     * @return long miss count
+     */
+   public long getMissCount() {
+       return missCount.get();
+   }
+
+   /**
+     * Fraction of requests which were served a view instance from the pool
+     *
+     * @return double hit rate between 0 and 1, 0 if there have been no requests
+     */
+   public double getHitRate() {
+       long requests = hitCount.get() + missCount.get();
+
+       return requests == 0 ? 0 : (double) hitCount.get() / requests;
+   }
+
+   /**
+     * Fraction of requests which found the pool empty
+     *
+     * @return double miss rate between 0 and 1, 0 if there have been no requests
+     */
+   public double getMissRate() {
+       long requests = hitCount.get() + missCount.get();
+
+       return requests == 0 ? 0 : (double) missCount.get() / requests;
+   }
+
+   /**
+     * Number of view instances which have been created, both to refill the pool and to serve misses
+     *
+     * @return long copy count
+     */
+   public long getCopyCount() {
+       return copyCount.get();
    }
+
+   /**
+     * Average time it took to create a view instance
+     *
+     * @return double average copy time in milliseconds, 0 if no copies have been made
+     */
+   public double getAverageCopyTime() {
+       long copies = copyCount.get();
+
+       return copies == 0 ? 0 : (double) copyTimeNanos.get() / copies / TimeUnit.MILLISECONDS.toNanos(1);
+   }
+
+   @Override
+   public String toString() {
+       return "UifViewPool[size=" + getSize() + ", maxSize=" + getMaxSize() + ", sizeLimit=" + getSizeLimit()
+               + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", copies=" + getCopyCount()
+               + ", averageCopyTime=" + getAverageCopyTime() + "ms]";
+   }
+
+   /**
+     * Grows the max size by one if it is below the size limit
+     */
+   private void growMaxSize() {
+       int current = maxSize.get();
+       if (current < sizeLimit) {
+           maxSize.compareAndSet(current, current + 1);
+       }
+   }
+
+   /**
+     * Shrinks the max size by one if it is above one, discarding a view instance if the pool is then over full
+     */
+   private void shrinkMaxSize() {
+       int current = maxSize.get();
+       if (current > 1 && maxSize.compareAndSet(current, current - 1) && size.get() > current - 1) {
+           getViewInstance();
+       }
+   }
+
 }
@@ -24,14 +24,18 @@ import org.kuali.rice.kew.api.doctype.RoutePath;
 import org.kuali.rice.kew.api.document.node.RouteNodeInstance;
 import org.kuali.rice.kim.api.KimConstants;
 import org.kuali.rice.kim.api.identity.Person;
+import org.kuali.rice.kim.api.permission.PermissionCheck;
 import org.kuali.rice.krad.bo.DataObjectAuthorizerBase;
 import org.kuali.rice.krad.service.KRADServiceLocatorWeb;
+import org.kuali.rice.krad.uif.view.RequestAuthorizationCache;
 import org.kuali.rice.krad.util.KRADConstants;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Default implementation for {@link DocumentAuthorizer} that perform KIM permission checks to authorize the actions
@@ -357,6 +361,116 @@ public class DocumentAuthorizerBase extends DataObjectAuthorizerBase implements
         return this.documentRequestAuthorizationCache;
     }
 
+    /**
+     * Evaluates the permissions behind the given document action flags with a single call to the permission service,
+     * so that the individual action checks made afterwards within the request are answered from the
+     * {@link DocumentRequestAuthorizationCache}.
+     *
+     * <p>The checks mirror those made by {@link #canEdit}, {@link #canCopy}, {@link #canSave}, {@link #canRoute},
+     * {@link #canCancel}, {@link #canBlanketApprove}, {@link #canTakeRequestedAction},
+     * {@link #canSendAdHocRequests} and {@link #canAnnotate}, and only the checks behind the flags in
+     * {@code actions} are made.  Subclasses which check further permissions when building the action flags can
+     * override this method to include them.</p>
+     *
+     * <p>The checks are evaluated together through {@code PermissionService.isAuthorized(String, List)}, which only
+     * shares role, group and type service lookups between them when {@code kim.roleResolutionContext.enabled} is
+     * set.  It is off by default, in which case the only saving is the single service call.</p>
+     *
+     * @param document the document the actions are for
+     * @param user the user the actions are being authorized for
+     * @param actions the action flags which are about to be evaluated
+     */
+    public void preloadDocumentActionPermissions(Document document, Person user, Set<String> actions) {
+        getDocumentRequestAuthorizationCache(document);
+
+        List<PermissionCheck> permissionChecks = new ArrayList<PermissionCheck>();
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_EDIT)
+                || actions.contains(KRADConstants.KUALI_ACTION_CAN_EDIT_DOCUMENT_OVERVIEW)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KNS_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.EDIT_DOCUMENT, null);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_COPY)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KNS_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.COPY_DOCUMENT, null);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_SAVE)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KUALI_RICE_WORKFLOW_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.SAVE_DOCUMENT, null);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_ROUTE)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KUALI_RICE_WORKFLOW_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.ROUTE_DOCUMENT, null);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_CANCEL)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KUALI_RICE_WORKFLOW_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.CANCEL_DOCUMENT, null);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_BLANKET_APPROVE)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KUALI_RICE_WORKFLOW_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.BLANKET_APPROVE_DOCUMENT, null);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_ANNOTATE)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KNS_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.ADD_NOTE_ATTACHMENT, null);
+        }
+
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_APPROVE)
+                || actions.contains(KRADConstants.KUALI_ACTION_CAN_DISAPPROVE)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KNS_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.TAKE_REQUESTED_ACTION,
+                    KewApiConstants.ACTION_REQUEST_APPROVE_REQ);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_ACKNOWLEDGE)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KNS_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.TAKE_REQUESTED_ACTION,
+                    KewApiConstants.ACTION_REQUEST_ACKNOWLEDGE_REQ);
+        }
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_FYI)) {
+            addTemplateCheck(permissionChecks, KRADConstants.KNS_NAMESPACE,
+                    KimConstants.PermissionTemplateNames.TAKE_REQUESTED_ACTION,
+                    KewApiConstants.ACTION_REQUEST_FYI_REQ);
+        }
+
+        if (actions.contains(KRADConstants.KUALI_ACTION_CAN_ADD_ADHOC_REQUESTS)
+                || actions.contains(KRADConstants.KUALI_ACTION_CAN_SEND_ADHOC_REQUESTS)
+                || actions.contains(KRADConstants.KUALI_ACTION_CAN_SEND_NOTE_FYI)) {
+            String[] actionRequestCodes = {KewApiConstants.ACTION_REQUEST_FYI_REQ,
+                    KewApiConstants.ACTION_REQUEST_ACKNOWLEDGE_REQ, KewApiConstants.ACTION_REQUEST_APPROVE_REQ};
+            for (String actionRequestCode : actionRequestCodes) {
+                addTemplateCheck(permissionChecks, KRADConstants.KNS_NAMESPACE,
+                        KimConstants.PermissionTemplateNames.SEND_AD_HOC_REQUEST, actionRequestCode);
+            }
+        }
+
+        if (!permissionChecks.isEmpty()) {
+            isAuthorized(document, user.getPrincipalId(), permissionChecks);
+        }
+    }
+
+    private void addTemplateCheck(List<PermissionCheck> permissionChecks, String namespaceCode,
+            String permissionTemplateName, String actionRequestCode) {
+        Map<String, String> permissionDetails;
+        if (actionRequestCode == null) {
+            permissionDetails = Collections.emptyMap();
+        } else {
+            permissionDetails = Collections.singletonMap(KimConstants.AttributeConstants.ACTION_REQUEST_CD,
+                    actionRequestCode);
+        }
+        permissionChecks.add(PermissionCheck.Builder.createForTemplate(namespaceCode, permissionTemplateName,
+                permissionDetails, null).build());
+    }
+
+    /**
+     * Returns the request authorization cache when one has been provided, so that permission results are shared
+     * for the remainder of the request.
+     *
+     * @see org.kuali.rice.krad.bo.DataObjectAuthorizerBase#getRequestAuthorizationCache()
+     */
+    @Override
+    protected RequestAuthorizationCache getRequestAuthorizationCache() {
+        return this.documentRequestAuthorizationCache;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -76,6 +76,13 @@ public class DocumentViewAuthorizerBase extends ViewAuthorizerBase implements Do
                     .getDocumentNumber() + "'. user '" + user.getPrincipalName() + "'");
         }
 
+        // evaluate the permissions behind the document actions together rather than one call per action
+        initializeDocumentAuthorizerIfNecessary(document);
+        if (getDocumentAuthorizer() instanceof DocumentAuthorizerBase) {
+            ((DocumentAuthorizerBase) getDocumentAuthorizer()).preloadDocumentActionPermissions(document, user,
+                    actions);
+        }
+
         if (actions.contains(KRADConstants.KUALI_ACTION_CAN_EDIT) && !canEdit(document, user)) {
             actions.remove(KRADConstants.KUALI_ACTION_CAN_EDIT);
         }
@@ -128,7 +135,10 @@ public class DocumentViewAuthorizerBase extends ViewAuthorizerBase implements Do
             actions.remove(KRADConstants.KUALI_ACTION_CAN_DISAPPROVE);
         }
 
-        if (!canSendAnyTypeAdHocRequests(document, user)) {
+        if ((actions.contains(KRADConstants.KUALI_ACTION_CAN_ADD_ADHOC_REQUESTS)
+                || actions.contains(KRADConstants.KUALI_ACTION_CAN_SEND_ADHOC_REQUESTS)
+                || actions.contains(KRADConstants.KUALI_ACTION_CAN_SEND_NOTE_FYI))
+                && !canSendAnyTypeAdHocRequests(document, user)) {
             actions.remove(KRADConstants.KUALI_ACTION_CAN_ADD_ADHOC_REQUESTS);
             actions.remove(KRADConstants.KUALI_ACTION_CAN_SEND_ADHOC_REQUESTS);
             actions.remove(KRADConstants.KUALI_ACTION_CAN_SEND_NOTE_FYI);
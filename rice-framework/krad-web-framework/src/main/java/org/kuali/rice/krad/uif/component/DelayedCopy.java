@@ -29,6 +29,14 @@ import org.kuali.rice.krad.uif.util.LifecycleAwareList;
  * Annotation for {@link Copyable} fields to indicate that a delayed copy proxy should be used
  * instead of the original component when performing a deep copying on the field.
  * 
+ * <p>
+ * The proxy is used when delayed copy is enabled, or when copy-on-write is enabled and the field
+ * refers to a cached component, see {@link org.kuali.rice.krad.uif.util.CopyUtils#isCopyOnWrite()}.
+ * Since the proxy only implements the interfaces of the component, do not annotate fields whose
+ * values are checked against a concrete class, such as a control checked for
+ * {@link org.kuali.rice.krad.uif.control.MultiValueControlBase}.
+ * </p>
+ * 
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
 @Target({ElementType.FIELD})
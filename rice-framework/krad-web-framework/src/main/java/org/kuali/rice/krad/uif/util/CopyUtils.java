@@ -37,6 +37,7 @@ import java.util.WeakHashMap;
 import org.kuali.rice.core.api.config.property.Config;
 import org.kuali.rice.core.api.config.property.ConfigContext;
 import org.kuali.rice.krad.datadictionary.Copyable;
+import org.kuali.rice.krad.uif.UifConstants;
 import org.kuali.rice.krad.uif.component.DelayedCopy;
 import org.kuali.rice.krad.uif.component.ReferenceCopy;
 import org.kuali.rice.krad.uif.lifecycle.ViewLifecycle;
@@ -51,6 +52,7 @@ import org.kuali.rice.krad.util.KRADConstants;
 public final class CopyUtils {
 
     private static Boolean delay;
+    private static Boolean copyOnWrite;
 
     /**
      * Determine whether or not to use a delayed copy proxy.
@@ -81,6 +83,47 @@ public final class CopyUtils {
         return delay;
     }
 
+    /**
+     * Determine whether or not to share immutable subtrees with the source object on copy.
+     *
+     * <p>
+     * When true, deep copy operations will be truncated at every copyable represented by an
+     * interface on a field annotated with {@link DelayedCopy} that refers to a
+     * {@link LifecycleElement} in the {@link UifConstants.ViewStatus#CACHED cached} state, even
+     * when {@link #isDelay()} is false. Cached elements are immutable, so the copy shares the
+     * element with the prototype through a delayed copy proxy, and the element is only materialized
+     * when a potentially read-write method is invoked on it. Since materializing an element in turn
+     * shares its own cached children on annotated fields, only the path to the modified element is
+     * copied.
+     * </p>
+     *
+     * <p>
+     * Sharing is opt-in per field because the proxy only implements the interfaces of the element,
+     * so code which checks the concrete type of the referenced element, or keys metadata by its
+     * class, would no longer recognize it. Only annotate fields whose values are not inspected that
+     * way.
+     * </p>
+     *
+     * <p>
+     * This value is controlled by the parameter &quot;rice.krad.copyable.copyOnWrite&quot;. By
+     * default, copy-on-write is disabled.
+     * </p>
+     *
+     * @return True if immutable subtrees are shared with the source object on copy, false for full
+     *         deep copy.
+     * @see DelayedCopyableHandler
+     */
+    public static boolean isCopyOnWrite() {
+        if (copyOnWrite == null) {
+            boolean defaultCopyOnWrite = false;
+            Config config = ConfigContext.getCurrentContextConfig();
+            copyOnWrite = config == null ? defaultCopyOnWrite : config.getBooleanProperty(
+                    KRADConstants.ConfigParameters.KRAD_COPY_ON_WRITE, defaultCopyOnWrite);
+        }
+
+        return copyOnWrite;
+    }
+
     /**
      * Mix-in copy implementation for objects that implement the {@link Copyable} interface}
      *
@@ -212,6 +255,28 @@ public final class CopyUtils {
         return true;
     }
 
+    /**
+     * Helper for {@link #getDeepCopy(Object)} for detecting whether or not to share the current node
+     * with the source object through a delayed copy proxy.
+     */
+    private static boolean isDelayed(CopyReference<?> ref, Object source) {
+        Class<?> targetClass = ref.getTargetClass();
+        if (!Copyable.class.isAssignableFrom(targetClass) || !targetClass.isInterface()) {
+            return false;
+        }
+
+        if (!ref.isDelayAvailable()) {
+            return false;
+        }
+
+        if (isDelay()) {
+            return true;
+        }
+
+        return isCopyOnWrite() && (source instanceof LifecycleElement)
+                && UifConstants.ViewStatus.CACHED.equals(((LifecycleElement) source).getViewStatus());
+    }
+
     /**
      * Helper for {@link #getDeepCopy(Object)} to detect whether or not to copy the current node or
      * to keep the cloned reference.
@@ -358,10 +423,7 @@ public final class CopyUtils {
             Object target = useCache ? cache.get(source) : null;
 
             if (target == null) {
-                Class<?> targetClass = ref.getTargetClass();
-
-                if (Copyable.class.isAssignableFrom(targetClass) && targetClass.isInterface()
-                        && ref.isDelayAvailable() && isDelay()) {
+                if (isDelayed(ref, source)) {
                     target = DelayedCopyableHandler.getDelayedCopy((Copyable) source);
                 } else {
 
@@ -37,6 +37,13 @@ import org.kuali.rice.krad.datadictionary.Copyable;
  * is copied to a new object on the fly and the call is forwarded to the copy.
  * </p>
  * 
+ * <p>
+ * When {@link CopyUtils#isCopyOnWrite()} is enabled, the copy made on the fly shares its own cached
+ * children on fields annotated with {@link org.kuali.rice.krad.uif.component.DelayedCopy} with the
+ * original through further proxies, so component trees copied from a cached prototype are
+ * materialized one level at a time along the path to each modified element.
+ * </p>
+ * 
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
 public class DelayedCopyableHandler implements InvocationHandler {
@@ -17,7 +17,6 @@ package org.kuali.rice.krad.uif.util;
 
 import java.beans.PropertyEditor;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -25,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
+import org.kuali.rice.krad.data.util.PropertyHandle;
 import org.kuali.rice.krad.datadictionary.Copyable;
 import org.kuali.rice.krad.uif.util.ObjectPathExpressionParser.PathEntry;
 import org.kuali.rice.krad.util.KRADUtils;
@@ -725,9 +725,9 @@ public class ObjectPropertyReference {
     public Object getFromReadMethod() {
         Class<?> implClass = getImplClass();
 
-        Method readMethod = ObjectPropertyUtils.getReadMethod(implClass, name);
+        PropertyHandle propertyHandle = ObjectPropertyUtils.getPropertyHandle(implClass, name);
 
-        if (readMethod == null) {
+        if (propertyHandle == null || !propertyHandle.isReadable()) {
             if (isWarning()) {
                 IllegalArgumentException missingPropertyException = new IllegalArgumentException("No property name '"
                         + name + "' is readable on " +
@@ -738,20 +738,7 @@ public class ObjectPropertyReference {
             return null;
         }
 
-        try {
-            return readMethod.invoke(bean);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException("Illegal access invoking property read method " + readMethod, e);
-        } catch (InvocationTargetException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof RuntimeException) {
-                throw (RuntimeException) cause;
-            } else if (cause instanceof Error) {
-                throw (Error) cause;
-            }
-            throw new IllegalStateException("Unexpected invocation target exception invoking property read method "
-                    + readMethod, e);
-        }
+        return propertyHandle.getValue(bean);
     }
 
     /**
@@ -890,28 +877,14 @@ public class ObjectPropertyReference {
      */
     private void setUsingWriteMethod(Object propertyValue) {
         Class<?> implClass = getImplClass();
-        Method writeMethod = ObjectPropertyUtils.getWriteMethod(implClass, name);
+        PropertyHandle propertyHandle = ObjectPropertyUtils.getPropertyHandle(implClass, name);
         
-        if (writeMethod == null) {
+        if (propertyHandle == null || !propertyHandle.isWritable()) {
             throw new IllegalArgumentException("No property name '" + name + "' is writable on " +
                     (implClass == beanClass ? implClass.toString() : "impl " + implClass + ", bean " + beanClass));
         }
 
-        try {
-            writeMethod.invoke(bean, propertyValue);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException("Illegal access invoking property write method " + writeMethod, e);
-        } catch (InvocationTargetException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof RuntimeException) {
-                throw (RuntimeException) cause;
-            } else if (cause instanceof Error) {
-                throw (Error) cause;
-            }
-            throw new IllegalStateException(
-                    "Unexpected invocation target exception invoking property write method "
-                            + writeMethod, e);
-        }
+        propertyHandle.setValue(bean, propertyValue);
     }
 
     /**
@@ -44,6 +44,7 @@ import java.util.WeakHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.Logger;
+import org.kuali.rice.krad.data.util.PropertyHandle;
 import org.kuali.rice.krad.service.DataDictionaryService;
 import org.kuali.rice.krad.service.KRADServiceLocatorWeb;
 import org.kuali.rice.krad.uif.UifConstants;
@@ -67,15 +68,18 @@ public final class ObjectPropertyUtils {
      * Internal metadata cache.
      * 
      * <p>
-     * NOTE: WeakHashMap is used as the internal cache representation. Since class objects are used
-     * as the keys, this allows property descriptors to stay in cache until the class loader is
-     * unloaded, but will not prevent the class loader itself from unloading. PropertyDescriptor
-     * instances do not hold hard references back to the classes they refer to, so weak value
-     * maintenance is not necessary.
+     * NOTE: ClassValue is used as the internal cache representation. Lookups do not block, and
+     * since the metadata is associated with the class object itself, this allows property
+     * descriptors to stay in cache until the class loader is unloaded, but will not prevent the
+     * class loader itself from unloading.
      * </p>
      */
-    private static final Map<Class<?>, ObjectPropertyMetadata> METADATA_CACHE = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, ObjectPropertyMetadata>(2048));
+    private static final ClassValue<ObjectPropertyMetadata> METADATA_CACHE = new ClassValue<ObjectPropertyMetadata>() {
+        @Override
+        protected ObjectPropertyMetadata computeValue(Class<?> beanClass) {
+            return new ObjectPropertyMetadata(beanClass);
+        }
+    };
 
     /**
      * Get a mapping of property descriptors by property name for a bean class.
@@ -164,6 +168,22 @@ public final class ObjectPropertyUtils {
         return getMetadata(beanClass).writeMethods.get(propertyName);
     }
 
+    /**
+     * Get the property handle for a specific property on a bean class.
+     * 
+     * <p>
+     * The handle invokes the same read and write methods returned by {@link #getReadMethod(Class, String)}
+     * and {@link #getWriteMethod(Class, String)}, through method handles rather than reflection.
+     * </p>
+     * 
+     * @param beanClass The bean class.
+     * @param propertyName The property name.
+     * @return The property handle, null if the property has neither a read nor a write method.
+     */
+    public static PropertyHandle getPropertyHandle(Class<?> beanClass, String propertyName) {
+        return getMetadata(beanClass).propertyHandles.get(propertyName);
+    }
+
     /**
      * Copy properties from a string map to an object.
      * 
@@ -960,14 +980,11 @@ public final class ObjectPropertyUtils {
      * @return cached metadata for beanClass
      */
     private static ObjectPropertyMetadata getMetadata(Class<?> beanClass) {
-        ObjectPropertyMetadata metadata = METADATA_CACHE.get(beanClass);
-
-        if (metadata == null) {
-            metadata = new ObjectPropertyMetadata(beanClass);
-            METADATA_CACHE.put(beanClass, metadata);
+        if (beanClass == null) {
+            throw new RuntimeException("Class to retrieve property from was null");
         }
 
-        return metadata;
+        return METADATA_CACHE.get(beanClass);
     }
     
     /**
@@ -981,6 +998,7 @@ public final class ObjectPropertyUtils {
         private final Map<String, PropertyDescriptor> propertyDescriptors;
         private final Map<String, Method> readMethods;
         private final Map<String, Method> writeMethods;
+        private final Map<String, PropertyHandle> propertyHandles;
         private final Map<Class<?>, Set<String>> readablePropertyNamesByPropertyType =
                 Collections.synchronizedMap(new WeakHashMap<Class<?>, Set<String>>());
         private final Map<Class<?>, Set<String>> readablePropertyNamesByAnnotationType =
@@ -1138,6 +1156,7 @@ public final class ObjectPropertyUtils {
             Map<String, PropertyDescriptor> mutablePropertyDescriptorMap = new LinkedHashMap<String, PropertyDescriptor>();
             Map<String, Method> mutableReadMethodMap = new LinkedHashMap<String, Method>();
             Map<String, Method> mutableWriteMethodMap = new LinkedHashMap<String, Method>();
+            Map<String, PropertyHandle> mutablePropertyHandleMap = new LinkedHashMap<String, PropertyHandle>();
 
             if (beanInfo != null) {
                 for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
@@ -1160,12 +1179,18 @@ public final class ObjectPropertyUtils {
                     assert writeMethod == null
                             || (writeMethod.getParameterTypes().length == 1 && writeMethod.getParameterTypes()[0] != null) : writeMethod;
                     mutableWriteMethodMap.put(propertyName, writeMethod);
+
+                    if (readMethod != null || writeMethod != null) {
+                        mutablePropertyHandleMap.put(propertyName,
+                                PropertyHandle.create(propertyName, readMethod, writeMethod));
+                    }
                 }
             }
 
             propertyDescriptors = Collections.unmodifiableMap(mutablePropertyDescriptorMap);
             readMethods = Collections.unmodifiableMap(mutableReadMethodMap);
             writeMethods = Collections.unmodifiableMap(mutableWriteMethodMap);
+            propertyHandles = Collections.unmodifiableMap(mutablePropertyHandleMap);
         }
 
         /**
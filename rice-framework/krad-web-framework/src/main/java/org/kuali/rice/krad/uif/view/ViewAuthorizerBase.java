@@ -20,6 +20,7 @@ import org.kuali.rice.core.api.CoreApiServiceLocator;
 import org.kuali.rice.core.api.config.property.ConfigurationService;
 import org.kuali.rice.kim.api.KimConstants;
 import org.kuali.rice.kim.api.identity.Person;
+import org.kuali.rice.kim.api.permission.PermissionCheck;
 import org.kuali.rice.krad.bo.DataObjectAuthorizerBase;
 import org.kuali.rice.krad.datadictionary.AttributeSecurity;
 import org.kuali.rice.krad.datadictionary.parse.BeanTag;
@@ -39,8 +40,10 @@ import org.kuali.rice.krad.uif.widget.Widget;
 import org.kuali.rice.krad.util.KRADConstants;
 import org.kuali.rice.krad.util.KRADUtils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -87,6 +90,8 @@ public class ViewAuthorizerBase extends DataObjectAuthorizerBase implements View
         Object dataObjectForContext = getDataObjectContext(view, model);
 
         // loop through supplied editModes and make sure KIM permission exists
+        List<String> checkedEditModes = new ArrayList<String>();
+        List<PermissionCheck> permissionChecks = new ArrayList<PermissionCheck>();
         for (String editMode : editModes) {
             Map<String, String> additionalPermissionDetails = new HashMap<String, String>();
             additionalPermissionDetails.put(KimConstants.AttributeConstants.EDIT_MODE, editMode);
@@ -94,11 +99,18 @@ public class ViewAuthorizerBase extends DataObjectAuthorizerBase implements View
             boolean exists = permissionExistsByTemplate(dataObjectForContext, KRADConstants.KRAD_NAMESPACE,
                     KimConstants.PermissionTemplateNames.USE_VIEW, additionalPermissionDetails);
             if (exists) {
-                boolean authorized = isAuthorizedByTemplate(dataObjectForContext, KRADConstants.KRAD_NAMESPACE,
-                        KimConstants.PermissionTemplateNames.USE_VIEW, user.getPrincipalId(),
-                        additionalPermissionDetails, null);
-                if (!authorized) {
-                    unauthorizedEditModes.add(editMode);
+                checkedEditModes.add(editMode);
+                permissionChecks.add(PermissionCheck.Builder.createForTemplate(KRADConstants.KRAD_NAMESPACE,
+                        KimConstants.PermissionTemplateNames.USE_VIEW, additionalPermissionDetails, null).build());
+            }
+        }
+
+        // authorize all of the edit modes with a single permission service call
+        if (!permissionChecks.isEmpty()) {
+            List<Boolean> authorized = isAuthorized(dataObjectForContext, user.getPrincipalId(), permissionChecks);
+            for (int i = 0; i < checkedEditModes.size(); i++) {
+                if (!authorized.get(i).booleanValue()) {
+                    unauthorizedEditModes.add(checkedEditModes.get(i));
                 }
             }
         }
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krad.datadictionary.uif;
+
+import org.junit.Test;
+import org.kuali.rice.krad.uif.view.View;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link UifViewPool}
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class UifViewPoolTest {
+
+    @Test
+    public void testTakeViewInstance() {
+        UifViewPool viewPool = new UifViewPool(2);
+        View view = mock(View.class);
+        viewPool.addViewInstance(view);
+
+        assertSame(view, viewPool.takeViewInstance());
+        assertNull(viewPool.takeViewInstance());
+        assertTrue(viewPool.isEmpty());
+
+        assertEquals(1, viewPool.getHitCount());
+        assertEquals(1, viewPool.getMissCount());
+        assertEquals(0.5, viewPool.getHitRate(), 0);
+        assertEquals(0.5, viewPool.getMissRate(), 0);
+    }
+
+    @Test
+    public void testEmptyPoolReturnsNull() {
+        UifViewPool viewPool = new UifViewPool();
+        assertNull(viewPool.getViewInstance());
+        assertNull(viewPool.getViewSharedInstance());
+        assertEquals(0, viewPool.getSize());
+
+        View view = mock(View.class);
+        viewPool.addViewInstance(view);
+        assertSame(view, viewPool.getViewSharedInstance());
+        assertSame(view, viewPool.getViewInstance());
+        assertNull(viewPool.getViewInstance());
+        assertTrue(viewPool.isEmpty());
+    }
+
+    @Test
+    public void testRefillReservations() {
+        UifViewPool viewPool = new UifViewPool(2);
+        viewPool.addViewInstance(mock(View.class));
+
+        assertTrue(viewPool.reserveRefill());
+        assertFalse("pool plus pending refills is full", viewPool.reserveRefill());
+
+        viewPool.cancelRefill();
+        assertTrue(viewPool.reserveRefill());
+        viewPool.completeRefill(mock(View.class), 1000000L);
+
+        assertTrue(viewPool.isFull());
+        assertFalse(viewPool.reserveRefill());
+        assertEquals(1, viewPool.getCopyCount());
+        assertEquals(1.0, viewPool.getAverageCopyTime(), 0.0001);
+    }
+
+    @Test
+    public void testMaxSizeAdaptsToDemand() {
+        UifViewPool viewPool = new UifViewPool(1);
+        viewPool.setSizeLimit(3);
+
+        // each miss grows the pool up to the size limit
+        for (int i = 0; i < 5; i++) {
+            assertNull(viewPool.takeViewInstance());
+        }
+        assertEquals(3, viewPool.getMaxSize());
+
+        // an interval without misses in which the pool always had spare views shrinks it again
+        for (int i = 0; i < 3; i++) {
+            viewPool.addViewInstance(mock(View.class));
+        }
+        for (int i = 5; i < UifViewPool.ADJUSTMENT_INTERVAL; i++) {
+            takeAndRefill(viewPool);
+        }
+        assertEquals(3, viewPool.getMaxSize());
+
+        for (int i = 0; i < UifViewPool.ADJUSTMENT_INTERVAL; i++) {
+            takeAndRefill(viewPool);
+        }
+        assertEquals(2, viewPool.getMaxSize());
+        assertEquals(2, viewPool.getSize());
+    }
+
+    private void takeAndRefill(UifViewPool viewPool) {
+        viewPool.takeViewInstance();
+        while (viewPool.reserveRefill()) {
+            viewPool.completeRefill(mock(View.class), 0);
+        }
+    }
+
+}
@@ -15,9 +15,12 @@
  */
 package org.kuali.rice.krad.uif.field;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,9 +30,12 @@ import org.kuali.rice.krad.keyvalues.KeyValuesFinder;
 import org.kuali.rice.krad.keyvalues.KeyValuesFinderFactory;
 import org.kuali.rice.krad.uif.UifConstants;
 import org.kuali.rice.krad.uif.component.BindingInfo;
+import org.kuali.rice.krad.uif.control.CheckboxGroupControl;
+import org.kuali.rice.krad.uif.control.MultiValueControlBase;
 import org.kuali.rice.krad.uif.lifecycle.ViewLifecycle;
 import org.kuali.rice.krad.uif.lifecycle.ViewPostMetadata;
 import org.kuali.rice.krad.uif.service.ViewHelperService;
+import org.kuali.rice.krad.uif.util.CopyUtils;
 import org.kuali.rice.krad.uif.view.View;
 import org.mockito.Mockito;
 
@@ -82,6 +88,50 @@ public class InputFieldTest {
 
     }
 
+    /**
+     * Copies a cached input field with a multi value control while copy-on-write is enabled. The control of the copy
+     * must still be a {@link MultiValueControlBase}, so that the options from the options finder are set on it.
+     */
+    @Test
+    public void testCopyOnWriteMultiValueControlOptions() throws Exception {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put("1", "One");
+        map.put("2", "Two");
+        optionsFinder = KeyValuesFinderFactory.fromMap(map);
+
+        when(view.getViewStatus()).thenReturn(UifConstants.ViewStatus.FINAL);
+        when(bindingInfo.getBindingPath()).thenReturn("testInteger");
+        when(bindingInfo.clone()).thenReturn(bindingInfo);
+
+        final CheckboxGroupControl control = new CheckboxGroupControl();
+        final InputFieldBase prototype = new InputFieldBase();
+        prototype.setBindingInfo(bindingInfo);
+        prototype.setOptionsFinder(optionsFinder);
+        prototype.setControl(control);
+        control.setViewStatus(UifConstants.ViewStatus.CACHED);
+        prototype.setViewStatus(UifConstants.ViewStatus.CACHED);
+
+        Field copyOnWrite = CopyUtils.class.getDeclaredField("copyOnWrite");
+        copyOnWrite.setAccessible(true);
+        Object originalCopyOnWrite = copyOnWrite.get(null);
+        copyOnWrite.set(null, Boolean.TRUE);
+        try {
+            ViewLifecycle.encapsulateLifecycle(view, model, new ViewPostMetadata(), null, null, new Runnable() {
+                @Override
+                public void run() {
+                    InputField copy = CopyUtils.copy(prototype);
+                    assertTrue(copy.getControl() instanceof MultiValueControlBase);
+
+                    copy.performApplyModel(model, copy);
+                    assertEquals(2, ((MultiValueControlBase) copy.getControl()).getOptions().size());
+                    assertTrue(control.getOptions() == null || control.getOptions().isEmpty());
+                }
+            });
+        } finally {
+            copyOnWrite.set(null, originalCopyOnWrite);
+        }
+    }
+
     // Simple model object to return testInteger integer
     private class TestModel {
         public int getTestInteger() {
@@ -15,6 +15,8 @@
  */
 package org.kuali.rice.krad.uif.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +27,7 @@ import org.kuali.rice.kim.api.common.assignee.Assignee;
 import org.kuali.rice.kim.api.common.template.Template;
 import org.kuali.rice.kim.api.common.template.TemplateQueryResults;
 import org.kuali.rice.kim.api.permission.Permission;
+import org.kuali.rice.kim.api.permission.PermissionCheck;
 import org.kuali.rice.kim.api.permission.PermissionQueryResults;
 import org.kuali.rice.kim.api.permission.PermissionService;
 
@@ -99,6 +102,15 @@ public class MockPermissionService implements PermissionService {
         return true;
     }
 
+    /**
+     * @see org.kuali.rice.kim.api.permission.PermissionService#isAuthorized(java.lang.String, java.util.List)
+     */
+    @Override
+    public List<Boolean> isAuthorized(String principalId, List<PermissionCheck> permissionChecks)
+            throws RiceIllegalArgumentException {
+        return new ArrayList<Boolean>(Collections.nCopies(permissionChecks.size(), Boolean.TRUE));
+    }
+
     /**
      * @see org.kuali.rice.kim.api.permission.PermissionService#getPermissionAssignees(java.lang.String,
      *      java.lang.String, java.util.Map)
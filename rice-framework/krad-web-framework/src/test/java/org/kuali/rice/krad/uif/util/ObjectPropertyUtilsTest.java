@@ -653,6 +653,18 @@ public class ObjectPropertyUtilsTest extends ProcessLoggingUnitTest {
         assertEquals("34", action.getActionParameter("lineIndex"));
     }
 
+    /**
+     * Values are unboxed and widened to primitive property types, as with reflective invocation.
+     */
+    @Test
+    public void testSetPrimitiveWidening() {
+        TestBean tb = new TestBean();
+        ObjectPropertyUtils.setPropertyValue(tb, "intProp", Short.valueOf((short) 3));
+        assertEquals(3, tb.getIntProp());
+        ObjectPropertyUtils.setPropertyValue(tb, "intProp", Character.valueOf('a'));
+        assertEquals('a', tb.getIntProp());
+    }
+
     @Test
     public void testClassNavigation() {
         assertEquals(String.class, ObjectPropertyUtils.getPropertyType(TestBean.class, "complexProp.fooProp"));
@@ -15,6 +15,7 @@
  */
 package org.kuali.rice.coreservice.impl.style;
 
+import org.apache.commons.lang.ObjectUtils;
 import org.apache.log4j.Logger;
 import org.kuali.rice.coreservice.api.style.Style;
 import org.kuali.rice.coreservice.api.style.StyleRepositoryService;
@@ -27,14 +28,30 @@ import org.springframework.beans.factory.annotation.Required;
 import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.URIResolver;
 import javax.xml.transform.stream.StreamSource;
 import java.io.StringReader;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
  * Implements generic StyleService via existing EDL style table
+ *
+ * <p>Compiled stylesheets are cached by style name and version, so a style is only recompiled after it has been
+ * changed, even when the {@link Style.Cache#NAME} cache has been flushed (for example when any style is saved, which
+ * flushes the cache across the cluster).  The versions of the styles pulled in through {@code xsl:include} or
+ * {@code xsl:import} are recorded as well, so a stylesheet is also recompiled when one of the styles it includes
+ * changes.  If {@link #setWarmCache(boolean) warmCache} is set, all active styles are
+ * compiled in the background the first time a compiled style is requested.</p>
+ *
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
 public class StyleServiceImpl implements StyleService {
@@ -42,11 +59,28 @@ public class StyleServiceImpl implements StyleService {
     private static final Logger LOG = Logger.getLogger(StyleServiceImpl.class);
 
     private StyleRepositoryService styleRepositoryService;
+    private boolean warmCache;
+
+    private final ConcurrentMap<String, CompiledStyle> compiledStyles = new ConcurrentHashMap<String, CompiledStyle>();
+    private final AtomicBoolean warmed = new AtomicBoolean();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong compileTimeNanos = new AtomicLong();
 
     public void setStyleRepositoryService(StyleRepositoryService styleRepositoryService) {
     	this.styleRepositoryService = styleRepositoryService;
     }
 
+    /**
+     * Sets whether all active styles should be compiled in the background the first time a compiled style is
+     * requested.
+     *
+     * @param warmCache true to warm the compiled style cache
+     */
+    public void setWarmCache(boolean warmCache) {
+        this.warmCache = warmCache;
+    }
+
     /**
      * Loads the named style from the database, or (if configured) imports it from a file
      * specified via a configuration parameter with a name of the format edl.style.&lt;styleName&gt;
@@ -63,12 +97,84 @@ public class StyleServiceImpl implements StyleService {
             return null;
         }
 
+        if (warmCache && warmed.compareAndSet(false, true)) {
+            warmCacheInBackground(name);
+        }
+
         Style style = getStyle(name);
         if (style == null) {
+            compiledStyles.remove(name);
             return null;
         }
 
-        boolean useXSLTC = CoreFrameworkServiceLocator.getParameterService().getParameterValueAsBoolean(KewApiConstants.KEW_NAMESPACE, KRADConstants.DetailTypes.EDOC_LITE_DETAIL_TYPE, KewApiConstants.EDL_USE_XSLTC_IND);
+        boolean useXSLTC = isUseXSLTC();
+        CompiledStyle compiledStyle = compiledStyles.get(name);
+        if (compiledStyle != null && isCurrent(compiledStyle, style, useXSLTC)) {
+            hitCount.incrementAndGet();
+            return compiledStyle.templates;
+        }
+
+        missCount.incrementAndGet();
+        long startTime = System.nanoTime();
+        StyleUriResolver uriResolver = new StyleUriResolver(this);
+        Templates templates = compile(style, useXSLTC, uriResolver);
+        long elapsed = System.nanoTime() - startTime;
+        compileTimeNanos.addAndGet(elapsed);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Compiled style " + name + " (version " + style.getVersionNumber() + ") in "
+                    + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+        }
+
+        compiledStyles.put(name, new CompiledStyle(style, useXSLTC, templates, uriResolver.getResolvedStyles()));
+        return templates;
+    }
+
+    /**
+     * Determines whether the given compiled style is current, i.e. whether it was compiled with the given compiler
+     * settings from the current version of the style and of every style it included.
+     *
+     * @param compiledStyle the compiled style to check
+     * @param style the current version of the style
+     * @param useXSLTC whether styles are currently compiled using XSLTC
+     * @return true if the compiled style can be used, false if the style must be recompiled
+     */
+    private boolean isCurrent(CompiledStyle compiledStyle, Style style, boolean useXSLTC) {
+        if (compiledStyle.useXSLTC != useXSLTC || !isSameVersion(compiledStyle.style, style)) {
+            return false;
+        }
+        for (Map.Entry<String, Style> includedStyle : compiledStyle.includedStyles.entrySet()) {
+            if (!isSameVersion(includedStyle.getValue(), getStyle(includedStyle.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether the given styles are the same version of a style.  The version number is used when available,
+     * otherwise the xml content is compared.
+     */
+    private static boolean isSameVersion(Style compiled, Style current) {
+        if (current == null) {
+            return false;
+        }
+        if (compiled.getVersionNumber() != null && current.getVersionNumber() != null) {
+            return compiled.getVersionNumber().equals(current.getVersionNumber());
+        }
+        return ObjectUtils.equals(compiled.getXmlContent(), current.getXmlContent());
+    }
+
+    /**
+     * Compiles the given style into a {@link Templates} instance.
+     *
+     * @param style the style to compile
+     * @param useXSLTC whether to compile the style using XSLTC
+     * @param uriResolver the resolver for the styles included by the style
+     * @return the compiled style
+     * @throws TransformerConfigurationException if compilation of the stylesheet fails
+     */
+    protected Templates compile(Style style, boolean useXSLTC,
+            URIResolver uriResolver) throws TransformerConfigurationException {
         if (useXSLTC) {
             LOG.info("using xsltc to compile stylesheet");
             String key = "javax.xml.transform.TransformerFactory";
@@ -79,10 +185,10 @@ public class StyleServiceImpl implements StyleService {
         }
 
         TransformerFactory factory = TransformerFactory.newInstance();
-        factory.setURIResolver(new StyleUriResolver(this));
+        factory.setURIResolver(uriResolver);
 
         if (useXSLTC) {
-            factory.setAttribute("translet-name",name);
+            factory.setAttribute("translet-name",style.getName());
             factory.setAttribute("generate-translet",Boolean.TRUE);
             String debugTransform = CoreFrameworkServiceLocator.getParameterService().getParameterValueAsString(KewApiConstants.KEW_NAMESPACE, KRADConstants.DetailTypes.EDOC_LITE_DETAIL_TYPE, KewApiConstants.EDL_DEBUG_TRANSFORM_IND);
             if (debugTransform.trim().equals("Y")) {
@@ -93,13 +199,102 @@ public class StyleServiceImpl implements StyleService {
         return factory.newTemplates(new StreamSource(new StringReader(style.getXmlContent())));
     }
 
+    /**
+     * Determines whether stylesheets should be compiled using XSLTC.
+     *
+     * @return the value of the EDL use XSLTC parameter
+     */
+    protected boolean isUseXSLTC() {
+        return CoreFrameworkServiceLocator.getParameterService().getParameterValueAsBoolean(KewApiConstants.KEW_NAMESPACE, KRADConstants.DetailTypes.EDOC_LITE_DETAIL_TYPE, KewApiConstants.EDL_USE_XSLTC_IND);
+    }
+
+    /**
+     * Compiles all active styles other than the given one on a background thread.
+     *
+     * @param requestedName the name of the style being compiled by the caller
+     */
+    protected void warmCacheInBackground(final String requestedName) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (String styleName : getAllStyleNames()) {
+                    if (styleName.equals(requestedName) || compiledStyles.containsKey(styleName)) {
+                        continue;
+                    }
+                    try {
+                        getStyleAsTranslet(styleName);
+                    } catch (Exception e) {
+                        LOG.warn("Failed to compile style " + styleName + " while warming the style cache", e);
+                    }
+                }
+                LOG.info("Warmed compiled style cache with " + compiledStyles.size() + " styles");
+            }
+        }, "StyleCacheWarmer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     @Override
     public void saveStyle(Style style) {
     	styleRepositoryService.saveStyle(style);
+        if (style != null) {
+            compiledStyles.remove(style.getName());
+        }
     }
     
     @Override
     public List<String> getAllStyleNames() {
         return styleRepositoryService.getAllStyleNames();
     }
+
+    /**
+     * Returns the number of requests for a compiled style which were served from the compiled style cache.
+     *
+     * @return the compiled style cache hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of requests for a compiled style which required the style to be compiled.
+     *
+     * @return the compiled style cache miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the total time spent compiling styles.
+     *
+     * @return the total compile time in milliseconds
+     */
+    public long getCompileTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(compileTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "StyleServiceImpl[compiledStyles=" + compiledStyles.size() + ", hits=" + getHitCount() + ", misses="
+                + getMissCount() + ", compileTimeMillis=" + getCompileTimeMillis() + "]";
+    }
+
+    /**
+     * A compiled style, along with the versions of the style and of the styles it included, and the compiler settings
+     * it was compiled with.
+     */
+    private static final class CompiledStyle {
+        private final Style style;
+        private final boolean useXSLTC;
+        private final Templates templates;
+        private final Map<String, Style> includedStyles;
+
+        private CompiledStyle(Style style, boolean useXSLTC, Templates templates, Map<String, Style> includedStyles) {
+            this.style = style;
+            this.useXSLTC = useXSLTC;
+            this.templates = templates;
+            this.includedStyles = new HashMap<String, Style>(includedStyles);
+        }
+    }
 }
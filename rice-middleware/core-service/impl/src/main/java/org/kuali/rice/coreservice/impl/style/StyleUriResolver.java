@@ -16,6 +16,9 @@
 package org.kuali.rice.coreservice.impl.style;
 
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.transform.Source;
 import javax.xml.transform.URIResolver;
@@ -27,6 +30,9 @@ import org.kuali.rice.coreservice.api.style.StyleService;
 
 /**
  * A URIResolver that knows how to resolve href's based on style names.
+ *
+ * <p>The styles resolved are recorded, so that a stylesheet compiled with this resolver can be recompiled when one of
+ * the styles it includes or imports changes.</p>
  * 
  * @author Kuali Rice Team (rice.collab@kuali.org)
  * 
@@ -36,6 +42,8 @@ class StyleUriResolver implements URIResolver {
 	private static final Logger LOG = Logger.getLogger(StyleUriResolver.class);
 	
 	private final StyleService styleService;
+
+	private final Map<String, Style> resolvedStyles = new LinkedHashMap<String, Style>();
 	
 	StyleUriResolver(StyleService styleService) {
 		if (styleService == null) {
@@ -48,6 +56,9 @@ class StyleUriResolver implements URIResolver {
 
 		try {
 			Style style = styleService.getStyle(href);
+			if (style != null) {
+				resolvedStyles.put(href, style);
+			}
 			return new StreamSource(new StringReader(style.getXmlContent()));
 
 		} catch (Exception e) {
@@ -56,4 +67,13 @@ class StyleUriResolver implements URIResolver {
 		return null;
 	}
 
+	/**
+	 * Returns the styles resolved by this resolver so far, keyed by the href they were resolved from.
+	 *
+	 * @return an unmodifiable map of the resolved styles
+	 */
+	Map<String, Style> getResolvedStyles() {
+		return Collections.unmodifiableMap(resolvedStyles);
+	}
+
 }
@@ -0,0 +1,172 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.coreservice.impl.style;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kuali.rice.coreservice.api.style.Style;
+import org.kuali.rice.coreservice.api.style.StyleRepositoryService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.xml.transform.Templates;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for the compiled style cache in {@link StyleServiceImpl}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StyleServiceImplCacheTest {
+
+    private static final String NAME = "MyStyle";
+    private static final String XML_CONTENT = "<xsl:stylesheet version=\"1.0\" "
+            + "xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\"><xsl:template match=\"/\"/></xsl:stylesheet>";
+    private static final String WIDGETS = "widgets";
+    private static final String BASE = "base";
+
+    @Mock private StyleRepositoryService styleRepositoryService;
+
+    private StyleServiceImpl styleService;
+
+    @Before
+    public void setUp() {
+        styleService = new StyleServiceImpl() {
+            @Override
+            protected boolean isUseXSLTC() {
+                return false;
+            }
+        };
+        styleService.setStyleRepositoryService(styleRepositoryService);
+    }
+
+    @Test
+    public void testCompiledStyleIsCached() throws Exception {
+        when(styleRepositoryService.getStyle(NAME)).thenReturn(createStyle(1L));
+
+        Templates templates = styleService.getStyleAsTranslet(NAME);
+        assertNotNull(templates);
+        assertSame(templates, styleService.getStyleAsTranslet(NAME));
+        assertEquals(1, styleService.getHitCount());
+        assertEquals(1, styleService.getMissCount());
+    }
+
+    @Test
+    public void testNewVersionIsRecompiled() throws Exception {
+        when(styleRepositoryService.getStyle(NAME)).thenReturn(createStyle(1L));
+        Templates templates = styleService.getStyleAsTranslet(NAME);
+
+        when(styleRepositoryService.getStyle(NAME)).thenReturn(createStyle(2L));
+        assertNotSame(templates, styleService.getStyleAsTranslet(NAME));
+        assertEquals(0, styleService.getHitCount());
+        assertEquals(2, styleService.getMissCount());
+    }
+
+    @Test
+    public void testSaveStyleEvictsCompiledStyle() throws Exception {
+        Style style = createStyle(1L);
+        when(styleRepositoryService.getStyle(NAME)).thenReturn(style);
+        Templates templates = styleService.getStyleAsTranslet(NAME);
+
+        styleService.saveStyle(style);
+        verify(styleRepositoryService).saveStyle(style);
+        assertNotSame(templates, styleService.getStyleAsTranslet(NAME));
+    }
+
+    /**
+     * A style is recompiled when a style it includes is changed, even though the style itself is unchanged.
+     */
+    @Test
+    public void testIncludedStyleChangeIsRecompiled() throws Exception {
+        when(styleRepositoryService.getStyle(NAME)).thenReturn(createIncludingStyle(NAME, WIDGETS, 1L));
+        when(styleRepositoryService.getStyle(WIDGETS)).thenReturn(createStyle(WIDGETS, XML_CONTENT, 1L));
+
+        Templates templates = styleService.getStyleAsTranslet(NAME);
+        assertSame(templates, styleService.getStyleAsTranslet(NAME));
+        assertEquals(1, styleService.getMissCount());
+
+        when(styleRepositoryService.getStyle(WIDGETS)).thenReturn(createStyle(WIDGETS, XML_CONTENT, 2L));
+        Templates recompiled = styleService.getStyleAsTranslet(NAME);
+        assertNotSame(templates, recompiled);
+        assertEquals(2, styleService.getMissCount());
+
+        // the new version of the included style is recorded
+        assertSame(recompiled, styleService.getStyleAsTranslet(NAME));
+        assertEquals(2, styleService.getHitCount());
+    }
+
+    /**
+     * Styles included by included styles are tracked as well.
+     */
+    @Test
+    public void testNestedIncludedStyleChangeIsRecompiled() throws Exception {
+        when(styleRepositoryService.getStyle(NAME)).thenReturn(createIncludingStyle(NAME, WIDGETS, 1L));
+        when(styleRepositoryService.getStyle(WIDGETS)).thenReturn(createIncludingStyle(WIDGETS, BASE, 1L));
+        when(styleRepositoryService.getStyle(BASE)).thenReturn(createStyle(BASE, XML_CONTENT, 1L));
+
+        Templates templates = styleService.getStyleAsTranslet(NAME);
+        assertSame(templates, styleService.getStyleAsTranslet(NAME));
+
+        when(styleRepositoryService.getStyle(BASE)).thenReturn(createStyle(BASE, XML_CONTENT, 2L));
+        assertNotSame(templates, styleService.getStyleAsTranslet(NAME));
+    }
+
+    /**
+     * Without version numbers, included styles are compared by content.
+     */
+    @Test
+    public void testIncludedStyleContentChangeIsRecompiled() throws Exception {
+        when(styleRepositoryService.getStyle(NAME)).thenReturn(createIncludingStyle(NAME, WIDGETS, 1L));
+        when(styleRepositoryService.getStyle(WIDGETS)).thenReturn(createStyle(WIDGETS, XML_CONTENT, null));
+
+        Templates templates = styleService.getStyleAsTranslet(NAME);
+        when(styleRepositoryService.getStyle(WIDGETS)).thenReturn(createStyle(WIDGETS, XML_CONTENT, null));
+        assertSame(templates, styleService.getStyleAsTranslet(NAME));
+
+        String changedContent = XML_CONTENT.replace("match=\"/\"", "match=\"/*\"");
+        when(styleRepositoryService.getStyle(WIDGETS)).thenReturn(createStyle(WIDGETS, changedContent, null));
+        assertNotSame(templates, styleService.getStyleAsTranslet(NAME));
+    }
+
+    @Test
+    public void testMissingStyle() throws Exception {
+        assertNull(styleService.getStyleAsTranslet(NAME));
+        assertNull(styleService.getStyleAsTranslet(null));
+    }
+
+    private static Style createStyle(Long versionNumber) {
+        return createStyle(NAME, XML_CONTENT, versionNumber);
+    }
+
+    private static Style createIncludingStyle(String name, String includedName, Long versionNumber) {
+        return createStyle(name, "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+                + "<xsl:include href=\"" + includedName + "\"/></xsl:stylesheet>", versionNumber);
+    }
+
+    private static Style createStyle(String name, String xmlContent, Long versionNumber) {
+        Style.Builder builder = Style.Builder.create(name);
+        builder.setId(name);
+        builder.setXmlContent(xmlContent);
+        builder.setActive(true);
+        builder.setVersionNumber(versionNumber);
+        return builder.build();
+    }
+
+}
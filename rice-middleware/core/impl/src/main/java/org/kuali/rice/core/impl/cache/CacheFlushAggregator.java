@@ -0,0 +1,275 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.core.impl.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.kuali.rice.core.api.cache.CacheTarget;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces distributed cache flush requests before they are published.
+ *
+ * <p>
+ * Cache targets handed to {@link #add(java.util.Collection)} are merged into a pending set: duplicate cache/key pairs
+ * are sent once, keys are dropped when the entire cache is being flushed, and a cache whose pending key count exceeds
+ * the configured maximum is escalated to a flush of the entire cache.
+ * </p>
+ *
+ * <p>
+ * If the coalescing window is greater than zero, the pending set is published on a background thread once the window
+ * has elapsed since the first pending target arrived, so a burst of writes results in a handful of flush messages.
+ * Otherwise every call to {@link #add(java.util.Collection)} is merged and published immediately.
+ * </p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+final class CacheFlushAggregator {
+
+    private static final Log LOG = LogFactory.getLog(CacheFlushAggregator.class);
+
+    private final Publisher publisher;
+    private final long windowMillis;
+    private final int maxKeysPerCache;
+
+    /**
+     * The pending keys by cache name.  A null value indicates a flush of the entire cache.
+     */
+    private final Map<String, Set<String>> pending = new LinkedHashMap<String, Set<String>>();
+    private final Object lock = new Object();
+    private final ScheduledExecutorService executor;
+    private boolean publishScheduled;
+
+    private final AtomicLong flushRequests = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong targetsReceived = new AtomicLong();
+    private final AtomicLong targetsSent = new AtomicLong();
+    private final AtomicLong escalations = new AtomicLong();
+
+    /**
+     * Creates an aggregator.
+     *
+     * @param publisher the publisher which sends the coalesced targets, cannot be null
+     * @param windowMillis the coalescing window in milliseconds, zero or less to publish immediately
+     * @param maxKeysPerCache the maximum number of keys to flush individually for a single cache before the entire
+     * cache is flushed instead, zero or less for no maximum
+     */
+    CacheFlushAggregator(Publisher publisher, long windowMillis, int maxKeysPerCache) {
+        if (publisher == null) {
+            throw new IllegalArgumentException("publisher was null");
+        }
+        this.publisher = publisher;
+        this.windowMillis = windowMillis;
+        this.maxKeysPerCache = maxKeysPerCache;
+        this.executor = windowMillis > 0 ? Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory()) : null;
+    }
+
+    /**
+     * Adds cache targets to be flushed.
+     *
+     * @param cacheTargets the targets to flush, cannot be null
+     */
+    void add(Collection<CacheTarget> cacheTargets) {
+        if (cacheTargets.isEmpty()) {
+            return;
+        }
+        flushRequests.incrementAndGet();
+        targetsReceived.addAndGet(cacheTargets.size());
+
+        if (executor == null) {
+            Map<String, Set<String>> merged = new LinkedHashMap<String, Set<String>>();
+            merge(merged, cacheTargets);
+            publish(merged);
+            return;
+        }
+
+        synchronized (lock) {
+            merge(pending, cacheTargets);
+            if (!publishScheduled) {
+                publishScheduled = true;
+                executor.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishPending();
+                    }
+                }, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Publishes any pending targets immediately.
+     */
+    void publishPending() {
+        Map<String, Set<String>> toPublish;
+        synchronized (lock) {
+            publishScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            toPublish = new LinkedHashMap<String, Set<String>>(pending);
+            pending.clear();
+        }
+        publish(toPublish);
+    }
+
+    /**
+     * Publishes pending targets and stops the background publisher.
+     */
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        publishPending();
+    }
+
+    private void merge(Map<String, Set<String>> merged, Collection<CacheTarget> cacheTargets) {
+        for (CacheTarget target : cacheTargets) {
+            String cache = target.getCache();
+            if (!target.containsKey()) {
+                merged.put(cache, null);
+            } else if (!merged.containsKey(cache)) {
+                Set<String> keys = new LinkedHashSet<String>();
+                keys.add(target.getKey());
+                merged.put(cache, keys);
+            } else {
+                Set<String> keys = merged.get(cache);
+                if (keys != null) {
+                    keys.add(target.getKey());
+                    if (maxKeysPerCache > 0 && keys.size() > maxKeysPerCache) {
+                        escalations.incrementAndGet();
+                        merged.put(cache, null);
+                    }
+                }
+            }
+        }
+    }
+
+    private void publish(Map<String, Set<String>> merged) {
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        List<CacheTarget> targets = new ArrayList<CacheTarget>();
+        for (Map.Entry<String, Set<String>> entry : merged.entrySet()) {
+            if (entry.getValue() == null) {
+                targets.add(CacheTarget.entireCache(entry.getKey()));
+            } else {
+                for (String key : entry.getValue()) {
+                    targets.add(CacheTarget.singleEntry(entry.getKey(), key));
+                }
+            }
+        }
+
+        messagesSent.incrementAndGet();
+        targetsSent.addAndGet(targets.size());
+        publisher.publish(targets);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Published " + targets.size() + " coalesced cache targets, " + getMessagesSaved()
+                    + " flush messages saved so far");
+        }
+    }
+
+    /**
+     * Gets the number of non-empty flush requests received.
+     *
+     * @return the number of flush requests
+     */
+    long getFlushRequests() {
+        return flushRequests.get();
+    }
+
+    /**
+     * Gets the number of flush messages published.
+     *
+     * @return the number of flush messages published
+     */
+    long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    /**
+     * Gets the number of flush messages which did not need to be sent because their targets were coalesced into
+     * another message.
+     *
+     * @return the number of flush messages saved
+     */
+    long getMessagesSaved() {
+        return flushRequests.get() - messagesSent.get();
+    }
+
+    /**
+     * Gets the number of cache targets received.
+     *
+     * @return the number of cache targets received
+     */
+    long getTargetsReceived() {
+        return targetsReceived.get();
+    }
+
+    /**
+     * Gets the number of cache targets published.
+     *
+     * @return the number of cache targets published
+     */
+    long getTargetsSent() {
+        return targetsSent.get();
+    }
+
+    /**
+     * Gets the number of times the pending keys for a cache were escalated to a flush of the entire cache.
+     *
+     * @return the number of escalations
+     */
+    long getEscalations() {
+        return escalations.get();
+    }
+
+    /**
+     * Sends a collection of coalesced cache targets.
+     */
+    interface Publisher {
+
+        /**
+         * Sends the cache targets.
+         *
+         * @param cacheTargets the coalesced cache targets
+         */
+        void publish(Collection<CacheTarget> cacheTargets);
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "rice-cache-flush-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
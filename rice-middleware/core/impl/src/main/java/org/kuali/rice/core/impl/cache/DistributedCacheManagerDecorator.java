@@ -25,6 +25,7 @@ import org.kuali.rice.core.api.cache.CacheTarget;
 import org.kuali.rice.core.api.config.property.ConfigContext;
 import org.kuali.rice.ksb.api.KsbApiServiceLocator;
 import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NamedBean;
 import org.springframework.cache.Cache;
@@ -57,18 +58,30 @@ import java.util.concurrent.LinkedBlockingQueue;
  * If not in a transaction, distributed messages are sent immediately.  This should be avoided and is likely
  * the result of a programming error.
  * </p>
+ *
+ * <p>
+ * Flush messages are coalesced by a {@link CacheFlushAggregator} before they are sent.  When
+ * rice.cache.distributedFlushWindowMillis is greater than zero, the targets from all transactions completing within
+ * the window are merged into a single message.  A cache with more than rice.cache.distributedFlushMaxKeysPerCache
+ * pending keys is flushed entirely instead.
+ * </p>
  */
-public final class DistributedCacheManagerDecorator implements CacheManager, InitializingBean, BeanNameAware, NamedBean {
+public final class DistributedCacheManagerDecorator implements CacheManager, InitializingBean, DisposableBean,
+        BeanNameAware, NamedBean {
 
     private static final Log LOG = LogFactory.getLog(DistributedCacheManagerDecorator.class);
 
     private static final String DISABLE_ALL_CACHES_PARAM = "rice.cache.disableAllCaches";
     private static final String DISABLE_DISTRIBUTED_CACHE_FLUSH_PARAM = "rice.cache.disableDistributedCacheFlush";
     private static final String DISABLED_CACHES_PARAM = "rice.cache.disabledCaches";
+    private static final String DISTRIBUTED_FLUSH_WINDOW_MILLIS_PARAM = "rice.cache.distributedFlushWindowMillis";
+    private static final String DISTRIBUTED_FLUSH_MAX_KEYS_PER_CACHE_PARAM = "rice.cache.distributedFlushMaxKeysPerCache";
+    private static final int DEFAULT_DISTRIBUTED_FLUSH_MAX_KEYS_PER_CACHE = 1000;
 
     private CacheManager cacheManager;
     private String serviceName;
     private String name;
+    private CacheFlushAggregator flushAggregator;
 
     @Override
     public Cache getCache(String name) {
@@ -90,6 +103,14 @@ public final class DistributedCacheManagerDecorator implements CacheManager, Ini
     }
 
     private void sendFlushCacheMessages(Collection<CacheTarget> cacheTargets) {
+        if (flushAggregator != null) {
+            flushAggregator.add(cacheTargets);
+        } else {
+            publishFlushCacheMessages(cacheTargets);
+        }
+    }
+
+    private void publishFlushCacheMessages(Collection<CacheTarget> cacheTargets) {
         try {
             if (!cacheTargets.isEmpty()) {
                 logFlushCache(cacheTargets);
@@ -126,6 +147,51 @@ public final class DistributedCacheManagerDecorator implements CacheManager, Ini
         if (StringUtils.isBlank(name)) {
             name = "NOT_NAMED";
         }
+
+        flushAggregator = new CacheFlushAggregator(new CacheFlushAggregator.Publisher() {
+            @Override
+            public void publish(Collection<CacheTarget> cacheTargets) {
+                publishFlushCacheMessages(cacheTargets);
+            }
+        }, ConfigurationPropertiesHolder.distributedFlushWindowMillis,
+                ConfigurationPropertiesHolder.distributedFlushMaxKeysPerCache);
+    }
+
+    @Override
+    public void destroy() {
+        if (flushAggregator != null) {
+            flushAggregator.shutdown();
+            LOG.info("Distributed cache flush for " + name + " sent " + flushAggregator.getMessagesSent()
+                    + " messages, saved " + flushAggregator.getMessagesSaved() + " messages");
+        }
+    }
+
+    /**
+     * Gets the number of distributed flush messages which were not sent because they were coalesced into another
+     * message.
+     *
+     * @return the number of flush messages saved
+     */
+    public long getFlushMessagesSaved() {
+        return flushAggregator != null ? flushAggregator.getMessagesSaved() : 0;
+    }
+
+    /**
+     * Gets the number of distributed flush messages sent.
+     *
+     * @return the number of flush messages sent
+     */
+    public long getFlushMessagesSent() {
+        return flushAggregator != null ? flushAggregator.getMessagesSent() : 0;
+    }
+
+    /**
+     * Gets the number of times pending keys for a cache were escalated to a flush of the entire cache.
+     *
+     * @return the number of escalations
+     */
+    public long getFlushEscalations() {
+        return flushAggregator != null ? flushAggregator.getEscalations() : 0;
     }
 
     public void setCacheManager(CacheManager cacheManager) {
@@ -370,6 +436,11 @@ public final class DistributedCacheManagerDecorator implements CacheManager, Ini
         static final boolean disableDistributedCacheFlush =
                 ConfigContext.getCurrentContextConfig().getBooleanProperty(DISABLE_DISTRIBUTED_CACHE_FLUSH_PARAM, false);
         static final Set<String> disabledCaches = getDisabledCachesConfig();
+        static final long distributedFlushWindowMillis =
+                ConfigContext.getCurrentContextConfig().getNumericProperty(DISTRIBUTED_FLUSH_WINDOW_MILLIS_PARAM, 0L);
+        static final int distributedFlushMaxKeysPerCache = (int) ConfigContext.getCurrentContextConfig()
+                .getNumericProperty(DISTRIBUTED_FLUSH_MAX_KEYS_PER_CACHE_PARAM,
+                        DEFAULT_DISTRIBUTED_FLUSH_MAX_KEYS_PER_CACHE);
 
         private static Set<String> getDisabledCachesConfig() {
             Set<String> disabledCaches = new HashSet<String>();
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.core.impl.cache;
+
+import org.junit.Test;
+import org.kuali.rice.core.api.cache.CacheTarget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the coalescing behavior of {@link CacheFlushAggregator}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class CacheFlushAggregatorTest {
+
+    @Test
+    public void testDuplicateTargetsMerged() {
+        RecordingPublisher publisher = new RecordingPublisher();
+        CacheFlushAggregator aggregator = new CacheFlushAggregator(publisher, 0, 0);
+
+        aggregator.add(Arrays.asList(CacheTarget.singleEntry("a", "1"), CacheTarget.singleEntry("a", "1"),
+                CacheTarget.singleEntry("b", "2")));
+
+        assertEquals(1, publisher.published.size());
+        assertEquals(2, publisher.published.get(0).size());
+        assertEquals(1, aggregator.getMessagesSent());
+        assertEquals(0, aggregator.getMessagesSaved());
+    }
+
+    @Test
+    public void testEntireCacheSupersedesKeys() {
+        RecordingPublisher publisher = new RecordingPublisher();
+        CacheFlushAggregator aggregator = new CacheFlushAggregator(publisher, 0, 0);
+
+        aggregator.add(Arrays.asList(CacheTarget.singleEntry("a", "1"), CacheTarget.entireCache("a"),
+                CacheTarget.singleEntry("a", "2")));
+
+        assertEquals(1, publisher.published.size());
+        assertEquals(Arrays.asList(CacheTarget.entireCache("a")), publisher.published.get(0));
+    }
+
+    @Test
+    public void testEscalationToEntireCache() {
+        RecordingPublisher publisher = new RecordingPublisher();
+        CacheFlushAggregator aggregator = new CacheFlushAggregator(publisher, 0, 2);
+
+        aggregator.add(Arrays.asList(CacheTarget.singleEntry("a", "1"), CacheTarget.singleEntry("a", "2"),
+                CacheTarget.singleEntry("a", "3"), CacheTarget.singleEntry("b", "1")));
+
+        assertEquals(1, aggregator.getEscalations());
+        assertEquals(Arrays.asList(CacheTarget.entireCache("a"), CacheTarget.singleEntry("b", "1")),
+                publisher.published.get(0));
+    }
+
+    @Test
+    public void testRequestsCoalescedWithinWindow() {
+        RecordingPublisher publisher = new RecordingPublisher();
+        // use a long window so that nothing is published until publishPending is invoked below
+        CacheFlushAggregator aggregator = new CacheFlushAggregator(publisher, 60000, 0);
+        try {
+            for (int i = 0; i < 100; i++) {
+                aggregator.add(Arrays.asList(CacheTarget.singleEntry("a", String.valueOf(i % 10))));
+            }
+            assertTrue(publisher.published.isEmpty());
+
+            aggregator.publishPending();
+
+            assertEquals(1, publisher.published.size());
+            assertEquals(10, publisher.published.get(0).size());
+            assertEquals(100, aggregator.getFlushRequests());
+            assertEquals(99, aggregator.getMessagesSaved());
+            assertEquals(100, aggregator.getTargetsReceived());
+            assertEquals(10, aggregator.getTargetsSent());
+        } finally {
+            aggregator.shutdown();
+        }
+    }
+
+    private static final class RecordingPublisher implements CacheFlushAggregator.Publisher {
+
+        private final List<List<CacheTarget>> published = new ArrayList<List<CacheTarget>>();
+
+        @Override
+        public synchronized void publish(Collection<CacheTarget> cacheTargets) {
+            published.add(new ArrayList<CacheTarget>(cacheTargets));
+        }
+    }
+}
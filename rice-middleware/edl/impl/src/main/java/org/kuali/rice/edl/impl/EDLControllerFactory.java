@@ -32,14 +32,29 @@ import org.w3c.dom.NodeList;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Templates;
 import javax.xml.xpath.XPathFactory;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
  * Creates EDL controllers.  The parsed config is a definition name related to
  * a Map containing config element and their associated class.
+ *
+ * <p>The config processors, pre processors, post processors and state components of an EDL are resolved once into
+ * a prototype, which is cached by EDL name.  The prototype keeps the config elements in serialized form, and each
+ * controller parses its own copy of them into the controller's default DOM, so concurrent requests for the same EDL
+ * share no DOM and take no lock.  A prototype is rebuilt when the association or definition it was built from has
+ * been re-ingested (which creates new rows with new ids), so prototypes are kept current across a cluster without
+ * any additional messaging; only the id of the active definition is read for every controller, its xml is only
+ * loaded when the prototype is built.  The style is looked up for every controller, relying on the compiled style
+ * caching of the {@link org.kuali.rice.coreservice.api.style.StyleService}, which also recompiles a style when one
+ * of the styles it pulls in through {@code xsl:include} or {@code xsl:import} has changed.</p>
  * 
  * @author Kuali Rice Team (rice.collab@kuali.org)
  *
@@ -52,6 +67,9 @@ public final class EDLControllerFactory {
 
 	private static final Logger LOG = Logger.getLogger(EDLControllerFactory.class);
 
+    private static final ConcurrentMap<String, EDLControllerPrototype> PROTOTYPES =
+            new ConcurrentHashMap<String, EDLControllerPrototype>();
+
 	public static EDLController createEDLController(EDocLiteAssociation edlAssociation, EDLGlobalConfig edlGlobalConfig) {
         EDLController edlController = new EDLController();
 		edlController.setEdocLiteAssociation(edlAssociation);
@@ -60,10 +78,7 @@ public final class EDLControllerFactory {
         try {
 			edlController.setEdlGlobalConfig(edlGlobalConfig);
 			edlController.setDefaultDOM(getDefaultDOM(edlAssociation));
-			loadConfigProcessors(edlController, edlGlobalConfig);
-			loadPreProcessors(edlController, edlGlobalConfig);
-			loadPostProcessor(edlController, edlGlobalConfig);
-			loadStateComponents(edlController, edlGlobalConfig);
+			getPrototype(edlController, edlGlobalConfig).initialize(edlController);
 			loadStyle(edlController);
 			
 		} catch (Exception e) {
@@ -100,32 +115,43 @@ public final class EDLControllerFactory {
 		return edlController;
 	}
 
-	private static synchronized void loadStyle(EDLController edlController) throws Exception {
+	private static void loadStyle(EDLController edlController) throws Exception {
 		EDocLiteService edlService = getEDLService();
 		final Templates styleSheet = edlService.getStyleAsTranslet(edlController.getEdocLiteAssociation().getStyle());
 		edlController.setStyle(styleSheet);
 	}
-	
-	private static synchronized void loadPreProcessors(EDLController edlController, EDLGlobalConfig edlGlobalConfig) {
-		edlController.setPreProcessors(cloneConfigMap(edlGlobalConfig.getPreProcessors(), edlController.getDefaultDOM()));
-	}
-	
-	private static synchronized void loadPostProcessor(EDLController edlController, EDLGlobalConfig edlGlobalConfig) {
-		edlController.setPostProcessors(cloneConfigMap(edlGlobalConfig.getPostProcessors(), edlController.getDefaultDOM()));
-	}
-	
-	private static synchronized void loadStateComponents(EDLController edlController, EDLGlobalConfig edlGlobalConfig) {
-		edlController.setStateComponents(cloneConfigMap(edlGlobalConfig.getStateComponents(), edlController.getDefaultDOM()));
-	}
 
-	private static synchronized void loadConfigProcessors(final EDLController edlController, final EDLGlobalConfig edlGlobalConfig) throws Exception {
-		EDocLiteAssociation edlAssociation = edlController.getEdocLiteAssociation();
+    /**
+     * Returns the cached prototype for the given association, building a new one if there is none or if the cached
+     * prototype is out of date.
+     */
+    private static EDLControllerPrototype getPrototype(EDLController edlController,
+            EDLGlobalConfig edlGlobalConfig) throws Exception {
+        EDocLiteAssociation edlAssociation = edlController.getEdocLiteAssociation();
+        Long definitionId = getEDLService().getEDocLiteDefinitionId(edlAssociation.getDefinition());
+
+        EDLControllerPrototype prototype = PROTOTYPES.get(edlAssociation.getEdlName());
+        if (prototype != null && prototype.isCurrent(edlAssociation, definitionId, edlGlobalConfig)) {
+            return prototype;
+        }
+
+        // the global config DOM is shared by all prototypes, so only build one prototype at a time
+        synchronized (edlGlobalConfig) {
+            prototype = buildPrototype(edlController, definitionId, edlGlobalConfig);
+        }
+        PROTOTYPES.put(edlAssociation.getEdlName(), prototype);
+        return prototype;
+    }
+
+    private static EDLControllerPrototype buildPrototype(EDLController edlController, Long definitionId,
+            EDLGlobalConfig edlGlobalConfig) throws Exception {
+        EDocLiteAssociation edlAssociation = edlController.getEdocLiteAssociation();
+
         // these are classes mapped to the conf element from the edlconfig.
         Document document = getEDLService().getDefinitionXml(edlAssociation);
         Element definitionElement = (Element) document.getFirstChild();
 
         Map configProcessorMappings = new LinkedHashMap();
-        edlController.setEdlGlobalConfig(edlGlobalConfig);
         NodeList edlDefinitionNodes = definitionElement.getChildNodes();
         for (int i = 0; i < edlDefinitionNodes.getLength(); i++) {
             Node definitionNode = edlDefinitionNodes.item(i);
@@ -134,18 +160,19 @@ public final class EDLControllerFactory {
                 configProcessorMappings.put(definitionNode, configProcessorClass);
             }
         }
-        edlController.setConfigProcessors(cloneConfigMap(configProcessorMappings, edlController.getDefaultDOM()));
-	}
-	
-	private static synchronized Map cloneConfigMap(Map configMap, Document defaultDom) {
-		Map tempConfigProcessors = new LinkedHashMap();
-		for (Iterator iter = configMap.entrySet().iterator(); iter.hasNext();) {
-			Map.Entry configProcessorMapping = (Map.Entry) iter.next();
-			tempConfigProcessors.put(defaultDom.importNode((Node)configProcessorMapping.getKey(), true), configProcessorMapping.getValue());
-		}
-		return tempConfigProcessors;
-	}
 
+        return new EDLControllerPrototype(edlAssociation.getEdocLiteAssocId(), definitionId, edlGlobalConfig,
+                configProcessorMappings, edlGlobalConfig.getPreProcessors(), edlGlobalConfig.getPostProcessors(),
+                edlGlobalConfig.getStateComponents());
+    }
+
+    /**
+     * Discards all cached controller prototypes, so they are rebuilt the next time a controller is created.
+     */
+    public static void clearPrototypes() {
+        PROTOTYPES.clear();
+    }
+	
 	private static EDocLiteService getEDLService() {
 		return EdlServiceLocator.getEDocLiteService();
 	}
@@ -171,6 +198,79 @@ public final class EDLControllerFactory {
 		return dom;
 	}
 
+    /**
+     * The resolved config elements of an EDL, kept as an immutable serialized form.
+     *
+     * <p>DOM implementations are not safe for concurrent reads, so no DOM is shared between controllers.  The config
+     * elements of each config map are serialized in order, each wrapped in an entry element, and every controller
+     * parses its own copy of them, pairing each entry with the map value at the same position.</p>
+     */
+    private static final class EDLControllerPrototype {
+        private static final String PROTOTYPE_E = "edlPrototype";
+        private static final String CONFIG_MAP_E = "configMap";
+        private static final String ENTRY_E = "entry";
+
+        private final Long associationId;
+        private final Long definitionId;
+        private final EDLGlobalConfig edlGlobalConfig;
+        private final String configXml;
+        private final List<List<Object>> configValues;
+
+        private EDLControllerPrototype(Long associationId, Long definitionId, EDLGlobalConfig edlGlobalConfig,
+                Map configProcessors, Map preProcessors, Map postProcessors, Map stateComponents) throws Exception {
+            this.associationId = associationId;
+            this.definitionId = definitionId;
+            this.edlGlobalConfig = edlGlobalConfig;
+
+            Document prototypeDom = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            Element prototypeElement = prototypeDom.createElement(PROTOTYPE_E);
+            prototypeDom.appendChild(prototypeElement);
+            List<List<Object>> values = new ArrayList<List<Object>>();
+            for (Map configMap : new Map[] { configProcessors, preProcessors, postProcessors, stateComponents }) {
+                Element configMapElement = prototypeDom.createElement(CONFIG_MAP_E);
+                prototypeElement.appendChild(configMapElement);
+                List<Object> configMapValues = new ArrayList<Object>();
+                for (Iterator iter = configMap.entrySet().iterator(); iter.hasNext();) {
+                    Map.Entry configMapping = (Map.Entry) iter.next();
+                    Element entryElement = prototypeDom.createElement(ENTRY_E);
+                    entryElement.appendChild(prototypeDom.importNode((Node) configMapping.getKey(), true));
+                    configMapElement.appendChild(entryElement);
+                    configMapValues.add(configMapping.getValue());
+                }
+                values.add(Collections.unmodifiableList(configMapValues));
+            }
+            this.configXml = XmlJotter.jotNode(prototypeElement, false);
+            this.configValues = Collections.unmodifiableList(values);
+        }
+
+        private boolean isCurrent(EDocLiteAssociation edlAssociation, Long definitionId,
+                EDLGlobalConfig edlGlobalConfig) {
+            return this.edlGlobalConfig == edlGlobalConfig
+                    && this.associationId != null && this.associationId.equals(edlAssociation.getEdocLiteAssocId())
+                    && this.definitionId != null && this.definitionId.equals(definitionId);
+        }
+
+        private void initialize(EDLController edlController) throws Exception {
+            Document defaultDom = edlController.getDefaultDOM();
+            NodeList configMapElements = XmlHelper.readXml(configXml).getDocumentElement().getChildNodes();
+            List<Map> configMaps = new ArrayList<Map>(configValues.size());
+            for (int i = 0; i < configValues.size(); i++) {
+                NodeList entryElements = configMapElements.item(i).getChildNodes();
+                List<Object> configMapValues = configValues.get(i);
+                Map configMap = new LinkedHashMap();
+                for (int j = 0; j < configMapValues.size(); j++) {
+                    configMap.put(defaultDom.importNode(entryElements.item(j).getFirstChild(), true),
+                            configMapValues.get(j));
+                }
+                configMaps.add(configMap);
+            }
+            edlController.setConfigProcessors(configMaps.get(0));
+            edlController.setPreProcessors(configMaps.get(1));
+            edlController.setPostProcessors(configMaps.get(2));
+            edlController.setStateComponents(configMaps.get(3));
+        }
+    }
+
     public static EDLContext getPreEDLContext(EDLController edlController) {
         EDLContext edlContext = new EDLContext();
         edlContext.setEdocLiteAssociation(edlController.getEdocLiteAssociation());
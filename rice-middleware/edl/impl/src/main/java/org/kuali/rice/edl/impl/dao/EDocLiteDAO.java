@@ -44,6 +44,13 @@ public interface EDocLiteDAO {
      */
     public EDocLiteDefinition getEDocLiteDefinition(String defName);
 
+    /**
+     * Returns the id of the active {@link EDocLiteDefinition} with the given definition name, without loading its xml.
+     * @param defName the definition name
+     * @return the id of the active definition, or null if there is none
+     */
+    public Long getEDocLiteDefinitionId(String defName);
+
     /**
      * Returns a {@link EDocLiteAssociation} with the associated document type name.
      * @param documentTypeName the document type name
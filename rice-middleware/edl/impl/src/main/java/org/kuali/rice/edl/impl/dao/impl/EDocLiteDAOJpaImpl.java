@@ -16,7 +16,9 @@
 package org.kuali.rice.edl.impl.dao.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.kuali.rice.core.api.criteria.Predicate;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
@@ -42,6 +44,9 @@ public class EDocLiteDAOJpaImpl implements EDocLiteDAO {
     /** static value for name */
     private static final String NAME_CRITERIA = "name";
 
+    /** static value for id */
+    private static final String ID = "id";
+
     //** static value for edl name */
     private static final String EDL_NAME = "edlName";
 
@@ -105,6 +110,22 @@ public class EDocLiteDAOJpaImpl implements EDocLiteDAO {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getEDocLiteDefinitionId(final String defName) {
+        QueryByCriteria.Builder criteria = QueryByCriteria.Builder.create();
+        criteria.setPredicates(equal(NAME_CRITERIA, defName), equal(ACTIVE_IND_CRITERIA, Boolean.TRUE));
+        List<Map<String, Object>> ids = this.dataObjectService.findMatchingProjection(EDocLiteDefinition.class,
+                criteria.build(), Collections.singletonList(ID)).getResults();
+        if (null != ids && !ids.isEmpty()) {
+            return (Long) ids.get(0).get(ID);
+        } else {
+            return null;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
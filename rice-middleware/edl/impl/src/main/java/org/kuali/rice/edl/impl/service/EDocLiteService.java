@@ -35,6 +35,7 @@ public interface EDocLiteService extends XmlLoader, XmlExporter {
     void saveEDocLiteAssociation(InputStream xml);
 
     EDocLiteDefinition getEDocLiteDefinition(String defName);
+    Long getEDocLiteDefinitionId(String defName);
     EDocLiteAssociation getEDocLiteAssociation(String docType);
     EDocLiteAssociation getEDocLiteAssociation(Long associationId);
 
@@ -262,6 +262,7 @@ public class EDocLiteServiceImpl implements EDocLiteService {
             data.setActiveInd(Boolean.TRUE);
         }
         dao.saveEDocLiteDefinition(data);
+        EDLControllerFactory.clearPrototypes();
     }
 
     public void saveEDocLiteAssociation(EDocLiteAssociation assoc) {
@@ -275,6 +276,7 @@ public class EDocLiteServiceImpl implements EDocLiteService {
             assoc.setActiveInd(Boolean.TRUE);
         }
         dao.saveEDocLiteAssociation(assoc);
+        EDLControllerFactory.clearPrototypes();
     }
 
     // ---- EDocLiteService interface implementation
@@ -295,6 +297,10 @@ public class EDocLiteServiceImpl implements EDocLiteService {
         return dao.getEDocLiteDefinition(definitionName);
     }
 
+    public Long getEDocLiteDefinitionId(String definitionName) {
+        return dao.getEDocLiteDefinitionId(definitionName);
+    }
+
     public EDocLiteAssociation getEDocLiteAssociation(String docTypeName) {
         return dao.getEDocLiteAssociation(docTypeName);
     }
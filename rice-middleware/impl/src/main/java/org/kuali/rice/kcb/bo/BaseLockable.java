@@ -31,10 +31,14 @@ public class BaseLockable implements Lockable {
      * Field names
      */
     public static final String LOCKED_DATE = "lockedDate";
+    public static final String LEASE_OWNER = "leaseOwner";
 
     @Column(name="LOCKD_DTTM", nullable=true)
     protected Timestamp lockedDate;
 
+    @Column(name="LEASE_OWNR", nullable=true)
+    protected String leaseOwner;
+
     /**
      * @see org.kuali.rice.ken.bo.Lockable#getLockedDate()
      */
@@ -48,4 +52,20 @@ public class BaseLockable implements Lockable {
     public void setLockedDate(Timestamp lockedDate) {
         this.lockedDate = lockedDate;
     }
-}
+
+    /**
+     * Returns the claim which currently holds the lock
+     * @return the claim which currently holds the lock
+     */
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    /**
+     * Sets the claim which currently holds the lock
+     * @param leaseOwner the claim which currently holds the lock
+     */
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+}
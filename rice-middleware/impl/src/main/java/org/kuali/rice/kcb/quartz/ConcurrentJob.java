@@ -128,7 +128,9 @@ public abstract class ConcurrentJob<T> {
             LOG.debug("[" + new Timestamp(System.currentTimeMillis()).toString() + "] STARTING RUN");
         }
 
+        final long start = System.currentTimeMillis();
         final ProcessingResult<T> result = new ProcessingResult<T>();
+        final ConcurrentJobStatistics statistics = getStatistics();
 
         // retrieve list of available work items in a transaction
         final Collection<T> items;
@@ -147,17 +149,21 @@ public abstract class ConcurrentJob<T> {
             if (ole != null) {
                 // anticipated in the case that another thread is trying to grab items
                 LOG.info("Contention while taking work items: " + ole.getMessage() );
+                statistics.recordContention();
             } else {
                 // in addition to logging a message, should we throw an exception or log a failure here?
                 LOG.error("Error taking work items", dae);
             }
+            recordRun(statistics, 0, result, start);
             return result;
         } catch (UnexpectedRollbackException ure) {
             LOG.error("UnexpectedRollbackException", ure);
+            recordRun(statistics, 0, result, start);
             return result;
         } catch (TransactionException te) {
             LOG.error("Error occurred obtaining available work items", te);
             result.addFailure(new Failure<T>(te));
+            recordRun(statistics, 0, result, start);
             return result;
         }
 
@@ -208,6 +214,7 @@ public abstract class ConcurrentJob<T> {
         }
 
         finishProcessing(result);
+        recordRun(statistics, items.size(), result, start);
 
         if ( LOG.isDebugEnabled() ) {
             LOG.debug("[" + new Timestamp(System.currentTimeMillis()).toString() + "] FINISHED RUN - " + result);
@@ -216,6 +223,19 @@ public abstract class ConcurrentJob<T> {
         return result;
     }
 
+    /**
+     * Returns the statistics this node keeps for the job.
+     * @return the statistics for the job
+     */
+    public ConcurrentJobStatistics getStatistics() {
+        return ConcurrentJobStatistics.getStatistics(getClass().getName());
+    }
+
+    private void recordRun(ConcurrentJobStatistics statistics, int taken, ProcessingResult<T> result, long start) {
+        statistics.recordRun(taken, result.getSuccesses().size(), result.getFailures().size(),
+                System.currentTimeMillis() - start);
+    }
+
     /**
      * Template method called after processing of work items has completed
      */
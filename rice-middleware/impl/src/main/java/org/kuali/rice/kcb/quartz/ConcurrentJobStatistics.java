@@ -0,0 +1,157 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kcb.quartz;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals of the work done by a KEN or KCB concurrent job on this node.
+ *
+ * <p>Statistics are kept per job class name rather than per job instance, since the Quartz jobs are instantiated for
+ * every run.  Contention counts the runs which gave up taking work items because another node or thread held them
+ * (optimistic lock failures and Oracle lock/deadlock errors).  Contention for individual work items is counted by the
+ * {@link WorkItemLeaseClaimer}.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class ConcurrentJobStatistics {
+
+    private static final ConcurrentMap<String, ConcurrentJobStatistics> STATISTICS =
+            new ConcurrentHashMap<String, ConcurrentJobStatistics>();
+
+    private final String jobName;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong itemsTaken = new AtomicLong();
+    private final AtomicLong itemsProcessed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong contentions = new AtomicLong();
+    private final AtomicLong elapsedMillis = new AtomicLong();
+
+    private ConcurrentJobStatistics(String jobName) {
+        this.jobName = jobName;
+    }
+
+    /**
+     * Returns the statistics for the given job, creating them if this is the first run of the job on this node.
+     *
+     * @param jobName the name of the job, usually its class name
+     * @return the statistics for the job
+     */
+    public static ConcurrentJobStatistics getStatistics(String jobName) {
+        ConcurrentJobStatistics statistics = STATISTICS.get(jobName);
+        if (statistics == null) {
+            ConcurrentJobStatistics newStatistics = new ConcurrentJobStatistics(jobName);
+            statistics = STATISTICS.putIfAbsent(jobName, newStatistics);
+            if (statistics == null) {
+                statistics = newStatistics;
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics of every job which has run on this node, keyed and sorted by job name.
+     *
+     * @return an unmodifiable map of job name to statistics
+     */
+    public static Map<String, ConcurrentJobStatistics> getAllStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<String, ConcurrentJobStatistics>(STATISTICS));
+    }
+
+    /**
+     * Discards the statistics of every job.
+     */
+    public static void clear() {
+        STATISTICS.clear();
+    }
+
+    /**
+     * Records a completed run of the job.
+     *
+     * @param taken the number of work items taken by the run
+     * @param processed the number of work items successfully processed
+     * @param failed the number of failures reported by the run
+     * @param elapsed the duration of the run in milliseconds
+     */
+    public void recordRun(int taken, int processed, int failed, long elapsed) {
+        runs.incrementAndGet();
+        itemsTaken.addAndGet(taken);
+        itemsProcessed.addAndGet(processed);
+        failures.addAndGet(failed);
+        elapsedMillis.addAndGet(elapsed);
+    }
+
+    /**
+     * Records a run which gave up taking work items because of contention with another claimant.
+     */
+    public void recordContention() {
+        contentions.incrementAndGet();
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getItemsTaken() {
+        return itemsTaken.get();
+    }
+
+    public long getItemsProcessed() {
+        return itemsProcessed.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getContentions() {
+        return contentions.get();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis.get();
+    }
+
+    /**
+     * Returns the number of work items processed per second of run time on this node.
+     *
+     * @return the job's throughput, or 0 if the job has not spent any time running
+     */
+    public double getThroughput() {
+        long elapsed = elapsedMillis.get();
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return itemsProcessed.get() * 1000d / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "[ConcurrentJobStatistics: jobName=" + jobName + ", runs=" + getRuns() + ", itemsTaken="
+                + getItemsTaken() + ", itemsProcessed=" + getItemsProcessed() + ", failures=" + getFailures()
+                + ", contentions=" + getContentions() + ", elapsedMillis=" + getElapsedMillis() + "]";
+    }
+
+}
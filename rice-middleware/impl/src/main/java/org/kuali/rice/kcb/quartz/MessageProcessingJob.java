@@ -143,6 +143,7 @@ public class MessageProcessingJob extends ConcurrentJob<MessageDelivery> impleme
     @Override
     protected void unlockWorkItem(MessageDelivery item) {
         item.setLockedDate(null);
+        item.setLeaseOwner(null);
         dataObjectService.save(item);
     }
 
@@ -315,6 +316,7 @@ public class MessageProcessingJob extends ConcurrentJob<MessageDelivery> impleme
         messageDelivery.setDeliveryStatus(status);
         // mark as unlocked
         messageDelivery.setLockedDate(null);
+        messageDelivery.setLeaseOwner(null);
         dataObjectService.save(messageDelivery);
     }
 
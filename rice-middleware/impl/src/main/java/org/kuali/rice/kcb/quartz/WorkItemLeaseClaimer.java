@@ -0,0 +1,501 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kcb.quartz;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.sql.DataSource;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.log4j.Logger;
+import org.kuali.rice.core.api.util.RiceUtilities;
+import org.kuali.rice.krad.data.platform.DatabasePlatformInfo;
+import org.kuali.rice.krad.data.platform.DatabasePlatforms;
+
+/**
+ * Claims work items for a {@link ConcurrentJob} with a lease instead of locking the rows while they are selected.
+ *
+ * <p>A claim first selects the ids of a batch of available items, that is items which are unlocked or whose lease
+ * has expired.  It then marks the whole batch with a single conditional update, which sets the locked date, records a
+ * lease owner unique to the claim and increments the version of every item which is still available.  Items which
+ * another node took in the meantime are simply not updated, so competing claimants neither block each other nor
+ * fail; the claim just returns the items it actually won.</p>
+ *
+ * <p>A lease expires {@code leaseSeconds} after the locked date, after which the item may be reclaimed by any node.
+ * Since the claim increments the version, a node still processing an item whose lease has been reclaimed fails with
+ * an optimistic lock exception when it saves the item, rather than overwriting the new claimant's work.</p>
+ *
+ * <p>On platforms which support it (Oracle 11+ and MySQL 8+), and when the caller supplies the eligibility condition
+ * in SQL, the candidates are selected with a native {@code SELECT ... FOR UPDATE SKIP LOCKED} limited to the batch
+ * size.  Rows in the middle of another claim are skipped while selecting, so a competing node moves on to the next
+ * available rows instead of losing its batch.  On other platforms every node would select the same first candidates,
+ * so the candidates are selected from {@code candidateWindows} batches and a claim takes one of those windows at
+ * random, which spreads concurrent claims across different rows.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class WorkItemLeaseClaimer {
+
+    private static final Logger LOG = Logger.getLogger(WorkItemLeaseClaimer.class);
+
+    public static final int DEFAULT_LEASE_SECONDS = 3600;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_CANDIDATE_WINDOWS = 4;
+
+    /**
+     * Leaves room in the 40 character lease owner column for the claim sequence number.
+     */
+    private static final int MAX_NODE_ID_LENGTH = 30;
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+    private EntityManager entityManager;
+    private DataSource dataSource;
+    private int leaseSeconds = DEFAULT_LEASE_SECONDS;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int candidateWindows = DEFAULT_CANDIDATE_WINDOWS;
+    private boolean skipLocked = true;
+    private String nodeId = RiceUtilities.getIpNumber() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * The name of the platform if it supports skip locked, an empty string if it doesn't, null until detected
+     */
+    private volatile String skipLockedPlatform;
+
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+
+    /**
+     * Claims the next batch of available work items of the given type, without skip locked.  Must be called within
+     * a transaction.
+     *
+     * @see #claim(WorkItemType, String, String, Map)
+     */
+    public <T> List<T> claim(WorkItemType<T> type, String eligibility, Map<String, ?> parameters) {
+        return claim(type, eligibility, null, parameters);
+    }
+
+    /**
+     * Claims the next batch of available work items of the given type.  Must be called within a transaction.
+     *
+     * @param type describes the work item entity
+     * @param eligibility a JPQL condition on the entity alias {@code e} selecting the items which need processing,
+     * excluding any condition on the lock
+     * @param sqlEligibility the same condition in SQL on the columns of the work item table, used to select the
+     * candidates with skip locked; may be null, in which case skip locked is not used
+     * @param parameters the named parameters used in the eligibility conditions, may be null
+     * @param <T> the work item type
+     * @return the claimed work items, never null
+     */
+    public <T> List<T> claim(WorkItemType<T> type, String eligibility, String sqlEligibility,
+            Map<String, ?> parameters) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp expiredBefore = new Timestamp(now.getTime() - leaseSeconds * 1000L);
+        String entityName = type.getEntityClass().getSimpleName();
+        String lockedDate = "e." + type.getLockedDateAttribute();
+        String available = "(" + lockedDate + " is null or " + lockedDate + " < :expiredBefore)";
+
+        List<Object[]> candidates;
+        if (sqlEligibility != null && isSkipLockedSupported()) {
+            candidates = selectCandidatesSkipLocked(type, sqlEligibility, parameters, expiredBefore);
+        } else {
+            candidates = selectCandidateWindow(entityName, lockedDate, eligibility, available, parameters,
+                    expiredBefore);
+        }
+
+        List<Long> candidateIds = new ArrayList<Long>();
+        Set<Long> expiredIds = new HashSet<Long>();
+        for (Object[] candidate : candidates) {
+            Long id = Long.valueOf(((Number) candidate[0]).longValue());
+            candidateIds.add(id);
+            if (candidate[1] != null) {
+                expiredIds.add(id);
+            }
+        }
+        if (candidateIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String leaseOwner = nodeId + ":" + Long.toString(claimSequence.incrementAndGet(), Character.MAX_RADIX);
+        String version = "e." + type.getVersionAttribute();
+        Query claimQuery = entityManager.createQuery("update " + entityName + " e set " + lockedDate + " = :now, "
+                + "e.leaseOwner = :leaseOwner, " + version + " = coalesce(" + version + ", 0) + 1 "
+                + "where e.id in :ids and " + available);
+        claimQuery.setParameter("now", now);
+        claimQuery.setParameter("leaseOwner", leaseOwner);
+        claimQuery.setParameter("ids", candidateIds);
+        claimQuery.setParameter("expiredBefore", expiredBefore);
+        int claimedCount = claimQuery.executeUpdate();
+        contended.addAndGet(candidateIds.size() - claimedCount);
+        if (claimedCount == 0) {
+            LOG.debug("Lost all " + candidateIds.size() + " candidate " + entityName + " work items to other claimants");
+            return Collections.emptyList();
+        }
+
+        TypedQuery<T> claimedQuery = entityManager.createQuery("select e from " + entityName
+                + " e where e.id in :ids and e.leaseOwner = :leaseOwner order by e.id", type.getEntityClass());
+        claimedQuery.setParameter("ids", candidateIds);
+        claimedQuery.setParameter("leaseOwner", leaseOwner);
+        claimedQuery.setHint("javax.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+        List<T> items = claimedQuery.getResultList();
+
+        if (!expiredIds.isEmpty()) {
+            PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+            for (T item : items) {
+                if (expiredIds.contains(persistenceUnitUtil.getIdentifier(item))) {
+                    LOG.info("Reclaimed " + entityName + " work item with an expired lease: " + item);
+                    reclaimed.incrementAndGet();
+                }
+            }
+        }
+        claimed.addAndGet(items.size());
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Claimed " + items.size() + " of " + candidateIds.size() + " candidate " + entityName
+                    + " work items as " + leaseOwner);
+        }
+        return items;
+    }
+
+    /**
+     * Selects and locks the first {@code batchSize} available rows, skipping those locked by another transaction.
+     * Returns the id and locked date of each.
+     *
+     * <p>On Oracle the rows are locked as they are fetched, so the batch is limited by fetching at most
+     * {@code batchSize} rows rather than by a {@code ROWNUM} condition, which would be applied before locked rows are
+     * skipped.</p>
+     */
+    private List<Object[]> selectCandidatesSkipLocked(WorkItemType<?> type, String sqlEligibility,
+            Map<String, ?> parameters, Timestamp expiredBefore) {
+        List<Object> values = new ArrayList<Object>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(type.getIdColumn()).append(", ")
+                .append(type.getLockedDateColumn()).append(" FROM ").append(type.getTableName()).append(" WHERE (")
+                .append(toPositionalParameters(sqlEligibility, parameters, values)).append(") AND (")
+                .append(type.getLockedDateColumn()).append(" IS NULL OR ").append(type.getLockedDateColumn())
+                .append(" < ?");
+        values.add(expiredBefore);
+        sql.append(values.size()).append(") ORDER BY ").append(type.getIdColumn());
+        if (DatabasePlatforms.MYSQL.equalsIgnoreCase(skipLockedPlatform)) {
+            sql.append(" LIMIT ").append(batchSize);
+        }
+        sql.append(" FOR UPDATE SKIP LOCKED");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < values.size(); i++) {
+            query.setParameter(i + 1, values.get(i));
+        }
+        query.setMaxResults(batchSize);
+
+        List<Object[]> candidates = new ArrayList<Object[]>();
+        for (Object row : query.getResultList()) {
+            candidates.add((Object[]) row);
+        }
+        return candidates;
+    }
+
+    /**
+     * Selects the id and locked date of up to {@code candidateWindows} batches of available items, and returns one of
+     * those batches.
+     */
+    private List<Object[]> selectCandidateWindow(String entityName, String lockedDate, String eligibility,
+            String available, Map<String, ?> parameters, Timestamp expiredBefore) {
+        TypedQuery<Object[]> candidateQuery = entityManager.createQuery("select e.id, " + lockedDate + " from "
+                + entityName + " e where (" + eligibility + ") and " + available + " order by e.id", Object[].class);
+        setParameters(candidateQuery, parameters);
+        candidateQuery.setParameter("expiredBefore", expiredBefore);
+        candidateQuery.setMaxResults(batchSize * Math.max(candidateWindows, 1));
+
+        List<Object[]> candidates = candidateQuery.getResultList();
+        if (candidates.size() <= batchSize) {
+            return candidates;
+        }
+        int windows = (candidates.size() + batchSize - 1) / batchSize;
+        int start = chooseCandidateWindow(windows) * batchSize;
+        return candidates.subList(start, Math.min(start + batchSize, candidates.size()));
+    }
+
+    /**
+     * Chooses which of the given number of candidate windows a claim takes.
+     *
+     * @param windows the number of candidate windows, at least two
+     * @return the index of the window to claim
+     */
+    protected int chooseCandidateWindow(int windows) {
+        return ThreadLocalRandom.current().nextInt(windows);
+    }
+
+    /**
+     * Replaces the named parameters of the given SQL with numbered positional parameters, adding their values in
+     * order.  A collection value is expanded into one parameter per element.
+     */
+    private String toPositionalParameters(String sql, Map<String, ?> parameters, List<Object> values) {
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuffer positional = new StringBuffer();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            if (parameters == null || !parameters.containsKey(name)) {
+                throw new IllegalArgumentException("No value given for parameter " + name + " of " + sql);
+            }
+            Object value = parameters.get(name);
+            Collection<?> elements = value instanceof Collection ? (Collection<?>) value
+                    : Collections.singletonList(value);
+            StringBuilder placeholders = new StringBuilder();
+            for (Object element : elements) {
+                values.add(element);
+                placeholders.append(placeholders.length() > 0 ? ", ?" : "?").append(values.size());
+            }
+            matcher.appendReplacement(positional, Matcher.quoteReplacement(placeholders.toString()));
+        }
+        matcher.appendTail(positional);
+        return positional.toString();
+    }
+
+    private void setParameters(Query query, Map<String, ?> parameters) {
+        if (parameters != null) {
+            for (Map.Entry<String, ?> parameter : parameters.entrySet()) {
+                query.setParameter(parameter.getKey(), parameter.getValue());
+            }
+        }
+    }
+
+    /**
+     * Determines whether the work item datasource supports {@code SELECT ... FOR UPDATE SKIP LOCKED}.
+     *
+     * @return true if skip locked is enabled and can be used when claiming work items
+     */
+    protected boolean isSkipLockedSupported() {
+        if (!skipLocked || dataSource == null) {
+            return false;
+        }
+        if (skipLockedPlatform == null) {
+            String platform = "";
+            try {
+                DatabasePlatformInfo platformInfo = DatabasePlatforms.detectPlatform(dataSource);
+                if ((DatabasePlatforms.ORACLE.equalsIgnoreCase(platformInfo.getName())
+                        && platformInfo.getMajorVersion() >= 11)
+                        || (DatabasePlatforms.MYSQL.equalsIgnoreCase(platformInfo.getName())
+                        && platformInfo.getMajorVersion() >= 8)) {
+                    platform = platformInfo.getName();
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to detect the work item database platform, claiming work items without skip locked", e);
+            }
+            skipLockedPlatform = platform;
+        }
+        return skipLockedPlatform.length() > 0;
+    }
+
+    /**
+     * Returns the number of work items claimed by this node.
+     *
+     * @return the number of claimed work items
+     */
+    public long getClaimedCount() {
+        return claimed.get();
+    }
+
+    /**
+     * Returns the number of candidate work items which another claimant took between being selected and claimed.
+     *
+     * @return the number of contended work items
+     */
+    public long getContendedCount() {
+        return contended.get();
+    }
+
+    /**
+     * Returns the number of work items claimed by this node after the lease of a previous claim expired.
+     *
+     * @return the number of reclaimed work items
+     */
+    public long getReclaimedCount() {
+        return reclaimed.get();
+    }
+
+
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Sets the datasource used to detect whether the platform supports skip locked.  If not set, skip locked is not
+     * used.
+     *
+     * @param dataSource the work item datasource
+     */
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public int getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    /**
+     * Sets how long a claim holds its work items before they may be reclaimed by another node.  This must be longer
+     * than the job takes to process a batch.
+     *
+     * @param leaseSeconds the lease length in seconds
+     */
+    public void setLeaseSeconds(int leaseSeconds) {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of work items taken by a single claim.
+     *
+     * @param batchSize the maximum number of work items per claim
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getCandidateWindows() {
+        return candidateWindows;
+    }
+
+    /**
+     * Sets the number of batches of candidates from which a claim takes one at random when skip locked is not used.
+     * Higher values spread concurrent claims further apart at the cost of reading more candidate ids.  Defaults to
+     * {@link #DEFAULT_CANDIDATE_WINDOWS}.
+     *
+     * @param candidateWindows the number of candidate windows
+     */
+    public void setCandidateWindows(int candidateWindows) {
+        this.candidateWindows = candidateWindows;
+    }
+
+    public boolean isSkipLocked() {
+        return skipLocked;
+    }
+
+    /**
+     * Sets whether skip locked is used on the platforms which support it.  Defaults to true.
+     *
+     * @param skipLocked whether to use skip locked when supported
+     */
+    public void setSkipLocked(boolean skipLocked) {
+        this.skipLocked = skipLocked;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Sets the id this node records as the owner of its claims.  Defaults to the node's ip number and a random
+     * suffix, and is truncated to 30 characters.
+     *
+     * @param nodeId the id of this node
+     */
+    public void setNodeId(String nodeId) {
+        if (StringUtils.isNotBlank(nodeId)) {
+            this.nodeId = StringUtils.left(nodeId.trim(), MAX_NODE_ID_LENGTH);
+        }
+    }
+
+    /**
+     * Describes the mapping of a lockable work item entity.
+     *
+     * @param <T> the work item entity type
+     */
+    public static final class WorkItemType<T> {
+
+        private final Class<T> entityClass;
+        private final String tableName;
+        private final String idColumn;
+        private final String lockedDateAttribute;
+        private final String lockedDateColumn;
+        private final String versionAttribute;
+
+        /**
+         * Constructs a WorkItemType.  The entity must have a Long {@code id} attribute and a {@code leaseOwner}
+         * attribute.
+         *
+         * @param entityClass the work item entity class
+         * @param tableName the table the entity is mapped to
+         * @param idColumn the id column
+         * @param lockedDateAttribute the locked date attribute
+         * @param lockedDateColumn the locked date column
+         * @param versionAttribute the optimistic locking version attribute
+         */
+        public WorkItemType(Class<T> entityClass, String tableName, String idColumn, String lockedDateAttribute,
+                String lockedDateColumn, String versionAttribute) {
+            this.entityClass = entityClass;
+            this.tableName = tableName;
+            this.idColumn = idColumn;
+            this.lockedDateAttribute = lockedDateAttribute;
+            this.lockedDateColumn = lockedDateColumn;
+            this.versionAttribute = versionAttribute;
+        }
+
+        public Class<T> getEntityClass() {
+            return entityClass;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getIdColumn() {
+            return idColumn;
+        }
+
+        public String getLockedDateAttribute() {
+            return lockedDateAttribute;
+        }
+
+        public String getLockedDateColumn() {
+            return lockedDateColumn;
+        }
+
+        public String getVersionAttribute() {
+            return versionAttribute;
+        }
+    }
+
+}
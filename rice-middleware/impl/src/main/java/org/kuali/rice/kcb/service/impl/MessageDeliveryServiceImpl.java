@@ -21,13 +21,16 @@ import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.kcb.bo.Message;
 import org.kuali.rice.kcb.bo.MessageDelivery;
 import org.kuali.rice.kcb.bo.MessageDeliveryStatus;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.kcb.service.MessageDeliveryService;
 import org.kuali.rice.krad.data.DataObjectService;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.kuali.rice.core.api.criteria.PredicateFactory.*;
 
@@ -39,8 +42,14 @@ import static org.kuali.rice.core.api.criteria.PredicateFactory.*;
 public class MessageDeliveryServiceImpl implements MessageDeliveryService {
     private static final Logger LOG = Logger.getLogger(MessageDeliveryServiceImpl.class);
 
+    private static final WorkItemLeaseClaimer.WorkItemType<MessageDelivery> MESSAGE_DELIVERY_WORK_ITEM =
+            new WorkItemLeaseClaimer.WorkItemType<MessageDelivery>(MessageDelivery.class, "KREN_MSG_DELIV_T",
+                    "MSG_DELIV_ID", MessageDelivery.LOCKED_DATE, "LOCKD_DTTM", "lockVerNbr");
+
     private DataObjectService dataObjectService;
 
+    private WorkItemLeaseClaimer workItemClaimer;
+
     /**
      * Number of processing attempts to make.  {@link MessageDelivery}s with this number or more of attempts
      * will not be selected for further processing.
@@ -122,6 +131,9 @@ public class MessageDeliveryServiceImpl implements MessageDeliveryService {
     }
     public Collection<MessageDelivery> lockAndTakeMessageDeliveries(Long messageId, MessageDeliveryStatus[] statuses) {
         LOG.debug("========>> ENTERING LockAndTakeMessageDeliveries: " + Thread.currentThread());
+        if (workItemClaimer != null) {
+            return claimMessageDeliveries(messageId, statuses);
+        }
         // DO WITHIN TRANSACTION: get all untaken messagedeliveries, and mark as "taken" so no other thread/job takes them
         // need to think about durability of work list
 
@@ -155,6 +167,31 @@ public class MessageDeliveryServiceImpl implements MessageDeliveryService {
         return lockedMsgDels;
     }
 
+    /**
+     * Claims the message deliveries with a lease, rather than finding the unlocked deliveries and locking them
+     * one at a time.
+     */
+    private Collection<MessageDelivery> claimMessageDeliveries(Long messageId, MessageDeliveryStatus[] statuses) {
+        Collection<String> statusCollection = new ArrayList<String>(statuses.length);
+        for (MessageDeliveryStatus status: statuses) {
+            statusCollection.add(status.name());
+        }
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("maxProcessAttempts", Integer.valueOf(maxProcessAttempts));
+        parameters.put("statuses", statusCollection);
+        String eligibility = "e." + MessageDelivery.PROCESS_COUNT + " < :maxProcessAttempts and e."
+                + MessageDelivery.DELIVERY_STATUS + " in :statuses";
+        String sqlEligibility = "PROC_CNT < :maxProcessAttempts and STAT_CD in (:statuses)";
+        if (messageId != null) {
+            parameters.put("messageId", messageId);
+            eligibility += " and e." + MessageDelivery.MESSAGEID_FIELD + ".id = :messageId";
+            sqlEligibility += " and MSG_ID = :messageId";
+        }
+
+        return workItemClaimer.claim(MESSAGE_DELIVERY_WORK_ITEM, eligibility, sqlEligibility, parameters);
+    }
+
     /**
      * Sets the data object service.
      * @param dataObjectService service to persist data to the datasource
@@ -162,4 +199,13 @@ public class MessageDeliveryServiceImpl implements MessageDeliveryService {
     public void setDataObjectService(DataObjectService dataObjectService) {
         this.dataObjectService = dataObjectService;
     }
+
+    /**
+     * Sets the claimer used to take message deliveries with a lease.  If not set, message deliveries are taken by
+     * locking each unlocked delivery in turn.
+     * @param workItemClaimer the work item claimer
+     */
+    public void setWorkItemClaimer(WorkItemLeaseClaimer workItemClaimer) {
+        this.workItemClaimer = workItemClaimer;
+    }
 }
@@ -75,6 +75,8 @@ public class NotificationBo extends PersistableBusinessObjectBase implements Not
 	private String processingFlag;
 	@Column(name="LOCKD_DTTM", nullable=true)
 	private Timestamp lockedDateValue;
+    @Column(name="LEASE_OWNR", nullable=true)
+    private String leaseOwner;
     @Column(name = "DOC_TYP_NM", nullable = true)
     private String docTypeName;
     /**
@@ -413,6 +415,22 @@ public class NotificationBo extends PersistableBusinessObjectBase implements Not
         this.lockedDateValue = lockedDateValue;
     }
 
+    /**
+     * Gets the leaseOwner attribute.
+     * @return the claim which currently holds the lock on this notification
+     */
+    public String getLeaseOwner() {
+        return this.leaseOwner;
+    }
+
+    /**
+     * Sets the leaseOwner attribute value.
+     * @param leaseOwner the claim which currently holds the lock on this notification
+     */
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
     /**
      * Gets the title
      * @return the title of this notification
@@ -43,6 +43,8 @@ public class NotificationMessageDelivery extends PersistableBusinessObjectBase i
 	private String deliverySystemId;  // can hold an identifier from the endpoint delivery mechanism system (i.e. workflow id, SMS id, etc)
 	@Column(name="LOCKD_DTTM", nullable=true)
 	private Timestamp lockedDateValue;
+    @Column(name="LEASE_OWNR", nullable=true)
+    private String leaseOwner;
 
     /**
      * Lock column for OJB optimistic locking
@@ -144,6 +146,22 @@ public class NotificationMessageDelivery extends PersistableBusinessObjectBase i
         this.lockedDateValue = lockedDateValue;
     }
 
+    /**
+     * Gets the leaseOwner attribute.
+     * @return the claim which currently holds the lock on this message delivery
+     */
+    public String getLeaseOwner() {
+        return this.leaseOwner;
+    }
+
+    /**
+     * Sets the leaseOwner attribute value.
+     * @param leaseOwner the claim which currently holds the lock on this message delivery
+     */
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
     /**
      * Gets the notification attribute. 
      * @return Returns the notification.
@@ -16,6 +16,7 @@
 package org.kuali.rice.ken.dao;
 
 import org.kuali.rice.core.framework.persistence.dao.GenericDao;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.ken.bo.NotificationBo;
 import org.kuali.rice.krad.data.DataObjectService;
 
@@ -32,5 +33,7 @@ public interface NotificationDao {
 	public Collection findMatchedNotificationsForResolution(Timestamp tm,  DataObjectService dataObjectService);
 	
 	public Collection findMatchedNotificationsForUnlock(NotificationBo not, DataObjectService dataObjectService);
+
+	public Collection<NotificationBo> claimNotificationsForResolution(Timestamp tm, WorkItemLeaseClaimer claimer);
 	
 }
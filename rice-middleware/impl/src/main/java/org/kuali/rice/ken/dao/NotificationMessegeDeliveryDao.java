@@ -16,6 +16,7 @@
 package org.kuali.rice.ken.dao;
 
 import org.kuali.rice.core.framework.persistence.dao.GenericDao;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.ken.bo.NotificationMessageDelivery;
 import org.kuali.rice.krad.data.DataObjectService;
 
@@ -35,4 +36,8 @@ public interface NotificationMessegeDeliveryDao {
     public Collection<NotificationMessageDelivery> getMessageDeliveriesForAutoRemoval(Timestamp tm, DataObjectService dataObjectService);
 
     public Collection <NotificationMessageDelivery> getLockedDeliveries(Class clazz, DataObjectService dataObjectService);
+
+    public Collection<NotificationMessageDelivery> claimUndeliveredMessageDeliveries(WorkItemLeaseClaimer claimer);
+
+    public Collection<NotificationMessageDelivery> claimMessageDeliveriesForAutoRemoval(Timestamp tm, WorkItemLeaseClaimer claimer);
 }
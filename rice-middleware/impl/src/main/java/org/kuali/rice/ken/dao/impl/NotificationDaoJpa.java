@@ -17,6 +17,7 @@ package org.kuali.rice.ken.dao.impl;
 
 import org.apache.log4j.Logger;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.ken.bo.NotificationBo;
 import org.kuali.rice.ken.dao.NotificationDao;
 import org.kuali.rice.ken.util.NotificationConstants;
@@ -24,6 +25,8 @@ import org.kuali.rice.krad.data.DataObjectService;
 
 import java.sql.Timestamp;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.kuali.rice.core.api.criteria.PredicateFactory.and;
 import static org.kuali.rice.core.api.criteria.PredicateFactory.lessThanOrEqual;
@@ -40,6 +43,10 @@ public class NotificationDaoJpa implements NotificationDao{
 
 	private static final Logger LOG = Logger.getLogger(NotificationDaoJpa.class);
 
+	private static final WorkItemLeaseClaimer.WorkItemType<NotificationBo> NOTIFICATION_WORK_ITEM =
+			new WorkItemLeaseClaimer.WorkItemType<NotificationBo>(NotificationBo.class, "KREN_NTFCTN_T", "NTFCTN_ID",
+					NotificationConstants.BO_PROPERTY_NAMES.LOCKED_DATE, "LOCKD_DTTM", "versionNumber");
+
 	/**
 	 * This overridden method ...
 	 * 
@@ -79,5 +86,22 @@ public class NotificationDaoJpa implements NotificationDao{
 
 		return notifications;
 	}
+
+	/**
+	 * Claims the unresolved notifications whose send date has passed with a lease, rather than finding the unlocked
+	 * notifications and locking them one at a time.
+	 *
+	 * @see NotificationDao#claimNotificationsForResolution(java.sql.Timestamp, org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer)
+	 */
+	@Override
+	public Collection<NotificationBo> claimNotificationsForResolution(Timestamp tm, WorkItemLeaseClaimer claimer) {
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		parameters.put("processingFlag", NotificationConstants.PROCESSING_FLAGS.UNRESOLVED);
+		parameters.put("sendDateTime", tm);
+
+		return claimer.claim(NOTIFICATION_WORK_ITEM,
+				"e.processingFlag = :processingFlag and e.sendDateTimeValue <= :sendDateTime",
+				"PROCESSING_FLAG = :processingFlag and SND_DTTM <= :sendDateTime", parameters);
+	}
 }
 
@@ -17,13 +17,17 @@ package org.kuali.rice.ken.dao.impl;
 
 import org.apache.log4j.Logger;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.ken.bo.NotificationMessageDelivery;
 import org.kuali.rice.ken.dao.NotificationMessegeDeliveryDao;
 import org.kuali.rice.ken.util.NotificationConstants;
 import org.kuali.rice.krad.data.DataObjectService;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.kuali.rice.core.api.criteria.PredicateFactory.*;
 
@@ -37,6 +41,11 @@ public class NotificationMessegeDeliveryDaoJpa implements NotificationMessegeDel
 
     private static final Logger LOG = Logger.getLogger(NotificationMessegeDeliveryDaoJpa.class);
 
+    private static final WorkItemLeaseClaimer.WorkItemType<NotificationMessageDelivery> MESSAGE_DELIVERY_WORK_ITEM =
+            new WorkItemLeaseClaimer.WorkItemType<NotificationMessageDelivery>(NotificationMessageDelivery.class,
+                    "KREN_NTFCTN_MSG_DELIV_T", "NTFCTN_MSG_DELIV_ID", NotificationConstants.BO_PROPERTY_NAMES.LOCKED_DATE,
+                    "LOCKD_DTTM", "versionNumber");
+
     /**
      * This overridden method ...
      *
@@ -96,5 +105,41 @@ public class NotificationMessegeDeliveryDaoJpa implements NotificationMessegeDel
         return dataObjectService.findMatching(clazz, criteria.build()).getResults();
     }
 
+    /**
+     * Claims the undelivered message deliveries with a lease, rather than finding the unlocked deliveries and
+     * locking them one at a time.
+     *
+     * @see org.kuali.rice.ken.dao.NotificationMessegeDeliveryDao#claimUndeliveredMessageDeliveries(org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer)
+     */
+    @Override
+    public Collection<NotificationMessageDelivery> claimUndeliveredMessageDeliveries(WorkItemLeaseClaimer claimer) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("status", NotificationConstants.MESSAGE_DELIVERY_STATUS.UNDELIVERED);
+
+        return claimer.claim(MESSAGE_DELIVERY_WORK_ITEM, "e.messageDeliveryStatus = :status", "STAT_CD = :status",
+                parameters);
+    }
+
+    /**
+     * Claims the delivered and undelivered message deliveries whose notification is ready to be autoremoved with a
+     * lease.
+     *
+     * @see org.kuali.rice.ken.dao.NotificationMessegeDeliveryDao#claimMessageDeliveriesForAutoRemoval(java.sql.Timestamp, org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer)
+     */
+    @Override
+    public Collection<NotificationMessageDelivery> claimMessageDeliveriesForAutoRemoval(Timestamp tm,
+            WorkItemLeaseClaimer claimer) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("statuses", Arrays.asList(NotificationConstants.MESSAGE_DELIVERY_STATUS.DELIVERED,
+                NotificationConstants.MESSAGE_DELIVERY_STATUS.UNDELIVERED));
+        parameters.put("autoRemoveDateTime", tm);
+
+        return claimer.claim(MESSAGE_DELIVERY_WORK_ITEM,
+                "e.messageDeliveryStatus in :statuses and e.notification.autoRemoveDateTimeValue <= :autoRemoveDateTime",
+                "STAT_CD in (:statuses) and NTFCTN_ID in "
+                        + "(select NTFCTN_ID from KREN_NTFCTN_T where AUTO_RMV_DTTM <= :autoRemoveDateTime)",
+                parameters);
+    }
+
 
 }
@@ -29,6 +29,7 @@ import javax.persistence.OptimisticLockException;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.Logger;
+import org.kuali.rice.kcb.quartz.ConcurrentJobStatistics;
 import org.kuali.rice.ken.service.ProcessingResult;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.OptimisticLockingFailureException;
@@ -133,7 +134,9 @@ public abstract class ConcurrentJob<T> {
             LOG.debug("[" + new Timestamp(System.currentTimeMillis()).toString() + "] STARTING RUN");
         }
 
+        final long start = System.currentTimeMillis();
         final ProcessingResult result = new ProcessingResult();
+        final ConcurrentJobStatistics statistics = getStatistics();
 
         // retrieve list of available work items in a transaction
         Collection<T> items = null;
@@ -148,6 +151,7 @@ public abstract class ConcurrentJob<T> {
             if ( dae instanceof OptimisticLockingFailureException || dae.contains(OptimisticLockingFailureException.class) || dae.contains(OptimisticLockException.class) ) {
                 // anticipated in the case that another thread is trying to grab items
                 LOG.info("Contention while taking work items: " + dae.getMessage() );
+                statistics.recordContention();
             } else {
                 // in addition to logging a message, should we throw an exception or log a failure here?
                 LOG.error("Error taking work items", dae);
@@ -157,20 +161,25 @@ public abstract class ConcurrentJob<T> {
                     if (sqle.getErrorCode() == ORACLE_00054 && StringUtils.contains(sqle.getMessage(), "resource busy")) {
                         // this is expected and non-fatal given that these jobs will run again
                         LOG.warn("Select for update lock contention encountered: " + sqle.getMessage() );
+                        statistics.recordContention();
                     } else if (sqle.getErrorCode() == ORACLE_00060 && StringUtils.contains(sqle.getMessage(), "deadlock detected")) {
                         // this is bad...two parties are waiting forever somewhere...
                         // database is probably wedged now :(
                         LOG.error("Select for update deadlock encountered! " + sqle.getMessage() );
+                        statistics.recordContention();
                     }
                 }
             }
+            recordRun(statistics, 0, result, start);
             return result;
         } catch (UnexpectedRollbackException ure) {
             LOG.error("UnexpectedRollbackException", ure);
+            recordRun(statistics, 0, result, start);
             return result;
         } catch (TransactionException te) {
             LOG.error("Error occurred obtaining available work items", te);
             result.addFailure("Error occurred obtaining available work items: " + te);
+            recordRun(statistics, 0, result, start);
             return result;
         }
 
@@ -221,12 +230,27 @@ public abstract class ConcurrentJob<T> {
             }
         }
 
+        recordRun(statistics, items == null ? 0 : items.size(), result, start);
+
         if ( LOG.isDebugEnabled() ) {
             LOG.debug("[" + new Timestamp(System.currentTimeMillis()).toString() + "] FINISHED RUN - " + result);
         }
 
         return result;
     }
+
+    /**
+     * Returns the statistics this node keeps for the job.
+     * @return the statistics for the job
+     */
+    public ConcurrentJobStatistics getStatistics() {
+        return ConcurrentJobStatistics.getStatistics(getClass().getName());
+    }
+
+    private void recordRun(ConcurrentJobStatistics statistics, int taken, ProcessingResult result, long start) {
+        statistics.recordRun(taken, result.getSuccesses().size(), result.getFailures().size(),
+                System.currentTimeMillis() - start);
+    }
     
     protected void unlockWorkItemAtomically(final T workItem) {
         try {
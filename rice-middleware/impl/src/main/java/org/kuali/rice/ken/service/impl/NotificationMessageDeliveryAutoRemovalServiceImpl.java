@@ -111,6 +111,7 @@ public class NotificationMessageDeliveryAutoRemovalServiceImpl extends Concurren
         messageDelivery.setMessageDeliveryStatus(NotificationConstants.MESSAGE_DELIVERY_STATUS.AUTO_REMOVED);
         // mark as unlocked
         messageDelivery.setLockedDateValue(null);
+        messageDelivery.setLeaseOwner(null);
         dataObjectService.save(messageDelivery);
     }
 
@@ -15,6 +15,8 @@
  */
 package org.kuali.rice.ken.service.impl;
 
+import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.core.api.criteria.QueryResults;
 import org.kuali.rice.ken.bo.NotificationBo;
 import org.kuali.rice.ken.bo.NotificationMessageDelivery;
 import org.kuali.rice.ken.bo.NotificationRecipientBo;
@@ -28,18 +30,30 @@ import org.kuali.rice.ken.service.NotificationService;
 import org.kuali.rice.ken.service.ProcessingResult;
 import org.kuali.rice.ken.util.NotificationConstants;
 import org.kuali.rice.kim.api.KimConstants.KimGroupMemberTypes;
+import org.kuali.rice.kim.api.identity.IdentityService;
+import org.kuali.rice.kim.api.identity.entity.EntityDefault;
 import org.kuali.rice.kim.api.identity.principal.Principal;
 import org.kuali.rice.kim.api.services.KimApiServiceLocator;
 import org.kuali.rice.krad.data.DataObjectService;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.kuali.rice.core.api.criteria.PredicateFactory.equal;
+import static org.kuali.rice.core.api.criteria.PredicateFactory.in;
 
 
 /**
@@ -52,9 +66,21 @@ public class NotificationMessageDeliveryResolverServiceImpl extends ConcurrentJo
     private static org.apache.log4j.Logger LOG = org.apache.log4j.Logger
 	.getLogger(NotificationMessageDeliveryResolverServiceImpl.class);
 
+    /**
+     * The default number of message deliveries which are created, delivered and saved together
+     */
+    public static final int DEFAULT_DELIVERY_BATCH_SIZE = 500;
+
+    /**
+     * The maximum number of principal names resolved by a single query, kept under the database's IN list limit
+     */
+    private static final int MAX_PRINCIPAL_NAMES_PER_QUERY = 500;
+
     private NotificationRecipientService notificationRecipientService;
     private DataObjectService dataObjectService;
     private NotificationService notificationService;
+    private int deliveryBatchSize = DEFAULT_DELIVERY_BATCH_SIZE;
+    private ExecutorService deliveryExecutor;
 
     /**
      * Constructs a NotificationMessageDeliveryDispatchServiceImpl instance.
@@ -87,6 +113,28 @@ public class NotificationMessageDeliveryResolverServiceImpl extends ConcurrentJo
     }
 
 
+    /**
+     * Sets the maximum number of message deliveries which are created, delivered and saved together in a single
+     * transaction.  Defaults to {@link #DEFAULT_DELIVERY_BATCH_SIZE}.
+     * @param deliveryBatchSize the number of message deliveries per batch, must be greater than zero
+     */
+    public void setDeliveryBatchSize(int deliveryBatchSize) {
+        if (deliveryBatchSize < 1) {
+            throw new IllegalArgumentException("deliveryBatchSize must be greater than zero");
+        }
+        this.deliveryBatchSize = deliveryBatchSize;
+    }
+
+    /**
+     * Sets the ExecutorService used to process the batches of a single notification's message deliveries in
+     * parallel.  If not set, the batches are processed one after the other by the thread resolving the notification.
+     * This must not be the executor which the work items themselves are processed with.
+     * @param deliveryExecutor the ExecutorService to process batches of message deliveries with
+     */
+    public void setDeliveryExecutor(ExecutorService deliveryExecutor) {
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
     /**
      * This method is responsible for building out the complete recipient list, which will resolve all members for groups, and add
      * them to the official list only if they are not already in the list.
@@ -95,54 +143,172 @@ public class NotificationMessageDeliveryResolverServiceImpl extends ConcurrentJo
      */
     private HashSet<String> buildCompleteRecipientList(NotificationBo notification) {
         HashSet<String> completeRecipientList = new HashSet<String>(notification.getRecipients().size());
+        Set<String> groupIds = new HashSet<String>();
+        Set<String> principalNames = new HashSet<String>();
 
         // process the list that came in with the notification request
-           for (int i = 0; i < notification.getRecipients().size(); i++) {
-               NotificationRecipientBo recipient = notification.getRecipient(i);
-               if (KimGroupMemberTypes.GROUP_MEMBER_TYPE.getCode().equals(recipient.getRecipientType())) {
-                   // resolve group's users
-                   String[] groupMembers = notificationRecipientService.getGroupMembers(recipient.getRecipientId());
-                   for(int j = 0; j < groupMembers.length; j++) {
-                       completeRecipientList.add(groupMembers[j]);
-                   }
-               } else {  // just a user, so add to the list
-                   Principal principal = KimApiServiceLocator.getIdentityService().getPrincipalByPrincipalName(recipient.getRecipientId());
-            	   completeRecipientList.add(principal.getPrincipalId());
-               }
-           }
-
-           // now process the default recipient lists that are associated with the channel
-           Iterator<NotificationRecipientListBo> i = notification.getChannel().getRecipientLists().iterator();
-           while (i.hasNext()) {
-               NotificationRecipientListBo listRecipient  = i.next();
-               if (KimGroupMemberTypes.GROUP_MEMBER_TYPE.getCode().equals(listRecipient.getRecipientType())) {
-                   // resolve group's users
-                   String[] groupMembers = notificationRecipientService.getGroupMembers(listRecipient.getRecipientId());
-                   for (int j = 0; j < groupMembers.length; j++) {
-                       completeRecipientList.add(groupMembers[j]);
-                   }
-               } else {  // just a user, so add to the list
-                   Principal principal = KimApiServiceLocator.getIdentityService().getPrincipalByPrincipalName(listRecipient.getRecipientId());
-    	 	 	   completeRecipientList.add(principal.getPrincipalId());
-               }
-           }
-
-           // now process the subscribers that are associated with the channel
-           List<UserChannelSubscriptionBo> subscriptions = notification.getChannel().getSubscriptions();
-           for (UserChannelSubscriptionBo subscription: subscriptions) {
-               // NOTE: at this time channel subscriptions are USER-only - GROUP is not supported
-               // this could be implemented by adding a recipientType/userType column as we do in
-               // other recipient/user-related tables/BOs
-               completeRecipientList.add(subscription.getUserId());
-           }
-
-           return completeRecipientList;
+        for (NotificationRecipientBo recipient : notification.getRecipients()) {
+            if (KimGroupMemberTypes.GROUP_MEMBER_TYPE.getCode().equals(recipient.getRecipientType())) {
+                groupIds.add(recipient.getRecipientId());
+            } else {  // just a user, so add to the list
+                principalNames.add(recipient.getRecipientId());
+            }
+        }
+
+        // now process the default recipient lists that are associated with the channel
+        for (NotificationRecipientListBo listRecipient : notification.getChannel().getRecipientLists()) {
+            if (KimGroupMemberTypes.GROUP_MEMBER_TYPE.getCode().equals(listRecipient.getRecipientType())) {
+                groupIds.add(listRecipient.getRecipientId());
+            } else {  // just a user, so add to the list
+                principalNames.add(listRecipient.getRecipientId());
+            }
+        }
+
+        // resolve each group's users once, no matter how many times the group is a recipient
+        for (String groupId : groupIds) {
+            Collections.addAll(completeRecipientList, notificationRecipientService.getGroupMembers(groupId));
+        }
+        completeRecipientList.addAll(getPrincipalIds(principalNames));
+
+        // now process the subscribers that are associated with the channel
+        List<UserChannelSubscriptionBo> subscriptions = notification.getChannel().getSubscriptions();
+        for (UserChannelSubscriptionBo subscription: subscriptions) {
+            // NOTE: at this time channel subscriptions are USER-only - GROUP is not supported
+            // this could be implemented by adding a recipientType/userType column as we do in
+            // other recipient/user-related tables/BOs
+            completeRecipientList.add(subscription.getUserId());
+        }
+
+        return completeRecipientList;
+    }
+
+    /**
+     * Resolves the given principal names to principal ids.  The principals are looked up in bulk, any name which
+     * can't be resolved that way is looked up individually.
+     * @param principalNames the principal names to resolve
+     * @return the principal ids of the given principal names
+     */
+    protected Set<String> getPrincipalIds(Set<String> principalNames) {
+        List<String> names = new ArrayList<String>();
+        for (String principalName : principalNames) {
+            names.add(principalName.toLowerCase());
+        }
+        Map<String, String> principalIdsByName = findPrincipalIdsByName(names);
+
+        Set<String> principalIds = new HashSet<String>(principalNames.size());
+        for (String principalName : principalNames) {
+            String principalId = principalIdsByName.get(principalName.toLowerCase());
+            if (principalId == null) {
+                principalId = getPrincipalId(principalName);
+            }
+            principalIds.add(principalId);
+        }
+        return principalIds;
+    }
+
+    /**
+     * Looks up the principals with the given lower case principal names in bulk.
+     * @param principalNames the lower case principal names to look up
+     * @return the principal ids of the principals which were found, keyed by principal name
+     */
+    protected Map<String, String> findPrincipalIdsByName(List<String> principalNames) {
+        Map<String, String> principalIdsByName = new HashMap<String, String>();
+        IdentityService identityService = KimApiServiceLocator.getIdentityService();
+        for (List<String> batch : partition(principalNames, MAX_PRINCIPAL_NAMES_PER_QUERY)) {
+            QueryByCriteria.Builder criteria = QueryByCriteria.Builder.create();
+            criteria.setPredicates(in("principals.principalName", batch));
+            for (EntityDefault entity : identityService.findEntityDefaults(criteria.build()).getResults()) {
+                for (Principal principal : entity.getPrincipals()) {
+                    principalIdsByName.put(principal.getPrincipalName(), principal.getPrincipalId());
+                }
+            }
+        }
+        return principalIdsByName;
+    }
+
+    /**
+     * Looks up the principal id of a single principal name which could not be resolved in bulk.
+     * @param principalName the principal name to look up
+     * @return the principal id
+     */
+    protected String getPrincipalId(String principalName) {
+        return KimApiServiceLocator.getIdentityService().getPrincipalByPrincipalName(principalName).getPrincipalId();
+    }
+
+    /**
+     * Returns the ids of the recipients which already have a message delivery for the given notification, left
+     * behind by an earlier attempt to resolve it which did not complete.
+     * @param notification the notification
+     * @return the ids of the recipients which have already been delivered to
+     */
+    private Set<String> getResolvedRecipientIds(NotificationBo notification) {
+        Set<String> resolvedRecipientIds = new HashSet<String>();
+        if (notification.getId() == null) {
+            return resolvedRecipientIds;
+        }
+        QueryByCriteria.Builder criteria = QueryByCriteria.Builder.create();
+        criteria.setPredicates(equal(NotificationConstants.BO_PROPERTY_NAMES.NOTIFICATION + ".id", notification.getId()));
+        QueryResults<Map<String, Object>> results = dataObjectService.findMatchingProjection(
+                NotificationMessageDelivery.class, criteria.build(),
+                Collections.singletonList(NotificationConstants.BO_PROPERTY_NAMES.USER_RECIPIENT_ID));
+        for (Map<String, Object> result : results.getResults()) {
+            resolvedRecipientIds.add((String) result.get(NotificationConstants.BO_PROPERTY_NAMES.USER_RECIPIENT_ID));
+        }
+        return resolvedRecipientIds;
+    }
+
+    /**
+     * Creates, delivers and saves the message deliveries of the given notification to the given recipients, within
+     * a new transaction.  The deliveries are inserted in one batch so that they have ids to hand to the KEW action
+     * list, and updated in one batch once delivered.  Each batch is sent as JDBC batches because JDBC batch writing
+     * is enabled for the KEN persistence unit ({@code rice.krad.jpa.rice.ken.eclipselink.jdbc.batch-writing}).
+     * @param notification the notification being resolved
+     * @param userRecipientIds the recipients to create message deliveries for
+     * @return the saved message deliveries
+     */
+    @SuppressWarnings("unchecked")
+    protected List<NotificationMessageDelivery> deliverBatch(final NotificationBo notification, final List<String> userRecipientIds) {
+        return (List<NotificationMessageDelivery>) createNewTransaction().execute(new TransactionCallback() {
+            public Object doInTransaction(TransactionStatus txStatus) {
+                List<NotificationMessageDelivery> deliveries = new ArrayList<NotificationMessageDelivery>(userRecipientIds.size());
+                for (String userRecipientId : userRecipientIds) {
+                    NotificationMessageDelivery defaultMessageDelivery = new NotificationMessageDelivery();
+                    defaultMessageDelivery.setMessageDeliveryStatus(NotificationConstants.MESSAGE_DELIVERY_STATUS.UNDELIVERED);
+                    defaultMessageDelivery.setNotification(notification);
+                    defaultMessageDelivery.setUserRecipientId(userRecipientId);
+                    deliveries.add(defaultMessageDelivery);
+                }
+
+                //now save those delivery end points; the id of each is recorded on the workflow document which delivers it
+                deliveries = dataObjectService.saveAll(deliveries);
+
+                KEWActionListMessageDeliverer deliverer = new KEWActionListMessageDeliverer();
+                for (NotificationMessageDelivery defaultMessageDelivery : deliveries) {
+                    try {
+                        deliverer.deliverMessage(defaultMessageDelivery);
+                    } catch (NotificationMessageDeliveryException e) {
+                        throw new RuntimeException(e);
+                    }
+
+                    // we have no delivery stage any more, anything we send to KCB needs to be considered "delivered" from
+                    // the perspective of KEN
+                    defaultMessageDelivery.setMessageDeliveryStatus(NotificationConstants.MESSAGE_DELIVERY_STATUS.DELIVERED);
+                }
+
+                return dataObjectService.saveAll(deliveries);
+            }
+        });
     }
 
     /**
      * Generates all message deliveries for a given notification and save thems to the database.
      * Updates each Notification record to indicate it has been resolved.
      * Should be performed within a separate transaction
+     *
+     * <p>The message deliveries are processed in batches of {@code deliveryBatchSize}, each within its own
+     * transaction, and in parallel if a {@code deliveryExecutor} has been configured.  If any batch fails the
+     * notification is left unresolved; recipients of the batches which did complete are skipped when the
+     * notification is resolved again.</p>
      * @param notifications the Notification for which to generate message deliveries
      * @return a count of the number of message deliveries generated
      */
@@ -153,48 +319,60 @@ public class NotificationMessageDeliveryResolverServiceImpl extends ConcurrentJo
 
         // because this concurrent job does not performed grouping of work items, there should only
         // ever be one notification object per work unit anyway...
-        for (NotificationBo notification: notifications) {
-            // now figure out each unique recipient for this notification
+        for (final NotificationBo notification: notifications) {
+            // now figure out each unique recipient for this notification, skipping any already delivered to
             HashSet<String> uniqueRecipients = buildCompleteRecipientList(notification);
+            uniqueRecipients.removeAll(getResolvedRecipientIds(notification));
 
-            // now for each unique recipient, figure out each delivery end point and create a NotificationMessageDelivery record
-            Iterator<String> j = uniqueRecipients.iterator();
-            while(j.hasNext()) {
-                String userRecipientId = j.next();
-
-                NotificationMessageDelivery defaultMessageDelivery = new NotificationMessageDelivery();
-                defaultMessageDelivery.setMessageDeliveryStatus(NotificationConstants.MESSAGE_DELIVERY_STATUS.UNDELIVERED);
-                defaultMessageDelivery.setNotification(notification);
-                defaultMessageDelivery.setUserRecipientId(userRecipientId);
-
-                //now save that delivery end point; this record will be later processed by the dispatch service which will actually deliver it
-               defaultMessageDelivery =  dataObjectService.save(defaultMessageDelivery);
-
-                try {
-                    new KEWActionListMessageDeliverer().deliverMessage(defaultMessageDelivery);
-                } catch (NotificationMessageDeliveryException e) {
-                    throw new RuntimeException(e);
+            List<List<String>> batches = partition(new ArrayList<String>(uniqueRecipients), deliveryBatchSize);
+            if (deliveryExecutor == null || batches.size() < 2) {
+                for (List<String> batch : batches) {
+                    successes.addAll(deliverBatch(notification, batch));
+                }
+            } else {
+                List<Future<List<NotificationMessageDelivery>>> futures = new ArrayList<Future<List<NotificationMessageDelivery>>>();
+                for (final List<String> batch : batches) {
+                    futures.add(deliveryExecutor.submit(new Callable<List<NotificationMessageDelivery>>() {
+                        public List<NotificationMessageDelivery> call() throws Exception {
+                            return deliverBatch(notification, batch);
+                        }
+                    }));
+                }
+                Exception failure = null;
+                for (Future<List<NotificationMessageDelivery>> future : futures) {
+                    try {
+                        successes.addAll(future.get());
+                    } catch (Exception e) {
+                        LOG.error("Error occurred delivering a batch of message deliveries for notification " + notification.getId(), e);
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw new RuntimeException("Failed to resolve all message deliveries for notification " + notification.getId(), failure);
                 }
-
-                // we have no delivery stage any more, anything we send to KCB needs to be considered "delivered" from
-                // the perspective of KEN
-                defaultMessageDelivery.setMessageDeliveryStatus(NotificationConstants.MESSAGE_DELIVERY_STATUS.DELIVERED);
-                defaultMessageDelivery = dataObjectService.save(defaultMessageDelivery);
-
-                successes.add(defaultMessageDelivery);
-
-                // also, update the status of the notification so that it's message deliveries are not resolved again
-                notification.setProcessingFlag(NotificationConstants.PROCESSING_FLAGS.RESOLVED);
-                // unlock the record now
-                notification.setLockedDateValue(null);
-                dataObjectService.save(notification);
             }
 
+            // also, update the status of the notification so that it's message deliveries are not resolved again
+            notification.setProcessingFlag(NotificationConstants.PROCESSING_FLAGS.RESOLVED);
+            // unlock the record now
+            notification.setLockedDateValue(null);
+            notification.setLeaseOwner(null);
+            dataObjectService.save(notification);
         }
 
         return successes;
     }
 
+    private static <E> List<List<E>> partition(List<E> list, int size) {
+        List<List<E>> partitions = new ArrayList<List<E>>();
+        for (int i = 0; i < list.size(); i += size) {
+            partitions.add(new ArrayList<E>(list.subList(i, Math.min(i + size, list.size()))));
+        }
+        return partitions;
+    }
+
     /**
      * @see org.kuali.rice.ken.service.impl.ConcurrentJob#unlockWorkItem(java.lang.Object)
      */
@@ -16,6 +16,7 @@
 package org.kuali.rice.ken.service.impl;
 
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.ken.bo.NotificationBo;
 import org.kuali.rice.ken.bo.NotificationMessageDelivery;
 import org.kuali.rice.ken.dao.NotificationMessegeDeliveryDao;
@@ -41,6 +42,7 @@ public class NotificationMessageDeliveryServiceImpl implements NotificationMessa
 
     private DataObjectService dataObjectService;
     private NotificationMessegeDeliveryDao ntdDao;
+    private WorkItemLeaseClaimer workItemClaimer;
     
     /**
      * Constructs a NotificationServiceImpl class instance.
@@ -52,6 +54,15 @@ public class NotificationMessageDeliveryServiceImpl implements NotificationMessa
         this.ntdDao = ntdDao;
     }
 
+    /**
+     * Sets the claimer used to take message deliveries with a lease.  If not set, message deliveries are taken by
+     * locking each unlocked delivery in turn.
+     * @param workItemClaimer the work item claimer
+     */
+    public void setWorkItemClaimer(WorkItemLeaseClaimer workItemClaimer) {
+        this.workItemClaimer = workItemClaimer;
+    }
+
     /**
      * This is the default implementation that uses the businessObjectDao.
      * @param id
@@ -115,6 +126,10 @@ public class NotificationMessageDeliveryServiceImpl implements NotificationMessa
     //switch to JPA criteria
     @Override
     public Collection<NotificationMessageDelivery> takeMessageDeliveriesForDispatch() {
+        if (workItemClaimer != null) {
+            return ntdDao.claimUndeliveredMessageDeliveries(workItemClaimer);
+        }
+
         // DO WITHIN TRANSACTION: get all untaken messagedeliveries, and mark as "taken" so no other thread/job takes them
         // need to think about durability of work list
 
@@ -142,6 +157,10 @@ public class NotificationMessageDeliveryServiceImpl implements NotificationMessa
      */
     @Override
     public Collection<NotificationMessageDelivery> takeMessageDeliveriesForAutoRemoval() {
+        if (workItemClaimer != null) {
+            return ntdDao.claimMessageDeliveriesForAutoRemoval(new Timestamp(System.currentTimeMillis()), workItemClaimer);
+        }
+
         // get all UNDELIVERED/DELIVERED notification notification message delivery records with associated notifications that have and autoRemovalDateTime <= current
     	Collection<NotificationMessageDelivery> messageDeliveries = ntdDao.getMessageDeliveriesForAutoRemoval(new Timestamp(System.currentTimeMillis()), dataObjectService);
     	List<NotificationMessageDelivery> savedMsgDel = new ArrayList<NotificationMessageDelivery>();
@@ -167,7 +186,13 @@ public class NotificationMessageDeliveryServiceImpl implements NotificationMessa
             throw new RuntimeException("NotificationMessageDelivery #" + messageDelivery.getId() + " not found to unlock");
         }
 
+        if (messageDelivery.getLeaseOwner() != null && !messageDelivery.getLeaseOwner().equals(d.getLeaseOwner())) {
+            // the lease expired and the delivery has been reclaimed, so the lock is no longer ours to release
+            LOG.warn("NotificationMessageDelivery #" + messageDelivery.getId() + " has been reclaimed by " + d.getLeaseOwner() + ", not unlocking");
+            return;
+        }
         d.setLockedDateValue(null);
+        d.setLeaseOwner(null);
         dataObjectService.save(d);
     }
 }
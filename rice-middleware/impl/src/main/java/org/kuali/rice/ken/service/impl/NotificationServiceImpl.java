@@ -17,6 +17,7 @@ package org.kuali.rice.ken.service.impl;
 
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.util.xml.XmlException;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.ken.bo.NotificationBo;
 import org.kuali.rice.ken.bo.NotificationMessageDelivery;
 import org.kuali.rice.ken.bo.NotificationRecipientBo;
@@ -55,6 +56,7 @@ public class NotificationServiceImpl implements NotificationService {
 	private NotificationAuthorizationService notificationAuthorizationService;
 	private NotificationRecipientService notificationRecipientService;
 	private NotificationMessageDeliveryService notificationMessageDeliveryService;
+	private WorkItemLeaseClaimer workItemClaimer;
 
 	/**
 	 * Constructs a NotificationServiceImpl class instance.
@@ -76,6 +78,15 @@ public class NotificationServiceImpl implements NotificationService {
         this.notDao = notDao;
 	}
 
+	/**
+	 * Sets the claimer used to take notifications for resolution with a lease.  If not set, notifications are taken
+	 * by locking each unlocked notification in turn.
+	 * @param workItemClaimer the work item claimer
+	 */
+	public void setWorkItemClaimer(WorkItemLeaseClaimer workItemClaimer) {
+		this.workItemClaimer = workItemClaimer;
+	}
+
 	/**
 	 * This is the default implementation that uses the businessObjectDao.
 	 * @see org.kuali.rice.ken.service.NotificationService#getNotification(java.lang.Long)
@@ -272,6 +283,10 @@ public class NotificationServiceImpl implements NotificationService {
 	//switch to JPA criteria
 	@Override
     public Collection<NotificationBo> takeNotificationsForResolution() {
+		if (workItemClaimer != null) {
+			return notDao.claimNotificationsForResolution(new Timestamp(System.currentTimeMillis()), workItemClaimer);
+		}
+
 		// get all unprocessed notifications with sendDateTime <= current
 		Collection<NotificationBo> available_notifications = notDao.findMatchedNotificationsForResolution(new Timestamp(System.currentTimeMillis()), dataObjectService);
         List<NotificationBo> savedNotifications = new ArrayList<NotificationBo>();
@@ -303,7 +318,13 @@ public class NotificationServiceImpl implements NotificationService {
 		}
 
 		NotificationBo n = notifications.iterator().next();
+		if (notification.getLeaseOwner() != null && !notification.getLeaseOwner().equals(n.getLeaseOwner())) {
+			// the lease expired and the notification has been reclaimed, so the lock is no longer ours to release
+			LOG.warn("Notification #" + notification.getId() + " has been reclaimed by " + n.getLeaseOwner() + ", not unlocking");
+			return;
+		}
 		n.setLockedDateValue(null);
+		n.setLeaseOwner(null);
 
 		dataObjectService.save(n);
 	}
@@ -15,6 +15,8 @@
  */
 package org.kuali.rice.kew.actionlist;
 
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.kew.api.KewApiConstants;
 import org.kuali.rice.kew.service.KEWServiceLocator;
 import org.kuali.rice.kim.api.identity.Person;
 import org.kuali.rice.kim.api.identity.principal.Principal;
@@ -28,7 +30,13 @@ import java.io.IOException;
 import java.io.PrintWriter;
 
 
-
+/**
+ * Returns the number of items in a user's action list as plain text.
+ *
+ * <p>When {@link KewApiConstants#ACTION_LIST_MATERIALIZED_COUNTS_ENABLED} is set the response carries the change
+ * stamp of the action list as its ETag, so polling clients can send it back in an If-None-Match header and receive a
+ * 304 response while the action list is unchanged.</p>
+ */
 public class ActionListCountServlet extends HttpServlet {
 
 	private static final long serialVersionUID = 260649920715567145L;
@@ -38,17 +46,32 @@ public class ActionListCountServlet extends HttpServlet {
 	@Override
 	protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 		response.setContentType("text/plain");
+		ActionListCounts counts = getCounts(request);
+		if (counts != null && isMaterializedCountsEnabled()) {
+			String eTag = "\"" + counts.getChangeStamp() + "\"";
+			response.setHeader("ETag", eTag);
+			response.setHeader("Cache-Control", "no-cache");
+			if (eTag.equals(request.getHeader("If-None-Match"))) {
+				response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+				return;
+			}
+		}
 	    PrintWriter out = response.getWriter();
-	    int count = getCount(request);
+	    int count = counts == null ? 0 : counts.getCount();
 	    out.println(Integer.toString(count));
 	    out.close();
 	}
 
-	private int getCount(HttpServletRequest request) {
+	private boolean isMaterializedCountsEnabled() {
+		return ConfigContext.getCurrentContextConfig().getBooleanProperty(
+				KewApiConstants.ACTION_LIST_MATERIALIZED_COUNTS_ENABLED, false);
+	}
+
+	private ActionListCounts getCounts(HttpServletRequest request) {
 		try {
 			String id = request.getParameter("id");
 			if (id == null || id.equals("")) {
-				return 0;
+				return null;
 			}
 			String idType = request.getParameter("idType");
 			if (idType == null || idType.equals("")) {
@@ -69,12 +92,15 @@ public class ActionListCountServlet extends HttpServlet {
 		    	}
 		    }
 			if (principalId == null) {
-				return 0;
+				return null;
+			}
+			if (!isMaterializedCountsEnabled()) {
+				return new ActionListCounts(KEWServiceLocator.getActionListService().getCount(principalId), 0, null, 0);
 			}
-			return KEWServiceLocator.getActionListService().getCount(principalId);
+			return KEWServiceLocator.getActionListService().getActionListCounts(principalId);
 		} catch (Throwable t) {
 			LOG.error("Fatal error when querying for Action List Count", t);
-			return 0;
+			return null;
 		}
 	}
 
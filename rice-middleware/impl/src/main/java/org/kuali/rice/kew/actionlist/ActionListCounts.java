@@ -0,0 +1,84 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.actionlist;
+
+import org.kuali.rice.kew.api.KewApiConstants;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * An immutable snapshot of the action list totals of a principal, along with the change stamp of the principal's
+ * action list at the time the totals were calculated.
+ *
+ * <p>The change stamp is incremented every time an action item of the principal is saved or deleted, so clients
+ * which poll the action list can compare it with the stamp they last saw to determine whether the action list needs
+ * to be reloaded.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class ActionListCounts implements Serializable {
+
+    private static final long serialVersionUID = -6211905542330925517L;
+
+    private final int count;
+    private final long totalCount;
+    private final Timestamp maxDateAssigned;
+    private final long changeStamp;
+
+    public ActionListCounts(int count, long totalCount, Timestamp maxDateAssigned, long changeStamp) {
+        this.count = count;
+        this.totalCount = totalCount;
+        this.maxDateAssigned = maxDateAssigned == null ? null : new Timestamp(maxDateAssigned.getTime());
+        this.changeStamp = changeStamp;
+    }
+
+    /**
+     * Returns the number of distinct documents in the action list, excluding secondary delegations.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of distinct documents in the action list, including secondary delegations.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the most recent date an action item was assigned to the principal, or null if the action list is empty.
+     */
+    public Timestamp getMaxDateAssigned() {
+        return maxDateAssigned == null ? null : new Timestamp(maxDateAssigned.getTime());
+    }
+
+    /**
+     * Returns the change stamp of the action list.
+     */
+    public long getChangeStamp() {
+        return changeStamp;
+    }
+
+    /**
+     * Defines some cache constants used on this class.
+     */
+    public static class Cache {
+        public static final String NAME = KewApiConstants.Namespaces.KEW_NAMESPACE_2_0 + "/ActionListCountsType";
+    }
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.actionlist;
+
+import org.kuali.rice.kew.actionitem.ActionItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single page of a principal's action list, as returned from
+ * {@link org.kuali.rice.kew.actionlist.service.ActionListService#getActionListPage}.
+ *
+ * <p>Contains the action items of the documents on the requested page, in display order, along with the number of
+ * documents in the whole action list.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class ActionListPage {
+
+    private final List<ActionItem> actionItems;
+    private final int fullListSize;
+
+    public ActionListPage(List<ActionItem> actionItems, int fullListSize) {
+        this.actionItems = actionItems == null ? new ArrayList<ActionItem>() : new ArrayList<ActionItem>(actionItems);
+        this.fullListSize = fullListSize;
+    }
+
+    /**
+     * Returns the action items on this page, one per document, in display order.
+     */
+    public List<ActionItem> getActionItems() {
+        return Collections.unmodifiableList(actionItems);
+    }
+
+    /**
+     * Returns the number of documents in the whole action list.
+     */
+    public int getFullListSize() {
+        return fullListSize;
+    }
+
+}
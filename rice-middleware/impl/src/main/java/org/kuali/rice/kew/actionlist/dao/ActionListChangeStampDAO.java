@@ -0,0 +1,42 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.actionlist.dao;
+
+import java.util.Collection;
+
+/**
+ * Data access for the per-principal action list change stamps stored in {@code KREW_ACTN_LIST_CHNG_T}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public interface ActionListChangeStampDAO {
+
+    /**
+     * Returns the current change stamp of the given principal's action list.
+     *
+     * @param principalId the id of the principal
+     * @return the change stamp, or 0 if the principal's action list has never changed
+     */
+    long getChangeStamp(String principalId);
+
+    /**
+     * Increments the change stamps of the given principals' action lists.
+     *
+     * @param principalIds the ids of the principals whose action lists changed
+     */
+    void incrementChangeStamps(Collection<String> principalIds);
+
+}
@@ -47,4 +47,18 @@ public interface ActionListDAO {
      * action list display.
      */
     DocumentRouteHeaderValue getMinimalRouteHeader( String documentId );
+
+    /**
+     * Returns the ids of the documents on one page of the given person's primary action list (does not include
+     * secondary delegations).  The action items are collapsed to one row per document and sorted by the database.
+     *
+     * @param principalId the owner of the action list
+     * @param sortProperty the {@link ActionItem} property path to sort on, this must be a property which has the
+     * same value for every action item on a document
+     * @param ascending whether to sort in ascending or descending order
+     * @param startIndex the index of the first document on the page
+     * @param pageSize the maximum number of documents on the page
+     */
+    List<String> getActionListPageDocumentIds(String principalId, String sortProperty, boolean ascending,
+            int startIndex, int pageSize);
 }
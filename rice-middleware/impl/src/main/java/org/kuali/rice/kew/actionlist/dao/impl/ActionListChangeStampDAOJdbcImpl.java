@@ -0,0 +1,70 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.actionlist.dao.impl;
+
+import org.kuali.rice.kew.actionlist.dao.ActionListChangeStampDAO;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Spring JdbcTemplate implementation of ActionListChangeStampDAO
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class ActionListChangeStampDAOJdbcImpl implements ActionListChangeStampDAO {
+
+    private static final String SELECT_SQL = "select CHNG_NBR from KREW_ACTN_LIST_CHNG_T where PRNCPL_ID = ?";
+    private static final String UPDATE_SQL = "update KREW_ACTN_LIST_CHNG_T set CHNG_NBR = CHNG_NBR + 1 where PRNCPL_ID = ?";
+    private static final String INSERT_SQL = "insert into KREW_ACTN_LIST_CHNG_T (PRNCPL_ID, CHNG_NBR) values (?, 1)";
+
+    private DataSource dataSource;
+
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = new TransactionAwareDataSourceProxy(dataSource);
+    }
+
+    @Override
+    public long getChangeStamp(String principalId) {
+        List<Long> changeStamps = new JdbcTemplate(dataSource).queryForList(SELECT_SQL, Long.class, principalId);
+        if (changeStamps.isEmpty() || changeStamps.get(0) == null) {
+            return 0;
+        }
+        return changeStamps.get(0).longValue();
+    }
+
+    @Override
+    public void incrementChangeStamps(Collection<String> principalIds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        // lock the rows in a consistent order so that concurrent transactions can't deadlock on them
+        for (String principalId : new TreeSet<String>(principalIds)) {
+            if (template.update(UPDATE_SQL, principalId) == 0) {
+                try {
+                    template.update(INSERT_SQL, principalId);
+                } catch (DuplicateKeyException e) {
+                    // another transaction created the row first
+                    template.update(UPDATE_SQL, principalId);
+                }
+            }
+        }
+    }
+
+}
@@ -21,6 +21,7 @@ import org.kuali.rice.kew.routeheader.DocumentRouteHeaderValue;
 import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -78,4 +79,26 @@ public class ActionListDAOJpaImpl implements ActionListDAO {
         return result.get(0);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getActionListPageDocumentIds(String principalId, String sortProperty, boolean ascending,
+            int startIndex, int pageSize) {
+        String direction = ascending ? "ASC" : "DESC";
+        // the sort property has the same value for every item on a document, so MAX just selects that value
+        String jpql = "SELECT ai.documentId, MAX(ai." + sortProperty + ") AS sortValue FROM ActionItem ai"
+                + " WHERE ai.principalId = :principalId AND (ai.delegationType IS NULL OR ai.delegationType = 'P')"
+                + " GROUP BY ai.documentId ORDER BY sortValue " + direction + ", ai.documentId " + direction;
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+        query.setParameter("principalId", principalId);
+        query.setFirstResult(startIndex);
+        query.setMaxResults(pageSize);
+        List<String> documentIds = new ArrayList<String>();
+        for (Object[] row : query.getResultList()) {
+            documentIds.add((String) row[0]);
+        }
+        return documentIds;
+    }
+
 }
@@ -20,7 +20,9 @@ import java.util.List;
 
 import org.kuali.rice.kew.actionitem.ActionItem;
 import org.kuali.rice.kew.actionitem.OutboxItem;
+import org.kuali.rice.kew.actionlist.ActionListCounts;
 import org.kuali.rice.kew.actionlist.ActionListFilter;
+import org.kuali.rice.kew.actionlist.ActionListPage;
 import org.kuali.rice.kew.actionrequest.ActionRequestValue;
 import org.kuali.rice.kew.actionrequest.Recipient;
 import org.kuali.rice.kew.routeheader.DocumentRouteHeaderValue;
@@ -41,6 +43,27 @@ public interface ActionListService {
 
     public Collection<ActionItem> getActionListForSingleDocument(String documentId);
 
+    /**
+     * Retrieves a single page of the given user's Action List.  Sorting, paging and the collapsing of the action items
+     * to one per document are done by the database, and only the action items of the documents on the requested page
+     * are loaded.
+     *
+     * <p>Only the default view of the Action List (no filter criteria and no secondary delegations) sorted on a
+     * document level property is supported.  If the filter or sort criterion can not be handled this way, null is
+     * returned and {@link #getActionList(String, ActionListFilter)} should be used instead.</p>
+     *
+     * @param principalId the owner of the action list
+     * @param filter the action list filter, its filter legend is updated as by
+     * {@link #getActionList(String, ActionListFilter)}
+     * @param sortCriterion the action list sort criterion, defaults to the document create date if empty
+     * @param ascending whether to sort in ascending or descending order
+     * @param startIndex the index of the first document on the page
+     * @param pageSize the maximum number of documents on the page
+     * @return the requested page, or null if the filter or sort criterion is not supported
+     */
+    public ActionListPage getActionListPage(String principalId, ActionListFilter filter, String sortCriterion,
+            boolean ascending, int startIndex, int pageSize);
+
     /**
      * Returns a list of recipients <i>which secondary-delegate to</i> the target principalId
      * @param principalId the target principalId/delegate
@@ -89,6 +112,15 @@ public interface ActionListService {
      */
     public List<Object> getMaxActionItemDateAssignedAndCountForUser(String principalId);
 
+    /**
+     * Retrieves the action list totals and the change stamp of the given user's Action List.  When
+     * {@link org.kuali.rice.kew.api.KewApiConstants#ACTION_LIST_MATERIALIZED_COUNTS_ENABLED} is set the totals are
+     * served from a cache which is invalidated whenever the user's action items change, otherwise they are queried
+     * on every call and the change stamp is always 0.
+     * @param principalId
+     */
+    public ActionListCounts getActionListCounts(String principalId);
+
     public Collection<ActionItem> findByActionRequestId(String actionRequestId);
 
     /**
@@ -23,11 +23,15 @@ import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.QueryResults;
 import org.kuali.rice.core.api.datetime.DateTimeService;
 import org.kuali.rice.core.api.delegation.DelegationType;
+import org.kuali.rice.core.impl.services.CoreImplServiceLocator;
 import org.kuali.rice.coreservice.framework.CoreFrameworkServiceLocator;
 import org.kuali.rice.kew.actionitem.ActionItem;
 import org.kuali.rice.kew.actionitem.ActionItemBase;
 import org.kuali.rice.kew.actionitem.OutboxItem;
+import org.kuali.rice.kew.actionlist.ActionListCounts;
 import org.kuali.rice.kew.actionlist.ActionListFilter;
+import org.kuali.rice.kew.actionlist.ActionListPage;
+import org.kuali.rice.kew.actionlist.dao.ActionListChangeStampDAO;
 import org.kuali.rice.kew.actionlist.dao.ActionListDAO;
 import org.kuali.rice.kew.actionlist.dao.impl.ActionListPriorityComparator;
 import org.kuali.rice.kew.actionlist.service.ActionListService;
@@ -49,6 +53,10 @@ import org.kuali.rice.kim.api.group.GroupService;
 import org.kuali.rice.kim.api.services.KimApiServiceLocator;
 import org.kuali.rice.krad.data.DataObjectService;
 import org.kuali.rice.krad.util.KRADConstants;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -57,8 +65,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.kuali.rice.core.api.criteria.PredicateFactory.*;
 
@@ -71,6 +82,20 @@ public class ActionListServiceImpl implements ActionListService {
 
     private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(ActionListServiceImpl.class);
     private static final Integer DEFAULT_OUTBOX_ITEM_LIMIT = Integer.valueOf(10000);
+    private static final String DEFAULT_PAGE_SORT_CRITERION = "routeHeader.createDate";
+
+    /**
+     * Maps the action list sort criteria which can be sorted by the database to the {@link ActionItem} property to
+     * sort on.  Only properties which have the same value on every action item of a document are included.
+     */
+    private static final Map<String, String> PAGE_SORT_PROPERTIES = new HashMap<String, String>();
+    static {
+        PAGE_SORT_PROPERTIES.put("documentId", "documentId");
+        PAGE_SORT_PROPERTIES.put("docTitle", "docTitle");
+        PAGE_SORT_PROPERTIES.put("docLabel", "docLabel");
+        PAGE_SORT_PROPERTIES.put("routeHeaderCreateDate", "routeHeader.createDate");
+        PAGE_SORT_PROPERTIES.put(DEFAULT_PAGE_SORT_CRITERION, "routeHeader.createDate");
+    }
 
     protected DataObjectService dataObjectService;
     protected NotificationService notificationService;
@@ -81,6 +106,7 @@ public class ActionListServiceImpl implements ActionListService {
     protected RouteHeaderService routeHeaderService;
 
     protected ActionListDAO actionListDAO;
+    protected ActionListChangeStampDAO actionListChangeStampDAO;
 
     @Override
     public Collection<Recipient> findUserSecondaryDelegators(String principalId) {
@@ -159,6 +185,51 @@ public class ActionListServiceImpl implements ActionListService {
         return createActionListForUser(results.getResults());
     }
 
+    @Override
+    public ActionListPage getActionListPage(String principalId, ActionListFilter filter, String sortCriterion,
+            boolean ascending, int startIndex, int pageSize) {
+        List<String> filteredByItems = new ArrayList<String>();
+        List<Predicate> crit = handleActionItemCriteria(principalId, filter, filteredByItems);
+        if (filter == null) {
+            return null;
+        }
+        filter.setFilterOn(!filteredByItems.isEmpty());
+        filter.setFilterLegend(StringUtils.join(filteredByItems, ", "));
+
+        String sortProperty = PAGE_SORT_PROPERTIES.get(StringUtils.defaultIfEmpty(sortCriterion,
+                DEFAULT_PAGE_SORT_CRITERION));
+        boolean defaultView = filteredByItems.isEmpty() && filter.isExcludeDelegationType()
+                && DelegationType.SECONDARY.getCode().equals(filter.getDelegationType());
+        if (sortProperty == null || !defaultView) {
+            return null;
+        }
+
+        int fullListSize = getCount(principalId);
+        List<String> documentIds = getActionListDAO().getActionListPageDocumentIds(principalId, sortProperty,
+                ascending, startIndex, pageSize);
+        if (documentIds.isEmpty()) {
+            return new ActionListPage(Collections.<ActionItem>emptyList(), fullListSize);
+        }
+
+        crit.add(in("documentId", documentIds));
+        QueryResults<ActionItem> results = dataObjectService.findMatching(ActionItem.class,
+                QueryByCriteria.Builder.fromPredicates(crit));
+        Map<String, ActionItem> actionItemsByDocumentId = new HashMap<String, ActionItem>();
+        for (ActionItem actionItem : createActionListForUser(results.getResults())) {
+            actionItemsByDocumentId.put(actionItem.getDocumentId(), actionItem);
+        }
+
+        // documents whose action items were removed since the ids were selected are skipped
+        List<ActionItem> actionItems = new ArrayList<ActionItem>(documentIds.size());
+        for (String documentId : documentIds) {
+            ActionItem actionItem = actionItemsByDocumentId.get(documentId);
+            if (actionItem != null) {
+                actionItems.add(actionItem);
+            }
+        }
+        return new ActionListPage(actionItems, fullListSize);
+    }
+
     protected List<Predicate> handleActionItemCriteria( String principalId, ActionListFilter filter, List<String> filteredByItems ) {
         LOG.debug("setting up Action List criteria");
         ArrayList<Predicate> crit = new ArrayList<Predicate>();
@@ -495,6 +566,14 @@ public class ActionListServiceImpl implements ActionListService {
         return actionListDAO;
     }
 
+    public ActionListChangeStampDAO getActionListChangeStampDAO() {
+        return actionListChangeStampDAO;
+    }
+
+    public void setActionListChangeStampDAO(ActionListChangeStampDAO actionListChangeStampDAO) {
+        this.actionListChangeStampDAO = actionListChangeStampDAO;
+    }
+
     @Override
     public void deleteActionItemNoOutbox(ActionItem actionItem) {
         deleteActionItem(actionItem, false, false);
@@ -512,6 +591,7 @@ public class ActionListServiceImpl implements ActionListService {
 
     protected void deleteActionItem(ActionItem actionItem, boolean forceIntoOutbox, boolean putInOutbox) {
         dataObjectService.delete(actionItem);
+        actionListChanged(Collections.singleton(actionItem.getPrincipalId()));
         // remove notification from KCB
         notificationService.removeNotification(Collections.singletonList(ActionItem.to(actionItem)));
         if (putInOutbox) {
@@ -521,6 +601,13 @@ public class ActionListServiceImpl implements ActionListService {
 
     @Override
     public void deleteByDocumentId(String documentId) {
+        if (isMaterializedCountsEnabled()) {
+            Set<String> principalIds = new HashSet<String>();
+            for (ActionItem actionItem : findByDocumentId(documentId)) {
+                principalIds.add(actionItem.getPrincipalId());
+            }
+            actionListChanged(principalIds);
+        }
         dataObjectService.deleteMatching(ActionItem.class, QueryByCriteria.Builder.forAttribute("documentId", documentId).build());
     }
 
@@ -602,6 +689,7 @@ public class ActionListServiceImpl implements ActionListService {
 
     @Override
     public ActionItem saveActionItem(ActionItem actionItem) {
+        actionListChanged(Collections.singleton(actionItem.getPrincipalId()));
         return saveActionItemBase(actionItem);
     }
 
@@ -628,9 +716,88 @@ public class ActionListServiceImpl implements ActionListService {
 
     @Override
     public int getCount(String principalId) {
+        if (isMaterializedCountsEnabled()) {
+            return getActionListCounts(principalId).getCount();
+        }
         return actionListDAO.getCount(principalId);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ActionListCounts getActionListCounts(String principalId) {
+        if (!isMaterializedCountsEnabled()) {
+            return queryActionListCounts(principalId, 0);
+        }
+        Cache cache = getActionListCountsCache();
+        ActionListCounts counts = cache.get(principalId, ActionListCounts.class);
+        if (counts == null) {
+            counts = queryActionListCounts(principalId, getActionListChangeStampDAO().getChangeStamp(principalId));
+            cache.put(principalId, counts);
+        }
+        return counts;
+    }
+
+    protected ActionListCounts queryActionListCounts(String principalId, long changeStamp) {
+        List<Object> maxDateAndUserCount = getActionListDAO().getMaxActionItemDateAssignedAndCountForUser(principalId);
+        Timestamp maxDateAssigned = null;
+        if (maxDateAndUserCount != null && maxDateAndUserCount.size() > 0 && maxDateAndUserCount.get(0) instanceof Timestamp) {
+            maxDateAssigned = (Timestamp) maxDateAndUserCount.get(0);
+        }
+        long totalCount = ((Number) verifyCountForUser(maxDateAndUserCount)).longValue();
+        return new ActionListCounts(getActionListDAO().getCount(principalId), totalCount, maxDateAssigned, changeStamp);
+    }
+
+    /**
+     * Records that the action lists of the given principals have changed.  The change stamps are incremented just
+     * before the transaction commits, once per principal no matter how many of the principal's action items were
+     * changed by the transaction, and the cached totals are evicted once the transaction has completed.
+     *
+     * <p>The totals are also evicted here, since that is how the eviction is queued for the other nodes (which the
+     * KSB delivers after the commit).  The local entry has to be evicted again after completion because a poll made
+     * before the commit would otherwise cache the old totals and change stamp again.</p>
+     */
+    protected void actionListChanged(Collection<String> principalIds) {
+        if (!isMaterializedCountsEnabled() || principalIds.isEmpty()) {
+            return;
+        }
+        evictActionListCounts(principalIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getChangeStampSynchronization().principalIds.addAll(principalIds);
+        } else {
+            getActionListChangeStampDAO().incrementChangeStamps(principalIds);
+        }
+    }
+
+    private void evictActionListCounts(Collection<String> principalIds) {
+        Cache cache = getActionListCountsCache();
+        for (String principalId : principalIds) {
+            cache.evict(principalId);
+        }
+    }
+
+    private ChangeStampSynchronization getChangeStampSynchronization() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof ChangeStampSynchronization) {
+                return (ChangeStampSynchronization) synchronization;
+            }
+        }
+        ChangeStampSynchronization synchronization = new ChangeStampSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(synchronization);
+        return synchronization;
+    }
+
+    protected boolean isMaterializedCountsEnabled() {
+        return ConfigContext.getCurrentContextConfig().getBooleanProperty(
+                KewApiConstants.ACTION_LIST_MATERIALIZED_COUNTS_ENABLED, false);
+    }
+
+    protected Cache getActionListCountsCache() {
+        return CoreImplServiceLocator.getCacheManagerRegistry().getCacheManagerByCacheName(ActionListCounts.Cache.NAME)
+                .getCache(ActionListCounts.Cache.NAME);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -639,6 +806,12 @@ public class ActionListServiceImpl implements ActionListService {
         // KULRICE-12318 IU contribution, not sure if this is still needed with the JPA implementation
         // as no result should cause a no result exception, going to add it to make sure.
         List<Object> verifiedList = new ArrayList<Object>();
+        if (isMaterializedCountsEnabled()) {
+            ActionListCounts counts = getActionListCounts(principalId);
+            verifiedList.add(0, counts.getMaxDateAssigned() != null ? counts.getMaxDateAssigned() : new Timestamp(new Date().getTime()));
+            verifiedList.add(1, Long.valueOf(counts.getTotalCount()));
+            return verifiedList;
+        }
         List<Object> maxDateAndUserCount =  getActionListDAO().getMaxActionItemDateAssignedAndCountForUser(principalId);
 
         verifiedList.add(0, verifyMaxActionItemDateAssigned(maxDateAndUserCount));
@@ -868,4 +1041,23 @@ public class ActionListServiceImpl implements ActionListService {
     public void setRouteHeaderService(RouteHeaderService routeHeaderService) {
         this.routeHeaderService = routeHeaderService;
     }
+
+    /**
+     * Collects the principals whose action lists were changed by a transaction, increments their change stamps just
+     * before it commits and evicts their cached totals once it has completed.
+     */
+    private final class ChangeStampSynchronization extends TransactionSynchronizationAdapter {
+
+        private final Set<String> principalIds = new TreeSet<String>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            getActionListChangeStampDAO().incrementChangeStamps(principalIds);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            evictActionListCounts(principalIds);
+        }
+    }
 }
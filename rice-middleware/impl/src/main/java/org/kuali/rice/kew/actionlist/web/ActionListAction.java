@@ -54,6 +54,7 @@ import org.kuali.rice.kew.actionitem.ActionItem;
 import org.kuali.rice.kew.actionitem.ActionItemBase;
 import org.kuali.rice.kew.actionitem.OutboxItem;
 import org.kuali.rice.kew.actionlist.ActionListFilter;
+import org.kuali.rice.kew.actionlist.ActionListPage;
 import org.kuali.rice.kew.actionlist.ActionToTake;
 import org.kuali.rice.kew.actionlist.PaginatedActionList;
 import org.kuali.rice.kew.actionlist.service.ActionListService;
@@ -201,6 +202,7 @@ public class ActionListAction extends KualiAction {
         form.setDefaultActionToTake("NONE");
 
         boolean freshActionList = true;
+        ActionListPage actionListPage = null;
         // retrieve cached action list
         List<? extends ActionItemBase> actionList = (List<? extends ActionItemBase>)request.getSession().getAttribute(ACTION_LIST_KEY);
         plog.log("Time to initialize");
@@ -282,6 +284,13 @@ public class ActionListAction extends KualiAction {
             if (isOutboxMode(form, request, preferences)) {
                 actionList = new ArrayList<OutboxItem>(actionListSrv.getOutbox(principalId, filter));
                 form.setOutBoxEmpty(actionList.isEmpty());
+            } else if (isServerSidePagingEnabled() && (actionListPage = fetchActionListPage(principalId, filter,
+                    form, getPageSize(preferences))) != null) {
+                // only the current page is loaded, so keep just that page in the session for the mass actions, and
+                // clear the user so the whole list is fetched if a later request has to page in memory
+                actionList = new ArrayList<ActionItem>(actionListPage.getActionItems());
+                request.getSession().setAttribute(ACTION_LIST_KEY, actionList);
+                request.getSession().setAttribute(ACTION_LIST_USER_KEY, null);
             } else {
 
                     SimpleDateFormat dFormatter = new SimpleDateFormat(MAX_ACTION_ITEM_DATE_FORMAT);
@@ -351,27 +360,37 @@ public class ActionListAction extends KualiAction {
             plog.log("Setting attributes");
 
             int pageSize = getPageSize(preferences);
-            // initialize the action list if necessary
-            if (freshActionList) {
-                plog.log("calling initializeActionList");
+            PaginatedList currentPage;
+            if (actionListPage != null) {
+                // the page was already sorted and sliced by the database, only its items need initializing
+                plog.log("calling initializeActionList for the current page");
                 initializeActionList(actionList, preferences);
                 plog.log("done w/ initializeActionList");
-                // put this in to resolve EN-112 (http://beatles.uits.indiana.edu:8081/jira/browse/EN-112)
-                // if the action list gets "refreshed" in between page switches, we need to be sure and re-sort it, even though we don't have sort criteria on the request
-                if (sortCriterion == null) {
-                    sortCriterion = form.getCurrentSort();
-                    sortOrder = parseSortOrder(form.getCurrentDir());
+                currentPage = buildCurrentPage(actionList, actionListPage.getFullListSize(), form.getCurrentPage(),
+                        form.getCurrentSort(), form.getCurrentDir(), pageSize, preferences, form);
+            } else {
+                // initialize the action list if necessary
+                if (freshActionList) {
+                    plog.log("calling initializeActionList");
+                    initializeActionList(actionList, preferences);
+                    plog.log("done w/ initializeActionList");
+                    // put this in to resolve EN-112 (http://beatles.uits.indiana.edu:8081/jira/browse/EN-112)
+                    // if the action list gets "refreshed" in between page switches, we need to be sure and re-sort it, even though we don't have sort criteria on the request
+                    if (sortCriterion == null) {
+                        sortCriterion = form.getCurrentSort();
+                        sortOrder = parseSortOrder(form.getCurrentDir());
+                    }
+                }
+                // sort the action list if necessary
+                if (sortCriterion != null) {
+                    sortActionList(actionList, sortCriterion, sortOrder);
                 }
-            }
-            // sort the action list if necessary
-            if (sortCriterion != null) {
-                sortActionList(actionList, sortCriterion, sortOrder);
-            }
 
-            plog.log("calling buildCurrentPage");
-            PaginatedList currentPage = buildCurrentPage(actionList, form.getCurrentPage(), form.getCurrentSort(),
-                    form.getCurrentDir(), pageSize, preferences, form);
-            plog.log("done w/ buildCurrentPage");
+                plog.log("calling buildCurrentPage");
+                currentPage = buildCurrentPage(actionList, form.getCurrentPage(), form.getCurrentSort(),
+                        form.getCurrentDir(), pageSize, preferences, form);
+                plog.log("done w/ buildCurrentPage");
+            }
             request.setAttribute(ACTION_LIST_PAGE_KEY, currentPage);
             synchronized(uSession) {
                 uSession.addObject(KewApiConstants.UPDATE_ACTION_LIST_ATTR_NAME, Boolean.FALSE);
@@ -445,6 +464,24 @@ public class ActionListAction extends KualiAction {
 
     }
 
+    private boolean isServerSidePagingEnabled() {
+        return ConfigContext.getCurrentContextConfig().getBooleanProperty(
+                KewApiConstants.ACTION_LIST_SERVER_SIDE_PAGING_ENABLED, false);
+    }
+
+    /**
+     * Fetches just the current page of the action list from the database, or returns null if the current filter or
+     * sort can not be handled by the database, in which case the whole action list is fetched and paged in memory.
+     */
+    private ActionListPage fetchActionListPage(String principalId, ActionListFilter filter, ActionListForm form,
+            int pageSize) throws WorkflowException {
+        boolean ascending = form.getCurrentDir() == null
+                || SortOrderEnum.ASCENDING.equals(parseSortOrder(form.getCurrentDir()));
+        int page = form.getCurrentPage() == null ? 1 : form.getCurrentPage();
+        return KEWServiceLocator.getActionListService().getActionListPage(principalId, filter, form.getCurrentSort(),
+                ascending, (page - 1) * pageSize, pageSize);
+    }
+
     private SortOrderEnum parseSortOrder(String dir) throws WorkflowException {
         if ("asc".equals(dir)) {
             return SortOrderEnum.ASCENDING;
@@ -565,6 +602,20 @@ public class ActionListAction extends KualiAction {
 
     protected PaginatedList buildCurrentPage(List<? extends ActionItemBase> actionList, Integer page, String sortCriterion, String sortDirection,
                                              int pageSize, Preferences preferences, ActionListForm form) throws WorkflowException {
+        generateActionItemErrors(actionList);
+        int startIndex = Math.min((page - 1) * pageSize, actionList.size());
+        int endIndex = Math.min(startIndex + pageSize, actionList.size());
+        return buildCurrentPage(actionList.subList(startIndex, endIndex), actionList.size(), page, sortCriterion,
+                sortDirection, pageSize, preferences, form);
+    }
+
+    /**
+     * Builds the current page from the action items which are displayed on it.  The action list customizations are
+     * only evaluated for these action items.
+     */
+    protected PaginatedList buildCurrentPage(List<? extends ActionItemBase> pageItems, int fullListSize, Integer page,
+            String sortCriterion, String sortDirection, int pageSize, Preferences preferences, ActionListForm form)
+            throws WorkflowException {
         List<ActionItemBase> currentPage = new ArrayList<ActionItemBase>(pageSize);
 
         boolean haveCustomActions = false;
@@ -577,24 +628,20 @@ public class ActionListAction extends KualiAction {
 
         List<String> customActionListProblemIds = new ArrayList<String>();
         SortOrderEnum sortOrder = parseSortOrder(sortDirection);
-        int startIndex = (page - 1) * pageSize;
-        int endIndex = startIndex + pageSize;
-        generateActionItemErrors(actionList);
 
-        LOG.info("Beginning processing of Action List Customizations (total: " + actionList.size() + " Action Items)");
+        LOG.info("Beginning processing of Action List Customizations (total: " + pageItems.size() + " Action Items)");
         long start = System.currentTimeMillis();
 
         Map<String, ActionItemCustomization>  customizationMap = new HashMap<String, ActionItemCustomization>();
         if (!StringUtils.equalsIgnoreCase("true", form.getViewOutbox())) {
             customizationMap = getActionListCustomizationMediator().getActionListCustomizations(
-                    getUserSession().getPrincipalId(), convertToApiActionItems(actionList));
+                    getUserSession().getPrincipalId(), convertToApiActionItems(pageItems));
         }
 
         long end = System.currentTimeMillis();
         LOG.info("Finished processing of Action List Customizations (total time: " + (end - start) + " ms)");
 
-        for (int index = startIndex; index < endIndex && index < actionList.size(); index++) {
-            ActionItemBase actionItem = actionList.get(index);
+        for (ActionItemBase actionItem : pageItems) {
             // evaluate custom action list component for mass actions
             try {
                 ActionItemCustomization customization = customizationMap.get(actionItem.getId());
@@ -667,7 +714,7 @@ public class ActionListAction extends KualiAction {
         form.setHasDisplayParameters(haveDisplayParameters);
 
         generateActionItemErrors(CUSTOMACTIONLIST_PROP, ACTIONLIST_BAD_CUSTOM_ACTION_LIST_ITEMS_ERRKEY, customActionListProblemIds);
-        return new PaginatedActionList(currentPage, actionList.size(), page, pageSize, "actionList", sortCriterion, sortOrder);
+        return new PaginatedActionList(currentPage, fullListSize, page, pageSize, "actionList", sortCriterion, sortOrder);
     }
 
     // convert a List of org.kuali.rice.kew.actionitem.ActionItemS to org.kuali.rice.kew.api.action.ActionItemS
@@ -23,6 +23,7 @@ import org.kuali.rice.core.api.resourceloader.ResourceLoader;
 import org.kuali.rice.core.framework.config.module.ModuleConfigurer;
 import org.kuali.rice.core.framework.config.module.WebModuleConfiguration;
 import org.kuali.rice.kew.api.KewApiConstants;
+import org.kuali.rice.kew.docsearch.service.impl.SearchableAttributeIndexBackfillLifecycle;
 import org.kuali.rice.kew.lifecycle.StandaloneLifeCycle;
 import org.kuali.rice.kew.plugin.PluginRegistry;
 import org.kuali.rice.kew.plugin.PluginRegistryFactory;
@@ -83,6 +84,9 @@ public class KEWConfigurer extends ModuleConfigurer {
         if (getRunMode().equals(RunMode.LOCAL)) { // local or embedded
             lifecycles.add(createStandaloneLifeCycle());
         }
+        if (RunMode.EMBEDDED == getRunMode() || RunMode.LOCAL == getRunMode()) {
+            lifecycles.add(new SearchableAttributeIndexBackfillLifecycle());
+        }
         return lifecycles;
     }
 
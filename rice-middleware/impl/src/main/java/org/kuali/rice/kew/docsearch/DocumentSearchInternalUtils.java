@@ -23,7 +23,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -68,6 +70,8 @@ public class DocumentSearchInternalUtils {
     private static final String DECIMAL_ATTRIBUTE_TABLE_NAME = "KREW_DOC_HDR_EXT_FLT_T";
     private static final String INTEGER_ATTRIBUTE_TABLE_NAME = "KREW_DOC_HDR_EXT_LONG_T";
 
+    private static final Map<String, String> ATTRIBUTE_INDEX_TABLE_NAMES = new HashMap<String, String>();
+
     private static final List<SearchableAttributeConfiguration> CONFIGURATIONS =
             new ArrayList<SearchableAttributeConfiguration>();
     public static final List<Class<? extends SearchableAttributeValue>> SEARCHABLE_ATTRIBUTE_BASE_CLASS_LIST =
@@ -102,6 +106,11 @@ public class DocumentSearchInternalUtils {
                 EnumSet.of(DataType.INTEGER, DataType.LONG),
                 Long.TYPE));
 
+        ATTRIBUTE_INDEX_TABLE_NAMES.put(STRING_ATTRIBUTE_TABLE_NAME, "KREW_DOC_HDR_EXT_IDX_T");
+        ATTRIBUTE_INDEX_TABLE_NAMES.put(DATE_TIME_ATTRIBUTE_TABLE_NAME, "KREW_DOC_HDR_EXT_IDX_DT_T");
+        ATTRIBUTE_INDEX_TABLE_NAMES.put(DECIMAL_ATTRIBUTE_TABLE_NAME, "KREW_DOC_HDR_EXT_IDX_FLT_T");
+        ATTRIBUTE_INDEX_TABLE_NAMES.put(INTEGER_ATTRIBUTE_TABLE_NAME, "KREW_DOC_HDR_EXT_IDX_LONG_T");
+
     }
 
     // initialize-on-demand holder class idiom - see Effective Java item #71
@@ -140,6 +149,34 @@ public class DocumentSearchInternalUtils {
         return getConfigurationForField(attributeField).getTableName();
     }
 
+    /**
+     * Returns the names of all of the searchable attribute tables.
+     *
+     * @return the searchable attribute table names
+     */
+    public static List<String> getAttributeTableNames() {
+        List<String> tableNames = new ArrayList<String>();
+        for (SearchableAttributeConfiguration configuration : CONFIGURATIONS) {
+            tableNames.add(configuration.getTableName());
+        }
+        return tableNames;
+    }
+
+    /**
+     * Returns the name of the denormalized index table which mirrors the given searchable attribute table.
+     *
+     * @param attributeTableName the name of a searchable attribute table
+     * @return the name of the corresponding index table
+     * @throws IllegalArgumentException if the given table is not a searchable attribute table
+     */
+    public static String getAttributeIndexTableName(String attributeTableName) {
+        String indexTableName = ATTRIBUTE_INDEX_TABLE_NAMES.get(attributeTableName);
+        if (indexTableName == null) {
+            throw new IllegalArgumentException("Not a searchable attribute table: " + attributeTableName);
+        }
+        return indexTableName;
+    }
+
     public static Class<?> getDataTypeClass(RemotableAttributeField attributeField) {
         return getConfigurationForField(attributeField).getDataTypeClass();
     }
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.docsearch.dao;
+
+import org.kuali.rice.kew.docsearch.SearchableAttributeValue;
+
+import java.util.List;
+
+/**
+ * Data access for the denormalized searchable attribute index tables ({@code KREW_DOC_HDR_EXT_IDX_*}).
+ *
+ * <p>The index tables mirror the {@code KREW_DOC_HDR_EXT_*} tables, but each row also carries the name of the
+ * document type of the document it belongs to, so that document search can resolve attribute criteria for a single
+ * document type through one composite index per criterion.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public interface SearchableAttributeIndexDAO {
+
+    /**
+     * Replaces the index entries of the given document with the given searchable attribute values.
+     *
+     * @param documentId the id of the document
+     * @param documentTypeName the name of the document type of the document
+     * @param searchableAttributeValues the searchable attribute values of the document
+     */
+    void updateIndex(String documentId, String documentTypeName, List<SearchableAttributeValue> searchableAttributeValues);
+
+    /**
+     * Removes all index entries of the given document.
+     *
+     * @param documentId the id of the document
+     */
+    void deleteIndex(String documentId);
+
+    /**
+     * Rebuilds the index entries of the next batch of documents of the given document type from the
+     * {@code KREW_DOC_HDR_EXT_*} tables.  Documents are processed in document id order.
+     *
+     * @param documentTypeName the name of the document type to index
+     * @param afterDocumentId the last document id of the previous batch, or null to start with the first document
+     * @param batchSize the maximum number of documents to index
+     * @return the last document id of this batch, or null if there were no documents left to index
+     */
+    String backfillIndex(String documentTypeName, String afterDocumentId, int batchSize);
+
+}
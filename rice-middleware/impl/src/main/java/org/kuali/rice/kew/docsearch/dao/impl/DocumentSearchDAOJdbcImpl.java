@@ -16,11 +16,14 @@
 package org.kuali.rice.kew.docsearch.dao.impl;
 
 import org.apache.commons.lang.StringUtils;
+import org.kuali.rice.core.api.config.property.ConfigContext;
 import org.kuali.rice.core.api.uif.RemotableAttributeField;
 import org.kuali.rice.coreservice.framework.CoreFrameworkServiceLocator;
 import org.kuali.rice.kew.api.document.search.DocumentSearchCriteria;
 import org.kuali.rice.kew.api.document.search.DocumentSearchResults;
+import org.kuali.rice.kew.impl.document.search.DocumentSearchContinuation;
 import org.kuali.rice.kew.impl.document.search.DocumentSearchGenerator;
+import org.kuali.rice.kew.impl.document.search.KeysetDocumentSearchGenerator;
 import org.kuali.rice.kew.docsearch.dao.DocumentSearchDAO;
 import org.kuali.rice.kew.api.KewApiConstants;
 import org.kuali.rice.kew.util.PerformanceLogger;
@@ -32,6 +35,7 @@ import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -56,6 +60,9 @@ public class DocumentSearchDAOJdbcImpl implements DocumentSearchDAO {
 
     @Override
     public DocumentSearchResults.Builder findDocuments(final DocumentSearchGenerator documentSearchGenerator, final DocumentSearchCriteria criteria, final boolean criteriaModified, final List<RemotableAttributeField> searchFields) {
+        if (documentSearchGenerator instanceof KeysetDocumentSearchGenerator && isKeysetPagination(criteria)) {
+            return findDocumentsByKeyset((KeysetDocumentSearchGenerator) documentSearchGenerator, criteria, criteriaModified, searchFields);
+        }
         final int maxResultCap = getMaxResultCap(criteria);
         try {
             final JdbcTemplate template = new JdbcTemplate(dataSource);
@@ -118,6 +125,84 @@ public class DocumentSearchDAOJdbcImpl implements DocumentSearchDAO {
         }
     }
 
+    /**
+     * Executes the search with a forward-only statement which only reads the requested page of results, starting after
+     * the continuation token on the criteria if there is one.  The keyset sql returns one row per document, so at most
+     * one row more than the page size is read.
+     *
+     * @see KeysetDocumentSearchGenerator
+     */
+    protected DocumentSearchResults.Builder findDocumentsByKeyset(final KeysetDocumentSearchGenerator documentSearchGenerator, final DocumentSearchCriteria criteria, final boolean criteriaModified, final List<RemotableAttributeField> searchFields) {
+        final int maxResultCap = getMaxResultCap(criteria);
+        final DocumentSearchContinuation continuation = StringUtils.isBlank(criteria.getContinuationToken()) ? null :
+                DocumentSearchContinuation.fromToken(criteria.getContinuationToken());
+        try {
+            final JdbcTemplate template = new JdbcTemplate(dataSource);
+
+            return template.execute(new ConnectionCallback<DocumentSearchResults.Builder>() {
+                @Override
+                public DocumentSearchResults.Builder doInConnection(final Connection con) throws SQLException {
+                    PerformanceLogger perfLog = new PerformanceLogger();
+                    String sql = documentSearchGenerator.generateKeysetSearchSql(criteria, searchFields, continuation != null);
+                    perfLog.log("Time to generate search sql from documentSearchGenerator class: " + documentSearchGenerator
+                            .getClass().getName(), true);
+                    final PreparedStatement statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    try {
+                        statement.setFetchSize(maxResultCap + 1);
+                        statement.setMaxRows(maxResultCap + 1);
+                        if (continuation != null) {
+                            continuation.bind(statement, 1);
+                        }
+                        LOG.info("Executing keyset document search with page size: " + maxResultCap);
+                        perfLog = new PerformanceLogger();
+                        final ResultSet rs = statement.executeQuery();
+                        try {
+                            perfLog.log("Time to execute doc search database query.", true);
+                            return documentSearchGenerator.processKeysetResultSet(criteria, criteriaModified, con, rs, maxResultCap);
+                        } finally {
+                            try {
+                                rs.close();
+                            } catch (SQLException e) {
+                                LOG.warn("Could not close result set.");
+                            }
+                        }
+                    } finally {
+                        try {
+                            statement.close();
+                        } catch (SQLException e) {
+                            LOG.warn("Could not close statement.");
+                        }
+                    }
+                }
+            });
+
+        } catch (DataAccessException dae) {
+            String errorMsg = "DataAccessException: " + dae.getMessage();
+            LOG.error("getList() " + errorMsg, dae);
+            throw new RuntimeException(errorMsg, dae);
+        } catch (Exception e) {
+            String errorMsg = "LookupException: " + e.getMessage();
+            LOG.error("getList() " + errorMsg, e);
+            throw new RuntimeException(errorMsg, e);
+        }
+    }
+
+    /**
+     * Returns whether the search should page through the results by key.  This is the case if the criteria carries a
+     * continuation token, or if keyset pagination is enabled and the criteria does not request a start index.
+     *
+     * @param criteria the search criteria
+     * @return true if the search should use keyset pagination
+     */
+    protected boolean isKeysetPagination(DocumentSearchCriteria criteria) {
+        if (StringUtils.isNotBlank(criteria.getContinuationToken())) {
+            return true;
+        }
+        boolean startsAtBeginning = criteria.getStartAtIndex() == null || criteria.getStartAtIndex().intValue() == 0;
+        return startsAtBeginning && ConfigContext.getCurrentContextConfig().getBooleanProperty(
+                KewApiConstants.DOC_SEARCH_KEYSET_PAGINATION_CONFIG_PARM, false);
+    }
+
     /**
      * Returns the maximum number of results that should be returned from the document search.
      *
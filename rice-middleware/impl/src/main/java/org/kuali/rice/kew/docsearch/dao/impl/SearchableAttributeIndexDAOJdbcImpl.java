@@ -0,0 +1,136 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.docsearch.dao.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.kuali.rice.kew.docsearch.DocumentSearchInternalUtils;
+import org.kuali.rice.kew.docsearch.SearchableAttributeValue;
+import org.kuali.rice.kew.docsearch.dao.SearchableAttributeIndexDAO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Spring JdbcTemplate implementation of SearchableAttributeIndexDAO
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class SearchableAttributeIndexDAOJdbcImpl implements SearchableAttributeIndexDAO {
+
+    private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(SearchableAttributeIndexDAOJdbcImpl.class);
+
+    // stays below the 1000 element limit Oracle imposes on IN lists
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private DataSource dataSource;
+
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = new TransactionAwareDataSourceProxy(dataSource);
+    }
+
+    @Override
+    public void updateIndex(String documentId, String documentTypeName, List<SearchableAttributeValue> searchableAttributeValues) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        deleteIndex(template, documentId);
+
+        Map<String, List<Object[]>> rowsByTable = new LinkedHashMap<String, List<Object[]>>();
+        Set<String> seen = new HashSet<String>();
+        for (SearchableAttributeValue searchableAttributeValue : searchableAttributeValues) {
+            Object value = searchableAttributeValue.getSearchableAttributeValue();
+            if (value == null) {
+                // a null value can never satisfy an attribute criterion
+                continue;
+            }
+            String tableName = DocumentSearchInternalUtils.getAttributeIndexTableName(
+                    searchableAttributeValue.getAttributeTableName());
+            if (!seen.add(tableName + "-" + searchableAttributeValue.getSearchableAttributeKey() + "-" + value)) {
+                continue;
+            }
+            List<Object[]> rows = rowsByTable.get(tableName);
+            if (rows == null) {
+                rows = new ArrayList<Object[]>();
+                rowsByTable.put(tableName, rows);
+            }
+            rows.add(new Object[] {documentTypeName, documentId, searchableAttributeValue.getSearchableAttributeKey(), value});
+        }
+
+        for (Map.Entry<String, List<Object[]>> entry : rowsByTable.entrySet()) {
+            template.batchUpdate("insert into " + entry.getKey() + " (DOC_TYP_NM, DOC_HDR_ID, KEY_CD, VAL) values (?, ?, ?, ?)",
+                    entry.getValue());
+        }
+    }
+
+    @Override
+    public void deleteIndex(String documentId) {
+        deleteIndex(new JdbcTemplate(dataSource), documentId);
+    }
+
+    @Override
+    public String backfillIndex(String documentTypeName, String afterDocumentId, int batchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setMaxRows(Math.min(Math.max(batchSize, 1), MAX_BATCH_SIZE));
+
+        String documentIdSql = "select DOC_HDR.DOC_HDR_ID from KREW_DOC_HDR_T DOC_HDR, KREW_DOC_TYP_T DOC_TYP"
+                + " where DOC_HDR.DOC_TYP_ID = DOC_TYP.DOC_TYP_ID and DOC_TYP.DOC_TYP_NM = ?";
+        List<String> documentIds;
+        if (afterDocumentId == null) {
+            documentIds = template.queryForList(documentIdSql + " order by DOC_HDR.DOC_HDR_ID", String.class,
+                    documentTypeName);
+        } else {
+            documentIds = template.queryForList(documentIdSql + " and DOC_HDR.DOC_HDR_ID > ? order by DOC_HDR.DOC_HDR_ID",
+                    String.class, documentTypeName, afterDocumentId);
+        }
+        if (documentIds.isEmpty()) {
+            return null;
+        }
+
+        template.setMaxRows(0);
+        String inList = StringUtils.repeat("?", ", ", documentIds.size());
+        Object[] deleteArgs = documentIds.toArray();
+        Object[] insertArgs = new Object[documentIds.size() + 1];
+        insertArgs[0] = documentTypeName;
+        System.arraycopy(deleteArgs, 0, insertArgs, 1, deleteArgs.length);
+        for (String attributeTableName : DocumentSearchInternalUtils.getAttributeTableNames()) {
+            String indexTableName = DocumentSearchInternalUtils.getAttributeIndexTableName(attributeTableName);
+            template.update("delete from " + indexTableName + " where DOC_HDR_ID in (" + inList + ")", deleteArgs);
+            template.update("insert into " + indexTableName + " (DOC_TYP_NM, DOC_HDR_ID, KEY_CD, VAL)"
+                    + " select distinct ?, DOC_HDR_ID, KEY_CD, VAL from " + attributeTableName
+                    + " where VAL is not null and DOC_HDR_ID in (" + inList + ")", insertArgs);
+        }
+
+        String lastDocumentId = documentIds.get(documentIds.size() - 1);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Indexed " + documentIds.size() + " documents of type " + documentTypeName + " up to document "
+                    + lastDocumentId);
+        }
+        return lastDocumentId;
+    }
+
+    protected void deleteIndex(JdbcTemplate template, String documentId) {
+        for (String attributeTableName : DocumentSearchInternalUtils.getAttributeTableNames()) {
+            template.update("delete from " + DocumentSearchInternalUtils.getAttributeIndexTableName(attributeTableName)
+                    + " where DOC_HDR_ID = ?", documentId);
+        }
+    }
+
+}
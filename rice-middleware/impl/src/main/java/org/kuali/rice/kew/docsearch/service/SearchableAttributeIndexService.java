@@ -0,0 +1,87 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.docsearch.service;
+
+import org.kuali.rice.kew.docsearch.SearchableAttributeValue;
+
+import java.util.List;
+
+/**
+ * Maintains the optional denormalized searchable attribute index which document search can use in place of the
+ * {@code KREW_DOC_HDR_EXT_*} tables.
+ *
+ * <p>The index is maintained for the document types named in the
+ * {@link org.kuali.rice.kew.api.KewApiConstants#DOC_SEARCH_ATTRIBUTE_INDEX_DOCUMENT_TYPES_CONFIG_PARM} config
+ * parameter.  Document search only targets the index once
+ * {@link org.kuali.rice.kew.api.KewApiConstants#DOC_SEARCH_ATTRIBUTE_INDEX_SEARCH_ENABLED_CONFIG_PARM} is set, which
+ * should happen after existing documents have been backfilled.  The backfill is scheduled on startup when
+ * {@link org.kuali.rice.kew.api.KewApiConstants#DOC_SEARCH_ATTRIBUTE_INDEX_BACKFILL_ON_STARTUP_CONFIG_PARM} is set.
+ * The index entries of a document are removed when the document is deleted.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public interface SearchableAttributeIndexService {
+
+    /**
+     * Returns the names of the document types for which the index is maintained.
+     *
+     * @return the indexed document type names, never null
+     */
+    List<String> getIndexedDocumentTypeNames();
+
+    /**
+     * Returns whether the index is maintained for the given document type.
+     *
+     * @param documentTypeName the name of the document type
+     * @return true if the index is maintained for the document type
+     */
+    boolean isIndexed(String documentTypeName);
+
+    /**
+     * Returns whether document search should resolve attribute criteria for the given document type from the index.
+     *
+     * @param documentTypeName the name of the document type
+     * @return true if document searches on the document type should use the index
+     */
+    boolean isSearchEnabled(String documentTypeName);
+
+    /**
+     * Replaces the index entries of the given document, if its document type is indexed.
+     *
+     * @param documentId the id of the document
+     * @param documentTypeName the name of the document type of the document
+     * @param searchableAttributeValues the searchable attribute values of the document
+     */
+    void indexDocument(String documentId, String documentTypeName, List<SearchableAttributeValue> searchableAttributeValues);
+
+    /**
+     * Indexes the next batch of existing documents of the given document type.
+     *
+     * @param documentTypeName the name of the document type
+     * @param afterDocumentId the value returned from the previous call, or null to start with the first document
+     * @return the last document id indexed, or null once all documents of the type have been indexed
+     */
+    String backfillIndex(String documentTypeName, String afterDocumentId);
+
+    /**
+     * Schedules a job to backfill the index for all existing documents of the given document type.  Nothing is
+     * scheduled if a backfill of the same document type is already pending.
+     *
+     * @param documentTypeName the name of the document type, or null to backfill all indexed document types
+     */
+    void scheduleBackfill(String documentTypeName);
+
+}
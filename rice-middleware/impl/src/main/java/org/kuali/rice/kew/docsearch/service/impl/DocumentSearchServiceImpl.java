@@ -341,6 +341,7 @@ public class DocumentSearchServiceImpl implements DocumentSearchService {
         builder.setMaxResults(criteria.getMaxResults());
         builder.setIsAdvancedSearch(criteria.getIsAdvancedSearch());
         builder.setSearchOptions(criteria.getSearchOptions());
+        builder.setContinuationToken(criteria.getContinuationToken());
         return builder;
     }
 
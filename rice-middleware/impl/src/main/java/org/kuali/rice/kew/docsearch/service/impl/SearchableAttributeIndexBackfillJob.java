@@ -0,0 +1,62 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.docsearch.service.impl;
+
+import org.kuali.rice.kew.docsearch.service.SearchableAttributeIndexService;
+import org.kuali.rice.kew.service.KEWServiceLocator;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Quartz job which backfills the searchable attribute index with the existing documents of a document type.  Each
+ * batch of documents is indexed in its own transaction, so the job can safely be run against large tables while
+ * documents continue to be indexed as they are routed.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class SearchableAttributeIndexBackfillJob implements Job {
+
+    private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(SearchableAttributeIndexBackfillJob.class);
+
+    public static final String DOCUMENT_TYPE_NAME = "documentTypeName";
+
+    @Override
+    public void execute(JobExecutionContext ctx) throws JobExecutionException {
+        SearchableAttributeIndexService indexService = KEWServiceLocator.getSearchableAttributeIndexService();
+        String documentTypeName = ctx.getMergedJobDataMap().getString(DOCUMENT_TYPE_NAME);
+        List<String> documentTypeNames;
+        if (documentTypeName == null) {
+            documentTypeNames = indexService.getIndexedDocumentTypeNames();
+        } else {
+            documentTypeNames = Collections.singletonList(documentTypeName);
+        }
+        for (String name : documentTypeNames) {
+            LOG.info("Backfilling searchable attribute index for document type " + name);
+            long start = System.currentTimeMillis();
+            String lastDocumentId = null;
+            do {
+                lastDocumentId = indexService.backfillIndex(name, lastDocumentId);
+            } while (lastDocumentId != null);
+            LOG.info("...finished backfilling searchable attribute index for document type " + name + ", total time = "
+                    + (System.currentTimeMillis() - start) + " ms.");
+        }
+    }
+
+}
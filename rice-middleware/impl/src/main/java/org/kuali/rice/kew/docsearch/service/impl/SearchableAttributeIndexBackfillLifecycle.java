@@ -0,0 +1,62 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.docsearch.service.impl;
+
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.core.api.lifecycle.Lifecycle;
+import org.kuali.rice.kew.api.KewApiConstants;
+import org.kuali.rice.kew.docsearch.service.SearchableAttributeIndexService;
+import org.kuali.rice.kew.service.KEWServiceLocator;
+
+/**
+ * A {@link Lifecycle} which is initialized on system startup that schedules the
+ * {@link SearchableAttributeIndexBackfillJob} for all indexed document types if
+ * {@link KewApiConstants#DOC_SEARCH_ATTRIBUTE_INDEX_BACKFILL_ON_STARTUP_CONFIG_PARM} is set.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class SearchableAttributeIndexBackfillLifecycle implements Lifecycle {
+
+    private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(SearchableAttributeIndexBackfillLifecycle.class);
+
+    private boolean started;
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+
+    @Override
+    public void start() throws Exception {
+        if (ConfigContext.getCurrentContextConfig().getBooleanProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_BACKFILL_ON_STARTUP_CONFIG_PARM, false)) {
+            SearchableAttributeIndexService indexService = KEWServiceLocator.getSearchableAttributeIndexService();
+            if (indexService.getIndexedDocumentTypeNames().isEmpty()) {
+                LOG.warn(KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_BACKFILL_ON_STARTUP_CONFIG_PARM
+                        + " is set but no document types are indexed");
+            } else {
+                indexService.scheduleBackfill(null);
+            }
+        }
+        started = true;
+    }
+
+    @Override
+    public void stop() throws Exception {
+        started = false;
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.docsearch.service.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.kew.api.KewApiConstants;
+import org.kuali.rice.kew.api.WorkflowRuntimeException;
+import org.kuali.rice.kew.docsearch.SearchableAttributeValue;
+import org.kuali.rice.kew.docsearch.dao.SearchableAttributeIndexDAO;
+import org.kuali.rice.kew.docsearch.service.SearchableAttributeIndexService;
+import org.kuali.rice.ksb.service.KSBServiceLocator;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.SchedulerException;
+import org.quartz.impl.JobDetailImpl;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference implementation of the {@link SearchableAttributeIndexService}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class SearchableAttributeIndexServiceImpl implements SearchableAttributeIndexService {
+
+    private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(SearchableAttributeIndexServiceImpl.class);
+
+    private static final String BACKFILL_JOB_GROUP = "Document Search Index";
+    private static final int DEFAULT_BACKFILL_BATCH_SIZE = 500;
+
+    private SearchableAttributeIndexDAO searchableAttributeIndexDAO;
+
+    @Override
+    public boolean isIndexed(String documentTypeName) {
+        return StringUtils.isNotBlank(documentTypeName) && getIndexedDocumentTypeNames().contains(documentTypeName);
+    }
+
+    @Override
+    public boolean isSearchEnabled(String documentTypeName) {
+        return ConfigContext.getCurrentContextConfig().getBooleanProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_SEARCH_ENABLED_CONFIG_PARM, false) && isIndexed(documentTypeName);
+    }
+
+    @Override
+    public void indexDocument(String documentId, String documentTypeName, List<SearchableAttributeValue> searchableAttributeValues) {
+        if (isIndexed(documentTypeName)) {
+            getSearchableAttributeIndexDAO().updateIndex(documentId, documentTypeName, searchableAttributeValues);
+        }
+    }
+
+    @Override
+    public String backfillIndex(String documentTypeName, String afterDocumentId) {
+        if (!isIndexed(documentTypeName)) {
+            throw new WorkflowRuntimeException("The searchable attribute index is not enabled for document type "
+                    + documentTypeName);
+        }
+        return getSearchableAttributeIndexDAO().backfillIndex(documentTypeName, afterDocumentId, getBackfillBatchSize());
+    }
+
+    @Override
+    public void scheduleBackfill(String documentTypeName) {
+        // the name is fixed so that a backfill which is already pending on any node is not scheduled a second time
+        String jobName = "Searchable Attribute Index Backfill-" + (documentTypeName == null ? "all" : documentTypeName);
+        JobDetailImpl jobDetail = new JobDetailImpl(jobName, BACKFILL_JOB_GROUP, SearchableAttributeIndexBackfillJob.class);
+        if (documentTypeName != null) {
+            jobDetail.getJobDataMap().put(SearchableAttributeIndexBackfillJob.DOCUMENT_TYPE_NAME, documentTypeName);
+        }
+        SimpleTriggerImpl trigger = new SimpleTriggerImpl(jobName + "-Trigger", BACKFILL_JOB_GROUP);
+        LOG.info("Scheduling searchable attribute index backfill job " + jobName);
+        try {
+            KSBServiceLocator.getScheduler().scheduleJob(jobDetail, trigger);
+        } catch (ObjectAlreadyExistsException e) {
+            LOG.info("Searchable attribute index backfill job " + jobName + " is already scheduled");
+        } catch (SchedulerException e) {
+            throw new WorkflowRuntimeException("Failed to schedule searchable attribute index backfill job " + jobName, e);
+        }
+    }
+
+    @Override
+    public List<String> getIndexedDocumentTypeNames() {
+        List<String> documentTypeNames = new ArrayList<String>();
+        String value = ConfigContext.getCurrentContextConfig().getProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_DOCUMENT_TYPES_CONFIG_PARM);
+        if (StringUtils.isNotBlank(value)) {
+            for (String documentTypeName : value.split(",")) {
+                if (StringUtils.isNotBlank(documentTypeName)) {
+                    documentTypeNames.add(documentTypeName.trim());
+                }
+            }
+        }
+        return documentTypeNames;
+    }
+
+    protected int getBackfillBatchSize() {
+        return (int) ConfigContext.getCurrentContextConfig().getNumericProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_BACKFILL_BATCH_SIZE_CONFIG_PARM, DEFAULT_BACKFILL_BATCH_SIZE);
+    }
+
+    public SearchableAttributeIndexDAO getSearchableAttributeIndexDAO() {
+        return searchableAttributeIndexDAO;
+    }
+
+    public void setSearchableAttributeIndexDAO(SearchableAttributeIndexDAO searchableAttributeIndexDAO) {
+        this.searchableAttributeIndexDAO = searchableAttributeIndexDAO;
+    }
+
+}
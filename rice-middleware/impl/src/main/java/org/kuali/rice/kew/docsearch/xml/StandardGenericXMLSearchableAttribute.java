@@ -58,6 +58,7 @@ import org.kuali.rice.kew.api.extension.ExtensionDefinition;
 import org.kuali.rice.kew.docsearch.CaseAwareSearchableAttributeValue;
 import org.kuali.rice.kew.docsearch.DocumentSearchInternalUtils;
 import org.kuali.rice.kew.docsearch.SearchableAttributeValue;
+import org.kuali.rice.kew.engine.RouteContext;
 import org.kuali.rice.kew.framework.document.attribute.SearchableAttribute;
 import org.kuali.rice.kew.rule.xmlrouting.XPathHelper;
 import org.kuali.rice.kim.api.group.Group;
@@ -167,7 +168,13 @@ public class StandardGenericXMLSearchableAttribute implements SearchableAttribut
         }
         Document document;
         try {
-            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new BufferedReader(new StringReader(fullDocumentContent))));
+            // the thread's default route context is never released, so only share the DOM with a scoped one
+            RouteContext routeContext = RouteContext.getCurrentRouteContext();
+            if (routeContext.isParsedDocumentContentShared()) {
+                document = routeContext.getParsedDocumentContent(fullDocumentContent);
+            } else {
+                document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new BufferedReader(new StringReader(fullDocumentContent))));
+            }
         } catch (Exception e){
             LOG.error("error parsing docContent: "+documentWithContent.getDocumentContent(), e);
             throw new RuntimeException("Error trying to parse docContent: "+documentWithContent.getDocumentContent(), e);
@@ -187,7 +194,7 @@ public class StandardGenericXMLSearchableAttribute implements SearchableAttribut
                 List<String> values = new ArrayList<String>();
                 try {
                     LOG.debug("Trying to retrieve node set with expression: '" + field.fieldEvaluationExpr + "'.");
-                    NodeList searchValues = (NodeList) xpath.evaluate(field.fieldEvaluationExpr, document.getDocumentElement(), XPathConstants.NODESET);
+                    NodeList searchValues = (NodeList) XPathHelper.evaluate(xpath, field.fieldEvaluationExpr, document.getDocumentElement(), XPathConstants.NODESET);
                     // being that this is the standard xml attribute we will return the key with an empty value
                     // so we can find it from a doc search using this key
                     for (int j = 0; j < searchValues.getLength(); j++) {
@@ -202,7 +209,7 @@ public class StandardGenericXMLSearchableAttribute implements SearchableAttribut
                     //seems like a poor way to determine our expression return type but
                     //it's all I can come up with at the moment.
                     try {
-                        String searchValue = (String) xpath.evaluate(field.fieldEvaluationExpr, document.getDocumentElement(), XPathConstants.STRING);
+                        String searchValue = (String) XPathHelper.evaluate(xpath, field.fieldEvaluationExpr, document.getDocumentElement(), XPathConstants.STRING);
                         if (StringUtils.isNotBlank(searchValue)) {
                             values.add(searchValue);
                         }
@@ -89,7 +89,7 @@ class XMLSearchableAttributeContent {
             XPath xpath = XPathHelper.newXPath();
             // technically this should probably only be "searchingConfig", and not search the whole tree
             String searchingConfigExpr = "//searchingConfig";
-            searchingConfig = (Node) xpath.evaluate(searchingConfigExpr, getAttributeConfig(), XPathConstants.NODE);
+            searchingConfig = (Node) XPathHelper.evaluate(xpath, searchingConfigExpr, getAttributeConfig(), XPathConstants.NODE);
         }
         return searchingConfig;
     }
@@ -98,7 +98,7 @@ class XMLSearchableAttributeContent {
         if (searchContent == null) {
             Node cfg = getSearchingConfig();
             XPath xpath = XPathHelper.newXPath();
-            Node n = (Node) xpath.evaluate("xmlSearchContent", cfg, XPathConstants.NODE);
+            Node n = (Node) XPathHelper.evaluate(xpath, "xmlSearchContent", cfg, XPathConstants.NODE);
             if (n != null) {
                 StringBuilder sb = new StringBuilder();
                 NodeList list = n.getChildNodes();
@@ -176,7 +176,7 @@ class XMLSearchableAttributeContent {
             XPath xpath = XPathHelper.newXPath();
             Node searchingConfig = getSearchingConfig();
             if (searchingConfig != null) {
-                NodeList list = (NodeList) xpath.evaluate("fieldDef", searchingConfig, XPathConstants.NODESET);
+                NodeList list = (NodeList) XPathHelper.evaluate(xpath, "fieldDef", searchingConfig, XPathConstants.NODESET);
                 for (int i = 0; i < list.getLength(); i++) {
                     FieldDef def = new FieldDef(list.item(i));
                     fieldDefs.put(def.name, def);
@@ -257,7 +257,7 @@ class XMLSearchableAttributeContent {
                 Collection<KeyValue> options = new ArrayList<KeyValue>();
                 Collection<String> selectedOptions = new ArrayList<String>();
                 
-                NodeList nodes = (NodeList) xpath.evaluate("display[1]/values", n, XPathConstants.NODESET);
+                NodeList nodes = (NodeList) XPathHelper.evaluate(xpath, "display[1]/values", n, XPathConstants.NODESET);
                 for (int i = 0; i < nodes.getLength(); i++) {
                     Node node = nodes.item(i);
                     boolean selected = getBooleanAttr(node, "selected", false);
@@ -308,7 +308,7 @@ class XMLSearchableAttributeContent {
                 String type = null;
                 String groupName = null;
                 String groupNamespace = null;
-                Node node = (Node) xpath.evaluate("(visibility/field | visibility/column | visibility/fieldAndColumn)", n, XPathConstants.NODE); // NODE - just use first one
+                Node node = (Node) XPathHelper.evaluate(xpath, "(visibility/field | visibility/column | visibility/fieldAndColumn)", n, XPathConstants.NODE); // NODE - just use first one
                 if (node != null && node instanceof Element) {
                     Element visibilityEl = (Element) node;
                     type = visibilityEl.getNodeName();
@@ -316,7 +316,7 @@ class XMLSearchableAttributeContent {
                     if (attr != null) {
                         visible = Boolean.valueOf(attr.getValue());
                     }
-                    Node groupMember = (Node) xpath.evaluate("(" + XmlConstants.IS_MEMBER_OF_GROUP + "|" + XmlConstants.IS_MEMBER_OF_WORKGROUP + ")", visibilityEl, XPathConstants.NODE);
+                    Node groupMember = (Node) XPathHelper.evaluate(xpath, "(" + XmlConstants.IS_MEMBER_OF_GROUP + "|" + XmlConstants.IS_MEMBER_OF_WORKGROUP + ")", visibilityEl, XPathConstants.NODE);
                     if (groupMember != null && groupMember instanceof Element) {
                         Element groupMemberEl = (Element) groupMember;
                         boolean group_def_found = false;
@@ -377,7 +377,7 @@ class XMLSearchableAttributeContent {
                 RangeBound lowerBound = null;
                 RangeBound upperBound = null;
                 boolean rangeSearch = false;
-                Node searchDefNode = (Node) xpath.evaluate("searchDefinition", n, XPathConstants.NODE);
+                Node searchDefNode = (Node) XPathHelper.evaluate(xpath, "searchDefinition", n, XPathConstants.NODE);
                 if (searchDefNode != null) {
                     String s = getStringAttr(searchDefNode, "dataType");
                     // TODO: empty data type should really be invalid or default to something (String?)
@@ -389,13 +389,13 @@ class XMLSearchableAttributeContent {
                     rangeSearch = getBooleanAttr(searchDefNode, "rangeSearch", false);
 
                     searchDefDefaults = new RangeOptions(xpath, searchDefNode, DEFAULTS);
-                    Node rangeDefinition = (Node) xpath.evaluate("rangeDefinition", searchDefNode, XPathConstants.NODE);
+                    Node rangeDefinition = (Node) XPathHelper.evaluate(xpath, "rangeDefinition", searchDefNode, XPathConstants.NODE);
                     // if range definition element is present, bounds derive settings from range definition
                     if (rangeDefinition != null) {
                         rangeDef = new RangeOptions(xpath, rangeDefinition, searchDefDefaults);
-                        Node lower = (Node) xpath.evaluate("lower", rangeDefinition, XPathConstants.NODE);
+                        Node lower = (Node) XPathHelper.evaluate(xpath, "lower", rangeDefinition, XPathConstants.NODE);
                         lowerBound = lower == null ? new RangeBound(defaultInclusive(rangeDef, true)) : new RangeBound(xpath, lower, defaultInclusive(rangeDef, true));
-                        Node upper = (Node) xpath.evaluate("upper", rangeDefinition, XPathConstants.NODE);
+                        Node upper = (Node) XPathHelper.evaluate(xpath, "upper", rangeDefinition, XPathConstants.NODE);
                         upperBound = upper == null ? new RangeBound(defaultInclusive(rangeDef, false)) : new RangeBound(xpath, upper, defaultInclusive(rangeDef, false));
                     } else if (rangeSearch) {
                         // otherwise if range search is specified but no rangedefinition element is present,
@@ -515,7 +515,7 @@ class XMLSearchableAttributeContent {
                 String dataObjectClass = null;
                 Map<String, String> fieldConversions = new HashMap<String, String>();
 
-                Node lookupNode = (Node) xpath.evaluate("lookup", n, XPathConstants.NODE);
+                Node lookupNode = (Node) XPathHelper.evaluate(xpath, "lookup", n, XPathConstants.NODE);
                 if (lookupNode != null) {
                     NamedNodeMap quickfinderAttributes = lookupNode.getAttributes();
                     Node dataObjectNode = quickfinderAttributes.getNamedItem("dataObjectClass");
@@ -529,7 +529,7 @@ class XMLSearchableAttributeContent {
                         }
                     }
                     dataObjectClass = dataObjectNode.getNodeValue();
-                    NodeList list = (NodeList) xpath.evaluate("fieldConversions/fieldConversion", lookupNode, XPathConstants.NODESET);
+                    NodeList list = (NodeList) XPathHelper.evaluate(xpath, "fieldConversions/fieldConversion", lookupNode, XPathConstants.NODESET);
                     for (int i = 0; i < list.getLength(); i++) {
                         Node fieldConversionChildNode = list.item(i);
                         NamedNodeMap fieldConversionAttributes = fieldConversionChildNode.getAttributes();
@@ -557,7 +557,7 @@ class XMLSearchableAttributeContent {
     }
 
     private static String getNodeText(XPath xpath, Node n, String expression) throws XPathExpressionException {
-        Node node = (Node) xpath.evaluate(expression, n, XPathConstants.NODE);
+        Node node = (Node) XPathHelper.evaluate(xpath, expression, n, XPathConstants.NODE);
         if (node == null) return null;
         return node.getTextContent();
     }
@@ -15,11 +15,18 @@
  */
 package org.kuali.rice.kew.engine;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringReader;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.kuali.rice.core.framework.util.ApplicationThreadLocal;
@@ -29,6 +36,9 @@ import org.kuali.rice.kew.engine.node.RouteNodeInstance;
 import org.kuali.rice.kew.routeheader.DocumentContent;
 import org.kuali.rice.kew.routeheader.DocumentRouteHeaderValue;
 import org.kuali.rice.kew.routeheader.StandardDocumentContent;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 
 /**
@@ -40,6 +50,10 @@ public class RouteContext implements Serializable {
 
 	private static final long serialVersionUID = -7125137491367944594L;
 
+	private static final AtomicLong documentContentParseCount = new AtomicLong();
+
+	private static final AtomicLong documentContentParseAvoidedCount = new AtomicLong();
+
     private String id;
 
 	private DocumentRouteHeaderValue routeHeader;
@@ -60,6 +74,12 @@ public class RouteContext implements Serializable {
 	
 	private boolean searchIndexingRequestedForContext = false;
 
+	private transient String parsedDocumentContent;
+
+	private transient Document parsedDocument;
+
+	private boolean parsedDocumentContentShared = false;
+
 	public RouteContext() {
         id = new String();
 	}
@@ -207,5 +227,65 @@ public class RouteContext implements Serializable {
 	public void requestSearchIndexingForContext() {
 		this.searchIndexingRequestedForContext = true;
 	}
+
+	/**
+	 * Returns the parsed DOM of the given document content.  The DOM is shared by everything which asks for the same
+	 * content within this context, so the content is only parsed once no matter how many attributes need it.  If the
+	 * content is that of this context's {@link DocumentContent} then its DOM is used.  Callers must treat the
+	 * returned Document as read only.
+	 *
+	 * @param content the document content to parse
+	 * @return the parsed document content
+	 */
+	public Document getParsedDocumentContent(String content) throws IOException, SAXException, ParserConfigurationException {
+		if (documentContent != null && content.equals(documentContent.getDocContent())
+				&& documentContent.getDocument() != null) {
+			documentContentParseAvoidedCount.incrementAndGet();
+			return documentContent.getDocument();
+		}
+		if (parsedDocument != null && content.equals(parsedDocumentContent)) {
+			documentContentParseAvoidedCount.incrementAndGet();
+			return parsedDocument;
+		}
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new BufferedReader(new StringReader(content))));
+		documentContentParseCount.incrementAndGet();
+		this.parsedDocumentContent = content;
+		this.parsedDocument = document;
+		return document;
+	}
+
+	/**
+	 * Determines if document content should be parsed through {@link #getParsedDocumentContent(String)} and so be
+	 * retained by this context.  This is the case for contexts of a route, which have the document set, and for
+	 * contexts which were explicitly marked as sharing.  Only contexts which are released when the work they were
+	 * created for is done should share, the default context of a thread is never released.
+	 *
+	 * @return true if parsed document content is shared through this context, false otherwise
+	 */
+	public boolean isParsedDocumentContentShared() {
+		return this.parsedDocumentContentShared || this.documentContent != null;
+	}
+
+	/**
+	 * Marks this context as sharing parsed document content even though it has no document, see
+	 * {@link #isParsedDocumentContentShared()}.
+	 */
+	public void setParsedDocumentContentShared(boolean parsedDocumentContentShared) {
+		this.parsedDocumentContentShared = parsedDocumentContentShared;
+	}
+
+	/**
+	 * Returns the number of times document content was parsed by {@link #getParsedDocumentContent(String)}.
+	 */
+	public static long getDocumentContentParseCount() {
+		return documentContentParseCount.get();
+	}
+
+	/**
+	 * Returns the number of times {@link #getParsedDocumentContent(String)} reused an already parsed DOM.
+	 */
+	public static long getDocumentContentParseAvoidedCount() {
+		return documentContentParseAvoidedCount.get();
+	}
 	
 }
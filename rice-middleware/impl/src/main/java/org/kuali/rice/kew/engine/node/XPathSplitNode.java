@@ -19,6 +19,7 @@ package org.kuali.rice.kew.engine.node;
 import org.apache.log4j.Logger;
 import org.kuali.rice.kew.engine.RouteContext;
 import org.kuali.rice.kew.engine.RouteHelper;
+import org.kuali.rice.kew.rule.xmlrouting.XPathHelper;
 import org.springframework.util.CollectionUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -32,7 +33,6 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
@@ -67,7 +67,7 @@ public class XPathSplitNode implements SplitNode {
                 Node xpathDecision = xpathDecisions.item(i);
                 String xpathExpression = xpathDecision.getAttributes().getNamedItem("expression").getNodeValue();
                 String branchName = xpathDecision.getAttributes().getNamedItem("branchName").getNodeValue();
-                if((Boolean)getXPath().evaluate(xpathExpression, context.getDocumentContent().getDocument(), XPathConstants.BOOLEAN)) {
+                if((Boolean)XPathHelper.evaluate(getXPath(), xpathExpression, context.getDocumentContent().getDocument(), XPathConstants.BOOLEAN)) {
                     branchNames.add(branchName);
                 }
             }
@@ -89,8 +89,8 @@ public class XPathSplitNode implements SplitNode {
             DocumentBuilder db = DocumentBuilderFactory.newInstance().newDocumentBuilder();
             Document nodeContent = db.parse(new InputSource(new StringReader(contentFragment)));
 
-            this.xpathDecisions = (NodeList)getXPath().evaluate("//split/branchDecisions/xpath", nodeContent, XPathConstants.NODESET);
-            this.defaultDecisions = (NodeList)getXPath().evaluate("//split/branchDecisions/default", nodeContent, XPathConstants.NODESET);
+            this.xpathDecisions = (NodeList)XPathHelper.evaluate(getXPath(), "//split/branchDecisions/xpath", nodeContent, XPathConstants.NODESET);
+            this.defaultDecisions = (NodeList)XPathHelper.evaluate(getXPath(), "//split/branchDecisions/default", nodeContent, XPathConstants.NODESET);
         } catch (ParserConfigurationException e) {
             LOG.error("Caught parser exception processing XPathSplitNode configuration", e);
         } catch (SAXException e) {
@@ -104,8 +104,7 @@ public class XPathSplitNode implements SplitNode {
 
     public XPath getXPath() {
         if(this.xPath == null) {
-            XPathFactory xPathFactory = XPathFactory.newInstance();
-            this.xPath = xPathFactory.newXPath();
+            this.xPath = XPathHelper.newXPath();
         }
         return xPath;
     }
@@ -38,6 +38,7 @@ import org.kuali.rice.kew.docsearch.SearchableAttributeLongValue;
 import org.kuali.rice.kew.docsearch.SearchableAttributeStringValue;
 import org.kuali.rice.kew.docsearch.SearchableAttributeValue;
 import org.kuali.rice.kew.doctype.bo.DocumentType;
+import org.kuali.rice.kew.engine.RouteContext;
 import org.kuali.rice.kew.framework.document.attribute.SearchableAttribute;
 import org.kuali.rice.kew.service.KEWServiceLocator;
 
@@ -70,8 +71,23 @@ public class DocumentAttributeIndexingQueueImpl implements DocumentAttributeInde
             }
             DocumentContent documentContent =
                     KewApiServiceLocator.getWorkflowDocumentService().getDocumentContent(documentId);
-            List<SearchableAttributeValue> attributes = buildSearchableAttributeValues(document, documentContent);
+            // searchable attributes share a parsed DOM of the document content through the route context, outside of
+            // a route use one which is only kept for the duration of the indexing
+            boolean indexingContext = !RouteContext.getCurrentRouteContext().isParsedDocumentContentShared();
+            if (indexingContext) {
+                RouteContext.createNewRouteContext().setParsedDocumentContentShared(true);
+            }
+            List<SearchableAttributeValue> attributes;
+            try {
+                attributes = buildSearchableAttributeValues(document, documentContent);
+            } finally {
+                if (indexingContext) {
+                    RouteContext.releaseCurrentRouteContext();
+                }
+            }
             KEWServiceLocator.getRouteHeaderService().updateRouteHeaderSearchValues(documentId, attributes);
+            KEWServiceLocator.getSearchableAttributeIndexService().indexDocument(documentId,
+                    document.getDocumentTypeName(), attributes);
             long t2 = System.currentTimeMillis();
             LOG.info("...finished indexing document " + documentId + " for document search, total time = " + (t2 - t1) +
                     " ms.");
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.impl.document.search;
+
+import org.apache.commons.lang.StringUtils;
+import org.kuali.rice.core.api.exception.RiceIllegalArgumentException;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * The position of the last result of a page of document search results, which is where the next page starts.
+ *
+ * <p>Converted to and from the continuation token exchanged with callers through
+ * {@link org.kuali.rice.kew.api.document.search.DocumentSearchResults#getContinuationToken()} and
+ * {@link org.kuali.rice.kew.api.document.search.DocumentSearchCriteria#getContinuationToken()}.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class DocumentSearchContinuation {
+
+    private static final String SEPARATOR = ":";
+
+    private final Timestamp dateCreated;
+    private final String documentId;
+
+    public DocumentSearchContinuation(Timestamp dateCreated, String documentId) {
+        if (dateCreated == null) {
+            throw new RiceIllegalArgumentException("dateCreated was null");
+        }
+        if (StringUtils.isBlank(documentId)) {
+            throw new RiceIllegalArgumentException("documentId was blank");
+        }
+        this.dateCreated = dateCreated;
+        this.documentId = documentId;
+    }
+
+    /**
+     * Parses a continuation token produced by {@link #toToken()}.
+     *
+     * @param token the continuation token
+     * @return the continuation
+     * @throws RiceIllegalArgumentException if the token is not valid
+     */
+    public static DocumentSearchContinuation fromToken(String token) {
+        String[] parts = token == null ? new String[0] : token.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new RiceIllegalArgumentException("Invalid document search continuation token: " + token);
+        }
+        try {
+            Timestamp dateCreated = new Timestamp(Long.parseLong(parts[0]));
+            dateCreated.setNanos(Integer.parseInt(parts[1]));
+            return new DocumentSearchContinuation(dateCreated, parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new RiceIllegalArgumentException("Invalid document search continuation token: " + token, e);
+        }
+    }
+
+    public String toToken() {
+        return dateCreated.getTime() + SEPARATOR + dateCreated.getNanos() + SEPARATOR + documentId;
+    }
+
+    /**
+     * Binds the parameters of the continuation predicate generated by
+     * {@link KeysetDocumentSearchGenerator#generateKeysetSearchSql(org.kuali.rice.kew.api.document.search.DocumentSearchCriteria, java.util.List, boolean)}.
+     *
+     * @param statement the statement to bind the parameters on
+     * @param firstIndex the index of the first parameter
+     * @throws SQLException if the parameters could not be set
+     */
+    public void bind(PreparedStatement statement, int firstIndex) throws SQLException {
+        statement.setTimestamp(firstIndex, dateCreated);
+        statement.setTimestamp(firstIndex + 1, dateCreated);
+        statement.setString(firstIndex + 2, documentId);
+    }
+
+    public Timestamp getDateCreated() {
+        return dateCreated;
+    }
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+}
@@ -51,6 +51,8 @@ import org.kuali.rice.kim.api.services.KimApiServiceLocator;
 import org.kuali.rice.krad.util.KRADConstants;
 import org.kuali.rice.krad.util.MessageMap;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -60,6 +62,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -71,7 +74,7 @@ import java.util.TreeSet;
  *
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
-public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
+public class DocumentSearchGeneratorImpl implements KeysetDocumentSearchGenerator {
 
     private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(DocumentSearchGeneratorImpl.class);
 
@@ -79,6 +82,8 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
     private static final String ROUTE_NODE_INST_TABLE = "KREW_RTE_NODE_INSTN_T";
     private static final String DATABASE_WILDCARD_CHARACTER_STRING = "%";
     private static final char DATABASE_WILDCARD_CHARACTER = DATABASE_WILDCARD_CHARACTER_STRING.toCharArray()[0];
+    // stays below the 1000 element limit Oracle imposes on IN lists
+    private static final int MAX_IN_LIST_SIZE = 500;
 
     private org.kuali.rice.kew.api.doctype.DocumentTypeService apiDocumentTypeService;
 
@@ -122,6 +127,22 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
     }
 
     public QueryComponent getSearchableAttributeSql(Map<String, List<String>> documentAttributeValues, List<RemotableAttributeField> searchFields, String whereClausePredicatePrefix) {
+        return getSearchableAttributeSql(documentAttributeValues, searchFields, whereClausePredicatePrefix, null);
+    }
+
+    /**
+     * Generates the searchable attribute portion of the search sql.  If an indexed document type name is given then
+     * the criteria are resolved against the denormalized searchable attribute index tables, restricted to that
+     * document type, instead of the {@code KREW_DOC_HDR_EXT_*} tables.
+     *
+     * @param documentAttributeValues the document attribute criteria
+     * @param searchFields the searchable attribute fields of the document type being searched
+     * @param whereClausePredicatePrefix the prefix for the first where clause predicate
+     * @param indexedDocumentTypeName the name of the document type to search the index for, or null to search the
+     * searchable attribute tables
+     * @return the searchable attribute query component
+     */
+    public QueryComponent getSearchableAttributeSql(Map<String, List<String>> documentAttributeValues, List<RemotableAttributeField> searchFields, String whereClausePredicatePrefix, String indexedDocumentTypeName) {
 
         StringBuilder fromSql = new StringBuilder();
         StringBuilder whereSql = new StringBuilder();
@@ -145,6 +166,9 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
             RemotableAttributeField searchField = getSearchFieldByName(documentAttributeName, searchFields);
 
             String tableName = DocumentSearchInternalUtils.getAttributeTableName(searchField);
+            if (indexedDocumentTypeName != null) {
+                tableName = DocumentSearchInternalUtils.getAttributeIndexTableName(tableName);
+            }
             boolean caseSensitive = DocumentSearchInternalUtils.isLookupCaseSensitive(searchField);
 
             Criteria crit = null;
@@ -160,6 +184,9 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
             }
 
             sqlBuilder.addCriteria("KEY_CD", documentAttributeNameForSQL, String.class, false, false, crit); // this is always of type string.
+            if (indexedDocumentTypeName != null) {
+                sqlBuilder.addCriteria("DOC_TYP_NM", indexedDocumentTypeName, String.class, false, false, crit);
+            }
             sqlBuilder.andCriteria("DOC_HDR_ID", tableAlias + ".DOC_HDR_ID", "KREW_DOC_HDR_T", "DOC_HDR", SqlBuilder.JoinType.class, false, false, crit);
 
             if (finalCriteria == null ){
@@ -274,6 +301,100 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
         return results;
     }
 
+    @Override
+    public DocumentSearchResults.Builder processKeysetResultSet(DocumentSearchCriteria criteria, boolean criteriaModified, Connection connection, ResultSet resultSet, int pageSize) throws SQLException {
+        DocumentSearchCriteria.Builder criteriaBuilder = DocumentSearchCriteria.Builder.create(criteria);
+        DocumentSearchResults.Builder results = DocumentSearchResults.Builder.create(criteriaBuilder);
+        results.setCriteriaModified(criteriaModified);
+
+        List<DocumentSearchResult.Builder> resultList = new ArrayList<DocumentSearchResult.Builder>();
+        results.setSearchResults(resultList);
+        Map<String, DocumentSearchResult.Builder> resultMap = new LinkedHashMap<String, DocumentSearchResult.Builder>();
+
+        PerformanceLogger perfLog = new PerformanceLogger();
+
+        // each row is a distinct document, so the page holds exactly pageSize documents whenever more are available
+        List<String> documentIds = new ArrayList<String>();
+        Timestamp lastDateCreated = null;
+        String lastDocumentId = null;
+        boolean resultSetHasNext = resultSet.next();
+        while (resultSetHasNext && documentIds.size() < pageSize) {
+            lastDocumentId = resultSet.getString("DOC_HDR_ID");
+            lastDateCreated = resultSet.getTimestamp("CRTE_DT");
+            documentIds.add(lastDocumentId);
+            resultSetHasNext = resultSet.next();
+        }
+        perfLog.log("Time to read doc search results.", true);
+
+        Map<String, DocumentSearchResult.Builder> headers = loadDocumentHeaders(documentIds, connection);
+        for (String documentId : documentIds) {
+            DocumentSearchResult.Builder resultBuilder = headers.get(documentId);
+            // a document deleted since the page was selected is left out of the page
+            if (resultBuilder != null) {
+                resultList.add(resultBuilder);
+                resultMap.put(documentId, resultBuilder);
+            }
+        }
+
+        if (isUsingAtLeastOneSearchAttribute(criteria)) {
+            populateDocumentAttributesValues(resultMap, connection);
+        }
+
+        results.setOverThreshold(resultSetHasNext);
+        if (resultSetHasNext) {
+            results.setContinuationToken(new DocumentSearchContinuation(lastDateCreated, lastDocumentId).toToken());
+        }
+
+        LOG.debug("Processed " + resultMap.size() + " document search result rows.");
+        return results;
+    }
+
+    /**
+     * Loads the document header values of the given documents, using one query for every
+     * {@value #MAX_IN_LIST_SIZE} documents.
+     *
+     * @param documentIds the ids of the documents to load
+     * @param connection the connection to use to query the document headers
+     * @return the results without any searchable attribute values, keyed by document id
+     * @throws SQLException
+     */
+    protected Map<String, DocumentSearchResult.Builder> loadDocumentHeaders(List<String> documentIds, Connection connection) throws SQLException {
+        Map<String, DocumentSearchResult.Builder> headers = new HashMap<String, DocumentSearchResult.Builder>();
+        for (int fromIndex = 0; fromIndex < documentIds.size(); fromIndex += MAX_IN_LIST_SIZE) {
+            List<String> batch = documentIds.subList(fromIndex, Math.min(fromIndex + MAX_IN_LIST_SIZE, documentIds.size()));
+            String headerSql = "select DOC_HDR.DOC_HDR_ID, " + getDocumentHeaderColumnsSql("DOC_HDR", "DOC1")
+                    + " from KREW_DOC_TYP_T DOC1, KREW_DOC_HDR_T DOC_HDR where DOC_HDR.DOC_TYP_ID = DOC1.DOC_TYP_ID"
+                    + " and DOC_HDR.DOC_HDR_ID in (" + StringUtils.repeat("?", ", ", batch.size()) + ")";
+            PreparedStatement headerStatement = connection.prepareStatement(headerSql);
+            ResultSet headerResultSet = null;
+            try {
+                headerStatement.setFetchSize(batch.size());
+                for (int index = 0; index < batch.size(); index++) {
+                    headerStatement.setString(index + 1, batch.get(index));
+                }
+                headerResultSet = headerStatement.executeQuery();
+                while (headerResultSet.next()) {
+                    DocumentSearchResult.Builder resultBuilder = createResult(headerResultSet);
+                    headers.put(resultBuilder.getDocument().getDocumentId(), resultBuilder);
+                }
+            } finally {
+                if (headerResultSet != null) {
+                    try {
+                        headerResultSet.close();
+                    } catch (Exception e) {
+                        LOG.warn("Could not close document header result set", e);
+                    }
+                }
+                try {
+                    headerStatement.close();
+                } catch (Exception e) {
+                    LOG.warn("Could not close document header statement", e);
+                }
+            }
+        }
+        return headers;
+    }
+
     /**
      * Handles multiple document rows by collapsing them into the list of document attributes on the existing row.
      * The two rows must represent the same document.
@@ -296,6 +417,21 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
      * @throws SQLException
      */
     protected DocumentSearchResult.Builder processRow(DocumentSearchCriteria criteria, Statement searchAttributeStatement, ResultSet rs) throws SQLException {
+        DocumentSearchResult.Builder resultBuilder = createResult(rs);
+        if (isUsingAtLeastOneSearchAttribute(criteria)) {
+            populateDocumentAttributesValues(resultBuilder, searchAttributeStatement);
+        }
+        return resultBuilder;
+    }
+
+    /**
+     * Creates a DocumentSearchResult from the document header values of the current ResultSet row, without any
+     * searchable attribute values.
+     * @param rs the search result set
+     * @return a DocumentSearchResult representing the current ResultSet row
+     * @throws SQLException
+     */
+    protected DocumentSearchResult.Builder createResult(ResultSet rs) throws SQLException {
 
         String documentId = rs.getString("DOC_HDR_ID");
         String initiatorPrincipalId = rs.getString("INITR_PRNCPL_ID");
@@ -332,10 +468,6 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
         // TODO - KULRICE-5755 - should probably set as many properties on the document as we can
         documentBuilder.setDocumentHandlerUrl(rs.getString("DOC_HDLR_URL"));
 
-        if (isUsingAtLeastOneSearchAttribute(criteria)) {
-            populateDocumentAttributesValues(resultBuilder, searchAttributeStatement);
-        }
-
         return resultBuilder;
     }
 
@@ -380,34 +512,132 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
         perfLog.log("Time to execute doc search search attribute queries.", true);
     }
 
-    @SuppressWarnings("deprecation")
+    /**
+     * Fetches the search attribute values of all of the given results at once, using one query per search attribute
+     * value table for every {@value #MAX_IN_LIST_SIZE} documents.
+     *
+     * @param results the document search results to add the search attributes to, keyed by document id
+     * @param connection the connection to use to query the search attribute value tables
+     * @throws SQLException
+     */
+    public void populateDocumentAttributesValues(Map<String, DocumentSearchResult.Builder> results, Connection connection) throws SQLException {
+        if (results.isEmpty()) {
+            return;
+        }
+        List<String> documentIds = new ArrayList<String>(results.keySet());
+        List<SearchableAttributeValue> attributeValues = DocumentSearchInternalUtils
+                .getSearchableAttributeValueObjectTypes();
+        PerformanceLogger perfLog = new PerformanceLogger();
+        for (SearchableAttributeValue searchAttValue : attributeValues) {
+            for (int fromIndex = 0; fromIndex < documentIds.size(); fromIndex += MAX_IN_LIST_SIZE) {
+                List<String> batch = documentIds.subList(fromIndex, Math.min(fromIndex + MAX_IN_LIST_SIZE, documentIds.size()));
+                String attributeSql = "select DOC_HDR_ID, KEY_CD, VAL from " + searchAttValue.getAttributeTableName()
+                        + " where DOC_HDR_ID in (" + StringUtils.repeat("?", ", ", batch.size()) + ")";
+                PreparedStatement attributeStatement = connection.prepareStatement(attributeSql);
+                ResultSet attributeResultSet = null;
+                try {
+                    attributeStatement.setFetchSize(50);
+                    for (int index = 0; index < batch.size(); index++) {
+                        attributeStatement.setString(index + 1, batch.get(index));
+                    }
+                    attributeResultSet = attributeStatement.executeQuery();
+                    while (attributeResultSet.next()) {
+                        DocumentSearchResult.Builder resultBuilder = results.get(attributeResultSet.getString("DOC_HDR_ID"));
+                        searchAttValue.setSearchableAttributeKey(attributeResultSet.getString("KEY_CD"));
+                        searchAttValue.setupAttributeValue(attributeResultSet, "VAL");
+                        if (resultBuilder != null && (!org.apache.commons.lang.StringUtils.isEmpty(searchAttValue.getSearchableAttributeKey())) && (searchAttValue.getSearchableAttributeValue() != null) ) {
+                            DocumentAttribute documentAttribute = searchAttValue.toDocumentAttribute();
+                            resultBuilder.getDocumentAttributes().add(DocumentAttributeFactory.loadContractIntoBuilder(
+                                    documentAttribute));
+                        }
+                    }
+                } finally {
+                    if (attributeResultSet != null) {
+                        try {
+                            attributeResultSet.close();
+                        } catch (Exception e) {
+                            LOG.warn("Could not close searchable attribute result set for class " + searchAttValue.getClass().getName(),e);
+                        }
+                    }
+                    try {
+                        attributeStatement.close();
+                    } catch (Exception e) {
+                        LOG.warn("Could not close searchable attribute statement for class " + searchAttValue.getClass().getName(),e);
+                    }
+                }
+            }
+        }
+        perfLog.log("Time to execute doc search search attribute queries for " + documentIds.size() + " documents.", true);
+    }
+
     public String generateSearchSql(DocumentSearchCriteria criteria, List<RemotableAttributeField> searchFields) {
+        String finalizedSql = "Select * from ( " + generateSearchSelectSql(criteria, searchFields) + " ) FINAL_SEARCH order by FINAL_SEARCH.CRTE_DT desc";
+
+        LOG.info("*********** SEARCH SQL ***************");
+        LOG.info(finalizedSql);
+        LOG.info("**************************************");
+        return finalizedSql;
+    }
+
+    @Override
+    public String generateKeysetSearchSql(DocumentSearchCriteria criteria, List<RemotableAttributeField> searchFields, boolean continued) {
+        // only the keys are selected, the searchable attribute joins can return several rows for the same document
+        StringBuilder finalizedSql = new StringBuilder("Select distinct FINAL_SEARCH.DOC_HDR_ID, FINAL_SEARCH.CRTE_DT from ( ");
+        finalizedSql.append(generateSearchSelectSql(criteria, searchFields)).append(" ) FINAL_SEARCH");
+        if (continued) {
+            finalizedSql.append(" where (FINAL_SEARCH.CRTE_DT < ? or (FINAL_SEARCH.CRTE_DT = ? and FINAL_SEARCH.DOC_HDR_ID < ?))");
+        }
+        finalizedSql.append(" order by FINAL_SEARCH.CRTE_DT desc, FINAL_SEARCH.DOC_HDR_ID desc");
+
+        LOG.info("*********** SEARCH SQL ***************");
+        LOG.info(finalizedSql);
+        LOG.info("**************************************");
+        return finalizedSql.toString();
+    }
+
+    /**
+     * Returns the document header columns selected for each document, other than the document id.
+     *
+     * @param docHeaderTableAlias the alias of the KREW_DOC_HDR_T table
+     * @param docTypeTableAlias the alias of the KREW_DOC_TYP_T table
+     * @return the comma separated columns
+     */
+    protected String getDocumentHeaderColumnsSql(String docHeaderTableAlias, String docTypeTableAlias) {
+        return StringUtils.join(new String[] {
+            docHeaderTableAlias + ".INITR_PRNCPL_ID",
+            docHeaderTableAlias + ".DOC_HDR_STAT_CD",
+            docHeaderTableAlias + ".CRTE_DT",
+            docHeaderTableAlias + ".TTL",
+            docHeaderTableAlias + ".APP_DOC_STAT",
+            docHeaderTableAlias + ".STAT_MDFN_DT",
+            docHeaderTableAlias + ".APRV_DT",
+            docHeaderTableAlias + ".FNL_DT",
+            docHeaderTableAlias + ".APP_DOC_ID",
+            docHeaderTableAlias + ".RTE_PRNCPL_ID",
+            docHeaderTableAlias + ".APP_DOC_STAT_MDFN_DT",
+            docTypeTableAlias + ".DOC_TYP_NM",
+            docTypeTableAlias + ".LBL",
+            docTypeTableAlias + ".DOC_HDLR_URL",
+            docTypeTableAlias + ".ACTV_IND"
+        }, ", ");
+    }
+
+    /**
+     * Generates the select statement for the documents matching the given criteria, without any ordering.
+     *
+     * @param criteria the search criteria
+     * @param searchFields the searchable attribute fields of the document type being searched
+     * @return the select statement
+     */
+    @SuppressWarnings("deprecation")
+    protected String generateSearchSelectSql(DocumentSearchCriteria criteria, List<RemotableAttributeField> searchFields) {
 
         String docTypeTableAlias   = "DOC1";
         String docHeaderTableAlias = "DOC_HDR";
 
-        String sqlPrefix = "Select * from (";
-        String sqlSuffix = ") FINAL_SEARCH order by FINAL_SEARCH.CRTE_DT desc";
-
         // the DISTINCT here is important as it filters out duplicate rows which could occur as the result of doc search extension values...
         StringBuilder selectSQL = new StringBuilder("select DISTINCT("+ docHeaderTableAlias +".DOC_HDR_ID), "
-                                                    + StringUtils.join(new String[] {
-                                                        docHeaderTableAlias + ".INITR_PRNCPL_ID",
-                                                        docHeaderTableAlias + ".DOC_HDR_STAT_CD",
-                                                        docHeaderTableAlias + ".CRTE_DT",
-                                                        docHeaderTableAlias + ".TTL",
-                                                        docHeaderTableAlias + ".APP_DOC_STAT",
-                                                        docHeaderTableAlias + ".STAT_MDFN_DT",
-                                                        docHeaderTableAlias + ".APRV_DT",
-                                                        docHeaderTableAlias + ".FNL_DT",
-                                                        docHeaderTableAlias + ".APP_DOC_ID",
-                                                        docHeaderTableAlias + ".RTE_PRNCPL_ID",
-                                                        docHeaderTableAlias + ".APP_DOC_STAT_MDFN_DT",
-                                                        docTypeTableAlias + ".DOC_TYP_NM",
-                                                        docTypeTableAlias + ".LBL",
-                                                        docTypeTableAlias + ".DOC_HDLR_URL",
-                                                        docTypeTableAlias + ".ACTV_IND"
-                                                    }, ", "));
+                                                    + getDocumentHeaderColumnsSql(docHeaderTableAlias, docTypeTableAlias));
         StringBuilder fromSQL = new StringBuilder(" from KREW_DOC_TYP_T "+ docTypeTableAlias +" ");
         StringBuilder fromSQLForDocHeaderTable = new StringBuilder(", KREW_DOC_HDR_T " + docHeaderTableAlias + " ");
 
@@ -464,7 +694,7 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
 
         if (!criteria.getDocumentAttributeValues().isEmpty()) {
             QueryComponent queryComponent = getSearchableAttributeSql(criteria.getDocumentAttributeValues(), searchFields, getGeneratedPredicatePrefix(
-                    whereSQL.length()));
+                    whereSQL.length()), getIndexedDocumentTypeName(criteria));
             selectSQL.append(queryComponent.getSelectSql());
             fromSQL.append(queryComponent.getFromSql());
             whereSQL.append(queryComponent.getWhereSql());
@@ -496,12 +726,31 @@ public class DocumentSearchGeneratorImpl implements DocumentSearchGenerator {
         	fromSQL.append(", KREW_APP_DOC_STAT_TRAN_T STAT_TRAN ");
         }
 
-        String finalizedSql = sqlPrefix + " " + selectSQL.toString() + " " + fromSQL.toString() + " " + whereSQL.toString() + " " + sqlSuffix;
+        return selectSQL.toString() + " " + fromSQL.toString() + " " + whereSQL.toString();
+    }
 
-        LOG.info("*********** SEARCH SQL ***************");
-        LOG.info(finalizedSql);
-        LOG.info("**************************************");
-        return finalizedSql;
+    /**
+     * Returns the name of the document type whose searchable attribute index can answer the attribute criteria of the
+     * given search.  The index can only be used when the search is on exactly one document type which has no child
+     * document types, since each index entry only records the document type of its own document.
+     *
+     * @param criteria the search criteria
+     * @return the indexed document type name, or null if the searchable attribute tables must be searched
+     */
+    protected String getIndexedDocumentTypeName(DocumentSearchCriteria criteria) {
+        String documentTypeName = criteria.getDocumentTypeName();
+        if (StringUtils.isBlank(documentTypeName) || !criteria.getAdditionalDocumentTypeNames().isEmpty()
+                || documentTypeName.contains("*") || documentTypeName.contains("%")) {
+            return null;
+        }
+        DocumentType documentType = KEWServiceLocator.getDocumentTypeService().findByNameCaseInsensitive(documentTypeName.trim());
+        if (documentType == null || CollectionUtils.isNotEmpty(documentType.getChildrenDocTypes())) {
+            return null;
+        }
+        if (KEWServiceLocator.getSearchableAttributeIndexService().isSearchEnabled(documentType.getName())) {
+            return documentType.getName();
+        }
+        return null;
     }
 
     public String getDocumentIdSql(String documentId, String whereClausePredicatePrefix, String tableAlias) {
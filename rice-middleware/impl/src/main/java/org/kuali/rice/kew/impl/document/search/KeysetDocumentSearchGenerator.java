@@ -0,0 +1,70 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.impl.document.search;
+
+import org.kuali.rice.core.api.uif.RemotableAttributeField;
+import org.kuali.rice.kew.api.document.search.DocumentSearchCriteria;
+import org.kuali.rice.kew.api.document.search.DocumentSearchResults;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A {@link DocumentSearchGenerator} which can page through search results by key instead of by index.
+ *
+ * <p>Results are ordered by create date and document id, both descending.  Each page after the first is selected by a
+ * predicate on the create date and document id of the last result of the previous page (as captured in a
+ * {@link DocumentSearchContinuation}), so retrieving a deep page costs the same as retrieving the first one and the
+ * result set can be read forward-only.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public interface KeysetDocumentSearchGenerator extends DocumentSearchGenerator {
+
+    /**
+     * Generates the search sql ordered by create date and document id.  The sql selects only the distinct
+     * {@code DOC_HDR_ID} and {@code CRTE_DT} of the matching documents, so each row is a different document even when
+     * the searchable attribute criteria match several values of the same document.  If {@code continued} is true, the
+     * sql has three bind parameters which must be set using {@link DocumentSearchContinuation#bind(java.sql.PreparedStatement, int)}.
+     *
+     * @param criteria the search criteria
+     * @param searchFields the searchable attribute fields of the document type being searched
+     * @param continued whether the search continues from a previous page
+     * @return the search sql
+     */
+    String generateKeysetSearchSql(DocumentSearchCriteria criteria, List<RemotableAttributeField> searchFields,
+            boolean continued);
+
+    /**
+     * Reads a page of results from a result set produced by the sql from
+     * {@link #generateKeysetSearchSql(DocumentSearchCriteria, List, boolean)}, then fetching the document headers and
+     * searchable attribute values of the whole page at once.  If more results are available, the returned results are marked as over threshold and
+     * carry a continuation token for the next page.
+     *
+     * @param criteria the search criteria
+     * @param criteriaModified whether the criteria was modified prior to the search
+     * @param connection the connection to use for fetching document headers and searchable attribute values
+     * @param resultSet the search result set
+     * @param pageSize the maximum number of results to read
+     * @return the page of results
+     * @throws SQLException if the results could not be read
+     */
+    DocumentSearchResults.Builder processKeysetResultSet(DocumentSearchCriteria criteria, boolean criteriaModified,
+            Connection connection, ResultSet resultSet, int pageSize) throws SQLException;
+
+}
@@ -28,10 +28,14 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
+import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -134,7 +138,7 @@ public class XPathQualifierResolver implements QualifierResolver, XmlConfiguredA
 			boolean isCompoundMap = config.getExpressionMap().size() > 1;
 			try {
 				List<Map<String, String>> maps = new ArrayList<Map<String, String>>();
-				NodeList baseElements = (NodeList)xPath.evaluate(config.getBaseXPathExpression(), xmlContent, XPathConstants.NODESET);
+				NodeList baseElements = (NodeList)XPathHelper.evaluate(xPath, config.getBaseXPathExpression(), xmlContent, XPathConstants.NODESET);
 				if (LOG.isDebugEnabled()) {
 					LOG.debug("Found " + baseElements.getLength() + " baseElements to parse for Map<String, String>s using document XML:" + XmlJotter.jotDocument(xmlContent));
 				}
@@ -156,7 +160,7 @@ public class XPathQualifierResolver implements QualifierResolver, XmlConfiguredA
 		Map<String, String> map = new HashMap<String, String>();
 		for (String attributeName : config.getExpressionMap().keySet()) {
 			String xPathExpression = config.getExpressionMap().get(attributeName);
-			NodeList attributes = (NodeList)xPath.evaluate(xPathExpression, baseNode, XPathConstants.NODESET);
+			NodeList attributes = (NodeList)XPathHelper.evaluate(xPath, xPathExpression, baseNode, XPathConstants.NODESET);
 			if (attributes.getLength() > 1) {
 				throw new RiceRuntimeException("Found more than more XPath result for an attribute in a compound attribute set for attribute: " + attributeName + " with expression " + xPathExpression);
 			} else if (attributes.getLength() != 0) {
@@ -173,7 +177,7 @@ public class XPathQualifierResolver implements QualifierResolver, XmlConfiguredA
 	protected void handleSimpleMap(Node baseNode, List<Map<String, String>> maps, ResolverConfig config, XPath xPath) throws XPathExpressionException {
 		String attributeName = config.getExpressionMap().keySet().iterator().next();
 		String xPathExpression = config.getExpressionMap().get(attributeName);
-		NodeList attributes = (NodeList)xPath.evaluate(xPathExpression, baseNode, XPathConstants.NODESET);
+		NodeList attributes = (NodeList)XPathHelper.evaluate(xPath, xPathExpression, baseNode, XPathConstants.NODESET);
 		for (int index = 0; index < attributes.getLength(); index++) {
 			Element attributeElement = (Element)attributes.item(index);
 			Map<String, String> map = new HashMap<String, String>();
@@ -194,16 +198,19 @@ public class XPathQualifierResolver implements QualifierResolver, XmlConfiguredA
 		try {
 			ResolverConfig resolverConfig = new ResolverConfig();
 			String xmlConfig = extensionDefinition.getConfiguration().get(KewApiConstants.ATTRIBUTE_XML_CONFIG_DATA);
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setNamespaceAware(true);
+			Document configDocument = factory.newDocumentBuilder().parse(new InputSource(new StringReader(xmlConfig)));
 			XPath xPath = XPathHelper.newXPath();
-			String baseExpression = xPath.evaluate("//resolverConfig/baseXPathExpression", new InputSource(new StringReader(xmlConfig)));
+			String baseExpression = (String)XPathHelper.evaluate(xPath, "//resolverConfig/baseXPathExpression", configDocument, XPathConstants.STRING);
 			if (!StringUtils.isEmpty(baseExpression)) {
 				resolverConfig.setBaseXPathExpression(baseExpression);
 			}
             //We need to check for two possible xml configurations
             //1 - 'attributes'
             //2- 'qualifier' (legacy)
-			NodeList qualifiers = (NodeList)xPath.evaluate("//resolverConfig/attributes", new InputSource(new StringReader(xmlConfig)), XPathConstants.NODESET);
-            NodeList qualifiersLegacy = (NodeList)xPath.evaluate("//resolverConfig/qualifier", new InputSource(new StringReader(xmlConfig)), XPathConstants.NODESET);
+			NodeList qualifiers = (NodeList)XPathHelper.evaluate(xPath, "//resolverConfig/attributes", configDocument, XPathConstants.NODESET);
+            NodeList qualifiersLegacy = (NodeList)XPathHelper.evaluate(xPath, "//resolverConfig/qualifier", configDocument, XPathConstants.NODESET);
 
             if ((qualifiers == null || qualifiers.getLength() == 0) && (qualifiersLegacy == null || qualifiersLegacy.getLength() == 0)) {
 				throw new RiceRuntimeException("Invalid qualifier resolver configuration.  Must contain at least one qualifier!");
@@ -237,6 +244,12 @@ public class XPathQualifierResolver implements QualifierResolver, XmlConfiguredA
 			return resolverConfig;
 		} catch (XPathExpressionException e) {
 			throw new RiceRuntimeException("Encountered an error parsing resolver config.", e);
+		} catch (ParserConfigurationException e) {
+			throw new RiceRuntimeException("Encountered an error parsing resolver config.", e);
+		} catch (SAXException e) {
+			throw new RiceRuntimeException("Encountered an error parsing resolver config.", e);
+		} catch (IOException e) {
+			throw new RiceRuntimeException("Encountered an error parsing resolver config.", e);
 		}
 	}
 
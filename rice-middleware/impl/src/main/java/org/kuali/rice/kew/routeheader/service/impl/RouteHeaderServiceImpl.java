@@ -21,6 +21,7 @@ import org.kuali.rice.kew.api.KewApiConstants;
 import org.kuali.rice.kew.api.action.ActionItem;
 import org.kuali.rice.kew.docsearch.SearchableAttributeValue;
 import org.kuali.rice.kew.docsearch.dao.SearchableAttributeDAO;
+import org.kuali.rice.kew.docsearch.dao.SearchableAttributeIndexDAO;
 import org.kuali.rice.kew.doctype.bo.DocumentType;
 import org.kuali.rice.kew.exception.WorkflowServiceErrorException;
 import org.kuali.rice.kew.exception.WorkflowServiceErrorImpl;
@@ -52,6 +53,7 @@ public class RouteHeaderServiceImpl implements RouteHeaderService {
 
     private DocumentRouteHeaderDAO routeHeaderDAO;
     private SearchableAttributeDAO searchableAttributeDAO;
+    private SearchableAttributeIndexDAO searchableAttributeIndexDAO;
 
     private DataObjectService dataObjectService;
 
@@ -127,6 +129,9 @@ public class RouteHeaderServiceImpl implements RouteHeaderService {
 
     public void deleteRouteHeader(DocumentRouteHeaderValue routeHeader) {
         dataObjectService.delete(routeHeader);
+        if (searchableAttributeIndexDAO != null) {
+            searchableAttributeIndexDAO.deleteIndex(routeHeader.getDocumentId());
+        }
     }
 
     public String getNextDocumentId() {
@@ -281,6 +286,14 @@ public class RouteHeaderServiceImpl implements RouteHeaderService {
 		return searchableAttributeDAO;
 	}
 
+    public SearchableAttributeIndexDAO getSearchableAttributeIndexDAO() {
+        return searchableAttributeIndexDAO;
+    }
+
+    public void setSearchableAttributeIndexDAO(SearchableAttributeIndexDAO searchableAttributeIndexDAO) {
+        this.searchableAttributeIndexDAO = searchableAttributeIndexDAO;
+    }
+
 	public Collection findByDocTypeAndAppId(String documentTypeName,
 			String appId) {
 		return getRouteHeaderDAO().findByDocTypeAndAppId(documentTypeName, appId);
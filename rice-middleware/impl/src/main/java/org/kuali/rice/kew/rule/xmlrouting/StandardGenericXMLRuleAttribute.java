@@ -118,7 +118,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
         }
 
         try {
-            return (NodeList) xpath.evaluate(findField.toString(), root, XPathConstants.NODESET);
+            return (NodeList) XPathHelper.evaluate(xpath, findField.toString(), root, XPathConstants.NODESET);
         } catch (XPathExpressionException e) {
             LOG.error("Error evaluating expression: '" + findField + "'");
             throw e;
@@ -318,7 +318,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
                 LOG.debug("Evaluating xPath expression: " + xPathExpressionToEvaluate);
             }
             try {
-                Boolean match = (Boolean) xpath.evaluate(xPathExpressionToEvaluate, docContent.getDocument(), XPathConstants.BOOLEAN);
+                Boolean match = (Boolean) XPathHelper.evaluate(xpath, xPathExpressionToEvaluate, docContent.getDocument(), XPathConstants.BOOLEAN);
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Expression match result: " + match);
                 }
@@ -342,7 +342,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
         Element configXml = getConfigXML();
         String findFieldExpressions = "//routingConfig/" + FIELD_DEF_E + "/fieldEvaluation/xpathexpression";
         try {
-            NodeList xPathExpressions = (NodeList) xpath.evaluate(findFieldExpressions, configXml, XPathConstants.NODESET);
+            NodeList xPathExpressions = (NodeList) XPathHelper.evaluate(xpath, findFieldExpressions, configXml, XPathConstants.NODESET);
             for (int index = 0; index < xPathExpressions.getLength(); index++) {
                 Element expressionElement = (Element) xPathExpressions.item(index);
                 String expression = expressionElement.getTextContent();
@@ -382,7 +382,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
         }
         String findGlobalExpressions = "//routingConfig/globalEvaluations/xpathexpression";
         try {
-            NodeList xPathExpressions = (NodeList) xpath.evaluate(findGlobalExpressions, configXml, XPathConstants.NODESET);
+            NodeList xPathExpressions = (NodeList) XPathHelper.evaluate(xpath, findGlobalExpressions, configXml, XPathConstants.NODESET);
             for (int index = 0; index < xPathExpressions.getLength(); index++) {
                 Element expressionElement = (Element) xPathExpressions.item(index);
                 //String expression = XmlJotter.jotNode(expressionElement);
@@ -409,7 +409,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
 
     private String getValidationErrorMessage(XPath xpath, Element root, String fieldName) throws XPathExpressionException {
         String findErrorMessage = "//routingConfig/" + FIELD_DEF_E + "[@name='" + fieldName + "']/validation/message";
-        return (String) xpath.evaluate(findErrorMessage, root, XPathConstants.STRING);
+        return (String) XPathHelper.evaluate(xpath, findErrorMessage, root, XPathConstants.STRING);
     }
 
     /**
@@ -429,7 +429,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
             LOG.debug("evaluating field: " + fieldName);
             String findValidation = "//routingConfig/" + FIELD_DEF_E + "[@name='" + fieldName + "']/validation";
 
-            Node validationNode = (Node) xpath.evaluate(findValidation, root, XPathConstants.NODE);
+            Node validationNode = (Node) XPathHelper.evaluate(xpath, findValidation, root, XPathConstants.NODE);
             boolean fieldIsRequired = false;
             if (validationNode != null) {
                 NamedNodeMap validationAttributes = validationNode.getAttributes();
@@ -440,7 +440,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
             String findRegex = "//routingConfig/" + FIELD_DEF_E + "[@name='" + fieldName + "']/validation/regex";
 
             String regex = null;
-            Node regexNode = (Node) xpath.evaluate(findRegex, root, XPathConstants.NODE);
+            Node regexNode = (Node) XPathHelper.evaluate(xpath, findRegex, root, XPathConstants.NODE);
 
             if (regexNode != null && regexNode.getFirstChild() != null) {
                 regex = regexNode.getFirstChild().getNodeValue();
@@ -505,7 +505,7 @@ public class StandardGenericXMLRuleAttribute implements GenericXMLRuleAttribute,
         XPath xpath = XPathHelper.newXPath();
         final String findDocContent = "//routingConfig/xmlDocumentContent";
         try {
-            Node xmlDocumentContent = (Node) xpath.evaluate(findDocContent, getConfigXML(), XPathConstants.NODE);
+            Node xmlDocumentContent = (Node) XPathHelper.evaluate(xpath, findDocContent, getConfigXML(), XPathConstants.NODE);
 
             NodeList nodes = getFields(xpath, getConfigXML(), new String[] { "ALL", "REPORT", "RULE" });
 //            if (nodes == null || nodes.getLength() == 0) {
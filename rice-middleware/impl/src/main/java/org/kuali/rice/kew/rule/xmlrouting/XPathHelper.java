@@ -15,10 +15,21 @@
  */
 package org.kuali.rice.kew.rule.xmlrouting;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import javax.xml.xpath.XPathFunction;
 import javax.xml.xpath.XPathFunctionResolver;
 
+import org.kuali.rice.core.framework.util.ApplicationThreadLocal;
 import org.kuali.rice.kew.api.WorkflowRuntimeException;
 import org.w3c.dom.Node;
 
@@ -26,17 +37,63 @@ import org.w3c.dom.Node;
 /**
  * Provides utilities for obtaining XPath instances which are "good-to-go" with access to the Workflow
  * namespace and custom XPath functions.
+ *
+ * <p>Also maintains a size-bounded cache of compiled {@link XPathExpression}s per thread, keyed by expression and
+ * namespace context, so that attributes which evaluate the same expressions against many rules or documents only
+ * compile them once; see {@link #evaluate(XPath, String, Object, QName)}.  Compiled expressions are not thread safe,
+ * so rather than sharing them behind a lock each thread compiles and keeps its own.</p>
  * 
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
 public class XPathHelper {
 
+	private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(XPathHelper.class);
+
+	/**
+	 * The maximum number of compiled expressions which are retained per thread, the least recently used are
+	 * discarded first.
+	 */
+	public static final int MAX_CACHED_EXPRESSIONS = 500;
+
+	/**
+	 * XPathFactory is not thread safe and locating the implementation is expensive, so one is kept per thread.
+	 */
+	private static final ThreadLocal<XPathFactory> XPATH_FACTORY = new ApplicationThreadLocal<XPathFactory>() {
+		@Override
+		protected XPathFactory initialValue() {
+			return XPathFactory.newInstance();
+		}
+	};
+
+	/**
+	 * The WorkflowFunctionResolver of the XPath instance on whose behalf a cached expression is being evaluated.
+	 */
+	private static final ThreadLocal<WorkflowFunctionResolver> CURRENT_FUNCTION_RESOLVER = new ApplicationThreadLocal<WorkflowFunctionResolver>();
+
+	private static final XPathFunctionResolver DELEGATING_FUNCTION_RESOLVER = new DelegatingFunctionResolver();
+
+	private static final ThreadLocal<ExpressionCache> EXPRESSION_CACHE = new ApplicationThreadLocal<ExpressionCache>() {
+		@Override
+		protected ExpressionCache initialValue() {
+			return new ExpressionCache();
+		}
+	};
+
+	/**
+	 * Incremented by {@link #clearExpressionCache()}, a thread discards its cached expressions when it sees a newer
+	 * generation than the one they were compiled in.
+	 */
+	private static final AtomicInteger cacheGeneration = new AtomicInteger();
+
+	private static final AtomicLong compileCount = new AtomicLong();
+	private static final AtomicLong compileAvoidedCount = new AtomicLong();
+
 	/**
 	 * Creates a new XPath instance and initializes it with the WorkflowNamespaceContext and the
 	 * WorkflowFunctionResolver.
 	 */
 	public static XPath newXPath() {
-		XPath xPath = XPathFactory.newInstance().newXPath();
+		XPath xPath = XPATH_FACTORY.get().newXPath();
 		xPath.setNamespaceContext(new WorkflowNamespaceContext());
 		WorkflowFunctionResolver resolver = new WorkflowFunctionResolver();
 		xPath.setXPathFunctionResolver(resolver); 
@@ -56,6 +113,64 @@ public class XPathHelper {
 		resolver.setRootNode(rootNode);
 		return xPath;
 	}
+
+	/**
+	 * Evaluates the given expression against the given item in the context of the given XPath instance.
+	 *
+	 * <p>If the XPath instance was created by this class (it has a {@link WorkflowNamespaceContext}, a
+	 * {@link WorkflowFunctionResolver} and no variable resolver) then the compiled form of the expression is taken
+	 * from the expression cache of the current thread, and any workflow functions it calls are resolved against the
+	 * WorkflowFunctionResolver of the given XPath instance.  Otherwise this is equivalent to
+	 * {@link XPath#evaluate(String, Object, QName)}.</p>
+	 *
+	 * @param xPath the XPath instance which supplies the namespace context and function resolver
+	 * @param expression the XPath expression to evaluate
+	 * @param item the context item to evaluate the expression against
+	 * @param returnType the desired return type, one of the {@link javax.xml.xpath.XPathConstants}
+	 * @return the result of the evaluation
+	 * @throws XPathExpressionException if the expression could not be compiled or evaluated
+	 */
+	public static Object evaluate(XPath xPath, String expression, Object item, QName returnType) throws XPathExpressionException {
+		if (!isCacheable(xPath) || expression == null) {
+			return xPath.evaluate(expression, item, returnType);
+		}
+		XPathExpression compiledExpression = getCompiledExpression(xPath.getNamespaceContext(), expression);
+		WorkflowFunctionResolver previousResolver = CURRENT_FUNCTION_RESOLVER.get();
+		CURRENT_FUNCTION_RESOLVER.set(extractFunctionResolver(xPath));
+		try {
+			return compiledExpression.evaluate(item, returnType);
+		} finally {
+			if (previousResolver == null) {
+				CURRENT_FUNCTION_RESOLVER.remove();
+			} else {
+				CURRENT_FUNCTION_RESOLVER.set(previousResolver);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of expressions which have been compiled into the expression caches of all threads.
+	 */
+	public static long getCompileCount() {
+		return compileCount.get();
+	}
+
+	/**
+	 * Returns the number of evaluations which used an already compiled expression from the expression cache of the
+	 * evaluating thread.
+	 */
+	public static long getCompileAvoidedCount() {
+		return compileAvoidedCount.get();
+	}
+
+	/**
+	 * Removes all compiled expressions from the expression caches.  The cache of the current thread is cleared
+	 * immediately, other threads clear theirs the next time they look up an expression.
+	 */
+	public static void clearExpressionCache() {
+		cacheGeneration.incrementAndGet();
+		EXPRESSION_CACHE.get().clear();
+	}
 	
 	/**
 	 * A utility to extract the WorkflowFunctionResolver from the given XPath instances.  If the XPath instance
@@ -77,5 +192,71 @@ public class XPathHelper {
 	public static boolean hasWorkflowFunctionResolver(XPath xPath) {
 		return xPath.getXPathFunctionResolver() instanceof WorkflowFunctionResolver;
 	}
+
+	private static boolean isCacheable(XPath xPath) {
+		NamespaceContext namespaceContext = xPath.getNamespaceContext();
+		return namespaceContext != null && namespaceContext.getClass() == WorkflowNamespaceContext.class
+				&& hasWorkflowFunctionResolver(xPath) && xPath.getXPathVariableResolver() == null;
+	}
+
+	private static XPathExpression getCompiledExpression(NamespaceContext namespaceContext, String expression) throws XPathExpressionException {
+		ExpressionCache cache = EXPRESSION_CACHE.get();
+		int generation = cacheGeneration.get();
+		if (cache.generation != generation) {
+			cache.clear();
+			cache.generation = generation;
+		}
+		String key = namespaceContext.getClass().getName() + "|" + expression;
+		XPathExpression compiledExpression = cache.get(key);
+		if (compiledExpression != null) {
+			compileAvoidedCount.incrementAndGet();
+			return compiledExpression;
+		}
+		XPath compiler = XPATH_FACTORY.get().newXPath();
+		compiler.setNamespaceContext(new WorkflowNamespaceContext());
+		compiler.setXPathFunctionResolver(DELEGATING_FUNCTION_RESOLVER);
+		compiledExpression = compiler.compile(expression);
+		compileCount.incrementAndGet();
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Compiled XPath expression '" + expression + "', compiled " + compileCount.get() + ", avoided " + compileAvoidedCount.get());
+		}
+		cache.put(key, compiledExpression);
+		return compiledExpression;
+	}
+
+	/**
+	 * The compiled expressions of one thread, ordered by access so the least recently used is evicted first.
+	 */
+	private static final class ExpressionCache extends LinkedHashMap<String, XPathExpression> {
+
+		private static final long serialVersionUID = 1L;
+
+		private int generation = cacheGeneration.get();
+
+		private ExpressionCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+			return size() > MAX_CACHED_EXPRESSIONS;
+		}
+	}
+
+	/**
+	 * Resolves functions against the WorkflowFunctionResolver of the XPath instance on whose behalf the current
+	 * thread is evaluating a cached expression.
+	 */
+	private static final class DelegatingFunctionResolver implements XPathFunctionResolver {
+
+		@Override
+		public XPathFunction resolveFunction(QName functionName, int arity) {
+			WorkflowFunctionResolver resolver = CURRENT_FUNCTION_RESOLVER.get();
+			if (resolver == null) {
+				return null;
+			}
+			return resolver.resolveFunction(functionName, arity);
+		}
+	}
 	
 }
@@ -29,6 +29,7 @@ import org.kuali.rice.kew.batch.ExternalActnListNotificationService;
 import org.kuali.rice.kew.batch.XmlPollerService;
 import org.kuali.rice.kew.docsearch.DocumentSearchCustomizationMediator;
 import org.kuali.rice.kew.docsearch.service.DocumentSearchService;
+import org.kuali.rice.kew.docsearch.service.SearchableAttributeIndexService;
 import org.kuali.rice.kew.doctype.service.DocumentSecurityService;
 import org.kuali.rice.kew.doctype.service.DocumentTypePermissionService;
 import org.kuali.rice.kew.doctype.service.DocumentTypeService;
@@ -88,6 +89,8 @@ public final class KEWServiceLocator {
 
 	public static final String DOCUMENT_SEARCH_SERVICE = "enDocumentSearchService";
 
+	public static final String SEARCHABLE_ATTRIBUTE_INDEX_SERVICE = "enSearchableAttributeIndexService";
+
 	public static final String ACTION_TAKEN_SRV = "enActionTakenService";
 
 	public static final String ACTION_REQUEST_SRV = "enActionRequestService";
@@ -371,6 +374,10 @@ public final class KEWServiceLocator {
     	return (DocumentSearchService) getBean(DOCUMENT_SEARCH_SERVICE);
     }
 
+    public static SearchableAttributeIndexService getSearchableAttributeIndexService() {
+    	return (SearchableAttributeIndexService) getBean(SEARCHABLE_ATTRIBUTE_INDEX_SERVICE);
+    }
+
     public static ExtractService getExtractService() {
 	return (ExtractService) getBean(EXTRACT_SERVICE);
     }
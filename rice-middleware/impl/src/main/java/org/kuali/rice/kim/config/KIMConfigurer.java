@@ -17,13 +17,16 @@ package org.kuali.rice.kim.config;
 
 import org.kuali.rice.core.api.config.module.RunMode;
 import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.core.api.lifecycle.Lifecycle;
 import org.kuali.rice.core.framework.config.module.ModuleConfigurer;
 import org.kuali.rice.core.framework.config.module.WebModuleConfiguration;
 import org.kuali.rice.kim.api.KimApiConstants;
+import org.kuali.rice.kim.impl.group.GroupMembershipClosureRebuildLifecycle;
 
 import javax.sql.DataSource;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -63,6 +66,15 @@ public class KIMConfigurer extends ModuleConfigurer {
         return springFileLocations;
     }
 
+    @Override
+    public List<Lifecycle> loadLifecycles() throws Exception {
+        List<Lifecycle> lifecycles = new LinkedList<Lifecycle>();
+        if (RunMode.EMBEDDED == getRunMode() || RunMode.LOCAL == getRunMode()) {
+            lifecycles.add(new GroupMembershipClosureRebuildLifecycle());
+        }
+        return lifecycles;
+    }
+
     @Override
     public void addAdditonalToConfig() {
         configureDataSource();
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.kuali.rice.kim.impl.services.KimImplServiceLocator;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/**
+ * Quartz job which rebuilds the flattened group membership closure of every group.  Each batch of groups is
+ * recalculated in its own transaction, so the job can be run while groups continue to be maintained.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class GroupMembershipClosureRebuildJob implements Job {
+
+    private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(GroupMembershipClosureRebuildJob.class);
+
+    @Override
+    public void execute(JobExecutionContext ctx) throws JobExecutionException {
+        GroupMembershipClosureService closureService = KimImplServiceLocator.getGroupMembershipClosureService();
+        if (!closureService.isEnabled()) {
+            LOG.info("The group membership closure is not enabled, skipping rebuild");
+            return;
+        }
+        LOG.info("Rebuilding the group membership closure");
+        long start = System.currentTimeMillis();
+        String lastGroupId = null;
+        do {
+            lastGroupId = closureService.rebuildClosure(lastGroupId);
+        } while (lastGroupId != null);
+        LOG.info("...finished rebuilding the group membership closure, total time = "
+                + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.apache.commons.lang.StringUtils;
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.core.api.lifecycle.Lifecycle;
+import org.kuali.rice.kim.api.KimConstants;
+import org.kuali.rice.ksb.service.KSBServiceLocator;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.Scheduler;
+import org.quartz.impl.JobDetailImpl;
+import org.quartz.impl.triggers.CronTriggerImpl;
+
+/**
+ * A {@link Lifecycle} which is initialized on system startup that schedules the
+ * {@link GroupMembershipClosureRebuildJob} with the cron expression configured in
+ * {@link KimConstants#KIM_GROUP_MEMBERSHIP_CLOSURE_REBUILD_CRON_KEY}, if any.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class GroupMembershipClosureRebuildLifecycle implements Lifecycle {
+
+    private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(GroupMembershipClosureRebuildLifecycle.class);
+
+    private static final String JOB_GROUP = "KIM";
+    private static final String JOB_NAME = "Group Membership Closure Rebuild";
+    private static final String TRIGGER_NAME = JOB_NAME + "-Trigger";
+
+    private boolean started;
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+
+    @Override
+    public void start() throws Exception {
+        String cronExpression = ConfigContext.getCurrentContextConfig().getProperty(
+                KimConstants.KIM_GROUP_MEMBERSHIP_CLOSURE_REBUILD_CRON_KEY);
+        if (StringUtils.isNotBlank(cronExpression)) {
+            LOG.info("Scheduling group membership closure rebuild with cron expression: " + cronExpression);
+            Scheduler scheduler = KSBServiceLocator.getScheduler();
+            CronTriggerImpl trigger = new CronTriggerImpl(TRIGGER_NAME, JOB_GROUP, cronExpression);
+            JobDetailImpl jobDetail = new JobDetailImpl(JOB_NAME, JOB_GROUP, GroupMembershipClosureRebuildJob.class);
+            trigger.setJobName(jobDetail.getName());
+            trigger.setJobGroup(jobDetail.getGroup());
+            scheduler.addJob(jobDetail, true);
+            if (scheduler.getTrigger(trigger.getKey()) == null) {
+                try {
+                    scheduler.scheduleJob(trigger);
+                } catch (ObjectAlreadyExistsException e) {
+                    scheduler.rescheduleJob(trigger.getKey(), trigger);
+                }
+            } else {
+                scheduler.rescheduleJob(trigger.getKey(), trigger);
+            }
+        }
+        started = true;
+    }
+
+    @Override
+    public void stop() throws Exception {
+        started = false;
+    }
+
+}
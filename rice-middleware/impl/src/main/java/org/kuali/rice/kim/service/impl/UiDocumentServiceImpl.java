@@ -135,6 +135,7 @@ import org.kuali.rice.kim.impl.role.RoleBoLite;
 import org.kuali.rice.kim.impl.role.RoleMemberAttributeDataBo;
 import org.kuali.rice.kim.impl.role.RoleMemberBo;
 import org.kuali.rice.kim.impl.role.RolePermissionBo;
+import org.kuali.rice.kim.impl.role.RoleResolutionContext;
 import org.kuali.rice.kim.impl.role.RoleResponsibilityActionBo;
 import org.kuali.rice.kim.impl.role.RoleResponsibilityBo;
 import org.kuali.rice.kim.impl.services.KimImplServiceLocator;
@@ -274,6 +275,12 @@ public class UiDocumentServiceImpl implements UiDocumentService {
 	        for ( Object bo : bos ) {
 	            getDataObjectService().save(bo);
 	        }
+	        Set<String> changedGroupIds = new HashSet<String>();
+	        for ( GroupMemberBo groupPrincipal : groupPrincipals ) {
+	            changedGroupIds.add(groupPrincipal.getGroupId());
+	        }
+	        KimImplServiceLocator.getGroupMembershipClosureService().updateClosure(changedGroupIds);
+	        RoleResolutionContext.invalidate();
 	        List <RoleMemberAttributeDataBo> blankRoleMemberAttrs = getBlankRoleMemberAttrs(rolePrincipals);
 	        if (!blankRoleMemberAttrs.isEmpty()) {
 	            for ( RoleMemberAttributeDataBo blankRoleMemberAttr : blankRoleMemberAttrs ) {
@@ -2244,6 +2251,7 @@ public class UiDocumentServiceImpl implements UiDocumentService {
         for ( Object bo : objectsToSave ) {
             getDataObjectService().save(bo);
         }
+        RoleResolutionContext.invalidate();
 		KimImplServiceLocator.getResponsibilityInternalService().updateActionRequestsForResponsibilityChange(getChangedRoleResponsibilityIds(identityManagementRoleDocument, origRoleResponsibilities));
 		if(!roleBo.isActive()){
 			// when a role is inactivated, inactivate the memberships of principals, groups, and roles in
@@ -2891,6 +2899,9 @@ public class UiDocumentServiceImpl implements UiDocumentService {
         oldIds = getGroupService().getMemberPrincipalIds(kimGroup.getId()); // for the actionList update
 
         kimGroup = getDataObjectService().save(kimGroup);
+        KimImplServiceLocator.getGroupMembershipClosureService().updateClosure(
+                Collections.singletonList(kimGroup.getId()));
+        RoleResolutionContext.invalidate();
 
 		newIds = kimGroup.getMemberPrincipalIds();
 		//newIds = getGroupService().getMemberPrincipalIds(kimGroup.getGroupId()); // for the action list update
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.impl.document.search;
+
+import org.junit.Test;
+import org.kuali.rice.core.api.exception.RiceIllegalArgumentException;
+
+import java.sql.Timestamp;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the conversion of {@link DocumentSearchContinuation} to and from continuation tokens.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class DocumentSearchContinuationTest {
+
+    @Test
+    public void testTokenRoundTrip() {
+        Timestamp dateCreated = new Timestamp(1420070400123L);
+        dateCreated.setNanos(123456789);
+        DocumentSearchContinuation continuation = new DocumentSearchContinuation(dateCreated, "3010");
+
+        DocumentSearchContinuation parsed = DocumentSearchContinuation.fromToken(continuation.toToken());
+        assertEquals(dateCreated, parsed.getDateCreated());
+        assertEquals("3010", parsed.getDocumentId());
+    }
+
+    @Test(expected = RiceIllegalArgumentException.class)
+    public void testMissingDocumentId() {
+        DocumentSearchContinuation.fromToken("1420070400123:0");
+    }
+
+    @Test(expected = RiceIllegalArgumentException.class)
+    public void testInvalidTime() {
+        DocumentSearchContinuation.fromToken("abc:0:3010");
+    }
+
+}
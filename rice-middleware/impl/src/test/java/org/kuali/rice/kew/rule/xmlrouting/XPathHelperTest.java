@@ -0,0 +1,139 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.rule.xmlrouting;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the compiled expression cache of {@link XPathHelper}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class XPathHelperTest {
+
+    private static final String FIELD_EXPRESSION = "wf:field('color')";
+
+    @Test
+    public void testCachedExpressionUsesCallersFunctionResolver() throws Exception {
+        Document red = parse(edlContent("red"));
+        Document blue = parse(edlContent("blue"));
+
+        long compiles = XPathHelper.getCompileCount();
+        long avoided = XPathHelper.getCompileAvoidedCount();
+        assertEquals("red", XPathHelper.evaluate(XPathHelper.newXPath(red), FIELD_EXPRESSION, red, XPathConstants.STRING));
+        assertEquals("blue", XPathHelper.evaluate(XPathHelper.newXPath(blue), FIELD_EXPRESSION, blue, XPathConstants.STRING));
+        assertEquals("RED", XPathHelper.evaluate(XPathHelper.newXPath(red), "wf:upper-case(" + FIELD_EXPRESSION + ")", red, XPathConstants.STRING));
+
+        assertEquals(compiles + 2, XPathHelper.getCompileCount());
+        assertEquals(avoided + 1, XPathHelper.getCompileAvoidedCount());
+    }
+
+    @Test
+    public void testExpressionsCachedPerThread() throws Exception {
+        final String expression = "wf:field('color') = 'red'";
+        final Document red = parse(edlContent("red"));
+        assertEquals(Boolean.TRUE, XPathHelper.evaluate(XPathHelper.newXPath(red), expression, red, XPathConstants.BOOLEAN));
+
+        long compiles = XPathHelper.getCompileCount();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Object result = executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return XPathHelper.evaluate(XPathHelper.newXPath(red), expression, red, XPathConstants.BOOLEAN);
+                }
+            }).get();
+            assertEquals(Boolean.TRUE, result);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("Another thread should compile its own copy", compiles + 1, XPathHelper.getCompileCount());
+
+        XPathHelper.evaluate(XPathHelper.newXPath(red), expression, red, XPathConstants.BOOLEAN);
+        assertEquals(compiles + 1, XPathHelper.getCompileCount());
+    }
+
+    @Test
+    public void testClearExpressionCache() throws Exception {
+        Document red = parse(edlContent("red"));
+        String expression = "wf:field('color') != 'blue'";
+        XPathHelper.evaluate(XPathHelper.newXPath(red), expression, red, XPathConstants.BOOLEAN);
+
+        long compiles = XPathHelper.getCompileCount();
+        XPathHelper.clearExpressionCache();
+        assertEquals(Boolean.TRUE, XPathHelper.evaluate(XPathHelper.newXPath(red), expression, red, XPathConstants.BOOLEAN));
+        assertEquals(compiles + 1, XPathHelper.getCompileCount());
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<Future<Object>>();
+            for (int i = 0; i < 100; i++) {
+                final String color = "color" + (i % 7);
+                final Document document = parse(edlContent(color));
+                results.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        return XPathHelper.evaluate(XPathHelper.newXPath(document), FIELD_EXPRESSION, document, XPathConstants.STRING);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("color" + (i % 7), results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUncacheableXPathEvaluatedDirectly() throws Exception {
+        Document document = parse(edlContent("green"));
+        XPath xPath = XPathFactory.newInstance().newXPath();
+
+        long compiles = XPathHelper.getCompileCount();
+        assertEquals(Boolean.TRUE, XPathHelper.evaluate(xPath, "count(//field) = 1", document, XPathConstants.BOOLEAN));
+        assertEquals(compiles, XPathHelper.getCompileCount());
+    }
+
+    private static String edlContent(String color) {
+        return "<edlContent><data><version current=\"true\"><field name=\"color\"><value>" + color
+                + "</value></field></version></data></edlContent>";
+    }
+
+    private static Document parse(String xml) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+}
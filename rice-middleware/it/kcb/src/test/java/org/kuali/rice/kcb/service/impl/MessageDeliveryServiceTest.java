@@ -19,6 +19,7 @@ import org.junit.Test;
 import org.kuali.rice.kcb.bo.Message;
 import org.kuali.rice.kcb.bo.MessageDelivery;
 import org.kuali.rice.kcb.bo.MessageDeliveryStatus;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.kcb.service.GlobalKCBServiceLocator;
 import org.kuali.rice.kcb.service.MessageDeliveryService;
 import org.kuali.rice.kcb.service.MessageService;
@@ -28,6 +29,7 @@ import org.kuali.rice.krad.data.PersistenceOption;
 import org.kuali.rice.krad.service.KRADServiceLocator;
 import org.springframework.dao.DataAccessException;
 
+import java.sql.Timestamp;
 import java.util.Collection;
 
 import static org.junit.Assert.*;
@@ -147,6 +149,78 @@ public class MessageDeliveryServiceTest extends KCBTestCase {
         assertEqualsMD(m, m2);
     }
     
+    /**
+     * Tests that message deliveries are claimed with a lease, are not claimed again while the lease holds, and that
+     * the message and process count conditions of the claim are applied
+     */
+    @Test
+    public void testLockAndTakeMessageDeliveries() {
+        MessageDeliveryStatus[] statuses = new MessageDeliveryStatus[] { MessageDeliveryStatus.UNDELIVERED };
+
+        MessageDelivery second = new MessageDelivery();
+        second.setDelivererTypeName("pigeon");
+        second.setMessage(MESSAGE);
+        second = messageDeliveryService.saveMessageDelivery(second);
+
+        MessageDelivery exhausted = new MessageDelivery();
+        exhausted.setDelivererTypeName("eagle");
+        exhausted.setMessage(MESSAGE);
+        exhausted.setProcessCount(Integer.valueOf(Integer.MAX_VALUE));
+        messageDeliveryService.saveMessageDelivery(exhausted);
+
+        Message other = new Message();
+        other.setContent("test content 2");
+        other.setChannel("channel2");
+        other.setContentType("test content type 2");
+        other.setDeliveryType("test delivery type 2");
+        other.setRecipient("test recipient 2");
+        other.setTitle("test title 2");
+        other = messageService.saveMessage(other);
+        MessageDelivery otherDelivery = KCBTestData.getMessageDelivery1();
+        otherDelivery.setMessage(other);
+        messageDeliveryService.saveMessageDelivery(otherDelivery);
+
+        Collection<MessageDelivery> taken = messageDeliveryService.lockAndTakeMessageDeliveries(MESSAGE.getId(), statuses);
+        assertEquals(2, taken.size());
+        for (MessageDelivery delivery : taken) {
+            assertTrue(delivery.getId().equals(MESSAGE_DELIV.getId()) || delivery.getId().equals(second.getId()));
+            assertNotNull(delivery.getLockedDate());
+            assertNotNull(delivery.getLeaseOwner());
+        }
+        assertTrue(messageDeliveryService.lockAndTakeMessageDeliveries(MESSAGE.getId(), statuses).isEmpty());
+
+        taken = messageDeliveryService.lockAndTakeMessageDeliveries(statuses);
+        assertEquals(1, taken.size());
+        assertEquals(other.getId(), taken.iterator().next().getMessage().getId());
+        assertTrue(messageDeliveryService.lockAndTakeMessageDeliveries(statuses).isEmpty());
+    }
+
+    /**
+     * Tests that a message delivery whose lease has expired is reclaimed under a new lease
+     */
+    @Test
+    public void testExpiredLeaseReclaimed() {
+        MessageDeliveryStatus[] statuses = new MessageDeliveryStatus[] { MessageDeliveryStatus.UNDELIVERED };
+
+        Collection<MessageDelivery> taken = messageDeliveryService.lockAndTakeMessageDeliveries(statuses);
+        assertEquals(1, taken.size());
+        MessageDelivery expired = taken.iterator().next();
+        String expiredLeaseOwner = expired.getLeaseOwner();
+        assertTrue(messageDeliveryService.lockAndTakeMessageDeliveries(statuses).isEmpty());
+
+        expired.setLockedDate(new Timestamp(System.currentTimeMillis()
+                - (WorkItemLeaseClaimer.DEFAULT_LEASE_SECONDS + 60) * 1000L));
+        messageDeliveryService.saveMessageDelivery(expired);
+
+        Collection<MessageDelivery> reclaimed = messageDeliveryService.lockAndTakeMessageDeliveries(statuses);
+        assertEquals(1, reclaimed.size());
+        MessageDelivery delivery = reclaimed.iterator().next();
+        assertEquals(MESSAGE_DELIV.getId(), delivery.getId());
+        assertNotNull(delivery.getLeaseOwner());
+        assertFalse(expiredLeaseOwner.equals(delivery.getLeaseOwner()));
+        assertTrue(delivery.getLockedDate().after(expired.getLockedDate()));
+    }
+
     private void assertEqualsMD(MessageDelivery expected, MessageDelivery actual) {
         assertEquals(expected.getId(), actual.getId());
         assertEquals(expected.getDelivererSystemId(), actual.getDelivererSystemId());
@@ -26,6 +26,7 @@ import org.kuali.rice.ken.service.ProcessingResult;
 import org.kuali.rice.ken.service.impl.NotificationMessageDeliveryResolverServiceImpl;
 import org.kuali.rice.ken.test.KENTestCase;
 import org.kuali.rice.ken.util.NotificationConstants;
+import org.kuali.rice.kim.api.services.KimApiServiceLocator;
 import org.kuali.rice.krad.data.DataObjectService;
 import org.kuali.rice.krad.service.KRADServiceLocator;
 import org.kuali.rice.test.BaselineTestCase;
@@ -34,9 +35,18 @@ import org.kuali.rice.test.data.UnitTestData;
 import org.kuali.rice.test.data.UnitTestSql;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -72,7 +82,21 @@ public class NotificationMessageDeliveryResolverServiceImplTest extends KENTestC
      */
     private static final long BAD_NOTIFICATION_ID = 3L;
 
+    /**
+     * Id of the notification which is resolved successfully, to the EXPECTED_SUCCESSES recipients
+     */
+    private static final long GOOD_NOTIFICATION_ID = 4L;
+
     private static class TestNotificationMessageDeliveryResolverService extends NotificationMessageDeliveryResolverServiceImpl {
+        /**
+         * The number of the batch of message deliveries which should fail, 0 if none should
+         */
+        private int failOnBatch;
+        private final AtomicInteger batchCount = new AtomicInteger();
+        private final Set<String> batchThreadNames = Collections.synchronizedSet(new HashSet<String>());
+        private final Set<String> namesMissingFromBulkLookup = new HashSet<String>();
+        private final List<String> individuallyResolvedNames = new ArrayList<String>();
+
         public TestNotificationMessageDeliveryResolverService(NotificationService notificationService, NotificationRecipientService notificationRecipientService,
                 DataObjectService dataObjectService, PlatformTransactionManager txManager, ExecutorService executor) {
             super(notificationService, notificationRecipientService, dataObjectService, txManager, executor);
@@ -87,6 +111,32 @@ public class NotificationMessageDeliveryResolverServiceImplTest extends KENTestC
             }
             return super.processWorkItems(notifications);
         }
+
+        @Override
+        protected List<NotificationMessageDelivery> deliverBatch(NotificationBo notification, List<String> userRecipientIds) {
+            batchThreadNames.add(Thread.currentThread().getName());
+            if (batchCount.incrementAndGet() == failOnBatch) {
+                throw new RuntimeException("Intentional batch failure");
+            }
+            return super.deliverBatch(notification, userRecipientIds);
+        }
+
+        @Override
+        protected Map<String, String> findPrincipalIdsByName(List<String> principalNames) {
+            Map<String, String> principalIdsByName = super.findPrincipalIdsByName(principalNames);
+            principalIdsByName.keySet().removeAll(namesMissingFromBulkLookup);
+            return principalIdsByName;
+        }
+
+        @Override
+        protected String getPrincipalId(String principalName) {
+            individuallyResolvedNames.add(principalName);
+            return super.getPrincipalId(principalName);
+        }
+
+        public Set<String> resolvePrincipalIds(String... principalNames) {
+            return getPrincipalIds(new HashSet<String>(Arrays.asList(principalNames)));
+        }
     }
 
     protected TestNotificationMessageDeliveryResolverService getResolverService() {
@@ -95,6 +145,24 @@ public class NotificationMessageDeliveryResolverServiceImplTest extends KENTestC
         	Executors.newFixedThreadPool(5));
     }
 
+    protected Collection<NotificationMessageDelivery> getMessageDeliveries(long notificationId) {
+        QueryByCriteria.Builder criteria = QueryByCriteria.Builder.create();
+        criteria.setPredicates(equal(NotificationConstants.BO_PROPERTY_NAMES.NOTIFICATION + ".id", notificationId));
+        return KRADServiceLocator.getDataObjectService().findMatching(NotificationMessageDelivery.class, criteria.build()).getResults();
+    }
+
+    protected Set<String> getRecipientIds(Collection<NotificationMessageDelivery> deliveries) {
+        Set<String> recipientIds = new HashSet<String>();
+        for (NotificationMessageDelivery delivery : deliveries) {
+            recipientIds.add(delivery.getUserRecipientId());
+        }
+        return recipientIds;
+    }
+
+    protected NotificationBo getNotification(long notificationId) {
+        return KRADServiceLocator.getDataObjectService().find(NotificationBo.class, notificationId);
+    }
+
     //this is the one need to tweek on Criteria
     protected void assertProcessResults() {
         // one error should have occurred and the delivery should have been marked unlocked again
@@ -176,4 +244,116 @@ public class NotificationMessageDeliveryResolverServiceImplTest extends KENTestC
 
         assertProcessResults();
     }
+
+    /**
+     * Fails the second of three batches of message deliveries for notification #4, then resolves it again.  The
+     * recipients of the first batch, which was committed, must be skipped on the second attempt.
+     */
+    @Test
+    public void testBatchFailureResumed() throws Exception {
+        TestNotificationMessageDeliveryResolverService nSvc = getResolverService();
+        nSvc.setDeliveryBatchSize(2);
+        nSvc.failOnBatch = 2;
+
+        ProcessingResult result = nSvc.resolveNotificationMessageDeliveries();
+        assertEquals(0, result.getSuccesses().size());
+        assertEquals(2, result.getFailures().size());
+        assertEquals(2, getMessageDeliveries(GOOD_NOTIFICATION_ID).size());
+        assertEquals(NotificationConstants.PROCESSING_FLAGS.UNRESOLVED, getNotification(GOOD_NOTIFICATION_ID).getProcessingFlag());
+
+        nSvc = getResolverService();
+        nSvc.setDeliveryBatchSize(2);
+        result = nSvc.resolveNotificationMessageDeliveries();
+        assertEquals(EXPECTED_SUCCESSES - 2, result.getSuccesses().size());
+        assertEquals("Only the remaining recipients should have been delivered to", 2, nSvc.batchCount.get());
+
+        Collection<NotificationMessageDelivery> deliveries = getMessageDeliveries(GOOD_NOTIFICATION_ID);
+        assertEquals(EXPECTED_SUCCESSES, deliveries.size());
+        assertEquals(EXPECTED_SUCCESSES, getRecipientIds(deliveries).size());
+        assertEquals(NotificationConstants.PROCESSING_FLAGS.RESOLVED, getNotification(GOOD_NOTIFICATION_ID).getProcessingFlag());
+        assertProcessResults();
+    }
+
+    /**
+     * Resolves notification #4 in batches of two, processed in parallel by a delivery executor.
+     */
+    @Test
+    public void testParallelBatches() throws Exception {
+        TestNotificationMessageDeliveryResolverService nSvc = getResolverService();
+        nSvc.setDeliveryBatchSize(2);
+        ExecutorService deliveryExecutor = newDeliveryExecutor();
+        nSvc.setDeliveryExecutor(deliveryExecutor);
+        try {
+            ProcessingResult result = nSvc.resolveNotificationMessageDeliveries();
+            assertEquals(EXPECTED_SUCCESSES, result.getSuccesses().size());
+        } finally {
+            deliveryExecutor.shutdownNow();
+        }
+        assertEquals(3, nSvc.batchCount.get());
+        for (String threadName : nSvc.batchThreadNames) {
+            assertTrue("Batch should have been delivered by the delivery executor: " + threadName, threadName.startsWith("delivery-"));
+        }
+
+        Collection<NotificationMessageDelivery> deliveries = getMessageDeliveries(GOOD_NOTIFICATION_ID);
+        assertEquals(EXPECTED_SUCCESSES, deliveries.size());
+        assertEquals(EXPECTED_SUCCESSES, getRecipientIds(deliveries).size());
+        assertProcessResults();
+    }
+
+    /**
+     * Fails one of three batches processed in parallel, the other batches are committed and the notification is left
+     * unresolved until it is resolved again.
+     */
+    @Test
+    public void testParallelBatchFailureResumed() throws Exception {
+        TestNotificationMessageDeliveryResolverService nSvc = getResolverService();
+        nSvc.setDeliveryBatchSize(2);
+        nSvc.failOnBatch = 1;
+        ExecutorService deliveryExecutor = newDeliveryExecutor();
+        nSvc.setDeliveryExecutor(deliveryExecutor);
+        try {
+            ProcessingResult result = nSvc.resolveNotificationMessageDeliveries();
+            assertEquals(0, result.getSuccesses().size());
+            assertEquals(2, result.getFailures().size());
+        } finally {
+            deliveryExecutor.shutdownNow();
+        }
+        assertEquals(4, getMessageDeliveries(GOOD_NOTIFICATION_ID).size());
+        assertEquals(NotificationConstants.PROCESSING_FLAGS.UNRESOLVED, getNotification(GOOD_NOTIFICATION_ID).getProcessingFlag());
+
+        ProcessingResult result = getResolverService().resolveNotificationMessageDeliveries();
+        assertEquals(EXPECTED_SUCCESSES - 4, result.getSuccesses().size());
+        Collection<NotificationMessageDelivery> deliveries = getMessageDeliveries(GOOD_NOTIFICATION_ID);
+        assertEquals(EXPECTED_SUCCESSES, deliveries.size());
+        assertEquals(EXPECTED_SUCCESSES, getRecipientIds(deliveries).size());
+        assertProcessResults();
+    }
+
+    /**
+     * Resolves principal names in bulk, regardless of case, and individually for any name the bulk lookup misses.
+     */
+    @Test
+    public void testPrincipalIdsResolvedInBulkWithFallback() throws Exception {
+        TestNotificationMessageDeliveryResolverService nSvc = getResolverService();
+        nSvc.namesMissingFromBulkLookup.add("testuser2");
+
+        Set<String> principalIds = nSvc.resolvePrincipalIds("TESTUSER1", "testuser2", "testuser4");
+
+        Set<String> expected = new HashSet<String>();
+        for (String principalName : Arrays.asList("testuser1", "testuser2", "testuser4")) {
+            expected.add(KimApiServiceLocator.getIdentityService().getPrincipalByPrincipalName(principalName).getPrincipalId());
+        }
+        assertEquals(expected, principalIds);
+        assertEquals(Collections.singletonList("testuser2"), nSvc.individuallyResolvedNames);
+    }
+
+    private ExecutorService newDeliveryExecutor() {
+        return Executors.newFixedThreadPool(3, new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "delivery-" + threadCount.incrementAndGet());
+            }
+        });
+    }
 }
@@ -19,6 +19,7 @@ import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.util.xml.XmlException;
+import org.kuali.rice.kcb.quartz.WorkItemLeaseClaimer;
 import org.kuali.rice.ken.bo.NotificationBo;
 import org.kuali.rice.ken.bo.NotificationMessageDelivery;
 import org.kuali.rice.ken.bo.NotificationResponseBo;
@@ -34,8 +35,12 @@ import org.kuali.rice.kew.service.KEWServiceLocator;
 import org.kuali.rice.krad.service.KRADServiceLocator;
 import org.kuali.rice.test.BaselineTestCase;
 import org.quartz.SchedulerException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.List;
 
@@ -228,4 +233,81 @@ public class NotificationServiceImplTest extends KENTestCase {
 
     }
 
+    /**
+     * Tests that notifications claimed for resolution are not claimed again until they are unlocked, and that a
+     * notification is not unlocked on behalf of a claim which no longer holds it
+     */
+    @Test
+    public void testTakeNotificationsForResolution() {
+        final NotificationService nSvc = services.getNotificationService();
+        TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+        TransactionCallback<Collection<NotificationBo>> take = new TransactionCallback<Collection<NotificationBo>>() {
+            public Collection<NotificationBo> doInTransaction(TransactionStatus status) {
+                return nSvc.takeNotificationsForResolution();
+            }
+        };
+
+        Collection<NotificationBo> taken = txTemplate.execute(take);
+        assertFalse(taken.isEmpty());
+        for (NotificationBo notification: taken) {
+            assertNotNull(notification.getLockedDateValue());
+            assertNotNull(notification.getLeaseOwner());
+        }
+        assertTrue(txTemplate.execute(take).isEmpty());
+
+        NotificationBo notification = taken.iterator().next();
+        String leaseOwner = notification.getLeaseOwner();
+        notification.setLeaseOwner(leaseOwner + "-stale");
+        nSvc.unlockNotification(notification);
+        assertNotNull(nSvc.getNotification(notification.getId()).getLockedDateValue());
+
+        notification.setLeaseOwner(leaseOwner);
+        nSvc.unlockNotification(notification);
+        assertNull(nSvc.getNotification(notification.getId()).getLockedDateValue());
+
+        Collection<NotificationBo> retaken = txTemplate.execute(take);
+        assertEquals(1, retaken.size());
+        assertEquals(notification.getId(), retaken.iterator().next().getId());
+    }
+
+    /**
+     * Tests that a notification whose lease has expired is reclaimed under a new lease, and that the claim which
+     * held the expired lease can no longer unlock it
+     */
+    @Test
+    public void testExpiredLeaseReclaimed() {
+        final NotificationService nSvc = services.getNotificationService();
+        TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+        TransactionCallback<Collection<NotificationBo>> take = new TransactionCallback<Collection<NotificationBo>>() {
+            public Collection<NotificationBo> doInTransaction(TransactionStatus status) {
+                return nSvc.takeNotificationsForResolution();
+            }
+        };
+
+        Collection<NotificationBo> taken = txTemplate.execute(take);
+        assertFalse(taken.isEmpty());
+        NotificationBo expired = taken.iterator().next();
+        String expiredLeaseOwner = expired.getLeaseOwner();
+
+        // a lease which has not expired yet is not reclaimed
+        assertTrue(txTemplate.execute(take).isEmpty());
+
+        expired.setLockedDateValue(new Timestamp(System.currentTimeMillis()
+                - (WorkItemLeaseClaimer.DEFAULT_LEASE_SECONDS + 60) * 1000L));
+        KRADServiceLocator.getDataObjectService().save(expired);
+
+        Collection<NotificationBo> reclaimed = txTemplate.execute(take);
+        assertEquals(1, reclaimed.size());
+        NotificationBo notification = reclaimed.iterator().next();
+        assertEquals(expired.getId(), notification.getId());
+        assertNotNull(notification.getLeaseOwner());
+        assertFalse(expiredLeaseOwner.equals(notification.getLeaseOwner()));
+        assertTrue(notification.getLockedDateValue().after(expired.getLockedDateValue()));
+
+        // the claim which held the expired lease must not release the new one
+        nSvc.unlockNotification(expired);
+        assertNotNull(nSvc.getNotification(notification.getId()).getLockedDateValue());
+        assertEquals(notification.getLeaseOwner(), nSvc.getNotification(notification.getId()).getLeaseOwner());
+    }
+
 }
@@ -17,13 +17,26 @@ package org.kuali.rice.edl.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 import org.kuali.rice.core.api.config.property.Config;
 import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.edl.impl.bo.EDocLiteAssociation;
+import org.kuali.rice.edl.impl.bo.EDocLiteDefinition;
+import org.kuali.rice.edl.impl.dao.EDocLiteDAO;
 import org.kuali.rice.edl.impl.service.EDocLiteService;
 import org.kuali.rice.edl.impl.service.EdlServiceLocator;
 import org.kuali.rice.kew.test.KEWTestCase;
@@ -68,6 +81,103 @@ public class EDLControllerTest extends KEWTestCase {
 
 	}
 
+	@Test public void testPrototypeRebuiltAfterDefinitionReingested() throws Exception {
+		ConfigContext.getCurrentContextConfig().putProperty(Config.EDL_CONFIG_LOCATION, "classpath:org/kuali/rice/kew/edl/TestEDLConfig.xml");
+
+		assertEquals(1, getEDLService().getEDLControllerUsingEdlName("FakeyEDL").getConfigProcessors().size());
+
+		getEDLService().saveEDocLiteDefinition(new ByteArrayInputStream(getDefinitionXml("FakeyEDL", 2).getBytes()));
+		assertEquals("Prototype should have been rebuilt from the re-ingested definition", 2,
+				getEDLService().getEDLControllerUsingEdlName("FakeyEDL").getConfigProcessors().size());
+	}
+
+	/**
+	 * Changes the association and definition directly through the DAO, as another node of a cluster would, so the
+	 * cached prototype is not cleared and has to be detected as out of date by the ids of the new rows.
+	 */
+	@Test public void testPrototypeRebuiltAfterAssociationReingestedOnAnotherNode() throws Exception {
+		ConfigContext.getCurrentContextConfig().putProperty(Config.EDL_CONFIG_LOCATION, "classpath:org/kuali/rice/kew/edl/TestEDLConfig.xml");
+
+		assertEquals(1, getEDLService().getEDLControllerUsingEdlName("FakeyEDL").getConfigProcessors().size());
+
+		EDocLiteDAO dao = (EDocLiteDAO) EdlServiceLocator.getBean("enEDocLiteDAO");
+		EDocLiteDefinition definition = new EDocLiteDefinition();
+		definition.setName("FakeyEDL2");
+		definition.setXmlContent(getDefinitionXml("FakeyEDL2", 3));
+		definition.setActiveInd(Boolean.TRUE);
+		dao.saveEDocLiteDefinition(definition);
+
+		EDocLiteAssociation existing = dao.getEDocLiteAssociation("FakeyEDL");
+		existing.setActiveInd(Boolean.FALSE);
+		dao.saveEDocLiteAssociation(existing);
+		EDocLiteAssociation association = new EDocLiteAssociation();
+		association.setEdlName("FakeyEDL");
+		association.setDefinition("FakeyEDL2");
+		association.setStyle("Default");
+		association.setActiveInd(Boolean.TRUE);
+		dao.saveEDocLiteAssociation(association);
+
+		assertEquals("Prototype should have been rebuilt from the re-ingested association", 3,
+				getEDLService().getEDLControllerUsingEdlName("FakeyEDL").getConfigProcessors().size());
+	}
+
+	/**
+	 * Creates controllers for the same EDL from several threads and verifies each one gets its own copy of the config
+	 * elements, imported into its own default DOM.
+	 */
+	@Test public void testConcurrentEDLControllerCreation() throws Exception {
+		ConfigContext.getCurrentContextConfig().putProperty(Config.EDL_CONFIG_LOCATION, "classpath:org/kuali/rice/kew/edl/TestEDLConfig.xml");
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<EDLController>> futures = new ArrayList<Future<EDLController>>();
+		try {
+			for (int i = 0; i < 32; i++) {
+				futures.add(executor.submit(new Callable<EDLController>() {
+					@Override
+					public EDLController call() throws Exception {
+						return getEDLService().getEDLControllerUsingEdlName("FakeyEDL");
+					}
+				}));
+			}
+			List<Element> configElements = new ArrayList<Element>();
+			for (Future<EDLController> future : futures) {
+				EDLController edlController = future.get();
+				assertOwnedBy(edlController, edlController.getConfigProcessors());
+				assertOwnedBy(edlController, edlController.getPreProcessors());
+				assertOwnedBy(edlController, edlController.getPostProcessors());
+				assertOwnedBy(edlController, edlController.getStateComponents());
+
+				Element configElement = (Element) edlController.getConfigProcessors().keySet().iterator().next();
+				assertEquals("fieldDef", configElement.getNodeName());
+				assertEquals("department", configElement.getAttribute("name"));
+				for (Element other : configElements) {
+					assertNotSame("Controllers should not share config elements", other, configElement);
+				}
+				configElements.add(configElement);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void assertOwnedBy(EDLController edlController, Map configMap) {
+		assertEquals(1, configMap.size());
+		for (Iterator iter = configMap.keySet().iterator(); iter.hasNext();) {
+			Element configElement = (Element) iter.next();
+			assertSame("Config element should belong to the default DOM of the controller",
+					edlController.getDefaultDOM(), configElement.getOwnerDocument());
+		}
+	}
+
+	private String getDefinitionXml(String name, int fieldCount) {
+		StringBuilder xml = new StringBuilder("<edl name=\"").append(name).append("\" title=\"").append(name).append("\">");
+		for (int i = 0; i < fieldCount; i++) {
+			xml.append("<fieldDef name=\"field").append(i).append("\"><display><type>select</type>")
+					.append("<values title=\"Value\">value</values></display></fieldDef>");
+		}
+		return xml.append("</edl>").toString();
+	}
+
 	private EDLContext getEDLcontext() {
 		EDLContext edlContext = new EDLContext();
 		edlContext.setRequestParser(new RequestParser(new MockHttpServletRequest()));
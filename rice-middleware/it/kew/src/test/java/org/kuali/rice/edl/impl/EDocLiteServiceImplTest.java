@@ -93,6 +93,15 @@ public class EDocLiteServiceImplTest extends KEWTestCase {
         EDocLiteDefinition def = edls.getEDocLiteDefinition("test");
         assertNotNull(def);
         assertEquals("test", def.getName());
+        assertEquals(def.getId(), edls.getEDocLiteDefinitionId("test"));
+
+        // re-ingesting the definition creates a new active row with a new id
+        edls.saveEDocLiteDefinition(new ByteArrayInputStream(defXml.getBytes()));
+        Long newId = edls.getEDocLiteDefinitionId("test");
+        assertNotNull(newId);
+        assertFalse(def.getId().equals(newId));
+        assertEquals(edls.getEDocLiteDefinition("test").getId(), newId);
+        assertNull(edls.getEDocLiteDefinitionId("notThere"));
     }
 
     @Test public void testStoreAssociation() {
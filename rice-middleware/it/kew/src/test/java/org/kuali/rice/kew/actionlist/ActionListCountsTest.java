@@ -0,0 +1,202 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.actionlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.kew.actionitem.ActionItem;
+import org.kuali.rice.kew.actionlist.dao.ActionListChangeStampDAO;
+import org.kuali.rice.kew.actionlist.service.ActionListService;
+import org.kuali.rice.kew.api.KewApiConstants;
+import org.kuali.rice.kew.routeheader.DocumentRouteHeaderValue;
+import org.kuali.rice.kew.service.KEWServiceLocator;
+import org.kuali.rice.kew.test.KEWTestCase;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+/**
+ * Tests the materialized action list counts, the per-principal change stamps and the ETag support of the
+ * {@link ActionListCountServlet}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class ActionListCountsTest extends KEWTestCase {
+
+    private static final String PRINCIPAL_NAME = "ewestfal";
+
+    @Override
+    protected void setUpAfterDataLoad() throws Exception {
+        super.setUpAfterDataLoad();
+        ConfigContext.getCurrentContextConfig().putProperty(KewApiConstants.ACTION_LIST_MATERIALIZED_COUNTS_ENABLED,
+                "true");
+    }
+
+    @Test
+    public void testMaterializedCounts() throws Exception {
+        String principalId = getPrincipalIdForName(PRINCIPAL_NAME);
+        ActionListCounts counts = getActionListService().getActionListCounts(principalId);
+        assertEquals(0, counts.getCount());
+        assertEquals(0, counts.getTotalCount());
+        assertNull(counts.getMaxDateAssigned());
+        assertEquals(0, counts.getChangeStamp());
+
+        saveActionItem(principalId);
+        saveActionItem(principalId);
+
+        counts = getActionListService().getActionListCounts(principalId);
+        assertEquals(2, counts.getCount());
+        assertEquals(2, counts.getTotalCount());
+        assertEquals(getActionListService().getCount(principalId), counts.getCount());
+        assertEquals(2, counts.getChangeStamp());
+    }
+
+    @Test
+    public void testChangeStampIncrementedOncePerTransaction() throws Exception {
+        final String principalId = getPrincipalIdForName(PRINCIPAL_NAME);
+        getTransactionTemplate().execute(new TransactionCallback<Object>() {
+            @Override
+            public Object doInTransaction(TransactionStatus status) {
+                saveActionItem(principalId);
+                saveActionItem(principalId);
+                saveActionItem(principalId);
+                return null;
+            }
+        });
+        assertEquals(1, getActionListChangeStampDAO().getChangeStamp(principalId));
+        assertEquals(1, getActionListService().getActionListCounts(principalId).getChangeStamp());
+        assertEquals(3, getActionListService().getActionListCounts(principalId).getCount());
+    }
+
+    /**
+     * Polls the counts from another thread after the action list has been changed but before the change is committed,
+     * which must not leave the uncommitted totals and change stamp in the cache.
+     */
+    @Test
+    public void testCountsPolledBeforeCommitAreNotCached() throws Exception {
+        final String principalId = getPrincipalIdForName(PRINCIPAL_NAME);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            getTransactionTemplate().execute(new TransactionCallback<Object>() {
+                @Override
+                public Object doInTransaction(TransactionStatus status) {
+                    saveActionItem(principalId);
+                    try {
+                        ActionListCounts polled = executor.submit(new Callable<ActionListCounts>() {
+                            @Override
+                            public ActionListCounts call() {
+                                return getActionListService().getActionListCounts(principalId);
+                            }
+                        }).get();
+                        assertEquals(0, polled.getCount());
+                        assertEquals(0, polled.getChangeStamp());
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    return null;
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+        ActionListCounts counts = getActionListService().getActionListCounts(principalId);
+        assertEquals(1, counts.getCount());
+        assertEquals(1, counts.getChangeStamp());
+    }
+
+    @Test
+    public void testCountServletETag() throws Exception {
+        String principalId = getPrincipalIdForName(PRINCIPAL_NAME);
+        saveActionItem(principalId);
+
+        MockHttpServletResponse response = getCount(null);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("1", response.getContentAsString().trim());
+        String eTag = (String) response.getHeader("ETag");
+        assertEquals("\"1\"", eTag);
+
+        // unchanged action list
+        response = getCount(eTag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals("", response.getContentAsString());
+
+        // changed action list
+        saveActionItem(principalId);
+        response = getCount(eTag);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("2", response.getContentAsString().trim());
+        assertEquals("\"2\"", response.getHeader("ETag"));
+    }
+
+    private MockHttpServletResponse getCount(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ActionListCount");
+        request.setParameter("id", PRINCIPAL_NAME);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ActionListCountServlet().doGet(request, response);
+        return response;
+    }
+
+    private void saveActionItem(String principalId) {
+        DocumentRouteHeaderValue routeHeader = new DocumentRouteHeaderValue();
+        routeHeader.setAppDocId("Test");
+        routeHeader.setCreateDate(new Timestamp(new Date().getTime()));
+        routeHeader.setDocContent("test");
+        routeHeader.setDocRouteLevel(1);
+        routeHeader.setDocRouteStatus(KewApiConstants.ROUTE_HEADER_ENROUTE_CD);
+        routeHeader.setDocTitle("Test");
+        routeHeader.setDocumentTypeId("1");
+        routeHeader.setDocVersion(KewApiConstants.DocumentContentVersions.CURRENT);
+        routeHeader.setRouteStatusDate(new Timestamp(new Date().getTime()));
+        routeHeader.setDateModified(new Timestamp(new Date().getTime()));
+        routeHeader.setInitiatorWorkflowId("someone");
+        routeHeader = KEWServiceLocator.getRouteHeaderService().saveRouteHeader(routeHeader);
+
+        ActionItem actionItem = new ActionItem();
+        actionItem.setActionRequestCd(KewApiConstants.ACTION_REQUEST_APPROVE_REQ);
+        actionItem.setActionRequestId("1");
+        actionItem.setPrincipalId(principalId);
+        actionItem.setDocumentId(routeHeader.getDocumentId());
+        actionItem.setDateAssigned(new Timestamp(new Date().getTime()));
+        actionItem.setDocHandlerURL("Unit testing");
+        actionItem.setDocLabel("unit testing");
+        actionItem.setDocTitle(routeHeader.getDocTitle());
+        actionItem.setDocName("docname");
+        getActionListService().saveActionItem(actionItem);
+    }
+
+    private ActionListService getActionListService() {
+        return KEWServiceLocator.getActionListService();
+    }
+
+    private ActionListChangeStampDAO getActionListChangeStampDAO() {
+        return KEWServiceLocator.getBean("enActionListChangeStampDAO");
+    }
+}
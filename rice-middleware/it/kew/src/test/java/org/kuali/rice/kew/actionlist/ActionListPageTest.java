@@ -0,0 +1,312 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.actionlist;
+
+import org.junit.Test;
+import org.kuali.rice.core.api.delegation.DelegationType;
+import org.kuali.rice.kew.actionitem.ActionItem;
+import org.kuali.rice.kew.actionlist.service.ActionListService;
+import org.kuali.rice.kew.api.KewApiConstants;
+import org.kuali.rice.kew.routeheader.DocumentRouteHeaderValue;
+import org.kuali.rice.kew.service.KEWServiceLocator;
+import org.kuali.rice.kew.test.KEWTestCase;
+import org.kuali.rice.krad.data.KradDataServiceLocator;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the server side paging of the action list through {@link ActionListService#getActionListPage}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class ActionListPageTest extends KEWTestCase {
+
+    private static final String[] TITLES = { "Charlie", "Alpha", "Echo", "Bravo", "Delta" };
+    private static final String[] LABELS = { "Label 3", "Label 5", "Label 1", "Label 4", "Label 2" };
+    private static final int[] CREATE_MINUTES = { 2, 4, 0, 3, 1 };
+    private static final int PAGE_SIZE = 2;
+
+    private String principalId;
+    private List<PageDocument> documents = new ArrayList<PageDocument>();
+    private String secondaryDelegationDocumentId;
+
+    @Override
+    protected void loadTestData() throws Exception {
+        loadXmlFile("ActionListConfig.xml");
+    }
+
+    @Override
+    protected void setUpAfterDataLoad() throws Exception {
+        super.setUpAfterDataLoad();
+        principalId = getPrincipalIdForName("ewestfal");
+        String otherPrincipalId = getPrincipalIdForName("rkirkend");
+        long baseTime = System.currentTimeMillis() - 60L * 60L * 1000L;
+
+        for (int i = 0; i < TITLES.length; i++) {
+            DocumentRouteHeaderValue routeHeader = generateDocRouteHeader(TITLES[i],
+                    new Timestamp(baseTime + CREATE_MINUTES[i] * 60L * 1000L));
+            PageDocument document = new PageDocument(routeHeader, LABELS[i]);
+            documents.add(document);
+            saveActionItem(document, KewApiConstants.ACTION_REQUEST_FYI_REQ, principalId, null);
+        }
+        // several action items on one document are collapsed into a single row
+        saveActionItem(documents.get(0), KewApiConstants.ACTION_REQUEST_ACKNOWLEDGE_REQ, principalId, null);
+        saveActionItem(documents.get(0), KewApiConstants.ACTION_REQUEST_APPROVE_REQ, principalId, null);
+        // primary delegations are part of the default view
+        saveActionItem(documents.get(1), KewApiConstants.ACTION_REQUEST_APPROVE_REQ, principalId,
+                DelegationType.PRIMARY);
+        // items of other principals are not
+        saveActionItem(documents.get(2), KewApiConstants.ACTION_REQUEST_APPROVE_REQ, otherPrincipalId, null);
+
+        // a document only on the action list through a secondary delegation is not part of the default view
+        PageDocument secondary = new PageDocument(generateDocRouteHeader("Secondary", new Timestamp(baseTime)),
+                "Label 0");
+        saveActionItem(secondary, KewApiConstants.ACTION_REQUEST_APPROVE_REQ, principalId, DelegationType.SECONDARY);
+        secondaryDelegationDocumentId = secondary.documentId;
+
+        KradDataServiceLocator.getDataObjectService().flush(ActionItem.class);
+    }
+
+    @Test
+    public void testSortDirectionPerSortCriterion() throws Exception {
+        assertPages("documentId", new Comparator<PageDocument>() {
+            @Override
+            public int compare(PageDocument d1, PageDocument d2) {
+                return d1.documentId.compareTo(d2.documentId);
+            }
+        });
+        assertPages("docTitle", new Comparator<PageDocument>() {
+            @Override
+            public int compare(PageDocument d1, PageDocument d2) {
+                return d1.title.compareTo(d2.title);
+            }
+        });
+        assertPages("docLabel", new Comparator<PageDocument>() {
+            @Override
+            public int compare(PageDocument d1, PageDocument d2) {
+                return d1.label.compareTo(d2.label);
+            }
+        });
+        Comparator<PageDocument> byCreateDate = new Comparator<PageDocument>() {
+            @Override
+            public int compare(PageDocument d1, PageDocument d2) {
+                return d1.createDate.compareTo(d2.createDate);
+            }
+        };
+        assertPages("routeHeaderCreateDate", byCreateDate);
+        assertPages("routeHeader.createDate", byCreateDate);
+        // the create date is the default sort criterion
+        assertPages(null, byCreateDate);
+    }
+
+    @Test
+    public void testActionItemsCollapsedPerDocument() throws Exception {
+        ActionListPage page = getActionListService().getActionListPage(principalId, createDefaultFilter(),
+                "documentId", true, 0, documents.size());
+        assertNotNull(page);
+        assertEquals(documents.size(), page.getActionItems().size());
+
+        Set<String> documentIds = new HashSet<String>();
+        for (ActionItem actionItem : page.getActionItems()) {
+            assertTrue("each document should only be listed once", documentIds.add(actionItem.getDocumentId()));
+        }
+
+        // the item shown for a document is the one the unpaged action list shows
+        Collection<ActionItem> actionList = getActionListService().getActionList(principalId, createDefaultFilter());
+        for (ActionItem expected : actionList) {
+            for (ActionItem actual : page.getActionItems()) {
+                if (expected.getDocumentId().equals(actual.getDocumentId())) {
+                    assertEquals(expected.getId(), actual.getId());
+                }
+            }
+        }
+        ActionItem collapsed = findActionItem(page.getActionItems(), documents.get(0).documentId);
+        assertEquals(KewApiConstants.ACTION_REQUEST_APPROVE_REQ, collapsed.getActionRequestCd());
+    }
+
+    @Test
+    public void testDelegationFilter() throws Exception {
+        ActionListPage page = getActionListService().getActionListPage(principalId, createDefaultFilter(),
+                "documentId", true, 0, documents.size() + 1);
+        assertNotNull(page);
+        assertNull("documents only delegated as secondary should not be listed",
+                findActionItem(page.getActionItems(), secondaryDelegationDocumentId));
+        assertNotNull("documents delegated as primary should be listed",
+                findActionItem(page.getActionItems(), documents.get(1).documentId));
+        assertEquals(documents.size(), page.getFullListSize());
+
+        // views which include secondary delegations are not paged by the database
+        ActionListFilter secondaryFilter = createDefaultFilter();
+        secondaryFilter.setExcludeDelegationType(false);
+        assertNull(getActionListService().getActionListPage(principalId, secondaryFilter, "documentId", true, 0,
+                PAGE_SIZE));
+
+        // nor are filtered views or sorts on columns which are not document level
+        ActionListFilter titleFilter = createDefaultFilter();
+        titleFilter.setDocumentTitle("Alpha");
+        assertNull(getActionListService().getActionListPage(principalId, titleFilter, "documentId", true, 0,
+                PAGE_SIZE));
+        assertNull(getActionListService().getActionListPage(principalId, createDefaultFilter(),
+                "routeHeader.initiatorName", true, 0, PAGE_SIZE));
+    }
+
+    @Test
+    public void testPageBoundaries() throws Exception {
+        ActionListService service = getActionListService();
+
+        ActionListPage first = service.getActionListPage(principalId, createDefaultFilter(), "docTitle", true, 0,
+                PAGE_SIZE);
+        ActionListPage last = service.getActionListPage(principalId, createDefaultFilter(), "docTitle", true, 4,
+                PAGE_SIZE);
+        ActionListPage beyond = service.getActionListPage(principalId, createDefaultFilter(), "docTitle", true, 6,
+                PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, first.getActionItems().size());
+        assertEquals("Alpha", first.getActionItems().get(0).getDocTitle());
+        assertEquals("Bravo", first.getActionItems().get(1).getDocTitle());
+        assertEquals("the last page should only hold the remaining document", 1, last.getActionItems().size());
+        assertEquals("Echo", last.getActionItems().get(0).getDocTitle());
+        assertTrue(beyond.getActionItems().isEmpty());
+
+        for (ActionListPage page : new ActionListPage[] { first, last, beyond }) {
+            assertEquals("the full list size should count every document once", documents.size(),
+                    page.getFullListSize());
+        }
+    }
+
+    /**
+     * Walks all pages sorted on the given criterion in both directions and verifies the order of the documents.
+     */
+    private void assertPages(String sortCriterion, Comparator<PageDocument> comparator) {
+        List<PageDocument> ascending = new ArrayList<PageDocument>(documents);
+        Collections.sort(ascending, comparator);
+        List<PageDocument> descending = new ArrayList<PageDocument>(ascending);
+        Collections.reverse(descending);
+
+        assertEquals("wrong ascending order for " + sortCriterion, getDocumentIds(ascending),
+                getPagedDocumentIds(sortCriterion, true));
+        assertEquals("wrong descending order for " + sortCriterion, getDocumentIds(descending),
+                getPagedDocumentIds(sortCriterion, false));
+    }
+
+    private List<String> getPagedDocumentIds(String sortCriterion, boolean ascending) {
+        List<String> documentIds = new ArrayList<String>();
+        for (int startIndex = 0; startIndex < documents.size(); startIndex += PAGE_SIZE) {
+            ActionListPage page = getActionListService().getActionListPage(principalId, createDefaultFilter(),
+                    sortCriterion, ascending, startIndex, PAGE_SIZE);
+            assertNotNull("sort criterion " + sortCriterion + " should be supported", page);
+            assertTrue(page.getActionItems().size() <= PAGE_SIZE);
+            assertEquals(documents.size(), page.getFullListSize());
+            for (ActionItem actionItem : page.getActionItems()) {
+                documentIds.add(actionItem.getDocumentId());
+            }
+        }
+        return documentIds;
+    }
+
+    private List<String> getDocumentIds(List<PageDocument> pageDocuments) {
+        List<String> documentIds = new ArrayList<String>();
+        for (PageDocument document : pageDocuments) {
+            documentIds.add(document.documentId);
+        }
+        return documentIds;
+    }
+
+    private ActionItem findActionItem(List<ActionItem> actionItems, String documentId) {
+        for (ActionItem actionItem : actionItems) {
+            if (actionItem.getDocumentId().equals(documentId)) {
+                return actionItem;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the filter of the default action list view, as set up by the action list screen.
+     */
+    private ActionListFilter createDefaultFilter() {
+        ActionListFilter filter = new ActionListFilter();
+        filter.setDelegationType(DelegationType.SECONDARY.getCode());
+        filter.setExcludeDelegationType(true);
+        return filter;
+    }
+
+    private DocumentRouteHeaderValue generateDocRouteHeader(String title, Timestamp createDate) {
+        DocumentRouteHeaderValue routeHeader = new DocumentRouteHeaderValue();
+        routeHeader.setAppDocId("Test");
+        routeHeader.setCreateDate(createDate);
+        routeHeader.setDocContent("test");
+        routeHeader.setDocRouteLevel(1);
+        routeHeader.setDocRouteStatus(KewApiConstants.ROUTE_HEADER_ENROUTE_CD);
+        routeHeader.setDocTitle(title);
+        routeHeader.setDocumentTypeId("1");
+        routeHeader.setDocVersion(KewApiConstants.DocumentContentVersions.CURRENT);
+        routeHeader.setRouteStatusDate(createDate);
+        routeHeader.setDateModified(createDate);
+        routeHeader.setInitiatorWorkflowId("someone");
+        return KEWServiceLocator.getRouteHeaderService().saveRouteHeader(routeHeader);
+    }
+
+    private void saveActionItem(PageDocument document, String actionRequested, String principalId,
+            DelegationType delegationType) {
+        ActionItem actionItem = new ActionItem();
+        actionItem.setActionRequestCd(actionRequested);
+        actionItem.setActionRequestId("1");
+        actionItem.setPrincipalId(principalId);
+        actionItem.setDocumentId(document.documentId);
+        actionItem.setDateAssigned(new Timestamp(System.currentTimeMillis()));
+        actionItem.setDocHandlerURL("Unit testing");
+        actionItem.setDocLabel(document.label);
+        actionItem.setDocTitle(document.title);
+        actionItem.setDocName("docname");
+        if (delegationType != null) {
+            actionItem.setDelegationType(delegationType);
+            actionItem.setDelegatorPrincipalId(getPrincipalIdForName("bmcgough"));
+        }
+        getActionListService().saveActionItem(actionItem);
+    }
+
+    private ActionListService getActionListService() {
+        return KEWServiceLocator.getActionListService();
+    }
+
+    /**
+     * The values of a test document which the action list can be sorted on.
+     */
+    private static final class PageDocument {
+        private final String documentId;
+        private final String title;
+        private final String label;
+        private final Timestamp createDate;
+
+        private PageDocument(DocumentRouteHeaderValue routeHeader, String label) {
+            this.documentId = routeHeader.getDocumentId();
+            this.title = routeHeader.getDocTitle();
+            this.label = label;
+            this.createDate = routeHeader.getCreateDate();
+        }
+    }
+
+}
@@ -20,6 +20,7 @@ import org.joda.time.DateTime;
 import org.joda.time.Days;
 import org.joda.time.Years;
 import org.junit.Test;
+import org.kuali.rice.core.api.config.property.ConfigContext;
 import org.kuali.rice.kew.api.KewApiConstants;
 import org.kuali.rice.kew.api.WorkflowDocument;
 import org.kuali.rice.kew.api.WorkflowDocumentFactory;
@@ -27,6 +28,7 @@ import org.kuali.rice.kew.api.action.RequestedActions;
 import org.kuali.rice.kew.api.document.Document;
 import org.kuali.rice.kew.api.document.DocumentStatus;
 import org.kuali.rice.kew.api.document.DocumentStatusCategory;
+import org.kuali.rice.kew.api.document.attribute.WorkflowAttributeDefinition;
 import org.kuali.rice.kew.api.document.search.DocumentSearchCriteria;
 import org.kuali.rice.kew.api.document.search.DocumentSearchResult;
 import org.kuali.rice.kew.api.document.search.DocumentSearchResults;
@@ -48,6 +50,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -225,6 +228,61 @@ public class DocumentSearchTest extends KEWTestCase {
         assertEquals("_blank", results.getSearchResults().get(0).getDocument().getDocumentHandlerUrl());
     }
 
+    /**
+     * Pages through documents which match several values of a searchable attribute, so the search joins return
+     * several rows for every document, and verifies that every document is returned exactly once.
+     */
+    @Test public void testDocSearch_keysetPagingMultiValuedAttributes() throws Exception {
+        String principalId = getPrincipalId("ewestfal");
+        Set<String> routedDocIds = new HashSet<String>();
+        for (int i = 0; i < 7; i++) {
+            WorkflowDocument workflowDocument = WorkflowDocumentFactory.createDocument(principalId, "SearchDocType2");
+            workflowDocument.setTitle("Keyset paging " + i);
+            for (String givenName : new String[] {"alpha", "beta", "gamma"}) {
+                WorkflowAttributeDefinition.Builder definition = WorkflowAttributeDefinition.Builder.create("SearchableAttributeVisible");
+                definition.addPropertyDefinition("givenname", givenName);
+                workflowDocument.addSearchableDefinition(definition.build());
+            }
+            workflowDocument.route("routing this document.");
+            routedDocIds.add(workflowDocument.getDocumentId());
+        }
+
+        ConfigContext.getCurrentContextConfig().putProperty(KewApiConstants.DOC_SEARCH_KEYSET_PAGINATION_CONFIG_PARM, "true");
+        try {
+            DocumentSearchCriteria.Builder criteria = DocumentSearchCriteria.Builder.create();
+            criteria.setDocumentTypeName("SearchDocType2");
+            Map<String, List<String>> attributeValues = new HashMap<String, List<String>>();
+            attributeValues.put("givenname", Arrays.asList("alpha", "beta", "gamma"));
+            criteria.setDocumentAttributeValues(attributeValues);
+            criteria.setMaxResults(2);
+
+            Set<String> foundDocIds = new HashSet<String>();
+            int pages = 0;
+            DocumentSearchResults results;
+            do {
+                results = docSearchService.lookupDocuments(principalId, criteria.build());
+                pages++;
+                assertFalse("Page " + pages + " should not be empty", results.getSearchResults().isEmpty());
+                if (results.getContinuationToken() != null) {
+                    assertEquals("Every page but the last should be full", 2, results.getSearchResults().size());
+                }
+                for (DocumentSearchResult result : results.getSearchResults()) {
+                    assertTrue("Document returned more than once: " + result.getDocument().getDocumentId(),
+                            foundDocIds.add(result.getDocument().getDocumentId()));
+                    assertFalse("The attribute values should be loaded",
+                            result.getDocumentAttributeByName("givenname").isEmpty());
+                }
+                criteria.setContinuationToken(results.getContinuationToken());
+            } while (results.getContinuationToken() != null && pages < 10);
+
+            assertNull("The last page should not have a continuation token", results.getContinuationToken());
+            assertEquals("Should have walked four pages", 4, pages);
+            assertEquals(routedDocIds, foundDocIds);
+        } finally {
+            ConfigContext.getCurrentContextConfig().putProperty(KewApiConstants.DOC_SEARCH_KEYSET_PAGINATION_CONFIG_PARM, "false");
+        }
+    }
+
     @Test public void testDocSearch_maxResultsIsNull() throws Exception {
         String[] docIds = routeTestDocs();
 
@@ -0,0 +1,230 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kew.docsearch;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.core.api.data.DataType;
+import org.kuali.rice.core.api.uif.RemotableAttributeField;
+import org.kuali.rice.kew.api.KewApiConstants;
+import org.kuali.rice.kew.api.WorkflowDocument;
+import org.kuali.rice.kew.api.WorkflowDocumentFactory;
+import org.kuali.rice.kew.api.document.search.DocumentSearchCriteria;
+import org.kuali.rice.kew.api.document.search.DocumentSearchResults;
+import org.kuali.rice.kew.docsearch.dao.SearchableAttributeIndexDAO;
+import org.kuali.rice.kew.impl.document.search.DocumentSearchGeneratorImpl;
+import org.kuali.rice.kew.routeheader.service.RouteHeaderService;
+import org.kuali.rice.kew.service.KEWServiceLocator;
+import org.kuali.rice.kew.test.KEWTestCase;
+import org.kuali.rice.test.BaselineTestCase;
+import org.kuali.rice.test.TestHarnessServiceLocator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests maintaining the searchable attribute index and searching documents through it.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+@BaselineTestCase.BaselineMode(BaselineTestCase.Mode.CLEAR_DB)
+public class SearchableAttributeIndexTest extends KEWTestCase {
+
+    private static final String DOCUMENT_TYPE_NAME = "SearchDocType";
+    private static final String STRING_INDEX_TABLE = "KREW_DOC_HDR_EXT_IDX_T";
+
+    private SearchableAttributeIndexDAO indexDAO;
+
+    @Override
+    protected void loadTestData() throws Exception {
+        loadXmlFile("SearchAttributeConfig.xml");
+    }
+
+    @Override
+    protected void setUpAfterDataLoad() throws Exception {
+        indexDAO = KEWServiceLocator.getBean("enSearchableAttributeIndexDAO");
+    }
+
+    @After
+    public void resetIndexConfig() {
+        ConfigContext.getCurrentContextConfig().putProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_DOCUMENT_TYPES_CONFIG_PARM, "");
+        ConfigContext.getCurrentContextConfig().putProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_SEARCH_ENABLED_CONFIG_PARM, "false");
+    }
+
+    @Test
+    public void testRoutedDocumentIsIndexed() throws Exception {
+        String documentId = routeDocument();
+        assertEquals("Documents of types which are not indexed should not be indexed", 0, countIndexRows(documentId));
+
+        enableIndex(false);
+        documentId = routeDocument();
+        assertEquals(1, countIndexRows(documentId, TestXMLSearchableAttributeString.SEARCH_STORAGE_KEY,
+                TestXMLSearchableAttributeString.SEARCH_STORAGE_VALUE));
+        assertEquals(1, new JdbcTemplate(TestHarnessServiceLocator.getDataSource()).queryForObject(
+                "select count(*) from KREW_DOC_HDR_EXT_IDX_LONG_T where DOC_HDR_ID = ? and DOC_TYP_NM = ?",
+                Integer.class, documentId, DOCUMENT_TYPE_NAME).intValue());
+    }
+
+    @Test
+    public void testUpdateIndex() throws Exception {
+        enableIndex(false);
+        String documentId = routeDocument();
+
+        List<SearchableAttributeValue> values = new ArrayList<SearchableAttributeValue>();
+        values.add(createStringValue("givenname", "jill"));
+        values.add(createStringValue("givenname", "jill"));
+        values.add(createStringValue("givenname", "john"));
+        values.add(createStringValue("givenname", null));
+        indexDAO.updateIndex(documentId, DOCUMENT_TYPE_NAME, values);
+
+        assertEquals("The previous entries should have been replaced", 0,
+                countIndexRows(documentId, "givenname", TestXMLSearchableAttributeString.SEARCH_STORAGE_VALUE));
+        assertEquals("Duplicate values should only be indexed once", 1, countIndexRows(documentId, "givenname", "jill"));
+        assertEquals(1, countIndexRows(documentId, "givenname", "john"));
+        assertEquals("Null values should not be indexed", 2, countIndexRows(documentId));
+
+        indexDAO.updateIndex(documentId, DOCUMENT_TYPE_NAME, Collections.<SearchableAttributeValue>emptyList());
+        assertEquals(0, countIndexRows(documentId));
+    }
+
+    @Test
+    public void testBackfillIndex() throws Exception {
+        List<String> documentIds = new ArrayList<String>();
+        for (int i = 0; i < 3; i++) {
+            documentIds.add(routeDocument());
+        }
+        Collections.sort(documentIds);
+        for (String documentId : documentIds) {
+            assertEquals(0, countIndexRows(documentId));
+        }
+
+        enableIndex(false);
+        assertEquals(documentIds.get(1), indexDAO.backfillIndex(DOCUMENT_TYPE_NAME, null, 2));
+        assertEquals(1, countIndexRows(documentIds.get(0)));
+        assertEquals(1, countIndexRows(documentIds.get(1)));
+        assertEquals("Only the first batch should have been indexed", 0, countIndexRows(documentIds.get(2)));
+
+        assertEquals(documentIds.get(2), indexDAO.backfillIndex(DOCUMENT_TYPE_NAME, documentIds.get(1), 2));
+        assertNull(indexDAO.backfillIndex(DOCUMENT_TYPE_NAME, documentIds.get(2), 2));
+        for (String documentId : documentIds) {
+            assertEquals(1, countIndexRows(documentId, TestXMLSearchableAttributeString.SEARCH_STORAGE_KEY,
+                    TestXMLSearchableAttributeString.SEARCH_STORAGE_VALUE));
+        }
+
+        // backfilling documents which are already indexed does not duplicate their entries
+        assertEquals(documentIds.get(1), indexDAO.backfillIndex(DOCUMENT_TYPE_NAME, null, 2));
+        assertEquals(1, countIndexRows(documentIds.get(0)));
+    }
+
+    @Test
+    public void testDeleteRouteHeaderDeletesIndex() throws Exception {
+        WorkflowDocument document = WorkflowDocumentFactory.createDocument(getPrincipalIdForName("ewestfal"),
+                DOCUMENT_TYPE_NAME);
+        String documentId = document.getDocumentId();
+        indexDAO.updateIndex(documentId, DOCUMENT_TYPE_NAME, Collections.singletonList(createStringValue("givenname",
+                "jill")));
+        assertEquals(1, countIndexRows(documentId));
+
+        RouteHeaderService routeHeaderService = KEWServiceLocator.getRouteHeaderService();
+        routeHeaderService.deleteRouteHeader(routeHeaderService.getRouteHeader(documentId));
+        assertNull(routeHeaderService.getRouteHeader(documentId));
+        assertEquals(0, countIndexRows(documentId));
+    }
+
+    @Test
+    public void testIndexedSearch() throws Exception {
+        String unindexedDocumentId = routeDocument();
+        enableIndex(true);
+        String indexedDocumentId = routeDocument();
+
+        DocumentSearchCriteria criteria = createCriteria(TestXMLSearchableAttributeString.SEARCH_STORAGE_VALUE);
+        RemotableAttributeField.Builder field = RemotableAttributeField.Builder.create(
+                TestXMLSearchableAttributeString.SEARCH_STORAGE_KEY);
+        field.setDataType(DataType.STRING);
+        String sql = new DocumentSearchGeneratorImpl().generateSearchSql(criteria, Collections.singletonList(field.build()));
+        assertTrue("Search should use the index: " + sql, sql.contains(STRING_INDEX_TABLE));
+        assertFalse("Search should not use the attribute table: " + sql, sql.contains("KREW_DOC_HDR_EXT_T "));
+
+        String principalId = getPrincipalIdForName("ewestfal");
+        DocumentSearchResults results = KEWServiceLocator.getDocumentSearchService().lookupDocuments(principalId,
+                criteria);
+        assertEquals("Only the document routed after the index was enabled should be found", 1,
+                results.getSearchResults().size());
+        assertEquals(indexedDocumentId, results.getSearchResults().get(0).getDocument().getDocumentId());
+        assertEquals(0, KEWServiceLocator.getDocumentSearchService().lookupDocuments(principalId,
+                createCriteria("nobody")).getSearchResults().size());
+
+        KEWServiceLocator.getSearchableAttributeIndexService().backfillIndex(DOCUMENT_TYPE_NAME, null);
+        results = KEWServiceLocator.getDocumentSearchService().lookupDocuments(principalId, criteria);
+        assertEquals("Backfilled documents should be found", 2, results.getSearchResults().size());
+        List<String> foundDocumentIds = Arrays.asList(results.getSearchResults().get(0).getDocument().getDocumentId(),
+                results.getSearchResults().get(1).getDocument().getDocumentId());
+        assertTrue(foundDocumentIds.contains(unindexedDocumentId));
+        assertTrue(foundDocumentIds.contains(indexedDocumentId));
+    }
+
+    private void enableIndex(boolean searchEnabled) {
+        ConfigContext.getCurrentContextConfig().putProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_DOCUMENT_TYPES_CONFIG_PARM, DOCUMENT_TYPE_NAME);
+        ConfigContext.getCurrentContextConfig().putProperty(
+                KewApiConstants.DOC_SEARCH_ATTRIBUTE_INDEX_SEARCH_ENABLED_CONFIG_PARM, Boolean.toString(searchEnabled));
+    }
+
+    private String routeDocument() {
+        WorkflowDocument document = WorkflowDocumentFactory.createDocument(getPrincipalIdForName("ewestfal"),
+                DOCUMENT_TYPE_NAME);
+        document.route("routing this document.");
+        return document.getDocumentId();
+    }
+
+    private DocumentSearchCriteria createCriteria(String givenName) {
+        DocumentSearchCriteria.Builder criteria = DocumentSearchCriteria.Builder.create();
+        criteria.setDocumentTypeName(DOCUMENT_TYPE_NAME);
+        Map<String, List<String>> attributeValues = new HashMap<String, List<String>>();
+        attributeValues.put(TestXMLSearchableAttributeString.SEARCH_STORAGE_KEY, Collections.singletonList(givenName));
+        criteria.setDocumentAttributeValues(attributeValues);
+        return criteria.build();
+    }
+
+    private SearchableAttributeStringValue createStringValue(String key, String value) {
+        SearchableAttributeStringValue attributeValue = new SearchableAttributeStringValue();
+        attributeValue.setSearchableAttributeKey(key);
+        attributeValue.setSearchableAttributeValue(value);
+        return attributeValue;
+    }
+
+    private int countIndexRows(String documentId) {
+        return new JdbcTemplate(TestHarnessServiceLocator.getDataSource()).queryForObject(
+                "select count(*) from " + STRING_INDEX_TABLE + " where DOC_HDR_ID = ?", Integer.class, documentId);
+    }
+
+    private int countIndexRows(String documentId, String key, String value) {
+        return new JdbcTemplate(TestHarnessServiceLocator.getDataSource()).queryForObject(
+                "select count(*) from " + STRING_INDEX_TABLE + " where DOC_HDR_ID = ? and DOC_TYP_NM = ?"
+                        + " and KEY_CD = ? and VAL = ?", Integer.class, documentId, DOCUMENT_TYPE_NAME, key, value);
+    }
+
+}
@@ -44,6 +44,7 @@ import org.kuali.rice.kew.docsearch.TestXMLSearchableAttributeString;
 import org.kuali.rice.kew.docsearch.service.DocumentSearchService;
 import org.kuali.rice.kew.doctype.bo.DocumentType;
 import org.kuali.rice.kew.doctype.service.DocumentTypeService;
+import org.kuali.rice.kew.engine.RouteContext;
 import org.kuali.rice.kew.exception.WorkflowServiceErrorException;
 import org.kuali.rice.kew.routeheader.DocumentRouteHeaderValue;
 import org.kuali.rice.kew.service.KEWServiceLocator;
@@ -680,6 +681,37 @@ public class StandardGenericXMLSearchableAttributeTest extends DocumentSearchTes
         assertExtractDocumentAttributes(documentTypeName, "XMLSearchableAttributeStdDateTime", key, expected, "<putWhateverWordsIwantInsideThisTag>" + "<" + key + ">" + "<value>" + value + "</value>" + "</" + key + ">" + "</putWhateverWordsIwantInsideThisTag>");
     }
 
+    /**
+     * Verifies the parsed document content is only shared through a route context which is scoped to a route or an
+     * indexing run, and never retained by the default route context of the thread.
+     */
+    @Test public void testExtractDocumentAttributesSharesParsedContentOnlyInScopedContext() {
+        String attrName = "XMLSearchableAttribute";
+        StandardGenericXMLSearchableAttribute attribute = getAttribute(attrName);
+        ExtensionDefinition ed = createExtensionDefinition(attrName);
+        DocumentWithContent documentWithContent = createDocumentWithSearchableContent("SearchDocType",
+                "<putWhateverWordsIwantInsideThisTag><givenname><value>jack</value></givenname></putWhateverWordsIwantInsideThisTag>");
+
+        long parses = RouteContext.getDocumentContentParseCount();
+        long avoided = RouteContext.getDocumentContentParseAvoidedCount();
+        assertFalse(RouteContext.getCurrentRouteContext().isParsedDocumentContentShared());
+        assertEquals(1, attribute.extractDocumentAttributes(ed, documentWithContent).size());
+        assertEquals(1, attribute.extractDocumentAttributes(ed, documentWithContent).size());
+        assertEquals("Default route context should not be used to share parsed content", parses, RouteContext.getDocumentContentParseCount());
+        assertEquals(avoided, RouteContext.getDocumentContentParseAvoidedCount());
+
+        RouteContext.createNewRouteContext().setParsedDocumentContentShared(true);
+        try {
+            assertEquals(1, attribute.extractDocumentAttributes(ed, documentWithContent).size());
+            assertEquals(1, attribute.extractDocumentAttributes(ed, documentWithContent).size());
+        } finally {
+            RouteContext.releaseCurrentRouteContext();
+        }
+        assertEquals(parses + 1, RouteContext.getDocumentContentParseCount());
+        assertEquals(avoided + 1, RouteContext.getDocumentContentParseAvoidedCount());
+        assertFalse(RouteContext.getCurrentRouteContext().isParsedDocumentContentShared());
+    }
+
     /**
      * Helper to create documentwithcontent with searchable content
      */
@@ -0,0 +1,209 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.role;
+
+import org.junit.Test;
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.core.api.resourceloader.GlobalResourceLoader;
+import org.kuali.rice.kim.api.KimConstants;
+import org.kuali.rice.kim.api.role.RoleMembership;
+import org.kuali.rice.kim.api.services.KimApiServiceLocator;
+import org.kuali.rice.kim.api.type.KimType;
+import org.kuali.rice.kim.framework.role.RoleTypeService;
+import org.kuali.rice.kim.test.KIMTestCase;
+import org.kuali.rice.kns.kim.role.RoleTypeServiceBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link RoleServiceImpl} memoizes role resolution in the current {@link RoleResolutionContext}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class RoleServiceImplResolutionContextTest extends KIMTestCase {
+
+    private static final String ROLE_ONE_ID = "r1";
+    private static final String ROLE_TWO_ID = "r2";
+    private static final String ROLE_ONE_NAMESPACE = "AUTH_SVC_TEST1";
+    private static final String ROLE_ONE_NAME = "RoleOne";
+
+    private CountingRoleServiceImpl roleService;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        ConfigContext.getCurrentContextConfig().putProperty(KimConstants.KIM_ROLE_RESOLUTION_CONTEXT_ENABLED_KEY,
+                "true");
+        roleService = new CountingRoleServiceImpl();
+        roleService.setRoleDao((RoleDao) GlobalResourceLoader.getService("kimRoleDao"));
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        ConfigContext.getCurrentContextConfig().putProperty(KimConstants.KIM_ROLE_RESOLUTION_CONTEXT_ENABLED_KEY,
+                "false");
+        super.tearDown();
+    }
+
+    @Test
+    public void testRoleMembersMemoizedAcrossCalls() {
+        List<String> roleIds = Collections.singletonList(ROLE_ONE_ID);
+
+        roleService.getRoleMembers(roleIds, null);
+        roleService.getRoleMembers(roleIds, null);
+        assertEquals("Without a context every call should resolve the role", 2, roleService.resolveCount);
+
+        roleService.resolveCount = 0;
+        assertTrue(RoleResolutionContext.begin());
+        try {
+            List<RoleMembership> first = roleService.getRoleMembers(roleIds, null);
+            List<RoleMembership> second = roleService.getRoleMembers(roleIds, null);
+            assertEquals("Within a context the role should only be resolved once", 1, roleService.resolveCount);
+            assertEquals(getMemberIds(first), getMemberIds(second));
+        } finally {
+            RoleResolutionContext.end();
+        }
+
+        roleService.getRoleMembers(roleIds, null);
+        assertEquals("The context should not outlive end()", 2, roleService.resolveCount);
+    }
+
+    @Test
+    public void testPrincipalHasRoleMemoizedAcrossCalls() {
+        List<String> roleIds = Collections.singletonList(ROLE_ONE_ID);
+
+        assertTrue(roleService.principalHasRole("p1", roleIds, null, true));
+        int lookups = roleService.roleTypeServiceLookups;
+        assertTrue(roleService.principalHasRole("p1", roleIds, null, true));
+        assertTrue("Without a context every call should look up the role type service",
+                roleService.roleTypeServiceLookups > lookups);
+
+        assertTrue(RoleResolutionContext.begin());
+        try {
+            assertTrue(roleService.principalHasRole("p1", roleIds, null, true));
+            lookups = roleService.roleTypeServiceLookups;
+            assertTrue(roleService.principalHasRole("p1", roleIds, null, true));
+            assertFalse(roleService.principalHasRole("p2", roleIds, null, true));
+            assertEquals("Within a context the role type service should only be looked up once", lookups,
+                    roleService.roleTypeServiceLookups);
+        } finally {
+            RoleResolutionContext.end();
+        }
+    }
+
+    @Test
+    public void testMembershipChangeInvalidatesContext() {
+        List<String> roleIds = Collections.singletonList(ROLE_ONE_ID);
+        Map<String, String> noQualifier = Collections.emptyMap();
+
+        assertTrue(RoleResolutionContext.begin());
+        try {
+            assertFalse(getMemberIds(roleService.getRoleMembers(roleIds, null)).contains("p2"));
+
+            KimApiServiceLocator.getRoleService().assignPrincipalToRole("p2", ROLE_ONE_NAMESPACE, ROLE_ONE_NAME,
+                    noQualifier);
+            assertTrue("An added member should be seen within the same context",
+                    getMemberIds(roleService.getRoleMembers(roleIds, null)).contains("p2"));
+            assertTrue(roleService.principalHasRole("p2", roleIds, null, true));
+
+            KimApiServiceLocator.getRoleService().removePrincipalFromRole("p2", ROLE_ONE_NAMESPACE, ROLE_ONE_NAME,
+                    noQualifier);
+            assertFalse("A removed member should not be seen within the same context",
+                    getMemberIds(roleService.getRoleMembers(roleIds, null)).contains("p2"));
+            assertFalse(roleService.principalHasRole("p2", roleIds, null, true));
+        } finally {
+            RoleResolutionContext.end();
+        }
+    }
+
+    @Test
+    public void testQualifierMatchingBatchedPerRoleTypeService() {
+        Map<String, String> qualification = Collections.singletonMap("campusCode", "BL");
+
+        assertTrue(RoleResolutionContext.begin());
+        try {
+            List<RoleMembership> members = roleService.getRoleMembers(Arrays.asList(ROLE_ONE_ID, ROLE_TWO_ID),
+                    qualification);
+            assertTrue(getMemberIds(members).contains("p1"));
+            assertTrue(getMemberIds(members).contains("p3"));
+        } finally {
+            RoleResolutionContext.end();
+        }
+
+        assertFalse(roleService.roleTypeService.matchedRoleIds.isEmpty());
+        assertEquals("The memberships of both roles should be matched in a single call",
+                new HashSet<String>(Arrays.asList(ROLE_ONE_ID, ROLE_TWO_ID)),
+                roleService.roleTypeService.matchedRoleIds.get(0));
+    }
+
+    private Set<String> getMemberIds(List<RoleMembership> memberships) {
+        Set<String> memberIds = new HashSet<String>();
+        for (RoleMembership membership : memberships) {
+            memberIds.add(membership.getMemberId());
+        }
+        return memberIds;
+    }
+
+    /**
+     * Counts how often roles are resolved and role type services looked up, and uses a single counting role type
+     * service for every role.
+     */
+    private static final class CountingRoleServiceImpl extends RoleServiceImpl {
+        private final CountingRoleTypeService roleTypeService = new CountingRoleTypeService();
+        private int resolveCount;
+        private int roleTypeServiceLookups;
+
+        @Override
+        protected List<RoleMembership> resolveRoleMembers(List<String> roleIds, Map<String, String> qualification,
+                boolean followDelegations, Set<String> foundRoleTypeMembers) {
+            resolveCount++;
+            return super.resolveRoleMembers(roleIds, qualification, followDelegations, foundRoleTypeMembers);
+        }
+
+        @Override
+        protected RoleTypeService getRoleTypeService(KimType typeInfo) {
+            roleTypeServiceLookups++;
+            return roleTypeService;
+        }
+    }
+
+    /**
+     * Records the roles of the memberships passed to each qualifier match.
+     */
+    private static final class CountingRoleTypeService extends RoleTypeServiceBase {
+        private final List<Set<String>> matchedRoleIds = new ArrayList<Set<String>>();
+
+        @Override
+        public List<RoleMembership> getMatchingRoleMemberships(Map<String, String> qualification,
+                List<RoleMembership> roleMemberList) {
+            Set<String> roleIds = new HashSet<String>();
+            for (RoleMembership membership : roleMemberList) {
+                roleIds.add(membership.getRoleId());
+            }
+            matchedRoleIds.add(roleIds);
+            return super.getMatchingRoleMemberships(qualification, roleMemberList);
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package org.kuali.rice.kim.test.service;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.kuali.rice.kim.api.common.assignee.Assignee;
+import org.kuali.rice.kim.api.permission.PermissionCheck;
 import org.kuali.rice.kim.api.permission.PermissionService;
 import org.kuali.rice.kim.api.services.KimApiServiceLocator;
 import org.kuali.rice.kim.impl.common.template.TemplateBo;
@@ -25,9 +26,12 @@ import org.kuali.rice.kim.impl.permission.PermissionBo;
 import org.kuali.rice.kim.test.KIMTestCase;
 import org.kuali.rice.test.BaselineTestCase;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -62,6 +66,36 @@ public class PermissionServiceTest extends KIMTestCase {
 		assertFalse(getPermissionService().isAuthorized("entity124pId", "KR-NS", "perm2", new HashMap<String, String>()));
 	}
 	
+	@Test
+	public void testIsAuthorizedForPermissionChecks() {
+		Map<String, String> noDetails = new HashMap<String, String>();
+		List<PermissionCheck> permissionChecks = new ArrayList<PermissionCheck>();
+		permissionChecks.add(PermissionCheck.Builder.createForPermission("KR-NS", "perm1", null).build());
+		permissionChecks.add(PermissionCheck.Builder.createForPermission("KR-NS", "perm2", null).build());
+		permissionChecks.add(PermissionCheck.Builder.createForPermission("KR-NS", "nonexistentPermission", null).build());
+		permissionChecks.add(PermissionCheck.Builder.createForTemplate("KUALI", "Default", noDetails, null).build());
+		// identical checks are answered the same way and keep their position in the results
+		permissionChecks.add(PermissionCheck.Builder.createForPermission("KR-NS", "perm1", null).build());
+
+		assertEquals(Arrays.asList(true, true, false, true, true),
+				getPermissionService().isAuthorized("entity123pId", permissionChecks));
+
+		List<Boolean> results = getPermissionService().isAuthorized("entity124pId", permissionChecks);
+		assertEquals(permissionChecks.size(), results.size());
+		for (int i = 0; i < permissionChecks.size(); i++) {
+			PermissionCheck check = permissionChecks.get(i);
+			boolean expected = check.isTemplateCheck() ?
+					getPermissionService().isAuthorizedByTemplate("entity124pId", check.getNamespaceCode(),
+							check.getPermissionTemplateName(), check.getPermissionDetails(), check.getQualification()) :
+					getPermissionService().isAuthorized("entity124pId", check.getNamespaceCode(),
+							check.getPermissionName(), check.getQualification());
+			assertEquals("result " + i + " does not match the single check", expected, results.get(i).booleanValue());
+		}
+		assertFalse(results.get(1));
+
+		assertTrue(getPermissionService().isAuthorized("entity123pId", Collections.<PermissionCheck>emptyList()).isEmpty());
+	}
+
 	@Test
 	public void testHasPermissionByTemplateName() {
 		assertTrue(getPermissionService().hasPermissionByTemplate("entity123pId", "KUALI", "Default",
@@ -19,7 +19,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.namespace.QName;
 
@@ -33,6 +35,8 @@ import org.kuali.rice.ksb.messaging.service.KSBJavaService;
 import org.kuali.rice.ksb.service.KSBServiceLocator;
 import org.kuali.rice.ksb.test.KSBTestCase;
 import org.kuali.rice.ksb.util.KSBConstants;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
 
 /**
  * Tests {@link MessageFetcher}. Turn messaging off but leave persistence on.
@@ -105,6 +109,42 @@ public class MessageFetcherTest extends KSBTestCase {
         ConfigContext.getCurrentContextConfig().putProperty(KSBConstants.Config.MESSAGING_OFF, "false");
     }
 
+    @Test
+    public void testClaimNextDocumentsStampsEachClaim() throws Exception {
+        sendMessage();
+        sendMessage();
+        assertEquals(2, KSBServiceLocator.getMessageQueueService().getNextDocuments(null).size());
+
+        List<PersistedMessageBO> firstClaim = claimNextDocuments();
+        assertEquals(2, firstClaim.size());
+        Map<Long, Integer> firstVersions = new HashMap<Long, Integer>();
+        for (PersistedMessageBO message : firstClaim) {
+            assertEquals(KSBConstants.ROUTE_QUEUE_ROUTING, message.getQueueStatus());
+            firstVersions.put(message.getRouteQueueId(), message.getLockVerNbr());
+        }
+
+        // the messages are still routing, so reclaiming them changes nothing but the stamp
+        List<PersistedMessageBO> secondClaim = claimNextDocuments();
+        assertEquals(2, secondClaim.size());
+        for (PersistedMessageBO message : secondClaim) {
+            Integer previousVersion = firstVersions.get(message.getRouteQueueId());
+            assertNotNull(previousVersion);
+            assertTrue("Claim should increment the message version",
+                    message.getLockVerNbr().intValue() > previousVersion.intValue());
+            PersistedMessageBO persisted = KSBServiceLocator.getMessageQueueService().findByRouteQueueId(
+                    message.getRouteQueueId());
+            assertEquals(message.getLockVerNbr(), persisted.getLockVerNbr());
+        }
+    }
+
+    private List<PersistedMessageBO> claimNextDocuments() {
+        return KSBServiceLocator.getTransactionTemplate().execute(new TransactionCallback<List<PersistedMessageBO>>() {
+            public List<PersistedMessageBO> doInTransaction(TransactionStatus status) {
+                return KSBServiceLocator.getMessageQueueService().claimNextDocuments(null);
+            }
+        });
+    }
+
     @Test
     public void testRequeueSingleMessage() throws Exception {
         TestHarnessSharedTopic.CALL_COUNT_NOTIFICATION_THRESHOLD = 1;
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.ksb.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+import org.kuali.rice.ksb.api.KsbApiServiceLocator;
+import org.kuali.rice.ksb.api.bus.ServiceBus;
+import org.kuali.rice.ksb.api.bus.support.JavaServiceDefinition;
+import org.kuali.rice.ksb.api.registry.ServiceEndpointStatus;
+import org.kuali.rice.ksb.api.registry.ServiceInfo;
+import org.kuali.rice.ksb.api.registry.ServiceRegistry;
+import org.kuali.rice.ksb.api.registry.ServiceRegistryChanges;
+import org.kuali.rice.ksb.impl.registry.ServiceRegistryChangeLog;
+import org.kuali.rice.ksb.messaging.remotedservices.TestRepeatMessageQueue;
+import org.kuali.rice.ksb.service.KSBServiceLocator;
+import org.kuali.rice.ksb.test.KSBTestCase;
+
+/**
+ * Tests that the service registry change log is shared through the registry database, so that changes made through
+ * one registry node are returned by the change feed of every other node.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class ServiceRegistryChangeLogTest extends KSBTestCase {
+
+    @Test
+    public void testChangesVisibleToOtherRegistryNodes() throws Exception {
+        ServiceRegistry serviceRegistry = KsbApiServiceLocator.getServiceRegistry();
+        ServiceRegistryChangeLog otherNode = createChangeLog(ServiceRegistryChangeLog.DEFAULT_MAX_SIZE);
+        ServiceRegistryChanges start = serviceRegistry.getOnlineServiceChangesSince(null, 0);
+
+        String serviceId = publishService(new QName("KEW", "serviceForTestingChangeLog"));
+
+        // published through this node, visible to the other one
+        ServiceRegistryChanges changes = serviceRegistry.getOnlineServiceChangesSince(start.getRegistryId(),
+                start.getVersion());
+        assertFalse(changes.isFullSyncRequired());
+        assertTrue(changes.getVersion() > start.getVersion());
+        assertTrue(containsService(changes.getUpdatedServices(), serviceId));
+        ServiceRegistryChangeLog.ChangedServices changedServices = otherNode.getChangedServicesSince(
+                changes.getRegistryId(), start.getVersion());
+        assertEquals(changes.getRegistryId(), changedServices.getRegistryId());
+        assertEquals(changes.getVersion(), changedServices.getVersion());
+        assertTrue(changedServices.getServiceIds().contains(serviceId));
+
+        // nothing changed since
+        ServiceRegistryChanges unchanged = serviceRegistry.getOnlineServiceChangesSince(changes.getRegistryId(),
+                changes.getVersion());
+        assertFalse(unchanged.isFullSyncRequired());
+        assertTrue(unchanged.getUpdatedServices().isEmpty());
+        assertTrue(unchanged.getRemovedServiceIds().isEmpty());
+
+        // taken offline in the database and recorded through the other node
+        assertTrue(serviceRegistry.updateStatus(serviceId, ServiceEndpointStatus.OFFLINE));
+        otherNode.recordChange(serviceId);
+        ServiceRegistryChanges removed = serviceRegistry.getOnlineServiceChangesSince(changes.getRegistryId(),
+                changes.getVersion());
+        assertFalse(removed.isFullSyncRequired());
+        assertTrue(removed.getVersion() >= changes.getVersion() + 2);
+        assertFalse(containsService(removed.getUpdatedServices(), serviceId));
+        assertTrue(removed.getRemovedServiceIds().contains(serviceId));
+    }
+
+    @Test
+    public void testFullSyncRequired() throws Exception {
+        ServiceRegistry serviceRegistry = KsbApiServiceLocator.getServiceRegistry();
+        String serviceId = publishService(new QName("KEW", "serviceForTestingChangeLogGaps"));
+        ServiceRegistryChanges start = serviceRegistry.getOnlineServiceChangesSince(null, 0);
+
+        assertTrue(serviceRegistry.getOnlineServiceChangesSince("someOtherRegistry", start.getVersion())
+                .isFullSyncRequired());
+        assertTrue(serviceRegistry.getOnlineServiceChangesSince(start.getRegistryId(), start.getVersion() + 1)
+                .isFullSyncRequired());
+
+        // a node retaining only the latest change prunes the change the caller has not seen yet
+        ServiceRegistryChangeLog otherNode = createChangeLog(1);
+        otherNode.recordChange(serviceId);
+        otherNode.recordChange(serviceId);
+        ServiceRegistryChanges changes = serviceRegistry.getOnlineServiceChangesSince(start.getRegistryId(),
+                start.getVersion());
+        assertTrue(changes.isFullSyncRequired());
+        assertEquals(start.getVersion() + 2, changes.getVersion());
+        changes = serviceRegistry.getOnlineServiceChangesSince(start.getRegistryId(), start.getVersion() + 1);
+        assertFalse(changes.isFullSyncRequired());
+        assertTrue(containsService(changes.getUpdatedServices(), serviceId));
+    }
+
+    private String publishService(QName serviceName) throws Exception {
+        ServiceBus serviceBus = KsbApiServiceLocator.getServiceBus();
+        JavaServiceDefinition serviceDefinition = new JavaServiceDefinition();
+        serviceDefinition.setServiceName(serviceName);
+        serviceDefinition.setService(new TestRepeatMessageQueue());
+        serviceDefinition.validate();
+        serviceBus.publishService(serviceDefinition, true);
+        List<ServiceInfo> serviceInfos = KsbApiServiceLocator.getServiceRegistry().getOnlineServicesByName(serviceName);
+        assertEquals(1, serviceInfos.size());
+        return serviceInfos.get(0).getServiceId();
+    }
+
+    private ServiceRegistryChangeLog createChangeLog(int maxSize) {
+        ServiceRegistryChangeLog changeLog = new ServiceRegistryChangeLog();
+        changeLog.setDataSource(KSBServiceLocator.getRegistryDataSource());
+        changeLog.setMaxSize(maxSize);
+        return changeLog;
+    }
+
+    private boolean containsService(List<ServiceInfo> serviceInfos, String serviceId) {
+        for (ServiceInfo serviceInfo : serviceInfos) {
+            if (serviceInfo.getServiceId().equals(serviceId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -77,6 +77,11 @@ public final class KewApiConstants {
 
     public static final String STANDARD_DOC_SEARCH_GENERATOR_CLASS_CONFIG_PARM = "documentSearch.generator.class.name";
     public static final String STANDARD_DOC_SEARCH_RESULT_PROCESSOR_CLASS_CONFIG_PARM = "documentSearch.resultProcessor.class.name";
+    public static final String DOC_SEARCH_KEYSET_PAGINATION_CONFIG_PARM = "documentSearch.keysetPagination";
+    public static final String DOC_SEARCH_ATTRIBUTE_INDEX_DOCUMENT_TYPES_CONFIG_PARM = "documentSearch.attributeIndex.documentTypes";
+    public static final String DOC_SEARCH_ATTRIBUTE_INDEX_SEARCH_ENABLED_CONFIG_PARM = "documentSearch.attributeIndex.searchEnabled";
+    public static final String DOC_SEARCH_ATTRIBUTE_INDEX_BACKFILL_BATCH_SIZE_CONFIG_PARM = "documentSearch.attributeIndex.backfillBatchSize";
+    public static final String DOC_SEARCH_ATTRIBUTE_INDEX_BACKFILL_ON_STARTUP_CONFIG_PARM = "documentSearch.attributeIndex.backfillOnStartup";
 
     public static final String DELEGATE_CHANGE_AR_GENERATION_KEY = "DelegateRuleChange.IsGenerateActionRequests";
 
@@ -805,6 +810,8 @@ public final class KewApiConstants {
     public static final String WEEKLY_EMAIL_ACTIVE = "weeklyEmail.active";
 
     public static final String ACTION_LIST_NO_REFRESH = "ActionList.norefresh";
+    public static final String ACTION_LIST_MATERIALIZED_COUNTS_ENABLED = "actionList.materializedCounts.enabled";
+    public static final String ACTION_LIST_SERVER_SIDE_PAGING_ENABLED = "actionList.serverSidePaging.enabled";
     public static final String REQUERY_ACTION_LIST_KEY = "requeryActionList";
 
 
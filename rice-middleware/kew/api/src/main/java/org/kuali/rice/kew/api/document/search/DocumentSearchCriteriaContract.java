@@ -380,4 +380,14 @@ public interface DocumentSearchCriteriaContract {
      * @return
      */
     String getDocSearchUserId();
+
+    /**
+     * Returns the continuation token from the {@link DocumentSearchResultsContract#getContinuationToken()} of a previous
+     * search with the same criteria.  If specified, results are returned starting immediately after the last result of
+     * that search, and {@link #getStartAtIndex()} is ignored.
+     *
+     * @since 2.6.0
+     * @return the continuation token of the previous page of results, or null to start at the first result
+     */
+    String getContinuationToken();
 }
@@ -48,6 +48,7 @@ import java.util.List;
     DocumentSearchResults.Elements.CRITERIA_MODIFIED,
     DocumentSearchResults.Elements.OVER_THRESHOLD,
     DocumentSearchResults.Elements.NUMBER_OF_SECURITY_FILTERED_RESULTS,
+    DocumentSearchResults.Elements.CONTINUATION_TOKEN,
     CoreConstants.CommonElements.FUTURE_ELEMENTS
 })
 public final class DocumentSearchResults extends AbstractDataTransferObject implements DocumentSearchResultsContract {
@@ -68,6 +69,9 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
     @XmlElement(name = Elements.NUMBER_OF_SECURITY_FILTERED_RESULTS, required = true)
     private final int numberOfSecurityFilteredResults;
 
+    @XmlElement(name = Elements.CONTINUATION_TOKEN, required = false)
+    private final String continuationToken;
+
     @SuppressWarnings("unused")
     @XmlAnyElement
     private final Collection<Element> _futureElements = null;
@@ -82,6 +86,7 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
         this.criteriaModified = false;
         this.overThreshold = false;
         this.numberOfSecurityFilteredResults = 0;
+        this.continuationToken = null;
     }
 
     private DocumentSearchResults(Builder builder) {
@@ -90,6 +95,7 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
         this.criteriaModified = builder.isCriteriaModified();
         this.overThreshold = builder.isOverThreshold();
         this.numberOfSecurityFilteredResults = builder.getNumberOfSecurityFilteredResults();
+        this.continuationToken = builder.getContinuationToken();
     }
 
     @Override
@@ -117,6 +123,11 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
         return this.numberOfSecurityFilteredResults;
     }
 
+    @Override
+    public String getContinuationToken() {
+        return this.continuationToken;
+    }
+
     /**
      * A builder which can be used to construct {@link DocumentSearchResults} instances.  Enforces the constraints of
      * the {@link DocumentSearchResultsContract}.
@@ -128,6 +139,7 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
         private boolean criteriaModified;
         private boolean overThreshold;
         private int numberOfSecurityFilteredResults;
+        private String continuationToken;
 
         private Builder(DocumentSearchCriteria.Builder criteria) {
             setSearchResults(new ArrayList<DocumentSearchResult.Builder>());
@@ -175,6 +187,7 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
             builder.setCriteriaModified(contract.isCriteriaModified());
             builder.setOverThreshold(contract.isOverThreshold());
             builder.setNumberOfSecurityFilteredResults(contract.getNumberOfSecurityFilteredResults());
+            builder.setContinuationToken(contract.getContinuationToken());
             return builder;
         }
 
@@ -207,6 +220,11 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
             return this.numberOfSecurityFilteredResults;
         }
 
+        @Override
+        public String getContinuationToken() {
+            return this.continuationToken;
+        }
+
         public void setSearchResults(List<DocumentSearchResult.Builder> searchResults) {
             this.searchResults = searchResults;
         }
@@ -237,6 +255,10 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
             this.numberOfSecurityFilteredResults = numberOfSecurityFilteredResults;
         }
 
+        public void setContinuationToken(String continuationToken) {
+            this.continuationToken = continuationToken;
+        }
+
     }
 
     /**
@@ -257,6 +279,7 @@ public final class DocumentSearchResults extends AbstractDataTransferObject impl
         final static String CRITERIA_MODIFIED = "criteriaModified";
         final static String OVER_THRESHOLD = "overThreshold";
         final static String NUMBER_OF_SECURITY_FILTERED_RESULTS = "numberOfSecurityFilteredResults";
+        final static String CONTINUATION_TOKEN = "continuationToken";
     }
 
 }
@@ -77,4 +77,15 @@ public interface DocumentSearchResultsContract {
      */
     int getNumberOfSecurityFilteredResults();
 
+    /**
+     * Returns an opaque token which can be set on {@link DocumentSearchCriteriaContract#getContinuationToken()} to
+     * retrieve the next page of results for the same criteria.  Only returned by searches which page through the results
+     * by key rather than by index, and only if there are more results available.
+     *
+     * @since 2.6.0
+     * @return the token to use to retrieve the next page of results, or null if there are no further results or the
+     * search does not support continuation
+     */
+    String getContinuationToken();
+
 }
@@ -43,6 +43,9 @@ public final class KimConstants {
 	public static final String KIM_ATTRIBUTE_BOOLEAN_FALSE_STR_VALUE = "N";
 
     public static final String KIM_ENABLE_HISTORY_KEY = "kim.enable.history";
+    public static final String KIM_GROUP_MEMBERSHIP_CLOSURE_ENABLED_KEY = "kim.groupMembershipClosure.enabled";
+    public static final String KIM_GROUP_MEMBERSHIP_CLOSURE_REBUILD_CRON_KEY = "kim.groupMembershipClosure.rebuild.cronExpression";
+    public static final String KIM_ROLE_RESOLUTION_CONTEXT_ENABLED_KEY = "kim.roleResolutionContext.enabled";
 	
 	public static final class EntityTypes {
 		public static final String PERSON = "PERSON";
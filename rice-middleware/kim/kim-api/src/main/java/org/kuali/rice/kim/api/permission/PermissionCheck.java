@@ -0,0 +1,286 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.api.permission;
+
+import org.apache.commons.lang.StringUtils;
+import org.kuali.rice.core.api.CoreConstants;
+import org.kuali.rice.core.api.mo.AbstractDataTransferObject;
+import org.kuali.rice.core.api.mo.ModelBuilder;
+import org.kuali.rice.core.api.util.jaxb.MapStringStringAdapter;
+import org.w3c.dom.Element;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A single authorization check to be evaluated as part of a call to
+ * {@link PermissionService#isAuthorized(String, java.util.List)}.
+ *
+ * <p>A check either names a specific permission (namespace code plus permission name) or a permission template
+ * (namespace code plus permission template name, along with the permission details to match against).  Both kinds
+ * of check can carry a qualification which is used when determining whether the principal has one of the roles
+ * granted the permission.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ * @since 2.6.0
+ */
+@XmlRootElement(name = PermissionCheck.Constants.ROOT_ELEMENT_NAME)
+@XmlAccessorType(XmlAccessType.NONE)
+@XmlType(name = PermissionCheck.Constants.TYPE_NAME, propOrder = {
+        PermissionCheck.Elements.NAMESPACE_CODE,
+        PermissionCheck.Elements.PERMISSION_NAME,
+        PermissionCheck.Elements.PERMISSION_TEMPLATE_NAME,
+        PermissionCheck.Elements.PERMISSION_DETAILS,
+        PermissionCheck.Elements.QUALIFICATION,
+        CoreConstants.CommonElements.FUTURE_ELEMENTS
+})
+public final class PermissionCheck extends AbstractDataTransferObject {
+
+    private static final long serialVersionUID = 1L;
+
+    @XmlElement(name = Elements.NAMESPACE_CODE, required = true)
+    private final String namespaceCode;
+
+    @XmlElement(name = Elements.PERMISSION_NAME, required = false)
+    private final String permissionName;
+
+    @XmlElement(name = Elements.PERMISSION_TEMPLATE_NAME, required = false)
+    private final String permissionTemplateName;
+
+    @XmlElement(name = Elements.PERMISSION_DETAILS, required = false)
+    @XmlJavaTypeAdapter(value = MapStringStringAdapter.class)
+    private final Map<String, String> permissionDetails;
+
+    @XmlElement(name = Elements.QUALIFICATION, required = false)
+    @XmlJavaTypeAdapter(value = MapStringStringAdapter.class)
+    private final Map<String, String> qualification;
+
+    @SuppressWarnings("unused")
+    @XmlAnyElement
+    private final Collection<Element> _futureElements = null;
+
+    /**
+     * Private constructor for JAXB only
+     */
+    @SuppressWarnings("unused")
+    private PermissionCheck() {
+        this.namespaceCode = null;
+        this.permissionName = null;
+        this.permissionTemplateName = null;
+        this.permissionDetails = null;
+        this.qualification = null;
+    }
+
+    private PermissionCheck(Builder builder) {
+        this.namespaceCode = builder.getNamespaceCode();
+        this.permissionName = builder.getPermissionName();
+        this.permissionTemplateName = builder.getPermissionTemplateName();
+        this.permissionDetails = builder.getPermissionDetails() == null ? null : new HashMap<String, String>(
+                builder.getPermissionDetails());
+        this.qualification = builder.getQualification() == null ? null : new HashMap<String, String>(
+                builder.getQualification());
+    }
+
+    public String getNamespaceCode() {
+        return namespaceCode;
+    }
+
+    /**
+     * Returns the name of the permission to check, or null if this check is against a permission template.
+     *
+     * @return the permission name
+     */
+    public String getPermissionName() {
+        return permissionName;
+    }
+
+    /**
+     * Returns the name of the permission template to check, or null if this check is against a named permission.
+     *
+     * @return the permission template name
+     */
+    public String getPermissionTemplateName() {
+        return permissionTemplateName;
+    }
+
+    /**
+     * Returns whether this check is against a permission template rather than a named permission.
+     *
+     * @return true if this is a template check
+     */
+    public boolean isTemplateCheck() {
+        return permissionTemplateName != null;
+    }
+
+    public Map<String, String> getPermissionDetails() {
+        return permissionDetails == null ? Collections.<String, String>emptyMap() : Collections.unmodifiableMap(
+                permissionDetails);
+    }
+
+    public Map<String, String> getQualification() {
+        return qualification == null ? Collections.<String, String>emptyMap() : Collections.unmodifiableMap(
+                qualification);
+    }
+
+    /**
+     * A builder which can be used to construct {@link PermissionCheck} instances.
+     */
+    public static final class Builder implements Serializable, ModelBuilder {
+
+        private static final long serialVersionUID = 1L;
+
+        private String namespaceCode;
+        private String permissionName;
+        private String permissionTemplateName;
+        private Map<String, String> permissionDetails;
+        private Map<String, String> qualification;
+
+        private Builder(String namespaceCode) {
+            setNamespaceCode(namespaceCode);
+        }
+
+        /**
+         * Creates a builder for a check against the named permission.
+         *
+         * @param namespaceCode the namespace code of the permission, cannot be null or blank
+         * @param permissionName the name of the permission, cannot be null or blank
+         * @param qualification the qualification to check role membership with, may be null
+         * @return the builder
+         * @throws IllegalArgumentException if the namespaceCode or permissionName is null or blank
+         */
+        public static Builder createForPermission(String namespaceCode, String permissionName,
+                Map<String, String> qualification) {
+            if (StringUtils.isBlank(permissionName)) {
+                throw new IllegalArgumentException("permissionName is blank");
+            }
+            Builder builder = new Builder(namespaceCode);
+            builder.permissionName = permissionName;
+            builder.setQualification(qualification);
+            return builder;
+        }
+
+        /**
+         * Creates a builder for a check against the permissions created from the given permission template.
+         *
+         * @param namespaceCode the namespace code of the permission template, cannot be null or blank
+         * @param permissionTemplateName the name of the permission template, cannot be null or blank
+         * @param permissionDetails the permission details to match permissions against, may be null
+         * @param qualification the qualification to check role membership with, may be null
+         * @return the builder
+         * @throws IllegalArgumentException if the namespaceCode or permissionTemplateName is null or blank
+         */
+        public static Builder createForTemplate(String namespaceCode, String permissionTemplateName,
+                Map<String, String> permissionDetails, Map<String, String> qualification) {
+            if (StringUtils.isBlank(permissionTemplateName)) {
+                throw new IllegalArgumentException("permissionTemplateName is blank");
+            }
+            Builder builder = new Builder(namespaceCode);
+            builder.permissionTemplateName = permissionTemplateName;
+            builder.setPermissionDetails(permissionDetails);
+            builder.setQualification(qualification);
+            return builder;
+        }
+
+        /**
+         * Creates a builder populated from the given check.
+         *
+         * @param permissionCheck the check to copy, cannot be null
+         * @return the builder
+         * @throws IllegalArgumentException if the permissionCheck is null
+         */
+        public static Builder create(PermissionCheck permissionCheck) {
+            if (permissionCheck == null) {
+                throw new IllegalArgumentException("permissionCheck is null");
+            }
+            Builder builder = new Builder(permissionCheck.getNamespaceCode());
+            builder.permissionName = permissionCheck.getPermissionName();
+            builder.permissionTemplateName = permissionCheck.getPermissionTemplateName();
+            builder.setPermissionDetails(permissionCheck.permissionDetails);
+            builder.setQualification(permissionCheck.qualification);
+            return builder;
+        }
+
+        @Override
+        public PermissionCheck build() {
+            return new PermissionCheck(this);
+        }
+
+        public String getNamespaceCode() {
+            return namespaceCode;
+        }
+
+        public void setNamespaceCode(String namespaceCode) {
+            if (StringUtils.isBlank(namespaceCode)) {
+                throw new IllegalArgumentException("namespaceCode is blank");
+            }
+            this.namespaceCode = namespaceCode;
+        }
+
+        public String getPermissionName() {
+            return permissionName;
+        }
+
+        public String getPermissionTemplateName() {
+            return permissionTemplateName;
+        }
+
+        public Map<String, String> getPermissionDetails() {
+            return permissionDetails;
+        }
+
+        public void setPermissionDetails(Map<String, String> permissionDetails) {
+            this.permissionDetails = permissionDetails == null ? null : new HashMap<String, String>(permissionDetails);
+        }
+
+        public Map<String, String> getQualification() {
+            return qualification;
+        }
+
+        public void setQualification(Map<String, String> qualification) {
+            this.qualification = qualification == null ? null : new HashMap<String, String>(qualification);
+        }
+    }
+
+    /**
+     * Defines some internal constants used on this class.
+     */
+    static class Constants {
+        final static String ROOT_ELEMENT_NAME = "permissionCheck";
+        final static String TYPE_NAME = "PermissionCheckType";
+    }
+
+    /**
+     * A private class which exposes constants which define the XML element names to use
+     * when this object is marshalled to XML.
+     */
+    static class Elements {
+        final static String NAMESPACE_CODE = "namespaceCode";
+        final static String PERMISSION_NAME = "permissionName";
+        final static String PERMISSION_TEMPLATE_NAME = "permissionTemplateName";
+        final static String PERMISSION_DETAILS = "permissionDetails";
+        final static String QUALIFICATION = "qualification";
+    }
+}
@@ -208,6 +208,33 @@ public interface PermissionService {
                                    @XmlJavaTypeAdapter(value = MapStringStringAdapter.class)
                                    @WebParam(name = "qualification") Map<String, String> qualification)
             throws RiceIllegalArgumentException;
+
+    /**
+     * Evaluates a number of permission checks for a single principal in one call.  Each check is evaluated exactly
+     * as {@link #isAuthorized(String, String, String, java.util.Map)} or
+     * {@link #isAuthorizedByTemplate(String, String, String, java.util.Map, java.util.Map)} would evaluate it.
+     * Identical checks, and checks which resolve to the same roles and qualification, are only evaluated once.
+     *
+     * <p>Role lookups, group membership and permission type service matching are only shared between the remaining
+     * checks when {@link org.kuali.rice.kim.api.KimConstants#KIM_ROLE_RESOLUTION_CONTEXT_ENABLED_KEY} is set, which
+     * it is not by default.</p>
+     *
+     * <p>This is intended for callers such as UI authorizers which need to evaluate many permissions when
+     * rendering a single page, so that they can do so with a single service call.</p>
+     *
+     * @param principalId the principal id to check.  cannot be null or blank.
+     * @param permissionChecks the checks to evaluate. cannot be null.
+     * @return the results of the checks, in the same order as the given checks
+     * @throws RiceIllegalArgumentException if the principalId is null or blank or permissionChecks is null
+     * @since 2.6.0
+     */
+    @WebMethod(operationName = "isAuthorizedForPermissionChecks")
+    @XmlElementWrapper(name = "results", required = true)
+    @XmlElement(name = "isAuthorized", required = false)
+    @WebResult(name = "results")
+    List<Boolean> isAuthorized(@WebParam(name = "principalId") String principalId,
+                               @WebParam(name = "permissionChecks") List<PermissionCheck> permissionChecks)
+            throws RiceIllegalArgumentException;
     
     
     /**
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.api.permission
+
+import javax.xml.bind.JAXBContext
+import javax.xml.bind.Marshaller
+import javax.xml.bind.Unmarshaller
+import org.junit.Assert
+import org.junit.Test
+
+class PermissionCheckTest {
+
+	private static final String NAMESPACE_CODE = "KR-NS"
+	private static final String PERMISSION_NAME = "Look Up Records"
+	private static final String TEMPLATE_NAME = "Edit Document"
+	private static final Map<String, String> DETAILS = [documentTypeName : "TestDocument"]
+	private static final Map<String, String> QUALIFICATION = [documentNumber : "1234"]
+
+	@Test
+	void test_createForPermission() {
+		PermissionCheck check = PermissionCheck.Builder.createForPermission(NAMESPACE_CODE, PERMISSION_NAME, QUALIFICATION).build()
+		Assert.assertEquals(NAMESPACE_CODE, check.getNamespaceCode())
+		Assert.assertEquals(PERMISSION_NAME, check.getPermissionName())
+		Assert.assertNull(check.getPermissionTemplateName())
+		Assert.assertFalse(check.isTemplateCheck())
+		Assert.assertTrue(check.getPermissionDetails().isEmpty())
+		Assert.assertEquals(QUALIFICATION, check.getQualification())
+	}
+
+	@Test
+	void test_createForTemplate() {
+		PermissionCheck check = PermissionCheck.Builder.createForTemplate(NAMESPACE_CODE, TEMPLATE_NAME, DETAILS, null).build()
+		Assert.assertEquals(TEMPLATE_NAME, check.getPermissionTemplateName())
+		Assert.assertNull(check.getPermissionName())
+		Assert.assertTrue(check.isTemplateCheck())
+		Assert.assertEquals(DETAILS, check.getPermissionDetails())
+		Assert.assertTrue(check.getQualification().isEmpty())
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	void test_Builder_fail_blank_namespace() {
+		PermissionCheck.Builder.createForPermission(" ", PERMISSION_NAME, null)
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	void test_Builder_fail_blank_permission_name() {
+		PermissionCheck.Builder.createForPermission(NAMESPACE_CODE, "", null)
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	void test_Builder_fail_blank_template_name() {
+		PermissionCheck.Builder.createForTemplate(NAMESPACE_CODE, null, DETAILS, null)
+	}
+
+	@Test
+	void test_Builder_copies_maps() {
+		Map<String, String> details = new HashMap<String, String>(DETAILS)
+		PermissionCheck check = PermissionCheck.Builder.createForTemplate(NAMESPACE_CODE, TEMPLATE_NAME, details, null).build()
+		details.put("routeNodeName", "PreRoute")
+		Assert.assertEquals(DETAILS, check.getPermissionDetails())
+	}
+
+	@Test
+	void test_copy_and_equals() {
+		PermissionCheck o1 = PermissionCheck.Builder.createForTemplate(NAMESPACE_CODE, TEMPLATE_NAME, DETAILS, QUALIFICATION).build()
+		PermissionCheck o2 = PermissionCheck.Builder.create(o1).build()
+		Assert.assertEquals(o1, o2)
+		Assert.assertEquals(o1.hashCode(), o2.hashCode())
+		Assert.assertFalse(o1.equals(PermissionCheck.Builder.createForTemplate(NAMESPACE_CODE, TEMPLATE_NAME, DETAILS, null).build()))
+	}
+
+	@Test
+	void test_Xml_Marshal_Unmarshal() {
+		JAXBContext jc = JAXBContext.newInstance(PermissionCheck.class)
+		Marshaller marshaller = jc.createMarshaller()
+		Unmarshaller unmarshaller = jc.createUnmarshaller()
+
+		[PermissionCheck.Builder.createForPermission(NAMESPACE_CODE, PERMISSION_NAME, QUALIFICATION).build(),
+		 PermissionCheck.Builder.createForTemplate(NAMESPACE_CODE, TEMPLATE_NAME, DETAILS, QUALIFICATION).build()].each { PermissionCheck check ->
+			StringWriter sw = new StringWriter()
+			marshaller.marshal(check, sw)
+			PermissionCheck actual = (PermissionCheck) unmarshaller.unmarshal(new StringReader(sw.toString()))
+			Assert.assertEquals(check.getNamespaceCode(), actual.getNamespaceCode())
+			Assert.assertEquals(check.getPermissionName(), actual.getPermissionName())
+			Assert.assertEquals(check.getPermissionTemplateName(), actual.getPermissionTemplateName())
+			Assert.assertEquals(check.getPermissionDetails(), actual.getPermissionDetails())
+			Assert.assertEquals(check.getQualification(), actual.getQualification())
+		}
+	}
+
+}
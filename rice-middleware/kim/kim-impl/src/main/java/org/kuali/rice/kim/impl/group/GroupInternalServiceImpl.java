@@ -27,6 +27,8 @@ import org.kuali.rice.kew.api.KewApiConstants;
 import org.kuali.rice.kew.api.KewApiServiceLocator;
 import org.kuali.rice.kim.api.group.GroupService;
 import org.kuali.rice.kim.api.services.KimApiServiceLocator;
+import org.kuali.rice.kim.impl.role.RoleResolutionContext;
+import org.kuali.rice.kim.impl.services.KimImplServiceLocator;
 import org.kuali.rice.krad.data.DataObjectService;
 import org.kuali.rice.krad.data.PersistenceOption;
 import org.kuali.rice.krad.service.KRADServiceLocator;
@@ -55,6 +57,8 @@ public class GroupInternalServiceImpl implements GroupInternalService {
             oldIds = ims.getMemberPrincipalIds(group.getId());
         }
         group = getDataObjectService().save(group,PersistenceOption.FLUSH);
+        KimImplServiceLocator.getGroupMembershipClosureService().updateClosure(Collections.singletonList(group.getId()));
+        RoleResolutionContext.invalidate();
         List<String> newIds = ims.getMemberPrincipalIds(group.getId());
         updateForWorkgroupChange(group.getId(), oldIds, newIds);
         return group;
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.kuali.rice.core.api.membership.MemberType;
+
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calculates the flattened memberships of a group from the direct memberships of the group and of the groups nested
+ * within it.
+ *
+ * <p>This mirrors the traversal done by {@link GroupServiceImpl}: inactive groups are not traversed, and a nested
+ * membership is only active while every membership in the chain leading to it is active.  Since the same member can
+ * be reached through several chains, a member may have more than one flattened membership, each with its own active
+ * dates.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+final class GroupMembershipClosureCalculator {
+
+    private final Map<String, List<GroupMembershipClosureEntry>> directMemberships;
+    private final Set<String> activeGroupIds;
+
+    /**
+     * @param directMemberships the direct memberships, keyed by group id, of the groups being calculated and every
+     * group nested within them
+     * @param activeGroupIds the ids of the groups which are active
+     */
+    GroupMembershipClosureCalculator(Map<String, List<GroupMembershipClosureEntry>> directMemberships,
+            Set<String> activeGroupIds) {
+        this.directMemberships = directMemberships;
+        this.activeGroupIds = activeGroupIds;
+    }
+
+    /**
+     * Returns the flattened memberships of the given group, or an empty list if the group is not active.
+     */
+    List<GroupMembershipClosureEntry> calculate(String groupId) {
+        if (!activeGroupIds.contains(groupId)) {
+            return Collections.emptyList();
+        }
+        Set<GroupMembershipClosureEntry> closure = new LinkedHashSet<GroupMembershipClosureEntry>();
+        // the date ranges each nested group has already been traversed for
+        Map<String, List<Timestamp[]>> traversed = new HashMap<String, List<Timestamp[]>>();
+        Deque<GroupMembershipClosureEntry> pending = new ArrayDeque<GroupMembershipClosureEntry>();
+        pending.push(new GroupMembershipClosureEntry(groupId, groupId, MemberType.GROUP.getCode(), null, null));
+
+        while (!pending.isEmpty()) {
+            GroupMembershipClosureEntry path = pending.pop();
+            List<GroupMembershipClosureEntry> members = directMemberships.get(path.getMemberId());
+            if (members == null) {
+                continue;
+            }
+            for (GroupMembershipClosureEntry member : members) {
+                Timestamp from = later(path.getActiveFromDate(), member.getActiveFromDate());
+                Timestamp to = earlier(path.getActiveToDate(), member.getActiveToDate());
+                if (from != null && to != null && !from.before(to)) {
+                    continue;
+                }
+                closure.add(new GroupMembershipClosureEntry(groupId, member.getMemberId(), member.getMemberTypeCode(),
+                        from, to));
+                if (MemberType.GROUP.getCode().equals(member.getMemberTypeCode())
+                        && !groupId.equals(member.getMemberId())
+                        && activeGroupIds.contains(member.getMemberId())
+                        && markTraversed(traversed, member.getMemberId(), from, to)) {
+                    pending.push(new GroupMembershipClosureEntry(groupId, member.getMemberId(),
+                            member.getMemberTypeCode(), from, to));
+                }
+            }
+        }
+        return new ArrayList<GroupMembershipClosureEntry>(closure);
+    }
+
+    /**
+     * Records that the given group is traversed for the given date range, returning false if it has already been
+     * traversed for a range which covers it.
+     */
+    private boolean markTraversed(Map<String, List<Timestamp[]>> traversed, String groupId, Timestamp from,
+            Timestamp to) {
+        List<Timestamp[]> ranges = traversed.get(groupId);
+        if (ranges == null) {
+            ranges = new ArrayList<Timestamp[]>();
+            traversed.put(groupId, ranges);
+        }
+        for (Timestamp[] range : ranges) {
+            boolean fromCovered = range[0] == null || (from != null && !from.before(range[0]));
+            boolean toCovered = range[1] == null || (to != null && !to.after(range[1]));
+            if (fromCovered && toCovered) {
+                return false;
+            }
+        }
+        ranges.add(new Timestamp[] {from, to});
+        return true;
+    }
+
+    private static Timestamp later(Timestamp first, Timestamp second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return first.after(second) ? first : second;
+    }
+
+    private static Timestamp earlier(Timestamp first, Timestamp second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return first.before(second) ? first : second;
+    }
+
+}
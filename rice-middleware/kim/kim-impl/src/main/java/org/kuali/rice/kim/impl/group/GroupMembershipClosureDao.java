@@ -0,0 +1,82 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data access for the flattened group membership closure stored in KRIM_GRP_MBR_CLSR_T, as well as the direct
+ * memberships it is calculated from.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public interface GroupMembershipClosureDao {
+
+    /**
+     * Returns the direct memberships of the given groups, regardless of their active dates.
+     */
+    List<GroupMembershipClosureEntry> getDirectMemberships(Collection<String> groupIds);
+
+    /**
+     * Returns the ids of the given groups which are active.
+     */
+    Set<String> getActiveGroupIds(Collection<String> groupIds);
+
+    /**
+     * Returns the ids of the groups which directly contain any of the given groups, regardless of active dates.
+     */
+    Set<String> getDirectParentGroupIds(Collection<String> groupIds);
+
+    /**
+     * Returns the ids of the groups which follow the given group id, in group id order.
+     *
+     * @param afterGroupId the group id to start after, or null to start with the first group
+     * @param maxResults the maximum number of group ids to return
+     */
+    List<String> getGroupIdsAfter(String afterGroupId, int maxResults);
+
+    /**
+     * Locks the KRIM_GRP_T rows of the given groups until the end of the current transaction.  The rows are locked one
+     * at a time in group id order so that concurrent transactions locking overlapping groups can't deadlock.
+     */
+    void lockGroups(Collection<String> groupIds);
+
+    /**
+     * Replaces the flattened memberships of the given group.
+     */
+    void replaceClosure(String groupId, Collection<GroupMembershipClosureEntry> entries);
+
+    /**
+     * Returns whether the given member belongs to the group, directly or through nested groups, as of the given date.
+     */
+    boolean isMember(String memberId, String memberTypeCode, String groupId, Timestamp asOfDate);
+
+    /**
+     * Returns the ids of the members of the given type which belong to the group, directly or through nested groups,
+     * as of the given date.
+     */
+    List<String> getMemberIds(String groupId, String memberTypeCode, Timestamp asOfDate);
+
+    /**
+     * Returns the ids of the groups the given member belongs to, directly or through nested groups, as of the given
+     * date.
+     */
+    List<String> getGroupIds(String memberId, String memberTypeCode, Timestamp asOfDate);
+
+}
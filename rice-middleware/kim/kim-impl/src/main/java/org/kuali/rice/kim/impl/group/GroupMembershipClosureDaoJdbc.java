@@ -0,0 +1,172 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.apache.commons.lang.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Spring JdbcTemplate implementation of {@link GroupMembershipClosureDao}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class GroupMembershipClosureDaoJdbc implements GroupMembershipClosureDao {
+
+    // stays below the 1000 element limit Oracle imposes on IN lists
+    private static final int MAX_IN_LIST_SIZE = 500;
+
+    private static final String ACTIVE_AS_OF_CRITERIA =
+            " AND (ACTV_FRM_DT IS NULL OR ACTV_FRM_DT <= ?) AND (ACTV_TO_DT IS NULL OR ACTV_TO_DT > ?)";
+
+    private static final RowMapper<String> FIRST_COLUMN_MAPPER = new RowMapper<String>() {
+        @Override
+        public String mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+            return resultSet.getString(1);
+        }
+    };
+
+    protected DataSource dataSource;
+
+    @Override
+    public List<GroupMembershipClosureEntry> getDirectMemberships(Collection<String> groupIds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        List<GroupMembershipClosureEntry> memberships = new ArrayList<GroupMembershipClosureEntry>();
+        for (List<String> batch : partition(groupIds)) {
+            memberships.addAll(template.query("SELECT GRP_ID, MBR_ID, MBR_TYP_CD, ACTV_FRM_DT, ACTV_TO_DT"
+                    + " FROM KRIM_GRP_MBR_T WHERE GRP_ID IN (" + placeholders(batch.size()) + ")", batch.toArray(),
+                    new RowMapper<GroupMembershipClosureEntry>() {
+                        @Override
+                        public GroupMembershipClosureEntry mapRow(ResultSet resultSet, int rowNum)
+                                throws SQLException {
+                            return new GroupMembershipClosureEntry(resultSet.getString(1), resultSet.getString(2),
+                                    resultSet.getString(3), resultSet.getTimestamp(4), resultSet.getTimestamp(5));
+                        }
+                    }));
+        }
+        return memberships;
+    }
+
+    @Override
+    public Set<String> getActiveGroupIds(Collection<String> groupIds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        Set<String> activeGroupIds = new HashSet<String>();
+        for (List<String> batch : partition(groupIds)) {
+            activeGroupIds.addAll(template.query("SELECT GRP_ID FROM KRIM_GRP_T WHERE ACTV_IND = 'Y' AND GRP_ID IN ("
+                    + placeholders(batch.size()) + ")", batch.toArray(), FIRST_COLUMN_MAPPER));
+        }
+        return activeGroupIds;
+    }
+
+    @Override
+    public Set<String> getDirectParentGroupIds(Collection<String> groupIds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        Set<String> parentGroupIds = new HashSet<String>();
+        for (List<String> batch : partition(groupIds)) {
+            parentGroupIds.addAll(template.query("SELECT DISTINCT GRP_ID FROM KRIM_GRP_MBR_T WHERE MBR_TYP_CD = 'G'"
+                    + " AND MBR_ID IN (" + placeholders(batch.size()) + ")", batch.toArray(), FIRST_COLUMN_MAPPER));
+        }
+        return parentGroupIds;
+    }
+
+    @Override
+    public List<String> getGroupIdsAfter(String afterGroupId, int maxResults) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setMaxRows(maxResults);
+        if (afterGroupId == null) {
+            return template.query("SELECT GRP_ID FROM KRIM_GRP_T ORDER BY GRP_ID", FIRST_COLUMN_MAPPER);
+        }
+        return template.query("SELECT GRP_ID FROM KRIM_GRP_T WHERE GRP_ID > ? ORDER BY GRP_ID",
+                new Object[] {afterGroupId}, FIRST_COLUMN_MAPPER);
+    }
+
+    @Override
+    public void lockGroups(Collection<String> groupIds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        for (String groupId : new TreeSet<String>(groupIds)) {
+            template.query("SELECT GRP_ID FROM KRIM_GRP_T WHERE GRP_ID = ? FOR UPDATE", new Object[] {groupId},
+                    FIRST_COLUMN_MAPPER);
+        }
+    }
+
+    @Override
+    public void replaceClosure(String groupId, Collection<GroupMembershipClosureEntry> entries) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.update("DELETE FROM KRIM_GRP_MBR_CLSR_T WHERE GRP_ID = ?", groupId);
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<Object[]>(entries.size());
+        for (GroupMembershipClosureEntry entry : entries) {
+            rows.add(new Object[] {groupId, entry.getMemberId(), entry.getMemberTypeCode(),
+                    entry.getActiveFromDate(), entry.getActiveToDate()});
+        }
+        template.batchUpdate("INSERT INTO KRIM_GRP_MBR_CLSR_T (GRP_ID, MBR_ID, MBR_TYP_CD, ACTV_FRM_DT, ACTV_TO_DT)"
+                + " VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    @Override
+    public boolean isMember(String memberId, String memberTypeCode, String groupId, Timestamp asOfDate) {
+        List<String> matches = new JdbcTemplate(dataSource).query("SELECT GRP_ID FROM KRIM_GRP_MBR_CLSR_T"
+                + " WHERE MBR_ID = ? AND MBR_TYP_CD = ? AND GRP_ID = ?" + ACTIVE_AS_OF_CRITERIA,
+                new Object[] {memberId, memberTypeCode, groupId, asOfDate, asOfDate}, FIRST_COLUMN_MAPPER);
+        return !matches.isEmpty();
+    }
+
+    @Override
+    public List<String> getMemberIds(String groupId, String memberTypeCode, Timestamp asOfDate) {
+        return new JdbcTemplate(dataSource).query("SELECT DISTINCT MBR_ID FROM KRIM_GRP_MBR_CLSR_T"
+                + " WHERE GRP_ID = ? AND MBR_TYP_CD = ?" + ACTIVE_AS_OF_CRITERIA,
+                new Object[] {groupId, memberTypeCode, asOfDate, asOfDate}, FIRST_COLUMN_MAPPER);
+    }
+
+    @Override
+    public List<String> getGroupIds(String memberId, String memberTypeCode, Timestamp asOfDate) {
+        return new JdbcTemplate(dataSource).query("SELECT DISTINCT GRP_ID FROM KRIM_GRP_MBR_CLSR_T"
+                + " WHERE MBR_ID = ? AND MBR_TYP_CD = ?" + ACTIVE_AS_OF_CRITERIA,
+                new Object[] {memberId, memberTypeCode, asOfDate, asOfDate}, FIRST_COLUMN_MAPPER);
+    }
+
+    private List<List<String>> partition(Collection<String> values) {
+        List<String> list = new ArrayList<String>(values);
+        List<List<String>> batches = new ArrayList<List<String>>();
+        for (int start = 0; start < list.size(); start += MAX_IN_LIST_SIZE) {
+            batches.add(list.subList(start, Math.min(start + MAX_IN_LIST_SIZE, list.size())));
+        }
+        return batches;
+    }
+
+    private String placeholders(int count) {
+        return StringUtils.repeat("?", ", ", count);
+    }
+
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = new TransactionAwareDataSourceProxy(dataSource);
+    }
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+import java.sql.Timestamp;
+
+/**
+ * A single group membership, along with the dates it is active between.  Used both for the direct memberships stored
+ * in KRIM_GRP_MBR_T and for the flattened memberships stored in the group membership closure, in which case the
+ * active dates are those of the whole chain of memberships which makes the member part of the group.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class GroupMembershipClosureEntry {
+
+    private final String groupId;
+    private final String memberId;
+    private final String memberTypeCode;
+    private final Timestamp activeFromDate;
+    private final Timestamp activeToDate;
+
+    public GroupMembershipClosureEntry(String groupId, String memberId, String memberTypeCode,
+            Timestamp activeFromDate, Timestamp activeToDate) {
+        this.groupId = groupId;
+        this.memberId = memberId;
+        this.memberTypeCode = memberTypeCode;
+        this.activeFromDate = activeFromDate;
+        this.activeToDate = activeToDate;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public String getMemberTypeCode() {
+        return memberTypeCode;
+    }
+
+    /**
+     * Returns the date the membership becomes active, or null if it has always been active.
+     */
+    public Timestamp getActiveFromDate() {
+        return activeFromDate;
+    }
+
+    /**
+     * Returns the date the membership stops being active, or null if it never expires.
+     */
+    public Timestamp getActiveToDate() {
+        return activeToDate;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof GroupMembershipClosureEntry)) {
+            return false;
+        }
+        GroupMembershipClosureEntry other = (GroupMembershipClosureEntry) object;
+        return new EqualsBuilder().append(groupId, other.groupId).append(memberId, other.memberId)
+                .append(memberTypeCode, other.memberTypeCode).append(activeFromDate, other.activeFromDate)
+                .append(activeToDate, other.activeToDate).isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(groupId).append(memberId).append(memberTypeCode).append(activeFromDate)
+                .append(activeToDate).toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "[GroupMembershipClosureEntry: groupId=" + groupId + ", memberId=" + memberId + ", memberTypeCode="
+                + memberTypeCode + ", activeFromDate=" + activeFromDate + ", activeToDate=" + activeToDate + "]";
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.joda.time.DateTime;
+import org.kuali.rice.core.api.membership.MemberType;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains and queries the flattened group membership closure, which records every principal and group belonging
+ * to a group either directly or through nested groups.  With the closure in place nested membership checks are a
+ * single indexed lookup rather than a traversal of the group hierarchy.
+ *
+ * <p>The closure is only used when {@link org.kuali.rice.kim.api.KimConstants#KIM_GROUP_MEMBERSHIP_CLOSURE_ENABLED_KEY}
+ * is set to true.  The closure must be rebuilt once after enabling it, and again after any group memberships are
+ * changed without going through the group service, by running
+ * {@code org.kuali.rice.kim.impl.group.GroupMembershipClosureRebuildJob} (which can be scheduled through
+ * {@link org.kuali.rice.kim.api.KimConstants#KIM_GROUP_MEMBERSHIP_CLOSURE_REBUILD_CRON_KEY}).</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public interface GroupMembershipClosureService {
+
+    /**
+     * Returns whether the group membership closure is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Recalculates the closure of the given groups and every group which contains them.  Must be called in the same
+     * transaction as the membership changes, after they have been made.  The KRIM_GRP_T rows of the affected groups
+     * are locked before their closures are recalculated, so concurrent changes to overlapping parts of the group
+     * hierarchy are applied one after the other instead of each being calculated without the other.
+     *
+     * @param groupIds the ids of the groups whose direct memberships or active status changed
+     */
+    void updateClosure(Collection<String> groupIds);
+
+    /**
+     * Recalculates the closure of the next batch of groups, in group id order.  Each call is expected to run in its
+     * own transaction, so the whole closure can be rebuilt without locking every group at once.
+     *
+     * @param afterGroupId the value returned from the previous call, or null to start with the first group
+     * @return the id of the last group recalculated, or null once every group has been recalculated
+     */
+    String rebuildClosure(String afterGroupId);
+
+    /**
+     * Returns whether the given member belongs to the group, directly or through nested groups, as of the given date.
+     */
+    boolean isMemberOfGroup(String memberId, MemberType memberType, String groupId, DateTime asOfDate);
+
+    /**
+     * Returns the ids of the principals which currently belong to the group, directly or through nested groups.
+     */
+    List<String> getMemberPrincipalIds(String groupId);
+
+    /**
+     * Returns the ids of the groups the principal currently belongs to, directly or through nested groups.
+     */
+    List<String> getGroupIdsByPrincipalId(String principalId);
+
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.core.api.membership.MemberType;
+import org.kuali.rice.kim.api.KimConstants;
+import org.kuali.rice.krad.data.DataObjectService;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Default implementation of {@link GroupMembershipClosureService}.
+ *
+ * <p>Whenever a group changes, the closure of that group and of every group containing it is recalculated from the
+ * direct memberships.  The direct memberships are loaded one level of nesting at a time so that recalculating a group
+ * takes a query per level rather than per nested group.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class GroupMembershipClosureServiceImpl implements GroupMembershipClosureService {
+
+    private static final Logger LOG = Logger.getLogger(GroupMembershipClosureServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private DataObjectService dataObjectService;
+    private GroupMembershipClosureDao groupMembershipClosureDao;
+
+    @Override
+    public boolean isEnabled() {
+        return ConfigContext.getCurrentContextConfig().getBooleanProperty(
+                KimConstants.KIM_GROUP_MEMBERSHIP_CLOSURE_ENABLED_KEY, false);
+    }
+
+    @Override
+    public void updateClosure(Collection<String> groupIds) {
+        if (!isEnabled() || groupIds.isEmpty()) {
+            return;
+        }
+        // the closure is recalculated with JDBC, so any pending membership changes need to be written first
+        getDataObjectService().flush(GroupMemberBo.class);
+
+        // Any group whose closure depends on a changed group contains it, so locking the changed groups and all of
+        // their ancestors serializes every transaction which could recalculate an overlapping set of closures.  The
+        // ancestors are looked up again once the locks are held since a concurrent transaction may have changed them.
+        Set<String> lockedGroupIds = new HashSet<String>();
+        Set<String> affectedGroupIds = getAffectedGroupIds(groupIds);
+        while (!lockedGroupIds.containsAll(affectedGroupIds)) {
+            getGroupMembershipClosureDao().lockGroups(affectedGroupIds);
+            lockedGroupIds.addAll(affectedGroupIds);
+            affectedGroupIds = getAffectedGroupIds(groupIds);
+        }
+        recalculate(affectedGroupIds);
+    }
+
+    /**
+     * Returns the given groups along with every group which contains them, directly or through nested groups.
+     */
+    protected Set<String> getAffectedGroupIds(Collection<String> groupIds) {
+        Set<String> affectedGroupIds = new HashSet<String>(groupIds);
+        Set<String> parentGroupIds = getGroupMembershipClosureDao().getDirectParentGroupIds(groupIds);
+        while (!parentGroupIds.isEmpty()) {
+            parentGroupIds.removeAll(affectedGroupIds);
+            affectedGroupIds.addAll(parentGroupIds);
+            parentGroupIds = parentGroupIds.isEmpty() ? parentGroupIds :
+                    getGroupMembershipClosureDao().getDirectParentGroupIds(parentGroupIds);
+        }
+        return affectedGroupIds;
+    }
+
+    @Override
+    public String rebuildClosure(String afterGroupId) {
+        List<String> groupIds = getGroupMembershipClosureDao().getGroupIdsAfter(afterGroupId, REBUILD_BATCH_SIZE);
+        if (groupIds.isEmpty()) {
+            return null;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Rebuilding the group membership closure for " + groupIds.size() + " groups after " + afterGroupId);
+        }
+        getGroupMembershipClosureDao().lockGroups(groupIds);
+        recalculate(groupIds);
+        return groupIds.get(groupIds.size() - 1);
+    }
+
+    protected void recalculate(Collection<String> groupIds) {
+        Map<String, List<GroupMembershipClosureEntry>> directMemberships =
+                new HashMap<String, List<GroupMembershipClosureEntry>>();
+        Set<String> activeGroupIds = new HashSet<String>();
+
+        Set<String> groupIdsToLoad = new HashSet<String>(groupIds);
+        while (!groupIdsToLoad.isEmpty()) {
+            for (String groupId : groupIdsToLoad) {
+                directMemberships.put(groupId, new ArrayList<GroupMembershipClosureEntry>());
+            }
+            activeGroupIds.addAll(getGroupMembershipClosureDao().getActiveGroupIds(groupIdsToLoad));
+            Set<String> nestedGroupIds = new HashSet<String>();
+            for (GroupMembershipClosureEntry membership :
+                    getGroupMembershipClosureDao().getDirectMemberships(groupIdsToLoad)) {
+                directMemberships.get(membership.getGroupId()).add(membership);
+                if (MemberType.GROUP.getCode().equals(membership.getMemberTypeCode())
+                        && !directMemberships.containsKey(membership.getMemberId())) {
+                    nestedGroupIds.add(membership.getMemberId());
+                }
+            }
+            groupIdsToLoad = nestedGroupIds;
+        }
+
+        GroupMembershipClosureCalculator calculator =
+                new GroupMembershipClosureCalculator(directMemberships, activeGroupIds);
+        for (String groupId : groupIds) {
+            getGroupMembershipClosureDao().replaceClosure(groupId, calculator.calculate(groupId));
+        }
+    }
+
+    @Override
+    public boolean isMemberOfGroup(String memberId, MemberType memberType, String groupId, DateTime asOfDate) {
+        return getGroupMembershipClosureDao().isMember(memberId, memberType.getCode(), groupId,
+                toTimestamp(asOfDate));
+    }
+
+    @Override
+    public List<String> getMemberPrincipalIds(String groupId) {
+        return Collections.unmodifiableList(getGroupMembershipClosureDao().getMemberIds(groupId,
+                MemberType.PRINCIPAL.getCode(), toTimestamp(DateTime.now())));
+    }
+
+    @Override
+    public List<String> getGroupIdsByPrincipalId(String principalId) {
+        return Collections.unmodifiableList(getGroupMembershipClosureDao().getGroupIds(principalId,
+                MemberType.PRINCIPAL.getCode(), toTimestamp(DateTime.now())));
+    }
+
+    /**
+     * Rounds up to the next second, matching the precision of the membership date checks done by the group service.
+     */
+    private Timestamp toTimestamp(DateTime asOfDate) {
+        return new Timestamp(asOfDate.secondOfDay().roundCeilingCopy().getMillis());
+    }
+
+    public DataObjectService getDataObjectService() {
+        return dataObjectService;
+    }
+
+    public void setDataObjectService(DataObjectService dataObjectService) {
+        this.dataObjectService = dataObjectService;
+    }
+
+    public GroupMembershipClosureDao getGroupMembershipClosureDao() {
+        return groupMembershipClosureDao;
+    }
+
+    public void setGroupMembershipClosureDao(GroupMembershipClosureDao groupMembershipClosureDao) {
+        this.groupMembershipClosureDao = groupMembershipClosureDao;
+    }
+
+}
@@ -51,6 +51,7 @@ import org.kuali.rice.kim.api.services.KimApiServiceLocator;
 import org.kuali.rice.kim.impl.KIMPropertyConstants;
 import org.kuali.rice.kim.impl.common.attribute.AttributeTransform;
 import org.kuali.rice.kim.impl.common.attribute.KimAttributeDataBo;
+import org.kuali.rice.kim.impl.role.RoleResolutionContext;
 import org.kuali.rice.kim.impl.services.KimImplServiceLocator;
 import org.kuali.rice.krad.data.DataObjectService;
 
@@ -80,6 +81,13 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
     }
 
     protected List<Group> getGroupsByPrincipalIdAndNamespaceCodeInternal(String principalId, String namespaceCode) throws RiceIllegalArgumentException {
+        if (namespaceCode == null && getGroupMembershipClosureService().isEnabled()) {
+            List<String> groupIds = getGroupMembershipClosureService().getGroupIdsByPrincipalId(principalId);
+            if (groupIds.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(new ArrayList<Group>(getGroups(groupIds)));
+        }
 
         Collection<Group> directGroups = getDirectGroupsForPrincipal( principalId, namespaceCode, new DateTime(System.currentTimeMillis()) );
 		Set<Group> groups = new HashSet<Group>();
@@ -147,6 +155,9 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
     }
 
     protected List<String> getGroupIdsByPrincipalIdAndNamespaceCodeInternal(String principalId, String namespaceCode) throws RiceIllegalArgumentException {
+        if (principalId != null && namespaceCode == null && getGroupMembershipClosureService().isEnabled()) {
+            return getGroupMembershipClosureService().getGroupIdsByPrincipalId(principalId);
+        }
 
         List<String> result = new ArrayList<String>();
 
@@ -182,6 +193,9 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
     public List<String> getMemberPrincipalIds(String groupId) throws RiceIllegalArgumentException {
         incomingParamCheck(groupId, "groupId");
 
+        if (getGroupMembershipClosureService().isEnabled()) {
+            return getGroupMembershipClosureService().getMemberPrincipalIds(groupId);
+        }
 		return getMemberPrincipalIdsInternal(groupId, new HashSet<String>());
     }
 
@@ -247,6 +261,10 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
         incomingParamCheck(groupId, "groupId");
         incomingParamCheck(asOfDate, "asOfDate");
 
+        if (getGroupMembershipClosureService().isEnabled()) {
+            return getGroupMembershipClosureService().isMemberOfGroup(groupMemberId, MemberType.GROUP, groupId,
+                    asOfDate);
+        }
         return isMemberOfGroupInternal(groupMemberId, groupId, new HashSet<String>(), KimConstants.KimGroupMemberTypes.GROUP_MEMBER_TYPE, asOfDate);
     }
 
@@ -261,6 +279,10 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
         incomingParamCheck(groupId, "groupId");
         incomingParamCheck(asOfDate, "asOfDate");
 
+        if (getGroupMembershipClosureService().isEnabled()) {
+            return getGroupMembershipClosureService().isMemberOfGroup(principalId, MemberType.PRINCIPAL, groupId,
+                    asOfDate);
+        }
         Set<String> visitedGroupIds = new HashSet<String>();
         return isMemberOfGroupInternal(principalId, groupId, visitedGroupIds, KimConstants.KimGroupMemberTypes.PRINCIPAL_MEMBER_TYPE, asOfDate);
     }
@@ -615,6 +637,7 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
         groupMember.setMemberId(childId);
 
         this.dataObjectService.save(groupMember);
+        groupMembershipChanged(parentId);
         return true;
     }
 
@@ -629,6 +652,7 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
         groupMember.setMemberId(principalId);
 
         groupMember = this.dataObjectService.save(groupMember);
+        groupMembershipChanged(groupId);
         KimImplServiceLocator.getGroupInternalService().updateForUserAddedToGroup(groupMember.getMemberId(),
                 groupMember.getGroupId());
         return true;
@@ -783,6 +807,7 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
         for (GroupMemberBo bo : toDeactivate) {
             this.dataObjectService.save(bo);
         }
+        groupMembershipChanged(groupId);
         List<String> memberPrincipalsAfter = groupService.getMemberPrincipalIds(groupId);
 
         if (!CollectionUtils.isEmpty(memberPrincipalsAfter)) {
@@ -809,6 +834,7 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
         	GroupMemberBo groupMember = groupMembers.get(0);
         	groupMember.setActiveToDateValue(today);
             this.dataObjectService.save(groupMember);
+            groupMembershipChanged(parentId);
             return true;
         }
 
@@ -827,6 +853,7 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
         	GroupMemberBo member = groupMembers.iterator().next();
         	member.setActiveToDateValue(new java.sql.Timestamp(DateTime.now().getMillis()));
         	this.dataObjectService.save(member);
+            groupMembershipChanged(groupId);
             KimImplServiceLocator.getGroupInternalService().updateForUserRemovedFromGroup(member.getMemberId(),
                     member.getGroupId());
             return true;
@@ -929,6 +956,20 @@ public class GroupServiceImpl extends GroupServiceBase implements GroupService {
 	}
 
 
+    /**
+     * Updates the group membership closure, if it is enabled, after the direct memberships of a group have changed.
+     * Role resolution results memoized for the current transaction are discarded as well, since they include the
+     * groups of the principals checked.
+     */
+    protected void groupMembershipChanged(String groupId) {
+        getGroupMembershipClosureService().updateClosure(Collections.singletonList(groupId));
+        RoleResolutionContext.invalidate();
+    }
+
+    protected GroupMembershipClosureService getGroupMembershipClosureService() {
+        return KimImplServiceLocator.getGroupMembershipClosureService();
+    }
+
     public void setDataObjectService(final DataObjectService dataObjectService) {
         this.dataObjectService = dataObjectService;
     }
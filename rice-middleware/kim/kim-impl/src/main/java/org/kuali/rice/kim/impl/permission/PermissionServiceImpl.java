@@ -47,6 +47,7 @@ import org.kuali.rice.kim.api.common.template.Template;
 import org.kuali.rice.kim.api.common.template.TemplateQueryResults;
 import org.kuali.rice.kim.api.identity.principal.Principal;
 import org.kuali.rice.kim.api.permission.Permission;
+import org.kuali.rice.kim.api.permission.PermissionCheck;
 import org.kuali.rice.kim.api.permission.PermissionQueryResults;
 import org.kuali.rice.kim.api.permission.PermissionService;
 import org.kuali.rice.kim.api.role.RoleMembership;
@@ -184,6 +185,72 @@ public class PermissionServiceImpl implements PermissionService {
 		return isAuthorized;
     	
     }
+
+    /**
+     * Evaluates all of the checks within the current transaction so that the role service can share role, group
+     * and type service lookups between them.  Identical checks, and checks which resolve to the same roles and
+     * qualification, only result in a single call to {@link RoleService#principalHasRole(String, List, Map)}.
+     */
+    @Override
+    public List<Boolean> isAuthorized(String principalId,
+            List<PermissionCheck> permissionChecks) throws RiceIllegalArgumentException {
+        incomingParamCheck(principalId, "principalId");
+        incomingParamCheck(permissionChecks, "permissionChecks");
+
+        Map<PermissionCheck, Boolean> checkResults = new HashMap<PermissionCheck, Boolean>();
+        Map<String, Boolean> roleResults = new HashMap<String, Boolean>();
+        List<Boolean> results = new ArrayList<Boolean>(permissionChecks.size());
+        for (PermissionCheck permissionCheck : permissionChecks) {
+            incomingParamCheck(permissionCheck, "permissionCheck");
+            Boolean isAuthorized = checkResults.get(permissionCheck);
+            if (isAuthorized == null) {
+                isAuthorized = Boolean.valueOf(isAuthorized(principalId, permissionCheck, roleResults));
+                checkResults.put(permissionCheck, isAuthorized);
+            }
+            results.add(isAuthorized);
+        }
+
+        return results;
+    }
+
+    private boolean isAuthorized(String principalId, PermissionCheck permissionCheck,
+            Map<String, Boolean> roleResults) {
+        String namespaceCode = permissionCheck.getNamespaceCode();
+        Map<String, String> qualification = permissionCheck.getQualification();
+        List<String> roleIds;
+        if (permissionCheck.isTemplateCheck()) {
+            if (LOG.isDebugEnabled()) {
+                logAuthorizationCheckByTemplate("Perm Templ", principalId, namespaceCode,
+                        permissionCheck.getPermissionTemplateName(), permissionCheck.getPermissionDetails(),
+                        qualification);
+            }
+            roleIds = getRoleIdsForPermissionTemplate(namespaceCode, permissionCheck.getPermissionTemplateName(),
+                    permissionCheck.getPermissionDetails());
+        } else {
+            if (LOG.isDebugEnabled()) {
+                logAuthorizationCheck("Permission", principalId, namespaceCode, permissionCheck.getPermissionName(),
+                        qualification);
+            }
+            roleIds = getRoleIdsForPermission(namespaceCode, permissionCheck.getPermissionName());
+        }
+
+        boolean isAuthorized = false;
+        if (!roleIds.isEmpty()) {
+            String roleResultKey = CacheKeyUtils.key(roleIds) + "|" + CacheKeyUtils.mapKey(qualification);
+            Boolean roleResult = roleResults.get(roleResultKey);
+            if (roleResult == null) {
+                roleResult = Boolean.valueOf(roleService.principalHasRole(principalId, roleIds, qualification));
+                roleResults.put(roleResultKey, roleResult);
+            }
+            isAuthorized = roleResult.booleanValue();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Result: " + isAuthorized);
+        }
+        return isAuthorized;
+    }
+
     @Override
     public List<Permission> getAuthorizedPermissions( String principalId,
             String namespaceCode, String permissionName,
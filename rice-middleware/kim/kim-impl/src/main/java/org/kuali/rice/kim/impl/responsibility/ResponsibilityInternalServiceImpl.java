@@ -35,6 +35,7 @@ import org.kuali.rice.kim.api.role.RoleResponsibility;
 import org.kuali.rice.kim.api.services.KimApiServiceLocator;
 import org.kuali.rice.kim.impl.common.delegate.DelegateMemberBo;
 import org.kuali.rice.kim.impl.role.RoleMemberBo;
+import org.kuali.rice.kim.impl.role.RoleResolutionContext;
 import org.kuali.rice.kim.impl.role.RoleResponsibilityBo;
 import org.kuali.rice.krad.data.DataObjectService;
 import org.kuali.rice.krad.data.PersistenceOption;
@@ -54,6 +55,7 @@ public class ResponsibilityInternalServiceImpl implements ResponsibilityInternal
 
     	// add row to member table
     	RoleMemberBo member = dataObjectService.save( roleMember, PersistenceOption.FLUSH );
+    	RoleResolutionContext.invalidate();
 
     	//need to find what responsibilities changed so we can notify interested clients.  Like workflow.
     	// the new member has been added
@@ -69,6 +71,7 @@ public class ResponsibilityInternalServiceImpl implements ResponsibilityInternal
 
         // add row to member table
         DelegateMemberBo member = dataObjectService.save(delegateMember, PersistenceOption.FLUSH);
+        RoleResolutionContext.invalidate();
 
         return member;
     }
@@ -81,6 +84,7 @@ public class ResponsibilityInternalServiceImpl implements ResponsibilityInternal
     	// need to set end date to inactivate, not delete
         roleMember.setActiveToDateValue(dateTimeService.getCurrentTimestamp());
     	roleMember = dataObjectService.save( roleMember, PersistenceOption.FLUSH );
+    	RoleResolutionContext.invalidate();
 
         // Notify the RoleTypeService for this role that the member was removed
         KimApiServiceLocator.getRoleService().notifyOnMemberRemoval(RoleMemberBo.to(roleMember));
@@ -30,6 +30,7 @@ import org.kuali.rice.kim.api.group.GroupMember;
 import org.kuali.rice.kim.impl.common.delegate.DelegateMemberBo;
 import org.kuali.rice.kim.impl.common.delegate.DelegateTypeBo;
 import org.kuali.rice.kim.impl.group.GroupMemberBo;
+import org.kuali.rice.kim.impl.services.KimImplServiceLocator;
 
 public class RoleInternalServiceImpl extends RoleServiceBase implements RoleInternalService{
     @Override
@@ -45,6 +46,7 @@ public class RoleInternalServiceImpl extends RoleServiceBase implements RoleInte
         inactivatePrincipalGroupMemberships(principalId, yesterday);
         inactivatePrincipalDelegations(principalId, yesterday);
         inactivateApplicationRoleMemberships(principalId, yesterday);
+        RoleResolutionContext.invalidate();
     }
 
     @Override
@@ -61,6 +63,7 @@ public class RoleInternalServiceImpl extends RoleServiceBase implements RoleInte
         inactivateRoleMemberships(roleIds, yesterday);
         inactivateRoleDelegations(roleIds, yesterday);
         inactivateMembershipsForRoleAsMember(roleIds, yesterday);
+        RoleResolutionContext.invalidate();
     }
 
     private void inactivateRoleMemberships(List<String> roleIds, Timestamp yesterday) {
@@ -108,6 +111,7 @@ public class RoleInternalServiceImpl extends RoleServiceBase implements RoleInte
         groupIds.add(groupId);
         inactivatePrincipalGroupMemberships(groupIds, yesterday);
         inactivateGroupRoleMemberships(groupIds, yesterday);
+        RoleResolutionContext.invalidate();
     }
 
     protected void inactivateApplicationRoleMemberships(String principalId, Timestamp yesterday) {
@@ -159,11 +163,14 @@ public class RoleInternalServiceImpl extends RoleServiceBase implements RoleInte
             }
         }
         // FIXME: Is there a reason we are doing this directly and *not* calling the group service???
+        Set<String> changedGroupIds = new HashSet<String>();
         for (GroupMember gm : groupPrincipals) {
             GroupMember.Builder builder = GroupMember.Builder.create(gm);
             builder.setActiveToDate(new DateTime(yesterday.getTime()));
             getDataObjectService().save(GroupMemberBo.from(builder.build()));
+            changedGroupIds.add(gm.getGroupId());
         }
+        KimImplServiceLocator.getGroupMembershipClosureService().updateClosure(changedGroupIds);
     }
 
     protected void inactivatePrincipalGroupMemberships(List<String> groupIds, Timestamp yesterday) {
@@ -182,11 +189,14 @@ public class RoleInternalServiceImpl extends RoleServiceBase implements RoleInte
             }
         }
         // FIXME: Is there a reason we are doing this directly and *not* calling the group service???
+        Set<String> changedGroupIds = new HashSet<String>();
         for (GroupMember groupMember : groupMembers) {
             GroupMember.Builder builder = GroupMember.Builder.create(groupMember);
             builder.setActiveToDate(new DateTime(yesterday.getTime()));
             getDataObjectService().save(GroupMemberBo.from(builder.build()));
+            changedGroupIds.add(groupMember.getGroupId());
         }
+        KimImplServiceLocator.getGroupMembershipClosureService().updateClosure(changedGroupIds);
     }
 
     protected void inactivatePrincipalDelegations(String principalId, Timestamp yesterday) {
@@ -0,0 +1,265 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.role;
+
+import org.kuali.rice.core.api.cache.CacheKeyUtils;
+import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.kim.api.KimConstants;
+import org.kuali.rice.kim.api.role.RoleMembership;
+import org.kuali.rice.kim.framework.role.RoleTypeService;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memoizes the results of role resolution for the duration of a web request or of the current transaction.
+ *
+ * <p>A single workflow routing pass or view authorization can ask the role service for the same roles, role type
+ * services, group memberships and qualified role members many times over.  When enabled (see
+ * {@link KimConstants#KIM_ROLE_RESOLUTION_CONTEXT_ENABLED_KEY}), repeated lookups within the same unit of work are
+ * answered from memory.</p>
+ *
+ * <p>Each proxied role service call runs in a transaction of its own, so the transaction only spans several calls
+ * when the caller has started one, as workflow routing does.  View authorization has no outer transaction, so a
+ * context is bound to the current thread for the whole web request by {@link RoleResolutionContextFilter}, or by any
+ * other code which brackets its work with {@link #begin()} and {@link #end()}.  Otherwise a context is bound to the
+ * current transaction the first time it is requested and discarded when the transaction completes.  With neither
+ * available every lookup goes to the underlying services as before.</p>
+ *
+ * <p>Results for roles whose type service reports dynamic role membership are never memoized.  Code which changes
+ * role or group membership calls {@link #invalidate()} so that later lookups in the same request or transaction see
+ * the change.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class RoleResolutionContext {
+
+    private static final Object RESOURCE_KEY = RoleResolutionContext.class.getName() + ".RESOURCE_KEY";
+    private static final ThreadLocal<RoleResolutionContext> THREAD_CONTEXT = new ThreadLocal<RoleResolutionContext>();
+
+    private final Map<String, RoleBoLite> roles = new HashMap<String, RoleBoLite>();
+    private final Map<String, RoleTypeService> roleTypeServicesByRoleId = new HashMap<String, RoleTypeService>();
+    private final Map<String, RoleTypeService> roleTypeServicesByKimTypeId = new HashMap<String, RoleTypeService>();
+    private final Map<String, List<String>> principalGroupIds = new HashMap<String, List<String>>();
+    private final Map<String, RoleMembers> roleMembers = new HashMap<String, RoleMembers>();
+    private final Map<String, Boolean> principalHasRole = new HashMap<String, Boolean>();
+    private int dynamicResolutionCount;
+
+    RoleResolutionContext() {}
+
+    /**
+     * Binds a new context to the current thread, unless one is bound already.  Every call which returns true must be
+     * followed by a call to {@link #end()}, typically in a finally block.
+     *
+     * @return true if a new context was bound, false if the thread already had one
+     */
+    public static boolean begin() {
+        if (THREAD_CONTEXT.get() != null) {
+            return false;
+        }
+        THREAD_CONTEXT.set(new RoleResolutionContext());
+        return true;
+    }
+
+    /**
+     * Discards the context bound to the current thread by {@link #begin()}.
+     */
+    public static void end() {
+        THREAD_CONTEXT.remove();
+    }
+
+    /**
+     * Returns the context bound to the current thread, or else the one bound to the current transaction, binding a
+     * new one to the transaction if necessary.
+     *
+     * @return the current context, or null if the context is disabled or there is neither a context bound to the
+     * thread nor an active transaction
+     */
+    public static RoleResolutionContext getCurrent() {
+        if (!isEnabled()) {
+            return null;
+        }
+        RoleResolutionContext threadContext = THREAD_CONTEXT.get();
+        if (threadContext != null) {
+            return threadContext;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        RoleResolutionContext context = (RoleResolutionContext) TransactionSynchronizationManager.getResource(
+                RESOURCE_KEY);
+        if (context == null) {
+            context = new RoleResolutionContext();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, context);
+            TransactionSynchronizationManager.registerSynchronization(new UnbindSynchronization());
+        }
+        return context;
+    }
+
+    /**
+     * Discards everything memoized by the contexts bound to the current thread and transaction, if there are any.
+     */
+    public static void invalidate() {
+        RoleResolutionContext threadContext = THREAD_CONTEXT.get();
+        if (threadContext != null) {
+            threadContext.clear();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            RoleResolutionContext context = (RoleResolutionContext) TransactionSynchronizationManager.getResource(
+                    RESOURCE_KEY);
+            if (context != null) {
+                context.clear();
+            }
+        }
+    }
+
+    static boolean isEnabled() {
+        return ConfigContext.getCurrentContextConfig() != null && ConfigContext.getCurrentContextConfig()
+                .getBooleanProperty(KimConstants.KIM_ROLE_RESOLUTION_CONTEXT_ENABLED_KEY, false);
+    }
+
+    void clear() {
+        roles.clear();
+        roleTypeServicesByRoleId.clear();
+        roleTypeServicesByKimTypeId.clear();
+        principalGroupIds.clear();
+        roleMembers.clear();
+        principalHasRole.clear();
+    }
+
+    boolean containsRole(String roleId) {
+        return roles.containsKey(roleId);
+    }
+
+    RoleBoLite getRole(String roleId) {
+        return roles.get(roleId);
+    }
+
+    void putRole(String roleId, RoleBoLite role) {
+        roles.put(roleId, role);
+    }
+
+    RoleTypeService getRoleTypeServiceByRoleId(String roleId) {
+        return roleTypeServicesByRoleId.get(roleId);
+    }
+
+    void putRoleTypeServiceByRoleId(String roleId, RoleTypeService roleTypeService) {
+        roleTypeServicesByRoleId.put(roleId, roleTypeService);
+    }
+
+    boolean containsRoleTypeServiceByKimTypeId(String kimTypeId) {
+        return roleTypeServicesByKimTypeId.containsKey(kimTypeId);
+    }
+
+    RoleTypeService getRoleTypeServiceByKimTypeId(String kimTypeId) {
+        return roleTypeServicesByKimTypeId.get(kimTypeId);
+    }
+
+    void putRoleTypeServiceByKimTypeId(String kimTypeId, RoleTypeService roleTypeService) {
+        roleTypeServicesByKimTypeId.put(kimTypeId, roleTypeService);
+    }
+
+    List<String> getPrincipalGroupIds(String principalId) {
+        return principalGroupIds.get(principalId);
+    }
+
+    void putPrincipalGroupIds(String principalId, List<String> groupIds) {
+        principalGroupIds.put(principalId, groupIds);
+    }
+
+    /**
+     * Returns the memoized members for the given role member lookup.  Since the role ids which have already been
+     * traversed change the outcome of a lookup they are part of the key, and on a hit the role ids traversed by the
+     * original lookup are added to {@code foundRoleTypeMembers} just as the lookup itself would have done.
+     */
+    List<RoleMembership> getRoleMembers(Collection<String> roleIds, Map<String, String> qualification,
+            boolean followDelegations, Set<String> foundRoleTypeMembers) {
+        RoleMembers memo = roleMembers.get(buildRoleMembersKey(roleIds, qualification, followDelegations,
+                foundRoleTypeMembers));
+        if (memo == null) {
+            return null;
+        }
+        foundRoleTypeMembers.addAll(memo.foundRoleTypeMembers);
+        return memo.members;
+    }
+
+    void putRoleMembers(Collection<String> roleIds, Map<String, String> qualification, boolean followDelegations,
+            Set<String> initialFoundRoleTypeMembers, Set<String> foundRoleTypeMembers, List<RoleMembership> members) {
+        roleMembers.put(buildRoleMembersKey(roleIds, qualification, followDelegations, initialFoundRoleTypeMembers),
+                new RoleMembers(members, foundRoleTypeMembers));
+    }
+
+    Boolean getPrincipalHasRole(String principalId, String roleId, Map<String, String> qualification,
+            boolean checkDelegations) {
+        return principalHasRole.get(buildPrincipalHasRoleKey(principalId, roleId, qualification, checkDelegations));
+    }
+
+    void putPrincipalHasRole(String principalId, String roleId, Map<String, String> qualification,
+            boolean checkDelegations, boolean hasRole) {
+        principalHasRole.put(buildPrincipalHasRoleKey(principalId, roleId, qualification, checkDelegations),
+                Boolean.valueOf(hasRole));
+    }
+
+    /**
+     * Records that a role with dynamic membership was resolved.  Lookups which resolved such a role, directly or
+     * through a nested role, must not be memoized.
+     */
+    void markDynamicResolution() {
+        dynamicResolutionCount++;
+    }
+
+    int getDynamicResolutionCount() {
+        return dynamicResolutionCount;
+    }
+
+    private static String buildRoleMembersKey(Collection<String> roleIds, Map<String, String> qualification,
+            boolean followDelegations, Set<String> foundRoleTypeMembers) {
+        return new StringBuilder("roleIds=").append(CacheKeyUtils.key(roleIds)).append("|qualification=").append(
+                CacheKeyUtils.mapKey(qualification)).append("|followDelegations=").append(followDelegations).append(
+                "|found=").append(CacheKeyUtils.key(foundRoleTypeMembers)).toString();
+    }
+
+    private static String buildPrincipalHasRoleKey(String principalId, String roleId,
+            Map<String, String> qualification, boolean checkDelegations) {
+        return new StringBuilder("principalId=").append(principalId).append("|roleId=").append(roleId).append(
+                "|qualification=").append(CacheKeyUtils.mapKey(qualification)).append("|checkDelegations=").append(
+                checkDelegations).toString();
+    }
+
+    private static final class RoleMembers {
+        private final List<RoleMembership> members;
+        private final Set<String> foundRoleTypeMembers;
+
+        private RoleMembers(List<RoleMembership> members, Set<String> foundRoleTypeMembers) {
+            this.members = members;
+            this.foundRoleTypeMembers = new HashSet<String>(foundRoleTypeMembers);
+        }
+    }
+
+    private static final class UnbindSynchronization extends TransactionSynchronizationAdapter {
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.role;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * A filter which binds a {@link RoleResolutionContext} to the thread handling a web request, so that the role
+ * checks made while rendering and authorizing a view share one context even though each role service call runs in a
+ * transaction of its own.  The context is only used if enabled by
+ * {@link org.kuali.rice.kim.api.KimConstants#KIM_ROLE_RESOLUTION_CONTEXT_ENABLED_KEY}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class RoleResolutionContextFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // nothing to initialize
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        boolean began = RoleResolutionContext.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (began) {
+                RoleResolutionContext.end();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to destroy
+    }
+
+}
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -118,6 +119,7 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
             throw new RiceIllegalStateException("the role to create already exists: " + role);
         }
         RoleBo bo = RoleBo.from(role);
+        RoleResolutionContext.invalidate();
         return RoleBo.to(getDataObjectService().save(bo));
     }
 
@@ -132,6 +134,7 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
 
         RoleBo bo = RoleBo.from(role);
 
+        RoleResolutionContext.invalidate();
         RoleBo updatedRole = getDataObjectService().save(bo);
         if (originalRole.isActive() && !updatedRole.isActive()) {
             KimImplServiceLocator.getRoleInternalService().roleInactivated(updatedRole.getId());
@@ -295,6 +298,41 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
         }
     }
 
+    /**
+     * Retrieves the role with the given id, using the current {@link RoleResolutionContext} if there is one.
+     */
+    @Override
+    protected RoleBoLite getRoleBoLite(String roleId) {
+        RoleResolutionContext context = RoleResolutionContext.getCurrent();
+        if (context == null || StringUtils.isBlank(roleId)) {
+            return super.getRoleBoLite(roleId);
+        }
+        if (context.containsRole(roleId)) {
+            return context.getRole(roleId);
+        }
+        RoleBoLite role = super.getRoleBoLite(roleId);
+        context.putRole(roleId, role);
+        return role;
+    }
+
+    /**
+     * Retrieves the role type service for the role with the given id, using the current {@link RoleResolutionContext}
+     * if there is one.
+     */
+    @Override
+    protected RoleTypeService getRoleTypeService(String roleId) {
+        RoleResolutionContext context = RoleResolutionContext.getCurrent();
+        if (context == null) {
+            return super.getRoleTypeService(roleId);
+        }
+        RoleTypeService roleTypeService = context.getRoleTypeServiceByRoleId(roleId);
+        if (roleTypeService == null) {
+            roleTypeService = super.getRoleTypeService(roleId);
+            context.putRoleTypeServiceByRoleId(roleId, roleTypeService);
+        }
+        return roleTypeService;
+    }
+
     protected Map<String, RoleBoLite> getRoleBoLiteMap(Collection<String> roleIds) {
         Map<String, RoleBoLite> result;
         // check for a non-null result in the cache, return it if found
@@ -765,6 +803,27 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
 
     protected List<RoleMembership> getRoleMembers(List<String> roleIds, Map<String, String> qualification,
             boolean followDelegations, Set<String> foundRoleTypeMembers) {
+        RoleResolutionContext context = RoleResolutionContext.getCurrent();
+        if (context == null) {
+            return resolveRoleMembers(roleIds, qualification, followDelegations, foundRoleTypeMembers);
+        }
+        List<RoleMembership> results = context.getRoleMembers(roleIds, qualification, followDelegations,
+                foundRoleTypeMembers);
+        if (results == null) {
+            Set<String> initialFoundRoleTypeMembers = new HashSet<String>(foundRoleTypeMembers);
+            int dynamicResolutionCount = context.getDynamicResolutionCount();
+            results = resolveRoleMembers(roleIds, qualification, followDelegations, foundRoleTypeMembers);
+            // a role with dynamic membership was resolved along the way, so the result may not be reused
+            if (dynamicResolutionCount == context.getDynamicResolutionCount()) {
+                context.putRoleMembers(roleIds, qualification, followDelegations, initialFoundRoleTypeMembers,
+                        foundRoleTypeMembers, results);
+            }
+        }
+        return results;
+    }
+
+    protected List<RoleMembership> resolveRoleMembers(List<String> roleIds, Map<String, String> qualification,
+            boolean followDelegations, Set<String> foundRoleTypeMembers) {
         List<RoleMembership> results = new ArrayList<RoleMembership>();
         Set<String> allRoleIds = new HashSet<String>();
         for (String roleId : roleIds) {
@@ -847,13 +906,29 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
         // if there is anything in the role to membership map, we need to check the role type services
         // for those entries
         if (!roleIdToMembershipMap.isEmpty()) {
-            // for each role, send in all the qualifiers for that role to the type service
-            // for evaluation, the service will return those which match
+            // for each role type service, send in all the qualifiers for the roles of that type to the type service
+            // for evaluation in a single call, the service will return those which match
+            // (type services may be remote proxies, so they are told apart by identity)
+            Map<RoleTypeService, List<RoleMembership>> roleTypeServiceToMembershipMap =
+                    new IdentityHashMap<RoleTypeService, List<RoleMembership>>();
+            Map<RoleTypeService, List<String>> roleTypeServiceToRoleIdsMap =
+                    new IdentityHashMap<RoleTypeService, List<String>>();
             for (Map.Entry<String, List<RoleMembership>> entry : roleIdToMembershipMap.entrySet()) {
+                RoleTypeService roleTypeService = getRoleTypeService(entry.getKey());
+                List<RoleMembership> memberships = roleTypeServiceToMembershipMap.get(roleTypeService);
+                if (memberships == null) {
+                    memberships = new ArrayList<RoleMembership>();
+                    roleTypeServiceToMembershipMap.put(roleTypeService, memberships);
+                    roleTypeServiceToRoleIdsMap.put(roleTypeService, new ArrayList<String>());
+                }
+                memberships.addAll(entry.getValue());
+                roleTypeServiceToRoleIdsMap.get(roleTypeService).add(entry.getKey());
+            }
+            for (Map.Entry<RoleTypeService, List<RoleMembership>> entry : roleTypeServiceToMembershipMap.entrySet()) {
                 //it is possible that the the roleTypeService is coming from a remote application
                 // and therefore it can't be guaranteed that it is up and working, so using a try/catch to catch this possibility.
                 try {
-                    RoleTypeService roleTypeService = getRoleTypeService(entry.getKey());
+                    RoleTypeService roleTypeService = entry.getKey();
                     List<RoleMembership> matchingMembers = roleTypeService.getMatchingRoleMemberships(qualification,
                             entry.getValue());
                     // loop over the matching entries, adding them to the results
@@ -882,8 +957,8 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
                         }
                     }
                 } catch (Exception ex) {
-                    LOG.warn("Not able to retrieve RoleTypeService from remote system for role Id: " + entry.getKey(),
-                            ex);
+                    LOG.warn("Not able to retrieve RoleTypeService from remote system for role Ids: "
+                            + roleTypeServiceToRoleIdsMap.get(entry.getKey()), ex);
                 }
             }
         }
@@ -895,6 +970,11 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
             // check if a derived role
             try {
                 if (isDerivedRoleType(roleTypeService)) {
+                    RoleResolutionContext context = RoleResolutionContext.getCurrent();
+                    if (context != null && roleTypeService.dynamicRoleMembership(role.getNamespaceCode(),
+                            role.getName())) {
+                        context.markDynamicResolution();
+                    }
                     // for each derived role, get the list of principals and groups which are in that role given the qualification (per the role type service)
                     List<RoleMembership> roleMembers = roleTypeService.getRoleMembersFromDerivedRole(
                             role.getNamespaceCode(), role.getName(), qualification);
@@ -1109,20 +1189,32 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
         private List<String> principalGroupIds;
         private Map<String, RoleTypeService> roleTypeServiceCache;
         private Map<String, Boolean> isDerivedRoleTypeCache;
+        private RoleResolutionContext resolutionContext;
 
         Context(String principalId) {
             this.principalId = principalId;
             this.roleTypeServiceCache = new HashMap<String, RoleTypeService>();
             this.isDerivedRoleTypeCache = new HashMap<String, Boolean>();
+            this.resolutionContext = RoleResolutionContext.getCurrent();
         }
 
         String getPrincipalId() {
             return principalId;
         }
 
+        RoleResolutionContext getResolutionContext() {
+            return resolutionContext;
+        }
+
         List<String> getPrincipalGroupIds() {
+            if (principalGroupIds == null && resolutionContext != null) {
+                principalGroupIds = resolutionContext.getPrincipalGroupIds(principalId);
+            }
             if (principalGroupIds == null) {
                 principalGroupIds = getGroupService().getGroupIdsByPrincipalId(principalId);
+                if (resolutionContext != null) {
+                    resolutionContext.putPrincipalGroupIds(principalId, principalGroupIds);
+                }
             }
             return principalGroupIds;
         }
@@ -1131,6 +1223,11 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
             if (roleTypeServiceCache.containsKey(kimTypeId)) {
                 return roleTypeServiceCache.get(kimTypeId);
             }
+            if (resolutionContext != null && resolutionContext.containsRoleTypeServiceByKimTypeId(kimTypeId)) {
+                RoleTypeService roleTypeService = resolutionContext.getRoleTypeServiceByKimTypeId(kimTypeId);
+                roleTypeServiceCache.put(kimTypeId, roleTypeService);
+                return roleTypeService;
+            }
             RoleTypeService roleTypeService = null;
             if (kimTypeId != null) {
                 KimType roleType = KimApiServiceLocator.getKimTypeInfoService().getKimType(kimTypeId);
@@ -1142,6 +1239,9 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
                 roleTypeService = KimImplServiceLocator.getDefaultRoleTypeService();
             }
             roleTypeServiceCache.put(kimTypeId, roleTypeService);
+            if (resolutionContext != null) {
+                resolutionContext.putRoleTypeServiceByKimTypeId(kimTypeId, roleTypeService);
+            }
             return roleTypeService;
         }
 
@@ -1165,8 +1265,16 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
             // Check the cache to find if it's already been determined that the principal is a member of any of
             // the roles with the given ids.
             List<String> roleIdsToCheck = new ArrayList<String>(roleIds.size());
+            RoleResolutionContext resolutionContext = context.getResolutionContext();
             for (String roleId : roleIds) {
-                Boolean hasRole = getPrincipalHasRoleFromCache(principalId, roleId, qualification, checkDelegations);
+                Boolean hasRole = null;
+                if (resolutionContext != null) {
+                    hasRole = resolutionContext.getPrincipalHasRole(principalId, roleId, qualification,
+                            checkDelegations);
+                }
+                if (hasRole == null) {
+                    hasRole = getPrincipalHasRoleFromCache(principalId, roleId, qualification, checkDelegations);
+                }
                 if (hasRole != null) {
                     if (hasRole.booleanValue()) {
                         return true;
@@ -1227,6 +1335,10 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
                 if (!isDerivedRoleType || (roleTypeService == null) || !roleTypeService
                         .dynamicRoleMembership(role.getNamespaceCode(), role.getName())) {
                     putPrincipalHasRoleInCache(hasRole, principalId, role.getId(), qualification, checkDelegations);
+                    if (resolutionContext != null) {
+                        resolutionContext.putPrincipalHasRole(principalId, role.getId(), qualification,
+                                checkDelegations, hasRole);
+                    }
                 }
 
                 if (hasRole) {
@@ -2281,6 +2393,7 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
         }
 
         DelegateTypeBo bo = DelegateTypeBo.from(delegateType);
+        RoleResolutionContext.invalidate();
         return DelegateTypeBo.to(getDataObjectService().save(bo));
     }
 
@@ -2295,6 +2408,7 @@ public class RoleServiceImpl extends RoleServiceBase implements RoleService {
         }
 
         DelegateTypeBo bo = DelegateTypeBo.from(delegateType);
+        RoleResolutionContext.invalidate();
         return DelegateTypeBo.to(getDataObjectService().save(bo));
     }
 
@@ -22,6 +22,7 @@ import org.kuali.rice.core.api.resourceloader.GlobalResourceLoader;
 import org.kuali.rice.kim.api.KimConstants;
 import org.kuali.rice.kim.framework.role.RoleTypeService;
 import org.kuali.rice.kim.impl.group.GroupInternalService;
+import org.kuali.rice.kim.impl.group.GroupMembershipClosureService;
 import org.kuali.rice.kim.impl.responsibility.ResponsibilityInternalService;
 import org.kuali.rice.kim.impl.role.RoleDao;
 import org.kuali.rice.kim.impl.role.RoleInternalService;
@@ -36,6 +37,7 @@ public class KimImplServiceLocator {
     public static final String KIM_RUN_MODE_PROPERTY = "kim.mode";
     public static final String RESPONSIBILITY_INTERNAL_SERVICE = "responsibilityInternalService";
     public static final String GROUP_INTERNAL_SERVICE = "groupInternalService";
+    public static final String GROUP_MEMBERSHIP_CLOSURE_SERVICE = "kimGroupMembershipClosureService";
     public static final String ROLE_INTERNAL_SERVICE = "kimRoleInternalService";
     public static final String LOCAL_CACHE_MANAGER = "kimLocalCacheManager";
     public static final String DEFAULT_ROLE_TYPE_SERVICE = "kimRoleTypeService";
@@ -67,6 +69,10 @@ public class KimImplServiceLocator {
         return (GroupInternalService) getService(GROUP_INTERNAL_SERVICE);
     }
 
+    public static GroupMembershipClosureService getGroupMembershipClosureService() {
+        return (GroupMembershipClosureService) getService(GROUP_MEMBERSHIP_CLOSURE_SERVICE);
+    }
+
     public static RoleInternalService getRoleInternalService() {
         return (RoleInternalService) getService(ROLE_INTERNAL_SERVICE);
     }
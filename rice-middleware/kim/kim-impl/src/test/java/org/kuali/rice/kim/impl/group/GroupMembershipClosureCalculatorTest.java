@@ -0,0 +1,140 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * A unit test for {@link GroupMembershipClosureCalculator}
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class GroupMembershipClosureCalculatorTest {
+
+    private static final Timestamp JAN = Timestamp.valueOf("2015-01-01 00:00:00");
+    private static final Timestamp MAR = Timestamp.valueOf("2015-03-01 00:00:00");
+    private static final Timestamp JUN = Timestamp.valueOf("2015-06-01 00:00:00");
+
+    private final Map<String, List<GroupMembershipClosureEntry>> memberships =
+            new HashMap<String, List<GroupMembershipClosureEntry>>();
+    private final Set<String> activeGroupIds = new HashSet<String>();
+
+    @Test
+    public void testNestedMembersAreFlattened() {
+        group("1", true);
+        group("2", true);
+        group("3", true);
+        member("1", "2", "G", null, null);
+        member("2", "3", "G", null, null);
+        member("3", "p1", "P", null, null);
+        member("1", "p2", "P", null, null);
+
+        List<GroupMembershipClosureEntry> closure = calculate("1");
+        assertEquals(4, closure.size());
+        assertTrue(closure.contains(entry("1", "2", "G", null, null)));
+        assertTrue(closure.contains(entry("1", "3", "G", null, null)));
+        assertTrue(closure.contains(entry("1", "p1", "P", null, null)));
+        assertTrue(closure.contains(entry("1", "p2", "P", null, null)));
+    }
+
+    @Test
+    public void testActiveDatesAreIntersectedAlongThePath() {
+        group("1", true);
+        group("2", true);
+        member("1", "2", "G", JAN, JUN);
+        member("2", "p1", "P", MAR, null);
+        member("2", "p2", "P", null, JAN);
+
+        List<GroupMembershipClosureEntry> closure = calculate("1");
+        assertTrue(closure.contains(entry("1", "p1", "P", MAR, JUN)));
+        // p2 left group 2 before group 2 joined group 1
+        for (GroupMembershipClosureEntry entry : closure) {
+            assertFalse("p2".equals(entry.getMemberId()));
+        }
+    }
+
+    @Test
+    public void testMemberReachableThroughSeveralPaths() {
+        group("1", true);
+        group("2", true);
+        group("3", true);
+        member("1", "2", "G", null, MAR);
+        member("1", "3", "G", JUN, null);
+        member("2", "p1", "P", null, null);
+        member("3", "p1", "P", null, null);
+
+        List<GroupMembershipClosureEntry> closure = calculate("1");
+        assertTrue(closure.contains(entry("1", "p1", "P", null, MAR)));
+        assertTrue(closure.contains(entry("1", "p1", "P", JUN, null)));
+    }
+
+    @Test
+    public void testInactiveGroupsAreNotTraversed() {
+        group("1", true);
+        group("2", false);
+        member("1", "2", "G", null, null);
+        member("2", "p1", "P", null, null);
+
+        List<GroupMembershipClosureEntry> closure = calculate("1");
+        assertEquals(Arrays.asList(entry("1", "2", "G", null, null)), closure);
+        assertTrue(calculate("2").isEmpty());
+    }
+
+    @Test
+    public void testCyclesTerminate() {
+        group("1", true);
+        group("2", true);
+        member("1", "2", "G", null, null);
+        member("2", "1", "G", null, null);
+        member("2", "p1", "P", null, null);
+
+        List<GroupMembershipClosureEntry> closure = calculate("1");
+        assertTrue(closure.contains(entry("1", "p1", "P", null, null)));
+        assertEquals(3, closure.size());
+    }
+
+    private List<GroupMembershipClosureEntry> calculate(String groupId) {
+        return new GroupMembershipClosureCalculator(memberships, activeGroupIds).calculate(groupId);
+    }
+
+    private void group(String groupId, boolean active) {
+        memberships.put(groupId, new ArrayList<GroupMembershipClosureEntry>());
+        if (active) {
+            activeGroupIds.add(groupId);
+        }
+    }
+
+    private void member(String groupId, String memberId, String memberTypeCode, Timestamp from, Timestamp to) {
+        memberships.get(groupId).add(entry(groupId, memberId, memberTypeCode, from, to));
+    }
+
+    private GroupMembershipClosureEntry entry(String groupId, String memberId, String memberTypeCode,
+            Timestamp from, Timestamp to) {
+        return new GroupMembershipClosureEntry(groupId, memberId, memberTypeCode, from, to);
+    }
+
+}
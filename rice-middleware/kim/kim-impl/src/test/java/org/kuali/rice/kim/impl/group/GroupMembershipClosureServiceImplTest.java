@@ -0,0 +1,130 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.group;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.kuali.rice.krad.data.DataObjectService;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * A unit test for the locking done by {@link GroupMembershipClosureServiceImpl}
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class GroupMembershipClosureServiceImplTest {
+
+    private final Map<String, Set<String>> parentGroupIds = new HashMap<String, Set<String>>();
+
+    private GroupMembershipClosureDao dao;
+    private GroupMembershipClosureServiceImpl closureService;
+
+    @Before
+    public void setUp() {
+        dao = mock(GroupMembershipClosureDao.class);
+        when(dao.getDirectParentGroupIds(anyCollectionOf(String.class))).thenAnswer(new Answer<Set<String>>() {
+            @Override
+            public Set<String> answer(InvocationOnMock invocation) {
+                Set<String> parents = new HashSet<String>();
+                for (Object groupId : (Collection<?>) invocation.getArguments()[0]) {
+                    if (parentGroupIds.containsKey(groupId)) {
+                        parents.addAll(parentGroupIds.get(groupId));
+                    }
+                }
+                return parents;
+            }
+        });
+        when(dao.getActiveGroupIds(anyCollectionOf(String.class))).thenReturn(Collections.<String>emptySet());
+
+        closureService = new GroupMembershipClosureServiceImpl() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+        };
+        closureService.setDataObjectService(mock(DataObjectService.class));
+        closureService.setGroupMembershipClosureDao(dao);
+    }
+
+    @Test
+    public void testAncestorsLockedBeforeRecalculating() {
+        parentGroupIds.put("3", set("2"));
+        parentGroupIds.put("2", set("1"));
+
+        closureService.updateClosure(Collections.singleton("3"));
+
+        InOrder inOrder = inOrder(dao);
+        inOrder.verify(dao).lockGroups(set("1", "2", "3"));
+        inOrder.verify(dao).getDirectMemberships(anyCollectionOf(String.class));
+        verify(dao).replaceClosure(eq("1"), anyCollectionOf(GroupMembershipClosureEntry.class));
+        verify(dao).replaceClosure(eq("2"), anyCollectionOf(GroupMembershipClosureEntry.class));
+        verify(dao).replaceClosure(eq("3"), anyCollectionOf(GroupMembershipClosureEntry.class));
+        verify(dao, times(1)).lockGroups(anyCollectionOf(String.class));
+    }
+
+    @Test
+    public void testAncestorsAddedWhileWaitingForLocksAreLocked() {
+        parentGroupIds.put("3", set("2"));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                // a concurrent transaction added group 3 to group 4 before the locks were granted
+                parentGroupIds.put("3", set("2", "4"));
+                return null;
+            }
+        }).when(dao).lockGroups(set("2", "3"));
+
+        closureService.updateClosure(Collections.singleton("3"));
+
+        InOrder inOrder = inOrder(dao);
+        inOrder.verify(dao).lockGroups(set("2", "3"));
+        inOrder.verify(dao).lockGroups(set("2", "3", "4"));
+        inOrder.verify(dao).replaceClosure(anyString(), anyCollectionOf(GroupMembershipClosureEntry.class));
+        verify(dao).replaceClosure(eq("4"), anyCollectionOf(GroupMembershipClosureEntry.class));
+    }
+
+    @Test
+    public void testRebuildClosureInBatches() {
+        when(dao.getGroupIdsAfter(null, 200)).thenReturn(Arrays.asList("1", "2"));
+        when(dao.getGroupIdsAfter("2", 200)).thenReturn(Collections.<String>emptyList());
+
+        assertEquals("2", closureService.rebuildClosure(null));
+        verify(dao).lockGroups(Arrays.asList("1", "2"));
+        verify(dao).replaceClosure(eq("1"), anyCollectionOf(GroupMembershipClosureEntry.class));
+        verify(dao).replaceClosure(eq("2"), anyCollectionOf(GroupMembershipClosureEntry.class));
+
+        assertNull(closureService.rebuildClosure("2"));
+    }
+
+    private static Set<String> set(String... values) {
+        return new HashSet<String>(Arrays.asList(values));
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.kim.impl.role;
+
+import org.junit.Test;
+import org.kuali.rice.kim.api.role.RoleMembership;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A unit test for {@link RoleResolutionContext}
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class RoleResolutionContextTest {
+
+    @Test
+    public void testRoleMembersReplayFoundRoleTypeMembers() {
+        RoleResolutionContext context = new RoleResolutionContext();
+        Map<String, String> qualification = new HashMap<String, String>();
+        qualification.put("campus", "BL");
+        List<RoleMembership> members = Collections.emptyList();
+
+        Set<String> found = new HashSet<String>();
+        Set<String> initial = new HashSet<String>(found);
+        found.add("nested1");
+        context.putRoleMembers(Collections.singletonList("r1"), qualification, false, initial, found, members);
+
+        Set<String> replayed = new HashSet<String>();
+        assertSame(members, context.getRoleMembers(Collections.singletonList("r1"), new HashMap<String, String>(
+                qualification), false, replayed));
+        assertEquals(Collections.singleton("nested1"), replayed);
+    }
+
+    @Test
+    public void testRoleMembersKeyedOnLookupState() {
+        RoleResolutionContext context = new RoleResolutionContext();
+        List<RoleMembership> members = Collections.emptyList();
+        context.putRoleMembers(Collections.singletonList("r1"), null, true, new HashSet<String>(),
+                new HashSet<String>(), members);
+
+        assertNull(context.getRoleMembers(Collections.singletonList("r1"), null, false, new HashSet<String>()));
+        assertNull(context.getRoleMembers(Collections.singletonList("r1"), Collections.singletonMap("a", "b"), true,
+                new HashSet<String>()));
+        assertNull(context.getRoleMembers(Collections.singletonList("r1"), null, true, Collections.singleton("r2")));
+        assertSame(members, context.getRoleMembers(Collections.singletonList("r1"), null, true,
+                new HashSet<String>()));
+    }
+
+    @Test
+    public void testBeginBindsOnePerThread() {
+        assertTrue(RoleResolutionContext.begin());
+        try {
+            assertFalse("A nested begin should keep the context of the thread", RoleResolutionContext.begin());
+        } finally {
+            RoleResolutionContext.end();
+        }
+        assertTrue(RoleResolutionContext.begin());
+        RoleResolutionContext.end();
+    }
+
+    @Test
+    public void testClear() {
+        RoleResolutionContext context = new RoleResolutionContext();
+        context.putPrincipalHasRole("p1", "r1", null, true, true);
+        context.putRole("r1", null);
+        assertTrue(context.getPrincipalHasRole("p1", "r1", null, true));
+        assertNull(context.getPrincipalHasRole("p1", "r1", null, false));
+        assertTrue(context.containsRole("r1"));
+
+        context.clear();
+        assertNull(context.getPrincipalHasRole("p1", "r1", null, true));
+        assertFalse(context.containsRole("r1"));
+    }
+
+}
@@ -18,8 +18,12 @@ package org.kuali.rice.krad.criteria;
 import org.kuali.rice.core.api.criteria.GenericQueryResults;
 import org.kuali.rice.core.api.criteria.LookupCustomizer;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.util.LegacyDataFramework;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Defines basic methods that CriteriaLookup Dao's must provide
  *
@@ -51,4 +55,34 @@ public interface CriteriaLookupDao {
      * @throws IllegalArgumentException if the criteria is null
      */
     <T> GenericQueryResults<T> lookup(final Class<T> queryClass, final QueryByCriteria criteria, LookupCustomizer<T> customizer);
+
+    /**
+     * Looks up a type based on a query criteria, reading the results {@code fetchSize} at a time as the returned
+     * iterator is advanced.  Pending batched statements are executed and the object cache is cleared after each batch
+     * of results has been handed out, so objects loaded earlier are no longer the cached instances.
+     *
+     * <p>The returned iterator must be closed by the caller, and can only be used within the transaction in which it
+     * was created.</p>
+     *
+     * @param queryClass the class to lookup
+     * @param criteria the criteria to lookup against. cannot be null.
+     * @param fetchSize the number of results to read at a time. must be positive.
+     * @param <T> the type that is being looked up.
+     * @return an iterator over the results. will never be null.
+     * @throws IllegalArgumentException if the criteria is null or the fetch size is not positive
+     * @throws IllegalStateException if there is no active transaction
+     */
+    <T> CloseableIterator<T> lookupIterator(final Class<T> queryClass, final QueryByCriteria criteria, int fetchSize);
+
+    /**
+     * Looks up the given attributes of a type based on a query criteria.
+     *
+     * @param queryClass the class to lookup
+     * @param criteria the criteria to lookup against. cannot be null.
+     * @param attributeNames the names of the attributes to select. cannot be null or empty.
+     * @return the results, mapping each attribute name to its value. will never be null.
+     * @throws IllegalArgumentException if the criteria is null or there are no attribute names
+     */
+    GenericQueryResults<Map<String, Object>> lookupProjection(final Class<?> queryClass,
+            final QueryByCriteria criteria, List<String> attributeNames);
 }
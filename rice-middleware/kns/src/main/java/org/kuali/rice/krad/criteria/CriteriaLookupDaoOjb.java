@@ -16,9 +16,12 @@
 package org.kuali.rice.krad.criteria;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.ojb.broker.PersistenceBroker;
+import org.apache.ojb.broker.accesslayer.OJBIterator;
 import org.apache.ojb.broker.query.Criteria;
 import org.apache.ojb.broker.query.Query;
 import org.apache.ojb.broker.query.QueryFactory;
+import org.apache.ojb.broker.query.ReportQueryByCriteria;
 import org.joda.time.DateTime;
 import org.kuali.rice.core.api.criteria.AndPredicate;
 import org.kuali.rice.core.api.criteria.CompositePredicate;
@@ -51,11 +54,19 @@ import org.kuali.rice.core.api.criteria.PropertyPathPredicate;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.core.api.criteria.SingleValuedPredicate;
 import org.kuali.rice.core.framework.persistence.ojb.dao.PlatformAwareDaoBaseOjb;
+import org.kuali.rice.krad.data.CloseableIterator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springmodules.orm.ojb.PersistenceBrokerCallback;
+import org.springmodules.orm.ojb.PersistenceBrokerTemplate;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 public class CriteriaLookupDaoOjb extends PlatformAwareDaoBaseOjb implements CriteriaLookupDao {
@@ -96,25 +107,124 @@ public class CriteriaLookupDaoOjb extends PlatformAwareDaoBaseOjb implements Cri
         }
     }
 
-    /** gets results where the actual rows are requested. */
-    private <T> GenericQueryResults<T> forRowResults(final Class<T> queryClass, final QueryByCriteria criteria, final Criteria ojbCriteria, CountFlag flag, LookupCustomizer.Transform<T, T> transform) {
-        final org.apache.ojb.broker.query.QueryByCriteria ojbQuery = QueryFactory.newQuery(queryClass, ojbCriteria);
-        final GenericQueryResults.Builder<T> results = GenericQueryResults.Builder.<T>create();
+    @Override
+    public <T> CloseableIterator<T> lookupIterator(final Class<T> queryClass, final QueryByCriteria criteria,
+            final int fetchSize) {
+        if (queryClass == null) {
+            throw new IllegalArgumentException("queryClass is null");
+        }
 
-        if (flag == CountFlag.INCLUDE) {
-            results.setTotalRowCount(getPersistenceBrokerTemplate().getCount(ojbQuery));
+        if (criteria == null) {
+            throw new IllegalArgumentException("criteria is null");
         }
 
-        //ojb's is 1 based, our query api is zero based
-        final int startAtIndex = criteria.getStartAtIndex() != null ? criteria.getStartAtIndex() + 1 : 1;
-        ojbQuery.setStartAtIndex(startAtIndex);
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be at least 1");
+        }
+
+        // the broker, and so the iterator, is only held open for the duration of the transaction
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("lookupIterator must be called within an active transaction");
+        }
+
+        final org.apache.ojb.broker.query.QueryByCriteria ojbQuery = QueryFactory.newQuery(queryClass,
+                toOjbCriteria(criteria));
+        final int startAtIndex = setStartAtIndex(criteria, ojbQuery);
+        if (criteria.getMaxResults() != null) {
+            ojbQuery.setEndAtIndex(criteria.getMaxResults() + startAtIndex - 1);
+        }
+        addOrderBy(criteria, ojbQuery);
+        ojbQuery.setFetchSize(fetchSize);
+
+        final PersistenceBrokerTemplate template = getPersistenceBrokerTemplate();
+        return new OjbCloseableIterator<T>(template, template.getIteratorByQuery(ojbQuery), fetchSize);
+    }
+
+    @Override
+    public GenericQueryResults<Map<String, Object>> lookupProjection(final Class<?> queryClass,
+            final QueryByCriteria criteria, final List<String> attributeNames) {
+        if (queryClass == null) {
+            throw new IllegalArgumentException("queryClass is null");
+        }
+
+        if (criteria == null) {
+            throw new IllegalArgumentException("criteria is null");
+        }
+
+        if (attributeNames == null || attributeNames.isEmpty()) {
+            throw new IllegalArgumentException("attributeNames is null or empty");
+        }
+
+        final Criteria parent = toOjbCriteria(criteria);
+        final GenericQueryResults.Builder<Map<String, Object>> results =
+                GenericQueryResults.Builder.<Map<String, Object>>create();
+
+        if (criteria.getCountFlag() != CountFlag.NONE) {
+            results.setTotalRowCount(getPersistenceBrokerTemplate().getCount(QueryFactory.newQuery(queryClass, parent)));
+            if (criteria.getCountFlag() == CountFlag.ONLY) {
+                return results.build();
+            }
+        }
 
+        final ReportQueryByCriteria ojbQuery = QueryFactory.newReportQuery(queryClass,
+                attributeNames.toArray(new String[attributeNames.size()]), parent, false);
+        final int startAtIndex = setStartAtIndex(criteria, ojbQuery);
         if (criteria.getMaxResults() != null) {
             //not subtracting one from MaxResults in order to retrieve
             //one extra row so that the MoreResultsAvailable field can be set
             ojbQuery.setEndAtIndex(criteria.getMaxResults() + startAtIndex);
         }
+        addOrderBy(criteria, ojbQuery);
+
+        final List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+        final Iterator<?> iterator = getPersistenceBrokerTemplate().getReportQueryIteratorByQuery(ojbQuery);
+        try {
+            while (iterator.hasNext()) {
+                final Object[] values = (Object[]) iterator.next();
+                final Map<String, Object> row = new LinkedHashMap<String, Object>();
+                for (int i = 0; i < attributeNames.size(); i++) {
+                    row.put(attributeNames.get(i), values[i]);
+                }
+                rows.add(row);
+            }
+        } finally {
+            releaseDbResources(iterator);
+        }
+
+        if (criteria.getMaxResults() != null && rows.size() > criteria.getMaxResults()) {
+            results.setMoreResultsAvailable(true);
+            //remove the extra row that was returned
+            rows.remove(criteria.getMaxResults().intValue());
+        }
+
+        results.setResults(rows);
+        return results.build();
+    }
+
+    /** translates the predicate of the given criteria to an ojb Criteria. */
+    private Criteria toOjbCriteria(final QueryByCriteria criteria) {
+        final Criteria parent = new Criteria();
+
+        if (criteria.getPredicate() != null) {
+            addPredicate(criteria.getPredicate(), parent, LookupCustomizer.Builder.create().build()
+                    .getPredicateTransform());
+        }
+
+        return parent;
+    }
 
+    /** sets the ojb start index from the given criteria, returning the index. */
+    private static int setStartAtIndex(final QueryByCriteria criteria,
+            final org.apache.ojb.broker.query.QueryByCriteria ojbQuery) {
+        //ojb's is 1 based, our query api is zero based
+        final int startAtIndex = criteria.getStartAtIndex() != null ? criteria.getStartAtIndex() + 1 : 1;
+        ojbQuery.setStartAtIndex(startAtIndex);
+        return startAtIndex;
+    }
+
+    /** adds the order by fields of the given criteria to an ojb query. */
+    private static void addOrderBy(final QueryByCriteria criteria,
+            final org.apache.ojb.broker.query.QueryByCriteria ojbQuery) {
         if (CollectionUtils.isNotEmpty(criteria.getOrderByFields())) {
             for (OrderByField orderByField : criteria.getOrderByFields()) {
                 if (OrderDirection.ASCENDING.equals(orderByField.getOrderDirection())) {
@@ -124,6 +234,33 @@ public class CriteriaLookupDaoOjb extends PlatformAwareDaoBaseOjb implements Cri
                 }
             }
         }
+    }
+
+    /** releases the database resources held by an ojb iterator. */
+    private static void releaseDbResources(Iterator<?> iterator) {
+        if (iterator instanceof OJBIterator) {
+            ((OJBIterator) iterator).releaseDbResources();
+        }
+    }
+
+    /** gets results where the actual rows are requested. */
+    private <T> GenericQueryResults<T> forRowResults(final Class<T> queryClass, final QueryByCriteria criteria, final Criteria ojbCriteria, CountFlag flag, LookupCustomizer.Transform<T, T> transform) {
+        final org.apache.ojb.broker.query.QueryByCriteria ojbQuery = QueryFactory.newQuery(queryClass, ojbCriteria);
+        final GenericQueryResults.Builder<T> results = GenericQueryResults.Builder.<T>create();
+
+        if (flag == CountFlag.INCLUDE) {
+            results.setTotalRowCount(getPersistenceBrokerTemplate().getCount(ojbQuery));
+        }
+
+        final int startAtIndex = setStartAtIndex(criteria, ojbQuery);
+
+        if (criteria.getMaxResults() != null) {
+            //not subtracting one from MaxResults in order to retrieve
+            //one extra row so that the MoreResultsAvailable field can be set
+            ojbQuery.setEndAtIndex(criteria.getMaxResults() + startAtIndex);
+        }
+
+        addOrderBy(criteria, ojbQuery);
 
         @SuppressWarnings("unchecked")
         final List<T> rows = new ArrayList<T>(getPersistenceBrokerTemplate().getCollectionByQuery(ojbQuery));
@@ -283,6 +420,66 @@ public class CriteriaLookupDaoOjb extends PlatformAwareDaoBaseOjb implements Cri
         return new StringBuilder(getUpperFunction()).append("(").append(pp).append(")").toString();
     }
 
+    /**
+     * iterates over the results of an ojb iterator, clearing the object cache each time another fetchSize results
+     * have been handed out.  Statements the broker still holds in its batch are executed before the cache is cleared,
+     * and objects loaded earlier are no longer the cached instances afterwards, so a later lookup returns a new copy.
+     */
+    private static class OjbCloseableIterator<T> implements CloseableIterator<T> {
+        private final PersistenceBrokerTemplate template;
+        private final Iterator<?> iterator;
+        private final int fetchSize;
+        private int count;
+        private boolean closed;
+
+        private OjbCloseableIterator(PersistenceBrokerTemplate template, Iterator<?> iterator, int fetchSize) {
+            this.template = template;
+            this.iterator = iterator;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !closed && iterator.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            if (count > 0 && count % fetchSize == 0) {
+                // write pending batched statements first, as with a flush before clearing a persistence context
+                template.execute(new PersistenceBrokerCallback() {
+                    @Override
+                    public Object doInPersistenceBroker(PersistenceBroker broker) {
+                        broker.serviceConnectionManager().executeBatch();
+                        return null;
+                    }
+                });
+                template.clearCache();
+            }
+            count++;
+
+            return (T) iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove is not supported");
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                releaseDbResources(iterator);
+            }
+        }
+    }
+
     /** this is a fatal error since this implementation should support all known predicates. */
     private static class UnsupportedPredicateException extends RuntimeException {
         private UnsupportedPredicateException(Predicate predicate) {
@@ -20,6 +20,7 @@ import org.kuali.rice.core.api.criteria.GenericQueryResults;
 import org.kuali.rice.core.api.criteria.LookupCustomizer;
 import org.kuali.rice.core.api.criteria.QueryByCriteria;
 import org.kuali.rice.krad.bo.ModuleConfiguration;
+import org.kuali.rice.krad.data.CloseableIterator;
 import org.kuali.rice.krad.service.KRADServiceLocatorWeb;
 import org.kuali.rice.krad.service.KualiModuleService;
 import org.kuali.rice.krad.service.ModuleService;
@@ -27,6 +28,7 @@ import org.kuali.rice.krad.util.LegacyUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CriteriaLookupDaoProxy implements CriteriaLookupDao {
@@ -74,6 +76,17 @@ public class CriteriaLookupDaoProxy implements CriteriaLookupDao {
         return getDao(queryClass).lookup(queryClass, criteria, customizer);
     }
 
+    @Override
+    public <T> CloseableIterator<T> lookupIterator(Class<T> queryClass, QueryByCriteria criteria, int fetchSize) {
+        return getDao(queryClass).lookupIterator(queryClass, criteria, fetchSize);
+    }
+
+    @Override
+    public GenericQueryResults<Map<String, Object>> lookupProjection(Class<?> queryClass, QueryByCriteria criteria,
+            List<String> attributeNames) {
+        return getDao(queryClass).lookupProjection(queryClass, criteria, attributeNames);
+    }
+
     private static KualiModuleService getKualiModuleService() {
         if (kualiModuleService == null) {
             kualiModuleService = KRADServiceLocatorWeb.getKualiModuleService();
@@ -15,6 +15,7 @@
  */
 package org.kuali.rice.krms.api.engine;
 
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -47,4 +48,20 @@ public interface Engine {
      */
     EngineResults execute(SelectionCriteria selectionCriteria, Map<String, Object> facts, ExecutionOptions executionOptions);
 
+    /**
+     * Initiates execution of the rules engine once for each set of facts in a batch, all using the same
+     * {@link SelectionCriteria}.  The context is only selected once for the whole batch, and if the
+     * {@link ExecutionFlag#SHARE_INVARIANT_TERMS_IN_BATCH} flag is set, term values which do not depend on the facts
+     * are resolved once and shared by every execution in the batch.  Each set of facts is only read and executed when
+     * the returned iterator reaches it, so batches need not fit in memory.
+     *
+     * @param selectionCriteria informs the engine of the {@link SelectionCriteria} to use for selection of contexts and agendas
+     * @param factsBatch the sets of facts to execute the rules engine against, in order
+     * @param executionOptions defines various {@link ExecutionOptions} that instruct the rules engine on how to perform it's execution
+     *
+     * @return an iterator over the {@link EngineResults} of each execution, in the order of the given sets of facts
+     * @since 2.6.0
+     */
+    Iterator<EngineResults> executeBatch(SelectionCriteria selectionCriteria, Iterable<Facts> factsBatch, ExecutionOptions executionOptions);
+
 }
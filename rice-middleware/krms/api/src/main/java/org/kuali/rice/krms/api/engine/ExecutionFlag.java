@@ -53,7 +53,47 @@ public enum ExecutionFlag {
 	 * set to false, the engine may skip (aka short circuit) propositions that 
 	 * do not influence the overall outcome of the proposition tree.  
 	 */
-	EVALUATE_ALL_PROPOSITIONS(false);
+	EVALUATE_ALL_PROPOSITIONS(false),
+
+	/**
+	 * Instructs the engine to evaluate the rules at each level of an agenda
+	 * tree concurrently, so that the terms each of them needs are resolved in
+	 * parallel.  The results are still recorded in agenda order.  When this
+	 * flag is set, a rule must not depend on facts published by the actions
+	 * of the rules which precede it at the same level, and the term resolvers
+	 * and actions must be safe for use by multiple threads.  The rules run on
+	 * the executor's threads with the caller's context class loader (and, with
+	 * the Rice KRMS executor, the caller's KRAD user session), but outside of
+	 * the caller's transaction and persistence context, so term resolvers and
+	 * actions which must read uncommitted data or take part in the caller's
+	 * transaction must not be evaluated in parallel.  Has no effect if
+	 * the engine has not been given an executor.  Default value is false.
+	 */
+	EVALUATE_RULES_IN_PARALLEL(false),
+
+	/**
+	 * Instructs the engine to evaluate the propositions of a compound
+	 * proposition in order of their observed evaluation cost, cheapest first,
+	 * so that it can short circuit as early as possible.  Only set this flag if
+	 * the order of evaluation does not matter, i.e. no proposition guards
+	 * against the failure of another.  Has no effect if
+	 * {@link #EVALUATE_ALL_PROPOSITIONS} is set.  Default value is false.
+	 */
+	ORDER_PROPOSITIONS_BY_COST(false),
+
+	/**
+	 * Instructs the engine, when executing a batch of facts, to resolve the
+	 * terms of the term resolvers which have no prerequisites only once for
+	 * the whole batch and to share their values between the executions.  Only
+	 * set this flag if every such resolver in the context is pure, i.e. its
+	 * values do not depend on the clock, the database or anything else which
+	 * may change while the batch is executed.  Has no effect on single
+	 * executions.  Default value is false.
+	 *
+	 * @see Engine#executeBatch(SelectionCriteria, Iterable, ExecutionOptions)
+	 * @since 2.6.0
+	 */
+	SHARE_INVARIANT_TERMS_IN_BATCH(false);
 	
 	private final boolean defaultValue;
 
@@ -15,13 +15,24 @@
  */
 package org.kuali.rice.krms.framework.engine;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.kuali.rice.core.api.exception.RiceRuntimeException;
 import org.kuali.rice.krms.api.engine.ExecutionEnvironment;
 
 /**
  * An implementation of {@link AgendaTree} that executes a {@link ExecutionEnvironment} over its list of {@link AgendaTreeEntry}s.
+ *
+ * <p>If the environment is a {@link BasicExecutionEnvironment} with a rule {@link Executor}, the entries are executed
+ * concurrently, each in its own fork of the environment, and the forks are joined back in entry order.  The entries run
+ * on the executor's threads with the calling thread's context class loader, but no other thread-bound state, such as
+ * the caller's transaction, is carried over; the executor is responsible for propagating anything else.</p>
  * 
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
@@ -51,9 +62,92 @@ public final class BasicAgendaTree implements AgendaTree {
 	
     @Override
 	public void execute(ExecutionEnvironment environment) {
+		if (entries.size() > 1 && environment instanceof BasicExecutionEnvironment) {
+			BasicExecutionEnvironment basicEnvironment = (BasicExecutionEnvironment) environment;
+			if (basicEnvironment.getRuleExecutor() != null) {
+				List<BasicExecutionEnvironment> forks = new ArrayList<BasicExecutionEnvironment>(entries.size());
+				for (int i = 0; i < entries.size(); i++) {
+					forks.add(basicEnvironment.fork());
+				}
+				if (!forks.contains(null)) {
+					executeInParallel(basicEnvironment, forks);
+					return;
+				}
+			}
+		}
 		for (AgendaTreeEntry entry : entries) {
 			entry.execute(environment);
 		}
 	}
+
+    /**
+     * Executes each entry in its own fork of the environment, the first on the calling thread and the rest on the
+     * environment's rule {@link Executor}, then joins the forks back into the environment in entry order.  Each entry
+     * runs with the calling thread's context class loader, which is restored afterwards.
+     * @param environment the {@link BasicExecutionEnvironment} being executed
+     * @param forks a fork of the environment for each entry
+     */
+	private void executeInParallel(BasicExecutionEnvironment environment, List<BasicExecutionEnvironment> forks) {
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>(entries.size());
+		for (int i = 0; i < entries.size(); i++) {
+			final AgendaTreeEntry entry = entries.get(i);
+			final ExecutionEnvironment fork = forks.get(i);
+			FutureTask<Void> task = new FutureTask<Void>(new Runnable() {
+				@Override
+				public void run() {
+					Thread thread = Thread.currentThread();
+					ClassLoader originalClassLoader = thread.getContextClassLoader();
+					thread.setContextClassLoader(contextClassLoader);
+					try {
+						entry.execute(fork);
+					} finally {
+						thread.setContextClassLoader(originalClassLoader);
+					}
+				}
+			}, null);
+			tasks.add(task);
+			if (i > 0) {
+				try {
+					environment.getRuleExecutor().execute(task);
+				} catch (RejectedExecutionException e) {
+					task.run();
+				}
+			}
+		}
+		tasks.get(0).run();
+
+		try {
+			for (int i = 0; i < tasks.size(); i++) {
+				waitFor(tasks.get(i));
+				environment.join(forks.get(i));
+			}
+		} finally {
+			for (FutureTask<Void> task : tasks) {
+				task.cancel(true);
+			}
+		}
+	}
+
+    /**
+     * Waits for the given task to complete, rethrowing whatever it failed with.
+     * @param task the task to wait for
+     */
+	private void waitFor(FutureTask<Void> task) {
+		try {
+			task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RiceRuntimeException("Interrupted while executing agenda tree", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new RiceRuntimeException(e.getCause());
+		}
+	}
 	
 }
@@ -30,6 +30,7 @@ public final class BasicContext implements Context {
 	
 	private final List<Agenda> agendas;
 	private final List<TermResolver<?>> termResolvers;
+	private final TermResolutionPlanCache termResolutionPlanCache;
 
     /**
      * Create a BasicContext with the given parameters
@@ -37,8 +38,19 @@ public final class BasicContext implements Context {
      * @param termResolvers List<{@link TermResolver}<?>> to set the termResolvers to
      */
 	public BasicContext(List<Agenda> agendas, List<TermResolver<?>> termResolvers) {
+		this(agendas, termResolvers, new TermResolutionPlanCache());
+	}
+
+    /**
+     * Create a BasicContext with the given parameters
+     * @param agendas List<{@link}Agenda}> to set the agendas to
+     * @param termResolvers List<{@link TermResolver}<?>> to set the termResolvers to
+     * @param termResolutionPlanCache the {@link TermResolutionPlanCache} to use
+     */
+	private BasicContext(List<Agenda> agendas, List<TermResolver<?>> termResolvers, TermResolutionPlanCache termResolutionPlanCache) {
 		this.agendas = agendas;
 		this.termResolvers = termResolvers;
+		this.termResolutionPlanCache = termResolutionPlanCache;
 	}
 	
 	@Override
@@ -72,4 +84,35 @@ public final class BasicContext implements Context {
 		return Collections.unmodifiableList(termResolvers);
 	}
 
+    /**
+     * Return the {@link TermResolutionPlanCache} for this context's term resolvers, so that executions which reuse
+     * this context also reuse the term resolution plans computed by earlier executions.
+     * @return the {@link TermResolutionPlanCache} of this context
+     */
+	public TermResolutionPlanCache getTermResolutionPlanCache() {
+		return termResolutionPlanCache;
+	}
+
+    /**
+     * Return a copy of this context for executing a batch of facts in.  The values resolved by the term resolvers
+     * which have no prerequisites are remembered by the copy and shared by every execution it is used for.  The copy
+     * shares this context's agendas and {@link TermResolutionPlanCache}.
+     * @return the copy of this context
+     * @see InvariantTermResolver
+     */
+	BasicContext createBatchContext() {
+		if (termResolvers == null) {
+			return this;
+		}
+		List<TermResolver<?>> batchTermResolvers = new ArrayList<TermResolver<?>>(termResolvers.size());
+		for (TermResolver<?> termResolver : termResolvers) {
+			if (InvariantTermResolver.isInvariant(termResolver)) {
+				batchTermResolvers.add(InvariantTermResolver.create(termResolver));
+			} else {
+				batchTermResolvers.add(termResolver);
+			}
+		}
+		return new BasicContext(agendas, batchTermResolvers, termResolutionPlanCache);
+	}
+
 }
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.kuali.rice.krms.api.engine.EngineResults;
@@ -42,16 +43,17 @@ public final class BasicExecutionEnvironment implements ExecutionEnvironment {
 	private final SelectionCriteria selectionCriteria;
 	private final Map<Term, Object> facts;
 	private final ExecutionOptions executionOptions;
-	private final EngineResults engineResults;
+	private final EngineResultsImpl engineResults;
 	private final TermResolutionEngine termResolutionEngine;
 	private Map<Object, Set<Term>> termPropositionMap;
+	private Executor ruleExecutor;
 
     /**
      * Constructor for a BasicExecutionEnvironment with the given {@link SelectionCriteria}, facts, {@link ExecutionOptions} and {@link TermResolutionEngine}
      * @param selectionCriteria to set selectionCriteria to, cannot be null
      * @param facts to set facts to, cannot be null
      * @param executionOptions to set executionOptions to
-     * @param termResolutionEngine to set termResolutionEngine to
+     * @param termResolutionEngine to set termResolutionEngine to, if null a new {@link TermResolutionEngineImpl} is used
      * @throws IllegalArgumentException if the selectionCriteria or facts are null
      */
 	public BasicExecutionEnvironment(SelectionCriteria selectionCriteria, Map<Term, Object> facts, ExecutionOptions executionOptions, TermResolutionEngine termResolutionEngine) {
@@ -65,7 +67,7 @@ public final class BasicExecutionEnvironment implements ExecutionEnvironment {
 		this.executionOptions = new ExecutionOptions(executionOptions);
 		this.engineResults = new EngineResultsImpl();
 				
-		this.termResolutionEngine = new TermResolutionEngineImpl();
+		this.termResolutionEngine = termResolutionEngine == null ? new TermResolutionEngineImpl() : termResolutionEngine;
 		
 		// Add facts
 		this.facts = new HashMap<Term, Object>(facts.size());
@@ -75,6 +77,19 @@ public final class BasicExecutionEnvironment implements ExecutionEnvironment {
 			this.termResolutionEngine.addTermValue(factsEntry.getKey(), factsEntry.getValue());
 		}
 	}
+
+    /**
+     * Constructor for a BasicExecutionEnvironment forked from the given environment, see {@link #fork()}
+     * @param environment the BasicExecutionEnvironment being forked
+     * @param termResolutionEngine a copy of the given environment's {@link TermResolutionEngine}
+     */
+	private BasicExecutionEnvironment(BasicExecutionEnvironment environment, TermResolutionEngine termResolutionEngine) {
+		this.selectionCriteria = environment.selectionCriteria;
+		this.executionOptions = environment.executionOptions;
+		this.engineResults = new EngineResultsImpl();
+		this.termResolutionEngine = termResolutionEngine;
+		this.facts = new HashMap<Term, Object>(environment.facts);
+	}
 	
 	@Override
 	public SelectionCriteria getSelectionCriteria() {
@@ -142,6 +157,61 @@ public final class BasicExecutionEnvironment implements ExecutionEnvironment {
 	public EngineResults getEngineResults() {
 		return engineResults;
 	}
+
+    /**
+     * Returns the {@link Executor} which rules may be evaluated concurrently on, see
+     * {@link org.kuali.rice.krms.api.engine.ExecutionFlag#EVALUATE_RULES_IN_PARALLEL}
+     * @return the rule Executor, or null if rules are to be evaluated one after the other
+     */
+	public Executor getRuleExecutor() {
+		return ruleExecutor;
+	}
+
+    /**
+     * Set the {@link Executor} which rules may be evaluated concurrently on
+     * @param ruleExecutor the rule Executor, null to evaluate rules one after the other
+     */
+	public void setRuleExecutor(Executor ruleExecutor) {
+		this.ruleExecutor = ruleExecutor;
+	}
+
+    /**
+     * Creates a copy of this environment, holding the same facts and term resolvers, which part of an agenda can be
+     * executed in on another thread.  The forked environment records its own results and has no rule Executor, and
+     * nothing done in it is visible in this environment until it is passed to {@link #join(BasicExecutionEnvironment)}.
+     * This environment must not be modified while it is being forked.
+     * @return the forked environment, or null if this environment's {@link TermResolutionEngine} can not be copied
+     */
+	BasicExecutionEnvironment fork() {
+		if (!(termResolutionEngine instanceof TermResolutionEngineImpl)) {
+			return null;
+		}
+		return new BasicExecutionEnvironment(this, new TermResolutionEngineImpl((TermResolutionEngineImpl) termResolutionEngine));
+	}
+
+    /**
+     * Publishes the facts and appends the results and attributes of a forked environment into this environment.
+     * Forks are joined in the order their part of the agenda would have executed in, which keeps the results ordered.
+     * @param environment an environment created by {@link #fork()}
+     */
+	void join(BasicExecutionEnvironment environment) {
+		for (Entry<Term, Object> fact : environment.facts.entrySet()) {
+			publishFact(fact.getKey(), fact.getValue());
+		}
+		if (environment.termPropositionMap != null) {
+			if (termPropositionMap == null) {
+				termPropositionMap = new HashMap<Object, Set<Term>>();
+			}
+			for (Entry<Object, Set<Term>> terms : environment.termPropositionMap.entrySet()) {
+				if (termPropositionMap.containsKey(terms.getKey())) {
+					termPropositionMap.get(terms.getKey()).addAll(terms.getValue());
+				} else {
+					termPropositionMap.put(terms.getKey(), terms.getValue());
+				}
+			}
+		}
+		engineResults.addAll(environment.engineResults);
+	}
 	
 
 }
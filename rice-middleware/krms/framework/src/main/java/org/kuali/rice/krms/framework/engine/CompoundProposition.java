@@ -16,8 +16,11 @@
 package org.kuali.rice.krms.framework.engine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.kuali.rice.krms.api.engine.ExecutionEnvironment;
 import org.kuali.rice.krms.api.engine.ResultEvent;
@@ -29,6 +32,10 @@ import org.kuali.rice.krms.framework.engine.result.BasicResult;
  *
  * An implementation of {@link Proposition} which holds other Propositions and a {@link LogicalOperator}.
  *
+ * <p>When the {@link ExecutionFlag#ORDER_PROPOSITIONS_BY_COST} flag is set, the average time taken to evaluate each
+ * child Proposition is tracked and the children are evaluated cheapest first.  Children which have not been evaluated
+ * yet are evaluated first, in their given order, so that their cost gets measured.</p>
+ *
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
 public final class CompoundProposition implements Proposition {
@@ -37,6 +44,7 @@ public final class CompoundProposition implements Proposition {
     
 	private final LogicalOperator logicalOperator;
 	private final List<Proposition> propositions;
+	private final AtomicLongArray evaluationCosts;
 
     /**
      * Create a CompoundProposition with the given values
@@ -53,6 +61,7 @@ public final class CompoundProposition implements Proposition {
 		}
 		this.logicalOperator = logicalOperator;
 		this.propositions = new ArrayList<Proposition>(propositions);
+		this.evaluationCosts = new AtomicLongArray(propositions.size());
 	}
 	
 	@Override
@@ -80,14 +89,18 @@ public final class CompoundProposition implements Proposition {
     	
     	boolean collatedResult;
     	boolean evaluateAll = environment.getExecutionOptions().getFlag(ExecutionFlag.EVALUATE_ALL_PROPOSITIONS);
+    	boolean orderByCost = !evaluateAll && environment.getExecutionOptions().getFlag(ExecutionFlag.ORDER_PROPOSITIONS_BY_COST);
+    	int[] order = orderByCost ? getOrderByCost() : null;
     	
         if (logicalOperator == LogicalOperator.AND) {
 
             collatedResult = true;
 
-			for (Proposition proposition : propositions) {
+			for (int i = 0; i < propositions.size(); i++) {
 				
-				PropositionResult singleResult = proposition.evaluate(environment);
+				int index = order == null ? i : order[i];
+				Proposition proposition = propositions.get(index);
+				PropositionResult singleResult = evaluateChild(index, environment, orderByCost);
 				logPropositionResult(proposition, singleResult, environment);
 								
 				if (!singleResult.getResult()) {
@@ -102,9 +115,11 @@ public final class CompoundProposition implements Proposition {
 			
 		    collatedResult = false;
 			
-			for (Proposition proposition : propositions) {
+			for (int i = 0; i < propositions.size(); i++) {
 				
-			    PropositionResult singleResult = proposition.evaluate(environment);
+				int index = order == null ? i : order[i];
+				Proposition proposition = propositions.get(index);
+			    PropositionResult singleResult = evaluateChild(index, environment, orderByCost);
 				logPropositionResult(proposition, singleResult, environment);
 				
 				if (singleResult.getResult()) {
@@ -117,6 +132,50 @@ public final class CompoundProposition implements Proposition {
 		}
 		throw new IllegalStateException("Invalid logical operator: " + logicalOperator);
     }
+
+    /**
+     * Evaluates the child {@link Proposition} at the given index, optionally recording how long it took
+     * @param index the index of the child Proposition
+     * @param environment {@link ExecutionEnvironment} to use for evaluation
+     * @param recordCost whether to update the average evaluation cost of the child
+     * @return PropositionResult {@link PropositionResult} the result of the child's evaluation
+     */
+    private PropositionResult evaluateChild(int index, ExecutionEnvironment environment, boolean recordCost) {
+        if (!recordCost) {
+            return propositions.get(index).evaluate(environment);
+        }
+        long start = System.nanoTime();
+        PropositionResult result = propositions.get(index).evaluate(environment);
+        long cost = Math.max(System.nanoTime() - start, 1L);
+        long averageCost = evaluationCosts.get(index);
+        evaluationCosts.set(index, averageCost == 0 ? cost : averageCost + (cost - averageCost) / 8);
+        return result;
+    }
+
+    /**
+     * Returns the indexes of the child {@link Proposition}s ordered by their average evaluation cost, cheapest first.
+     * Children with equal costs keep their given order.
+     * @return the indexes of the children in the order to evaluate them in
+     */
+    private int[] getOrderByCost() {
+        final long[] costs = new long[propositions.size()];
+        Integer[] indexes = new Integer[propositions.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            costs[i] = evaluationCosts.get(i);
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer index1, Integer index2) {
+                return costs[index1] < costs[index2] ? -1 : (costs[index1] == costs[index2] ? 0 : 1);
+            }
+        });
+        int[] order = new int[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            order[i] = indexes[i];
+        }
+        return order;
+    }
     
     /*
      * Logs only if the proposition is not compound
@@ -88,5 +88,14 @@ public class EngineResultsImpl implements EngineResults {
 	public void setAttribute(String key, Object attr) {
 	    attributes.put(key, attr);
 	}
+
+    /**
+     * Append all the ResultEvents of the given EngineResultsImpl, in order, and copy all of its attributes.
+     * @param engineResults the EngineResultsImpl to add the results and attributes of
+     */
+	void addAll(EngineResultsImpl engineResults) {
+		results.addAll(engineResults.results);
+		attributes.putAll(engineResults.attributes);
+	}
 	
 }
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.framework.engine;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.kuali.rice.krms.api.engine.TermResolutionException;
+import org.kuali.rice.krms.api.engine.TermResolver;
+
+/**
+ * A {@link TermResolver} which remembers the values resolved by a {@link TermResolver} that has no prerequisites, so
+ * that they are only resolved once for each set of parameters.  A resolver without prerequisites is not given anything
+ * which varies from one execution to the next, so if it is also pure its values can be shared by all the executions of
+ * a batch.  Only used when the {@link org.kuali.rice.krms.api.engine.ExecutionFlag#SHARE_INVARIANT_TERMS_IN_BATCH}
+ * flag is set.
+ *
+ * @see ProviderBasedEngine#executeBatch(org.kuali.rice.krms.api.engine.SelectionCriteria, Iterable, org.kuali.rice.krms.api.engine.ExecutionOptions)
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ * @since 2.6.0
+ */
+final class InvariantTermResolver<T> implements TermResolver<T> {
+
+	private static final Object NULL_VALUE = new Object();
+
+	private final TermResolver<T> termResolver;
+	private final ConcurrentMap<Map<String, String>, Object> values = new ConcurrentHashMap<Map<String, String>, Object>();
+
+    /**
+     * Create an InvariantTermResolver for the given {@link TermResolver}
+     * @param termResolver the TermResolver to remember the values of, must not have any prerequisites
+     * @throws IllegalArgumentException if the termResolver has prerequisites
+     */
+	private InvariantTermResolver(TermResolver<T> termResolver) {
+		if (!isInvariant(termResolver)) {
+			throw new IllegalArgumentException("termResolver has prerequisites");
+		}
+		this.termResolver = termResolver;
+	}
+
+    /**
+     * Create an InvariantTermResolver for the given {@link TermResolver}
+     * @param termResolver the TermResolver to remember the values of, must not have any prerequisites
+     * @return the InvariantTermResolver
+     * @throws IllegalArgumentException if the termResolver has prerequisites
+     */
+	static <T> InvariantTermResolver<T> create(TermResolver<T> termResolver) {
+		return new InvariantTermResolver<T>(termResolver);
+	}
+
+    /**
+     * Returns true if the values resolved by the given {@link TermResolver} do not depend on any other terms
+     * @param termResolver the TermResolver to check
+     * @return true if the termResolver has no prerequisites
+     */
+	static boolean isInvariant(TermResolver<?> termResolver) {
+		return termResolver.getPrerequisites() == null || termResolver.getPrerequisites().isEmpty();
+	}
+
+	@Override
+	public Set<String> getPrerequisites() {
+		return termResolver.getPrerequisites();
+	}
+
+	@Override
+	public String getOutput() {
+		return termResolver.getOutput();
+	}
+
+	@Override
+	public Set<String> getParameterNames() {
+		return termResolver.getParameterNames();
+	}
+
+	@Override
+	public int getCost() {
+		return termResolver.getCost();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T resolve(Map<String, Object> resolvedPrereqs, Map<String, String> parameters) throws TermResolutionException {
+		Map<String, String> key = parameters == null ? Collections.<String, String>emptyMap() : new HashMap<String, String>(parameters);
+		Object value = values.get(key);
+		if (value == null) {
+			T resolved = termResolver.resolve(resolvedPrereqs, parameters);
+			values.putIfAbsent(key, resolved == null ? NULL_VALUE : resolved);
+			return resolved;
+		}
+		return value == NULL_VALUE ? null : (T) value;
+	}
+
+	@Override
+	public String toString() {
+		return termResolver.toString();
+	}
+
+}
@@ -15,12 +15,16 @@
  */
 package org.kuali.rice.krms.framework.engine;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.joda.time.DateTime;
 import org.kuali.rice.krms.api.engine.Engine;
 import org.kuali.rice.krms.api.engine.EngineResults;
 import org.kuali.rice.krms.api.engine.ExecutionEnvironment;
+import org.kuali.rice.krms.api.engine.ExecutionFlag;
 import org.kuali.rice.krms.api.engine.ExecutionOptions;
 import org.kuali.rice.krms.api.engine.Facts;
 import org.kuali.rice.krms.api.engine.ResultEvent;
@@ -40,6 +44,7 @@ public class ProviderBasedEngine implements Engine {
 	private static final ResultLogger KLog = ResultLogger.getInstance();
 
 	private ContextProvider contextProvider;
+	private Executor ruleExecutor;
 
     @Override
     public EngineResults execute(SelectionCriteria selectionCriteria, Map<String, Object> facts,
@@ -51,22 +56,88 @@ public class ProviderBasedEngine implements Engine {
 
     @Override
 	public EngineResults execute(SelectionCriteria selectionCriteria, Facts facts, ExecutionOptions executionOptions) {
-		DateTime start, end;
-		start = new DateTime();
-		ExecutionEnvironment environment = establishExecutionEnvironment(selectionCriteria, facts.getFactMap(), executionOptions);
-		
-		// set execution time
-		Long effectiveExecutionTime = environment.getSelectionCriteria().getEffectiveExecutionTime();
-		if (effectiveExecutionTime == null) { effectiveExecutionTime = System.currentTimeMillis(); }
-		environment.publishFact(effectiveExecutionTimeTerm, effectiveExecutionTime);
+		DateTime start = new DateTime();
 
 		Context context = selectContext(selectionCriteria, facts.getFactMap(), executionOptions);
 		if (context == null) {
 			LOG.info("Failed to locate a Context for the given qualifiers, skipping rule engine execution: " + selectionCriteria.getContextQualifiers());
 			return null;
 		}
+
+		return execute(selectionCriteria, facts, executionOptions, context, start);
+	}
+
+    /**
+     * Executes the batch in a single {@link Context}, selected using only the given {@link SelectionCriteria}.  If the
+     * context is a {@link BasicContext} and the {@link ExecutionFlag#SHARE_INVARIANT_TERMS_IN_BATCH} flag is set, the
+     * values resolved by its term resolvers which have no prerequisites are resolved once and shared by all the
+     * executions in the batch.  If no context can be located, the iterator returns
+     * null for each set of facts, just as {@link #execute(SelectionCriteria, Facts, ExecutionOptions)} would.
+     * @see org.kuali.rice.krms.api.engine.Engine#executeBatch(SelectionCriteria, Iterable, ExecutionOptions)
+     */
+    @Override
+	public Iterator<EngineResults> executeBatch(final SelectionCriteria selectionCriteria, Iterable<Facts> factsBatch,
+			final ExecutionOptions executionOptions) {
+		if (factsBatch == null) {
+			throw new IllegalArgumentException("factsBatch was null");
+		}
+
+		Context context = selectContext(selectionCriteria, Collections.<Term, Object>emptyMap(), executionOptions);
+		if (context == null) {
+			LOG.info("Failed to locate a Context for the given qualifiers, skipping rule engine execution: " + selectionCriteria.getContextQualifiers());
+		} else if (context instanceof BasicContext && executionOptions != null
+				&& executionOptions.getFlag(ExecutionFlag.SHARE_INVARIANT_TERMS_IN_BATCH)) {
+			context = ((BasicContext) context).createBatchContext();
+		}
+
+		final Context batchContext = context;
+		final Iterator<Facts> factsIterator = factsBatch.iterator();
+		return new Iterator<EngineResults>() {
+			@Override
+			public boolean hasNext() {
+				return factsIterator.hasNext();
+			}
+
+			@Override
+			public EngineResults next() {
+				Facts facts = factsIterator.next();
+				if (batchContext == null) {
+					return null;
+				}
+				return execute(selectionCriteria, facts, executionOptions, batchContext, new DateTime());
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("remove is not supported");
+			}
+		};
+	}
+
+    /**
+     * Executes the given {@link Context} against the given facts
+     * @param selectionCriteria {@link SelectionCriteria}
+     * @param facts {@link Facts}
+     * @param executionOptions {@link ExecutionOptions}
+     * @param context the {@link Context} to execute
+     * @param start when execution started
+     * @return {@link EngineResults} the results of executing the context
+     */
+	private EngineResults execute(SelectionCriteria selectionCriteria, Facts facts, ExecutionOptions executionOptions,
+			Context context, DateTime start) {
+		ExecutionEnvironment environment = establishExecutionEnvironment(selectionCriteria, facts.getFactMap(), executionOptions, context);
+		if (ruleExecutor != null && environment instanceof BasicExecutionEnvironment
+				&& environment.getExecutionOptions().getFlag(ExecutionFlag.EVALUATE_RULES_IN_PARALLEL)) {
+			((BasicExecutionEnvironment) environment).setRuleExecutor(ruleExecutor);
+		}
+		
+		// set execution time
+		Long effectiveExecutionTime = environment.getSelectionCriteria().getEffectiveExecutionTime();
+		if (effectiveExecutionTime == null) { effectiveExecutionTime = System.currentTimeMillis(); }
+		environment.publishFact(effectiveExecutionTimeTerm, effectiveExecutionTime);
+
 		context.execute(environment);
-		end = new DateTime();
+		DateTime end = new DateTime();
 		if (KLog.isEnabled(environment)){
 			KLog.logResult(new TimingResult(ResultEvent.TIMING_EVENT, this, environment, start, end));
 		}
@@ -84,6 +155,23 @@ public class ProviderBasedEngine implements Engine {
 		return new BasicExecutionEnvironment(selectionCriteria, facts, executionOptions, new TermResolutionEngineImpl());
 	}
 
+    /**
+     * Return a {@link BasicExecutionEnvironment} for executing the given {@link Context}.  If the context is a
+     * {@link BasicContext}, the term resolution plans it holds are reused by the environment.
+     * @param selectionCriteria {@link SelectionCriteria}
+     * @param facts
+     * @param executionOptions {@link ExecutionOptions}
+     * @param context the {@link Context} which will be executed in the environment
+     * @return {@link ExecutionEnvironment} created with the given parameters
+     */
+	protected ExecutionEnvironment establishExecutionEnvironment(SelectionCriteria selectionCriteria, Map<Term, Object> facts, ExecutionOptions executionOptions, Context context) {
+		if (context instanceof BasicContext) {
+			TermResolutionPlanCache planCache = ((BasicContext) context).getTermResolutionPlanCache();
+			return new BasicExecutionEnvironment(selectionCriteria, facts, executionOptions, new TermResolutionEngineImpl(planCache));
+		}
+		return establishExecutionEnvironment(selectionCriteria, facts, executionOptions);
+	}
+
     /**
      * Load a Context from the contextProvider using the given parameters
      * @see ContextProvider loadContext
@@ -107,5 +195,14 @@ public class ProviderBasedEngine implements Engine {
 	public void setContextProvider(ContextProvider contextProvider) {
 		this.contextProvider = contextProvider;
 	}
+
+    /**
+     * Set the {@link Executor} which rules are evaluated on when the {@link ExecutionFlag#EVALUATE_RULES_IN_PARALLEL}
+     * flag is set.  The executor should be bounded, and may run rejected rules on the calling thread.
+     * @param ruleExecutor to evaluate rules concurrently on, if null rules are always evaluated one after the other
+     */
+	public void setRuleExecutor(Executor ruleExecutor) {
+		this.ruleExecutor = ruleExecutor;
+	}
 	
 }
@@ -50,6 +50,37 @@ public class TermResolutionEngineImpl implements TermResolutionEngine {
 	// should this use soft refs?  Will require some refactoring to check if the referenced object is around;
 	private final Map<Term, Object> termCache = new HashMap<Term, Object>();
 
+	private final TermResolutionPlanCache planCache;
+
+	public TermResolutionEngineImpl() {
+		this((TermResolutionPlanCache) null);
+	}
+
+	/**
+	 * Create a TermResolutionEngineImpl which reuses the resolution plans held in the given cache.  The cache must
+	 * only be shared with engines which are given the same {@link TermResolver}s.
+	 *
+	 * @param planCache the {@link TermResolutionPlanCache} to use, may be null in which case plans are not reused
+	 */
+	public TermResolutionEngineImpl(TermResolutionPlanCache planCache) {
+		this.planCache = planCache;
+	}
+
+	/**
+	 * Create a TermResolutionEngineImpl with the same {@link TermResolver}s, term values and plan cache as the given
+	 * engine.  Changes made to either engine afterwards are not visible to the other.
+	 *
+	 * @param engine the TermResolutionEngineImpl to copy
+	 */
+	TermResolutionEngineImpl(TermResolutionEngineImpl engine) {
+		this(engine.planCache);
+		for (Entry<String, List<TermResolver<?>>> entry : engine.termResolversByOutput.entrySet()) {
+			termResolversByOutput.put(entry.getKey(), new LinkedList<TermResolver<?>>(entry.getValue()));
+		}
+		termResolversByKey.putAll(engine.termResolversByKey);
+		termCache.putAll(engine.termCache);
+	}
+
 	@Override
 	public void addTermValue(Term term, Object value) {
 		termCache.put(term, value);
@@ -78,8 +109,7 @@ public class TermResolutionEngineImpl implements TermResolutionEngine {
 		String termName = term.getName();
 		
 		// build plan w/ termName spec for correct TermResolver selection
-		List<TermResolverKey> resolutionPlan = buildTermResolutionPlan(termName);
-		// TODO: could cache these plans somewhere, since future agendas will likely require the same plans
+		List<TermResolverKey> resolutionPlan = getTermResolutionPlan(termName);
 		
 		LOG.debug("resolutionPlan: " + (resolutionPlan == null ? "null" : StringUtils.join(resolutionPlan.iterator(), ", ")));
 		
@@ -156,6 +186,49 @@ public class TermResolutionEngineImpl implements TermResolutionEngine {
 		}
 	}
 
+	/**
+	 * Return the plan for resolving the given term name, from the {@link TermResolutionPlanCache} if there is one.
+	 * Since a plan depends on which terms are already known, the cached plans are keyed by those as well.
+	 *
+	 * @param termName
+	 * @return List<{@link TermResolverKey}>, or null if the term can not be resolved
+	 */
+	protected List<TermResolverKey> getTermResolutionPlan(String termName) {
+		if (planCache == null) {
+			return buildTermResolutionPlan(termName);
+		}
+
+		String planKey = buildTermResolutionPlanKey(termName);
+		List<TermResolverKey> resolutionPlan = planCache.getPlan(planKey);
+		if (resolutionPlan == null) {
+			resolutionPlan = buildTermResolutionPlan(termName);
+			if (resolutionPlan != null) {
+				planCache.putPlan(planKey, resolutionPlan);
+			}
+		}
+		return resolutionPlan;
+	}
+
+	/**
+	 * Build the key a plan for the given term name is cached under, made up of the term name, the number of
+	 * registered resolvers and the names of the unparameterized terms which are already known.
+	 */
+	private String buildTermResolutionPlanKey(String termName) {
+		List<String> knownTermNames = new ArrayList<String>(termCache.size());
+		for (Term knownTerm : termCache.keySet()) {
+			if (knownTerm.getParameters().isEmpty()) {
+				knownTermNames.add(knownTerm.getName());
+			}
+		}
+		Collections.sort(knownTermNames);
+
+		StringBuilder planKey = new StringBuilder(termName).append("|").append(termResolversByKey.size());
+		for (String knownTermName : knownTermNames) {
+			planKey.append("|").append(knownTermName);
+		}
+		return planKey.toString();
+	}
+
     /**
      *
      * @param termName
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.framework.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.kuali.rice.krms.framework.engine.TermResolutionEngineImpl.TermResolverKey;
+
+/**
+ * Holds the term resolution plans computed by {@link TermResolutionEngineImpl} so that they can be reused by later
+ * executions against the same set of {@link org.kuali.rice.krms.api.engine.TermResolver}s.
+ *
+ * <p>A plan only depends on the term being resolved, the registered resolvers and which terms are already known, so
+ * an instance of this class must only be shared between engines which are given the same resolvers, typically by
+ * being owned by the {@link Context} which supplies them.  The number of plans held is bounded; once full, further
+ * plans are simply computed on each use.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public final class TermResolutionPlanCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final ConcurrentMap<String, List<TermResolverKey>> plans =
+            new ConcurrentHashMap<String, List<TermResolverKey>>();
+    private final int maxSize;
+
+    public TermResolutionPlanCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public TermResolutionPlanCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    List<TermResolverKey> getPlan(String planKey) {
+        return plans.get(planKey);
+    }
+
+    void putPlan(String planKey, List<TermResolverKey> plan) {
+        if (plans.size() < maxSize) {
+            plans.putIfAbsent(planKey, Collections.unmodifiableList(new ArrayList<TermResolverKey>(plan)));
+        }
+    }
+
+    /**
+     * @return the number of plans currently held
+     */
+    public int size() {
+        return plans.size();
+    }
+
+    /**
+     * Discards all of the plans held.
+     */
+    public void clear() {
+        plans.clear();
+    }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.kuali.rice.krms.framework;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -28,7 +29,7 @@ import org.kuali.rice.krms.framework.engine.Action;
  */
 public class ActionMock implements Action {
 
-	private static final Set<String> actionsFired = new HashSet<String>();
+	private static final Set<String> actionsFired = Collections.synchronizedSet(new HashSet<String>());
 	
 	public static void resetActionsFired() {
 		actionsFired.clear();
@@ -15,6 +15,7 @@
  */
 package org.kuali.rice.krms.framework;
 
+import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertTrue;
@@ -25,13 +26,19 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.kuali.rice.krms.api.engine.EngineResults;
+import org.kuali.rice.krms.api.engine.ExecutionEnvironment;
 import org.kuali.rice.krms.api.engine.ExecutionOptions;
 import org.kuali.rice.krms.api.engine.ExecutionFlag;
 import org.kuali.rice.krms.api.engine.Facts;
+import org.kuali.rice.krms.api.engine.ResultEvent;
 import org.kuali.rice.krms.api.engine.SelectionCriteria;
 import org.kuali.rice.krms.api.engine.Term;
 import org.kuali.rice.krms.api.engine.TermResolver;
@@ -53,6 +60,7 @@ import org.kuali.rice.krms.framework.engine.ProviderBasedEngine;
 import org.kuali.rice.krms.framework.engine.ResultLogger;
 import org.kuali.rice.krms.framework.engine.Rule;
 import org.kuali.rice.krms.framework.engine.expression.ComparisonOperatorServiceImpl;
+import org.kuali.rice.krms.framework.engine.result.EngineResultListener;
 
 public class AgendaTest {
 	private static final ResultLogger LOG = ResultLogger.getInstance();
@@ -178,6 +186,105 @@ public class AgendaTest {
 		assertTrue(ActionMock.actionFired("a3"));
 	}
 
+	@Test
+	public void testParallelAgenda() {
+
+		Rule rule1 = new BasicRule("r1", trueProp, Collections.<Action>singletonList(new ActionMock("a1")));
+		Rule rule2 = new BasicRule("r2", falseProp, Collections.<Action>singletonList(new ActionMock("a2")));
+		Rule rule3 = new BasicRule("r3", trueProp, Collections.<Action>singletonList(new ActionMock("a3")));
+		Rule subRule1 = new BasicRule("r1s1", trueProp, Collections.<Action>singletonList(new ActionMock("a4")));
+
+		BasicAgendaTree subAgendaTree1 = new BasicAgendaTree(new BasicAgendaTreeEntry(subRule1));
+		BasicAgendaTree agendaTree = new BasicAgendaTree(new BasicAgendaTreeEntry(rule1, subAgendaTree1, null),
+				new BasicAgendaTreeEntry(rule2), new BasicAgendaTreeEntry(rule3));
+		Agenda agenda = new BasicAgenda(Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"), agendaTree);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		EngineResultListener listener = new EngineResultListener();
+		LOG.addListener(listener);
+		try {
+			ExecutionOptions executionOptions = new ExecutionOptions().setFlag(ExecutionFlag.LOG_EXECUTION, true)
+					.setFlag(ExecutionFlag.EVALUATE_RULES_IN_PARALLEL, true);
+			EngineResults results = execute(agenda, Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"),
+					executionOptions, executor);
+
+			assertTrue(ActionMock.actionFired("a1"));
+			assertFalse(ActionMock.actionFired("a2"));
+			assertTrue(ActionMock.actionFired("a3"));
+			assertTrue(ActionMock.actionFired("a4"));
+
+			// rule results are recorded in agenda order
+			List<ResultEvent> ruleResults = results.getResultsOfType(ResultEvent.RULE_EVALUATED);
+			assertEquals(4, ruleResults.size());
+			assertEquals(rule1, ruleResults.get(0).getSource());
+			assertEquals(subRule1, ruleResults.get(1).getSource());
+			assertEquals(rule2, ruleResults.get(2).getSource());
+			assertEquals(rule3, ruleResults.get(3).getSource());
+		} finally {
+			LOG.removeListener(listener);
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Rules evaluated on the executor's threads must see the caller's context class loader, and the executor's threads
+	 * must get their own back afterwards.
+	 */
+	@Test
+	public void testParallelAgendaContextClassLoader() throws Exception {
+		final Map<String, ClassLoader> contextClassLoaders = new ConcurrentHashMap<String, ClassLoader>();
+		List<BasicAgendaTreeEntry> entries = new ArrayList<BasicAgendaTreeEntry>();
+		for (final String ruleName : Arrays.asList("r1", "r2", "r3")) {
+			Action action = new Action() {
+				@Override
+				public void execute(ExecutionEnvironment environment) {
+					contextClassLoaders.put(ruleName, Thread.currentThread().getContextClassLoader());
+				}
+
+				@Override
+				public void executeSimulation(ExecutionEnvironment environment) {
+				}
+			};
+			entries.add(new BasicAgendaTreeEntry(new BasicRule(ruleName, trueProp, Collections.singletonList(action))));
+		}
+		Agenda agenda = new BasicAgenda(Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"),
+				new BasicAgendaTree(new ArrayList<AgendaTreeEntry>(entries)));
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		ClassLoader executorClassLoader = executor.submit(new Callable<ClassLoader>() {
+			@Override
+			public ClassLoader call() {
+				return Thread.currentThread().getContextClassLoader();
+			}
+		}).get();
+
+		Thread thread = Thread.currentThread();
+		ClassLoader originalClassLoader = thread.getContextClassLoader();
+		ClassLoader callerClassLoader = new ClassLoader(originalClassLoader) {};
+		thread.setContextClassLoader(callerClassLoader);
+		try {
+			ExecutionOptions executionOptions = new ExecutionOptions()
+					.setFlag(ExecutionFlag.EVALUATE_RULES_IN_PARALLEL, true);
+			execute(agenda, Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"), executionOptions,
+					executor);
+
+			assertEquals(3, contextClassLoaders.size());
+			for (ClassLoader contextClassLoader : contextClassLoaders.values()) {
+				assertTrue(contextClassLoader == callerClassLoader);
+			}
+			assertTrue(thread.getContextClassLoader() == callerClassLoader);
+			assertTrue(executorClassLoader == executor.submit(new Callable<ClassLoader>() {
+				@Override
+				public ClassLoader call() {
+					return Thread.currentThread().getContextClassLoader();
+				}
+			}).get());
+		} finally {
+			thread.setContextClassLoader(originalClassLoader);
+			executor.shutdown();
+		}
+	}
+
     /**
      * Make sure agenda qualifier matching is based on the provided qualifiers
      * see https://jira.kuali.org/browse/KULRICE-6098
@@ -214,6 +321,22 @@ public class AgendaTest {
      * @param agendaQualifiers
      */
 	private void execute(Agenda agenda, Map<String, String> agendaQualifiers) {
+		// Set execution options to log execution
+		ExecutionOptions executionOptions = new ExecutionOptions().setFlag(ExecutionFlag.LOG_EXECUTION, true);
+
+		execute(agenda, agendaQualifiers, executionOptions, null);
+	}
+
+    /**
+     * execute the engine against a trivial context containing the given agenda.
+     * @param agenda
+     * @param agendaQualifiers
+     * @param executionOptions
+     * @param ruleExecutor the executor to give the engine, may be null
+     * @return the engine results
+     */
+	private EngineResults execute(Agenda agenda, Map<String, String> agendaQualifiers, ExecutionOptions executionOptions,
+			ExecutorService ruleExecutor) {
 		Map<String, String> contextQualifiers = new HashMap<String, String>();
 		contextQualifiers.put("docTypeName", "Proposal");
 
@@ -228,12 +351,11 @@ public class AgendaTest {
 		
 		ProviderBasedEngine engine = new ProviderBasedEngine();
 		engine.setContextProvider(contextProvider);
+		engine.setRuleExecutor(ruleExecutor);
 
-		// Set execution options to log execution
-		ExecutionOptions executionOptions = new ExecutionOptions().setFlag(ExecutionFlag.LOG_EXECUTION, true);
-		
 		EngineResults results = engine.execute(selectionCriteria, Facts.EMPTY_FACTS, executionOptions);
 		assertNotNull(results);
+		return results;
 	}
 	
 	private static final Term totalCostTerm = new Term("totalCost");
@@ -0,0 +1,221 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.framework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.kuali.rice.krms.api.engine.EngineResults;
+import org.kuali.rice.krms.api.engine.ExecutionEnvironment;
+import org.kuali.rice.krms.api.engine.ExecutionFlag;
+import org.kuali.rice.krms.api.engine.ExecutionOptions;
+import org.kuali.rice.krms.api.engine.Facts;
+import org.kuali.rice.krms.api.engine.SelectionCriteria;
+import org.kuali.rice.krms.api.engine.Term;
+import org.kuali.rice.krms.api.engine.TermResolutionException;
+import org.kuali.rice.krms.api.engine.TermResolver;
+import org.kuali.rice.krms.api.repository.agenda.AgendaDefinition;
+import org.kuali.rice.krms.framework.engine.Action;
+import org.kuali.rice.krms.framework.engine.Agenda;
+import org.kuali.rice.krms.framework.engine.BasicAgenda;
+import org.kuali.rice.krms.framework.engine.BasicAgendaTree;
+import org.kuali.rice.krms.framework.engine.BasicAgendaTreeEntry;
+import org.kuali.rice.krms.framework.engine.BasicContext;
+import org.kuali.rice.krms.framework.engine.BasicRule;
+import org.kuali.rice.krms.framework.engine.Context;
+import org.kuali.rice.krms.framework.engine.ContextProvider;
+import org.kuali.rice.krms.framework.engine.Proposition;
+import org.kuali.rice.krms.framework.engine.PropositionResult;
+import org.kuali.rice.krms.framework.engine.ProviderBasedEngine;
+import org.kuali.rice.krms.framework.engine.Rule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of executing a batch of facts one at a time with
+ * {@link ProviderBasedEngine#execute(SelectionCriteria, Facts, ExecutionOptions)} against
+ * {@link ProviderBasedEngine#executeBatch(SelectionCriteria, Iterable, ExecutionOptions)}, with and without
+ * {@link ExecutionFlag#SHARE_INVARIANT_TERMS_IN_BATCH}.  Selecting the context and resolving the invariant term each
+ * cost a fixed amount of work, standing in for the repository and remote lookups they usually do.
+ *
+ * <p>This is not run as part of the unit tests, run the main method (or the JMH runner) with the test classpath.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BatchExecutionBenchmark {
+
+	private static final int BATCH_SIZE = 1000;
+
+	/** the work done by each context selection and invariant term lookup, in JMH tokens */
+	private static final long LOOKUP_TOKENS = 2000;
+
+	private static final Term amountTerm = new Term("amount");
+	private static final Term thresholdTerm = new Term("threshold");
+	private static final String EXCEEDED = "exceeded";
+
+	private ProviderBasedEngine engine;
+	private SelectionCriteria selectionCriteria;
+	private List<Facts> factsBatch;
+
+	@Setup
+	public void setUp() {
+		Rule rule = new BasicRule("r1", new ExceedsThresholdProposition(),
+				Collections.<Action>singletonList(new ExceededAction()));
+		Agenda agenda = new BasicAgenda(Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"),
+				new BasicAgendaTree(new BasicAgendaTreeEntry(rule)));
+		final Context context = new BasicContext(Arrays.asList(agenda),
+				Collections.<TermResolver<?>>singletonList(new ThresholdTermResolver()));
+
+		engine = new ProviderBasedEngine();
+		engine.setContextProvider(new ContextProvider() {
+			@Override
+			public Context loadContext(SelectionCriteria selectionCriteria, Map<Term, Object> facts,
+					ExecutionOptions executionOptions) {
+				Blackhole.consumeCPU(LOOKUP_TOKENS);
+				return context;
+			}
+		});
+		selectionCriteria = SelectionCriteria.createCriteria(null, Collections.singletonMap("docTypeName", "Proposal"),
+				Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"));
+
+		factsBatch = new ArrayList<Facts>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			factsBatch.add(Facts.Builder.create().addFact(amountTerm, Integer.valueOf(i % 100)).build());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void executeSingle(Blackhole blackhole) {
+		for (Facts facts : factsBatch) {
+			blackhole.consume(engine.execute(selectionCriteria, facts, new ExecutionOptions()));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void executeBatch(Blackhole blackhole) {
+		consume(engine.executeBatch(selectionCriteria, factsBatch, new ExecutionOptions()), blackhole);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void executeBatchSharingInvariantTerms(Blackhole blackhole) {
+		consume(engine.executeBatch(selectionCriteria, factsBatch,
+				new ExecutionOptions().setFlag(ExecutionFlag.SHARE_INVARIANT_TERMS_IN_BATCH, true)), blackhole);
+	}
+
+	private void consume(Iterator<EngineResults> results, Blackhole blackhole) {
+		while (results.hasNext()) {
+			blackhole.consume(results.next());
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BatchExecutionBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	/**
+	 * True if the amount is greater than the threshold
+	 */
+	private static class ExceedsThresholdProposition implements Proposition {
+		@Override
+		public PropositionResult evaluate(ExecutionEnvironment environment) {
+			Integer amount = environment.resolveTerm(amountTerm, this);
+			Integer threshold = environment.resolveTerm(thresholdTerm, this);
+			return new PropositionResult(amount.intValue() > threshold.intValue());
+		}
+
+		@Override
+		public List<Proposition> getChildren() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean isCompound() {
+			return false;
+		}
+	}
+
+	private static class ExceededAction implements Action {
+		@Override
+		public void execute(ExecutionEnvironment environment) {
+			environment.getEngineResults().setAttribute(EXCEEDED, Boolean.TRUE);
+		}
+
+		@Override
+		public void executeSimulation(ExecutionEnvironment environment) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Resolves the threshold to 50 after doing a fixed amount of work
+	 */
+	private static class ThresholdTermResolver implements TermResolver<Integer> {
+		@Override
+		public Set<String> getPrerequisites() {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public String getOutput() {
+			return thresholdTerm.getName();
+		}
+
+		@Override
+		public Set<String> getParameterNames() {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public int getCost() {
+			return 1;
+		}
+
+		@Override
+		public Integer resolve(Map<String, Object> resolvedPrereqs, Map<String, String> parameters) throws TermResolutionException {
+			Blackhole.consumeCPU(LOOKUP_TOKENS);
+			return Integer.valueOf(50);
+		}
+	}
+
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.framework;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kuali.rice.krms.api.engine.EngineResults;
+import org.kuali.rice.krms.api.engine.ExecutionEnvironment;
+import org.kuali.rice.krms.api.engine.ExecutionFlag;
+import org.kuali.rice.krms.api.engine.ExecutionOptions;
+import org.kuali.rice.krms.api.engine.Facts;
+import org.kuali.rice.krms.api.engine.SelectionCriteria;
+import org.kuali.rice.krms.api.engine.Term;
+import org.kuali.rice.krms.api.engine.TermResolutionException;
+import org.kuali.rice.krms.api.engine.TermResolver;
+import org.kuali.rice.krms.api.repository.agenda.AgendaDefinition;
+import org.kuali.rice.krms.framework.engine.Action;
+import org.kuali.rice.krms.framework.engine.Agenda;
+import org.kuali.rice.krms.framework.engine.BasicAgenda;
+import org.kuali.rice.krms.framework.engine.BasicAgendaTree;
+import org.kuali.rice.krms.framework.engine.BasicAgendaTreeEntry;
+import org.kuali.rice.krms.framework.engine.BasicContext;
+import org.kuali.rice.krms.framework.engine.BasicRule;
+import org.kuali.rice.krms.framework.engine.Context;
+import org.kuali.rice.krms.framework.engine.ContextProvider;
+import org.kuali.rice.krms.framework.engine.Proposition;
+import org.kuali.rice.krms.framework.engine.PropositionResult;
+import org.kuali.rice.krms.framework.engine.ProviderBasedEngine;
+import org.kuali.rice.krms.framework.engine.Rule;
+
+/**
+ * Tests executing batches of facts with {@link ProviderBasedEngine#executeBatch(SelectionCriteria, Iterable, ExecutionOptions)}
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class BatchExecutionTest {
+
+	private static final Term amountTerm = new Term("amount");
+	private static final Term doubledAmountTerm = new Term("doubledAmount");
+	private static final Term thresholdTerm = new Term("threshold");
+	private static final String EXCEEDED = "exceeded";
+
+	private CountingTermResolver thresholdResolver;
+	private CountingContextProvider contextProvider;
+	private ProviderBasedEngine engine;
+	private SelectionCriteria selectionCriteria;
+
+	@Before
+	public void setUp() {
+		thresholdResolver = new CountingTermResolver(thresholdTerm.getName(), Collections.<String>emptySet());
+		CountingTermResolver doubledAmountResolver = new CountingTermResolver(doubledAmountTerm.getName(),
+				Collections.singleton(amountTerm.getName()));
+
+		Rule rule = new BasicRule("r1", new ExceedsThresholdProposition(), Collections.<Action>singletonList(new ExceededAction()));
+		Agenda agenda = new BasicAgenda(Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"),
+				new BasicAgendaTree(new BasicAgendaTreeEntry(rule)));
+		Context context = new BasicContext(Arrays.asList(agenda),
+				Arrays.<TermResolver<?>>asList(thresholdResolver, doubledAmountResolver));
+
+		contextProvider = new CountingContextProvider(context);
+		engine = new ProviderBasedEngine();
+		engine.setContextProvider(contextProvider);
+		selectionCriteria = SelectionCriteria.createCriteria(null, Collections.singletonMap("docTypeName", "Proposal"),
+				Collections.singletonMap(AgendaDefinition.Constants.EVENT, "test"));
+	}
+
+	@Test
+	public void testExecuteBatch() {
+		List<Facts> factsBatch = createFactsBatch();
+
+		Iterator<EngineResults> results = engine.executeBatch(selectionCriteria, factsBatch,
+				new ExecutionOptions().setFlag(ExecutionFlag.SHARE_INVARIANT_TERMS_IN_BATCH, true));
+		assertBatchResults(results);
+
+		// the context is selected and the invariant threshold term resolved once for the whole batch
+		assertEquals(1, contextProvider.count);
+		assertEquals(1, thresholdResolver.count);
+
+		// the same results are produced when executing the facts one at a time
+		for (Facts facts : factsBatch) {
+			EngineResults singleResults = engine.execute(selectionCriteria, facts, new ExecutionOptions());
+			assertEquals(((Integer) facts.getFactMap().get(amountTerm)).intValue() > 5, singleResults.getAttribute(EXCEEDED) != null);
+		}
+		assertEquals(5, contextProvider.count);
+		assertEquals(5, thresholdResolver.count);
+	}
+
+	/**
+	 * Without the SHARE_INVARIANT_TERMS_IN_BATCH flag, every term is resolved for every execution in the batch
+	 */
+	@Test
+	public void testExecuteBatchWithoutSharedTerms() {
+		Iterator<EngineResults> results = engine.executeBatch(selectionCriteria, createFactsBatch(),
+				new ExecutionOptions());
+		assertBatchResults(results);
+
+		assertEquals(1, contextProvider.count);
+		assertEquals(4, thresholdResolver.count);
+	}
+
+	@Test
+	public void testExecuteBatchWithoutContext() {
+		engine.setContextProvider(new ManualContextProvider(null));
+
+		Iterator<EngineResults> results = engine.executeBatch(selectionCriteria,
+				Arrays.asList(Facts.EMPTY_FACTS, Facts.EMPTY_FACTS), new ExecutionOptions());
+		assertTrue(results.hasNext());
+		assertNull(results.next());
+		assertNull(results.next());
+		assertFalse(results.hasNext());
+	}
+
+	private List<Facts> createFactsBatch() {
+		List<Facts> factsBatch = new ArrayList<Facts>();
+		for (int amount : new int[] {1, 6, 3, 8}) {
+			factsBatch.add(Facts.Builder.create().addFact(amountTerm, Integer.valueOf(amount)).build());
+		}
+		return factsBatch;
+	}
+
+	private void assertBatchResults(Iterator<EngineResults> results) {
+		assertNull(results.next().getAttribute(EXCEEDED));
+		assertEquals(Boolean.TRUE, results.next().getAttribute(EXCEEDED));
+		assertNull(results.next().getAttribute(EXCEEDED));
+		assertEquals(Boolean.TRUE, results.next().getAttribute(EXCEEDED));
+		assertFalse(results.hasNext());
+	}
+
+	/**
+	 * True if the doubled amount is greater than the threshold
+	 */
+	private static class ExceedsThresholdProposition implements Proposition {
+		@Override
+		public PropositionResult evaluate(ExecutionEnvironment environment) {
+			Integer doubledAmount = environment.resolveTerm(doubledAmountTerm, this);
+			Integer threshold = environment.resolveTerm(thresholdTerm, this);
+			return new PropositionResult(doubledAmount.intValue() > threshold.intValue());
+		}
+
+		@Override
+		public List<Proposition> getChildren() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean isCompound() {
+			return false;
+		}
+	}
+
+	private static class ExceededAction implements Action {
+		@Override
+		public void execute(ExecutionEnvironment environment) {
+			environment.getEngineResults().setAttribute(EXCEEDED, Boolean.TRUE);
+		}
+
+		@Override
+		public void executeSimulation(ExecutionEnvironment environment) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Resolves its output to 10, or to double its prerequisite if it has one, counting how often it is called
+	 */
+	private static class CountingTermResolver implements TermResolver<Integer> {
+		private final String output;
+		private final Set<String> prerequisites;
+		private int count;
+
+		private CountingTermResolver(String output, Set<String> prerequisites) {
+			this.output = output;
+			this.prerequisites = prerequisites;
+		}
+
+		@Override
+		public Set<String> getPrerequisites() {
+			return prerequisites;
+		}
+
+		@Override
+		public String getOutput() {
+			return output;
+		}
+
+		@Override
+		public Set<String> getParameterNames() {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public int getCost() {
+			return 1;
+		}
+
+		@Override
+		public Integer resolve(Map<String, Object> resolvedPrereqs, Map<String, String> parameters) throws TermResolutionException {
+			count++;
+			if (prerequisites.isEmpty()) {
+				return Integer.valueOf(10);
+			}
+			return Integer.valueOf(((Integer) resolvedPrereqs.get(prerequisites.iterator().next())).intValue() * 2);
+		}
+	}
+
+	private static class CountingContextProvider implements ContextProvider {
+		private final Context context;
+		private int count;
+
+		private CountingContextProvider(Context context) {
+			this.context = context;
+		}
+
+		@Override
+		public Context loadContext(SelectionCriteria selectionCriteria, Map<Term, Object> facts, ExecutionOptions executionOptions) {
+			count++;
+			return context;
+		}
+	}
+
+}
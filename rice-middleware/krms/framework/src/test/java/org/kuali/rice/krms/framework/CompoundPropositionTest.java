@@ -0,0 +1,111 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.framework;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.kuali.rice.krms.api.engine.ExecutionEnvironment;
+import org.kuali.rice.krms.api.engine.ExecutionFlag;
+import org.kuali.rice.krms.api.engine.ExecutionOptions;
+import org.kuali.rice.krms.api.engine.SelectionCriteria;
+import org.kuali.rice.krms.api.engine.Term;
+import org.kuali.rice.krms.api.repository.LogicalOperator;
+import org.kuali.rice.krms.framework.engine.BasicExecutionEnvironment;
+import org.kuali.rice.krms.framework.engine.CompoundProposition;
+import org.kuali.rice.krms.framework.engine.Proposition;
+import org.kuali.rice.krms.framework.engine.PropositionResult;
+import org.kuali.rice.krms.framework.engine.TermResolutionEngineImpl;
+
+/**
+ * Tests the evaluation order of {@link CompoundProposition}
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class CompoundPropositionTest {
+
+	@Test
+	public void testOrderByCost() {
+		CountingProposition slowTrueProp = new CountingProposition(true, 20);
+		CountingProposition fastFalseProp = new CountingProposition(false, 0);
+		Proposition andProp = new CompoundProposition(LogicalOperator.AND, Arrays.<Proposition>asList(slowTrueProp, fastFalseProp));
+
+		ExecutionOptions executionOptions = new ExecutionOptions().setFlag(ExecutionFlag.ORDER_PROPOSITIONS_BY_COST, true);
+
+		// the first evaluation measures the cost of both propositions
+		assertFalse(andProp.evaluate(createEnvironment(executionOptions)).getResult());
+		assertEquals(1, slowTrueProp.count);
+		assertEquals(1, fastFalseProp.count);
+
+		// the cheaper proposition is now evaluated first and short circuits the slower one
+		assertFalse(andProp.evaluate(createEnvironment(executionOptions)).getResult());
+		assertEquals(1, slowTrueProp.count);
+		assertEquals(2, fastFalseProp.count);
+
+		// without the flag the given order is used
+		assertFalse(andProp.evaluate(createEnvironment(new ExecutionOptions())).getResult());
+		assertEquals(2, slowTrueProp.count);
+		assertEquals(3, fastFalseProp.count);
+	}
+
+	private ExecutionEnvironment createEnvironment(ExecutionOptions executionOptions) {
+		SelectionCriteria selectionCriteria = SelectionCriteria.createCriteria(null, Collections.<String, String>emptyMap(),
+				Collections.<String, String>emptyMap());
+		return new BasicExecutionEnvironment(selectionCriteria, Collections.<Term, Object>emptyMap(), executionOptions,
+				new TermResolutionEngineImpl());
+	}
+
+	private static class CountingProposition implements Proposition {
+
+		private final boolean result;
+		private final long sleepMillis;
+		private int count;
+
+		private CountingProposition(boolean result, long sleepMillis) {
+			this.result = result;
+			this.sleepMillis = sleepMillis;
+		}
+
+		@Override
+		public PropositionResult evaluate(ExecutionEnvironment environment) {
+			count++;
+			if (sleepMillis > 0) {
+				try {
+					Thread.sleep(sleepMillis);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return new PropositionResult(result);
+		}
+
+		@Override
+		public List<Proposition> getChildren() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean isCompound() {
+			return false;
+		}
+	}
+
+}
@@ -36,6 +36,7 @@ import org.kuali.rice.krms.api.engine.TermResolutionEngine;
 import org.kuali.rice.krms.api.engine.TermResolutionException;
 import org.kuali.rice.krms.api.engine.TermResolver;
 import org.kuali.rice.krms.framework.engine.TermResolutionEngineImpl;
+import org.kuali.rice.krms.framework.engine.TermResolutionPlanCache;
 import org.springframework.util.CollectionUtils;
 
 
@@ -309,6 +310,36 @@ public class TermResolutionEngineTest {
 	 *  - TermResolutionEngine is passed a null termName
 	 */
 	
+	@Test
+	public void testSharedPlanCache() {
+		TermResolutionPlanCache planCache = new TermResolutionPlanCache();
+
+		for (int i = 0; i < 2; i++) {
+			TestScenarioHelper testHelper = new TestScenarioHelper(new TermResolutionEngineImpl(planCache));
+
+			// GIVENS:
+			testHelper.addGivens("A", "Z");
+
+			// RESOLVERS:
+			testHelper.addResolver("D", /* <-- */ "B","C");
+			testHelper.addResolver("C", /* <-- */ "Z");
+			testHelper.addResolver("B", /* <-- */ "A");
+
+			testHelper.assertSuccess("D");
+			assertEquals(1, planCache.size());
+		}
+
+		// a different set of known terms needs its own plan
+		TestScenarioHelper testHelper = new TestScenarioHelper(new TermResolutionEngineImpl(planCache));
+		testHelper.addGivens("A", "C");
+		testHelper.addResolver("D", /* <-- */ "B","C");
+		testHelper.addResolver("C", /* <-- */ "Z");
+		testHelper.addResolver("B", /* <-- */ "A");
+
+		testHelper.assertSuccess("D");
+		assertEquals(2, planCache.size());
+	}
+
 	// TODO: what should the TermResolutionEngine do if a resolver throws a RuntimeException?
 	/*
 	@Test
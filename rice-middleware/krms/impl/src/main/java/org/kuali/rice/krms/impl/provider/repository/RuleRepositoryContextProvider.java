@@ -15,26 +15,68 @@
  */
 package org.kuali.rice.krms.impl.provider.repository;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.kuali.rice.krms.api.engine.ExecutionOptions;
 import org.kuali.rice.krms.api.engine.SelectionCriteria;
 import org.kuali.rice.krms.api.engine.Term;
 import org.kuali.rice.krms.api.repository.RuleRepositoryService;
+import org.kuali.rice.krms.api.repository.action.ActionDefinition;
+import org.kuali.rice.krms.api.repository.agenda.AgendaDefinition;
+import org.kuali.rice.krms.api.repository.agenda.AgendaItemDefinition;
+import org.kuali.rice.krms.api.repository.agenda.AgendaTreeDefinition;
 import org.kuali.rice.krms.api.repository.context.ContextDefinition;
 import org.kuali.rice.krms.api.repository.context.ContextSelectionCriteria;
+import org.kuali.rice.krms.api.repository.proposition.PropositionDefinition;
+import org.kuali.rice.krms.api.repository.rule.RuleDefinition;
+import org.kuali.rice.krms.api.repository.term.TermDefinition;
+import org.kuali.rice.krms.api.repository.term.TermResolverDefinition;
+import org.kuali.rice.krms.api.repository.term.TermSpecificationDefinition;
+import org.kuali.rice.krms.api.repository.type.KrmsAttributeDefinition;
+import org.kuali.rice.krms.api.repository.type.KrmsTypeDefinition;
 import org.kuali.rice.krms.framework.engine.Context;
 import org.kuali.rice.krms.framework.engine.ContextProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
+/**
+ * A {@link ContextProvider} which selects the context from the {@link RuleRepositoryService} and translates it
+ * for execution by the engine.
+ *
+ * <p>When the context cache is enabled, translated contexts are kept and reused by later executions of the same
+ * version of the context and its agendas, so that the repository definitions are only translated, and the term
+ * resolution plans only computed, once.  The translated contexts are discarded whenever any of the KRMS repository
+ * caches named by {@link #setInvalidatingCacheNames(List)} is flushed or expires, which is detected through a
+ * marker entry kept in each of those caches.  A flush replaces the map of translated contexts rather than clearing
+ * it, so a translation which was started before the flush is added to the discarded map and never reused.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
 public class RuleRepositoryContextProvider implements ContextProvider {
 
 	// may want to move these out to a constants file somewhere so they are accessible to engine clients?
 	private static final String NAME_CONTEXT_QUALIFIER = "name";
 	private static final String NAMESPACE_CODE_CONTEXT_QUALIFIER = "namespaceCode";
-	
+
+	private static final String TRANSLATED_CONTEXTS_MARKER_KEY = "{RuleRepositoryContextProvider}translatedContexts";
+
 	private RuleRepositoryService ruleRepositoryService;
 	private RepositoryToEngineTranslator repositoryToEngineTranslator;
+
+	private boolean contextCacheEnabled;
+	private CacheManager cacheManager;
+	private List<String> invalidatingCacheNames = Arrays.asList(ContextDefinition.Cache.NAME,
+			AgendaDefinition.Cache.NAME, AgendaTreeDefinition.Cache.NAME, AgendaItemDefinition.Cache.NAME,
+			RuleDefinition.Cache.NAME, PropositionDefinition.Cache.NAME, ActionDefinition.Cache.NAME,
+			TermDefinition.Cache.NAME, TermResolverDefinition.Cache.NAME, TermSpecificationDefinition.Cache.NAME,
+			KrmsTypeDefinition.Cache.NAME, KrmsAttributeDefinition.Cache.NAME);
+
+	private volatile ConcurrentMap<String, Context> translatedContexts = new ConcurrentHashMap<String, Context>();
 	
 	@Override
 	public Context loadContext(SelectionCriteria selectionCriteria, Map<Term, Object> facts, ExecutionOptions executionOptions) {
@@ -44,7 +86,10 @@ public class RuleRepositoryContextProvider implements ContextProvider {
 		// TODO should have an execution option that throws an error here if a context does not exist?
 		
 		if (contextDefinition != null) {
-			return loadContextFromDefinition(contextDefinition);
+			if (!isContextCacheEnabled() || cacheManager == null) {
+				return loadContextFromDefinition(contextDefinition);
+			}
+			return loadCachedContext(contextDefinition);
 		}
 		return null;
 	}
@@ -52,6 +97,73 @@ public class RuleRepositoryContextProvider implements ContextProvider {
 	protected Context loadContextFromDefinition(ContextDefinition contextDefinition) {
 		return repositoryToEngineTranslator.translateContextDefinition(contextDefinition);
 	}
+
+	/**
+	 * Returns the translated context for the given definition, translating it only if there is no translation of the
+	 * same version of the context and its agendas since the repository caches were last flushed.
+	 */
+	protected Context loadCachedContext(ContextDefinition contextDefinition) {
+		ConcurrentMap<String, Context> contexts = validateTranslatedContexts();
+
+		String contextKey = getTranslatedContextKey(contextDefinition);
+		Context context = contexts.get(contextKey);
+		if (context == null) {
+			context = loadContextFromDefinition(contextDefinition);
+			if (context != null) {
+				// if the caches were flushed while translating, the translation goes into the discarded map
+				Context existingContext = contexts.putIfAbsent(contextKey, context);
+				if (existingContext != null) {
+					context = existingContext;
+				}
+			}
+		}
+		return context;
+	}
+
+	/**
+	 * Discards the translated contexts if the marker entry is missing from any of the invalidating caches, which
+	 * happens when the cache is flushed or the entry expires.  The markers are put back before the translated
+	 * contexts are discarded, so a flush made in between is detected by the next call rather than lost.
+	 *
+	 * @return the map the translated contexts are to be read from and added to
+	 */
+	private ConcurrentMap<String, Context> validateTranslatedContexts() {
+		boolean flushed = false;
+		for (String cacheName : invalidatingCacheNames) {
+			Cache cache = cacheManager.getCache(cacheName);
+			if (cache != null && cache.get(TRANSLATED_CONTEXTS_MARKER_KEY) == null) {
+				flushed = true;
+				break;
+			}
+		}
+		if (flushed) {
+			for (String cacheName : invalidatingCacheNames) {
+				Cache cache = cacheManager.getCache(cacheName);
+				if (cache != null) {
+					cache.put(TRANSLATED_CONTEXTS_MARKER_KEY, Boolean.TRUE);
+				}
+			}
+			clearTranslatedContexts();
+		}
+		return translatedContexts;
+	}
+
+	private String getTranslatedContextKey(ContextDefinition contextDefinition) {
+		StringBuilder contextKey = new StringBuilder("contextId=").append(contextDefinition.getId())
+				.append("|versionNumber=").append(contextDefinition.getVersionNumber());
+		for (AgendaDefinition agendaDefinition : contextDefinition.getAgendas()) {
+			contextKey.append("|agendaId=").append(agendaDefinition.getId())
+					.append("|versionNumber=").append(agendaDefinition.getVersionNumber());
+		}
+		return contextKey.toString();
+	}
+
+	/**
+	 * Discards all of the translated contexts held by this provider.
+	 */
+	public void clearTranslatedContexts() {
+		translatedContexts = new ConcurrentHashMap<String, Context>();
+	}
 	
 	public void setRuleRepositoryService(RuleRepositoryService ruleRepositoryService) {
 		this.ruleRepositoryService = ruleRepositoryService;
@@ -60,6 +172,33 @@ public class RuleRepositoryContextProvider implements ContextProvider {
 	public void setRepositoryToEngineTranslator(RepositoryToEngineTranslator repositoryToEngineTranslator) {
 		this.repositoryToEngineTranslator = repositoryToEngineTranslator;
 	}
+
+	public boolean isContextCacheEnabled() {
+		return contextCacheEnabled;
+	}
+
+	/**
+	 * @param contextCacheEnabled whether translated contexts should be cached and reused
+	 */
+	public void setContextCacheEnabled(boolean contextCacheEnabled) {
+		this.contextCacheEnabled = contextCacheEnabled;
+	}
+
+	/**
+	 * @param cacheManager the {@link CacheManager} holding the KRMS repository caches whose flushes invalidate the
+	 * translated contexts
+	 */
+	public void setCacheManager(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * @param invalidatingCacheNames the names of the KRMS repository caches whose flushes invalidate the translated
+	 * contexts
+	 */
+	public void setInvalidatingCacheNames(List<String> invalidatingCacheNames) {
+		this.invalidatingCacheNames = invalidatingCacheNames;
+	}
 	
 	protected ContextSelectionCriteria constructContextSelectionCriteria(SelectionCriteria selectionCriteria) {
 		Map<String, String> givenContextQualifiers = selectionCriteria.getContextQualifiers();
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.impl.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import org.kuali.rice.krad.UserSession;
+import org.kuali.rice.krad.util.GlobalVariables;
+
+/**
+ * An {@link Executor} which runs each task on its delegate within a new set of {@link GlobalVariables} holding the
+ * {@link UserSession} of the thread which submitted it, so that term resolvers and actions evaluated on the KRMS rule
+ * executor see the same user as the caller.
+ *
+ * <p>The other global variables, such as the message map, are not shared with the caller, and neither is the
+ * caller's transaction.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class UserSessionPropagatingExecutor implements Executor {
+
+    private final Executor delegate;
+
+    public UserSessionPropagatingExecutor(Executor delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate was null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        final UserSession userSession = GlobalVariables.getUserSession();
+        delegate.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    GlobalVariables.doInNewGlobalVariables(userSession, new Callable<Object>() {
+                        @Override
+                        public Object call() {
+                            command.run();
+                            return null;
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // the callable does not throw checked exceptions
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.impl.provider.repository;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kuali.rice.krms.api.engine.ExecutionOptions;
+import org.kuali.rice.krms.api.engine.SelectionCriteria;
+import org.kuali.rice.krms.api.engine.Term;
+import org.kuali.rice.krms.api.repository.RuleRepositoryService;
+import org.kuali.rice.krms.api.repository.agenda.AgendaDefinition;
+import org.kuali.rice.krms.api.repository.context.ContextDefinition;
+import org.kuali.rice.krms.api.repository.context.ContextSelectionCriteria;
+import org.kuali.rice.krms.framework.engine.Context;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Tests the caching of translated contexts by the {@link RuleRepositoryContextProvider}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class RuleRepositoryContextProviderTest {
+
+    private static final String CONTEXT_CACHE = "contextCache";
+    private static final String AGENDA_CACHE = "agendaCache";
+
+    private RuleRepositoryService ruleRepositoryService;
+    private RepositoryToEngineTranslator translator;
+    private ConcurrentMapCacheManager cacheManager;
+    private RuleRepositoryContextProvider provider;
+
+    private SelectionCriteria selectionCriteria;
+    private ContextDefinition contextDefinition;
+
+    @Before
+    public void setUp() {
+        ruleRepositoryService = mock(RuleRepositoryService.class);
+        translator = mock(RepositoryToEngineTranslator.class);
+        cacheManager = new ConcurrentMapCacheManager(CONTEXT_CACHE, AGENDA_CACHE);
+
+        provider = new RuleRepositoryContextProvider();
+        provider.setRuleRepositoryService(ruleRepositoryService);
+        provider.setRepositoryToEngineTranslator(translator);
+        provider.setCacheManager(cacheManager);
+        provider.setInvalidatingCacheNames(Arrays.asList(CONTEXT_CACHE, AGENDA_CACHE));
+        provider.setContextCacheEnabled(true);
+
+        Map<String, String> contextQualifiers = new HashMap<String, String>();
+        contextQualifiers.put("namespaceCode", "KRMS-TEST");
+        contextQualifiers.put("name", "Context1");
+        selectionCriteria = SelectionCriteria.createCriteria(null, contextQualifiers,
+                Collections.<String, String>emptyMap());
+
+        contextDefinition = buildContextDefinition(1L, 1L);
+        when(ruleRepositoryService.selectContext(any(ContextSelectionCriteria.class))).thenAnswer(
+                new Answer<ContextDefinition>() {
+                    @Override
+                    public ContextDefinition answer(InvocationOnMock invocation) {
+                        return contextDefinition;
+                    }
+                });
+        when(translator.translateContextDefinition(any(ContextDefinition.class))).thenAnswer(new Answer<Context>() {
+            @Override
+            public Context answer(InvocationOnMock invocation) {
+                return mock(Context.class);
+            }
+        });
+    }
+
+    @Test
+    public void testSameVersionsReuseTranslatedContext() {
+        Context context = loadContext();
+        assertSame(context, loadContext());
+        verify(translator, times(1)).translateContextDefinition(any(ContextDefinition.class));
+    }
+
+    @Test
+    public void testChangedContextVersionIsTranslatedAgain() {
+        Context context = loadContext();
+        contextDefinition = buildContextDefinition(2L, 1L);
+        assertNotSame(context, loadContext());
+        verify(translator, times(2)).translateContextDefinition(any(ContextDefinition.class));
+    }
+
+    @Test
+    public void testChangedAgendaVersionIsTranslatedAgain() {
+        Context context = loadContext();
+        contextDefinition = buildContextDefinition(1L, 2L);
+        assertNotSame(context, loadContext());
+        verify(translator, times(2)).translateContextDefinition(any(ContextDefinition.class));
+    }
+
+    @Test
+    public void testCacheFlushDiscardsTranslatedContexts() {
+        Context context = loadContext();
+        cacheManager.getCache(AGENDA_CACHE).clear();
+        Context reloaded = loadContext();
+        assertNotSame(context, reloaded);
+        assertSame(reloaded, loadContext());
+
+        cacheManager.getCache(CONTEXT_CACHE).clear();
+        assertNotSame(reloaded, loadContext());
+        verify(translator, times(3)).translateContextDefinition(any(ContextDefinition.class));
+    }
+
+    /**
+     * Flushes a repository cache while the context is being translated, after which the translation must not be
+     * reused since it may have been built from definitions read before the flush.
+     */
+    @Test
+    public void testContextTranslatedDuringFlushIsNotReused() {
+        when(translator.translateContextDefinition(any(ContextDefinition.class))).thenAnswer(new Answer<Context>() {
+            @Override
+            public Context answer(InvocationOnMock invocation) {
+                cacheManager.getCache(CONTEXT_CACHE).clear();
+                return mock(Context.class);
+            }
+        }).thenAnswer(new Answer<Context>() {
+            @Override
+            public Context answer(InvocationOnMock invocation) {
+                return mock(Context.class);
+            }
+        });
+
+        Context staleContext = loadContext();
+        Context context = loadContext();
+        assertNotSame(staleContext, context);
+        assertSame(context, loadContext());
+        verify(translator, times(2)).translateContextDefinition(any(ContextDefinition.class));
+    }
+
+    @Test
+    public void testClearTranslatedContexts() {
+        Context context = loadContext();
+        provider.clearTranslatedContexts();
+        assertNotSame(context, loadContext());
+        verify(translator, times(2)).translateContextDefinition(any(ContextDefinition.class));
+    }
+
+    @Test
+    public void testContextCacheDisabled() {
+        provider.setContextCacheEnabled(false);
+        assertNotSame(loadContext(), loadContext());
+        verify(translator, times(2)).translateContextDefinition(any(ContextDefinition.class));
+    }
+
+    private Context loadContext() {
+        return provider.loadContext(selectionCriteria, Collections.<Term, Object>emptyMap(),
+                new ExecutionOptions());
+    }
+
+    private ContextDefinition buildContextDefinition(Long contextVersion, Long agendaVersion) {
+        AgendaDefinition.Builder agenda = AgendaDefinition.Builder.create("AGENDA1", "Agenda1", null, "CONTEXT1");
+        agenda.setVersionNumber(agendaVersion);
+        ContextDefinition.Builder context = ContextDefinition.Builder.create("KRMS-TEST", "Context1");
+        context.setId("CONTEXT1");
+        context.setVersionNumber(contextVersion);
+        context.setAgendas(Arrays.asList(agenda.build()));
+        return context.build();
+    }
+
+}
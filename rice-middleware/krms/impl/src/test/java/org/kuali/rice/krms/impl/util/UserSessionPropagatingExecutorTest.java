@@ -0,0 +1,105 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.krms.impl.util;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kuali.rice.krad.UserSession;
+import org.kuali.rice.krad.util.GlobalVariables;
+
+/**
+ * Tests the {@link UserSessionPropagatingExecutor}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class UserSessionPropagatingExecutorTest {
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executorService.shutdown();
+        GlobalVariables.setUserSession(null);
+    }
+
+    @Test
+    public void testUserSessionPropagated() throws Exception {
+        UserSession userSession = mock(UserSession.class);
+        GlobalVariables.setUserSession(userSession);
+
+        final AtomicReference<UserSession> taskUserSession = new AtomicReference<UserSession>();
+        FutureTask<Void> task = new FutureTask<Void>(new Runnable() {
+            @Override
+            public void run() {
+                taskUserSession.set(GlobalVariables.getUserSession());
+            }
+        }, null);
+        new UserSessionPropagatingExecutor(executorService).execute(task);
+        task.get();
+        assertSame(userSession, taskUserSession.get());
+
+        // the pool thread must not keep the user session once the task is done
+        FutureTask<UserSession> nextTask = new FutureTask<UserSession>(new Callable<UserSession>() {
+            @Override
+            public UserSession call() {
+                return GlobalVariables.getUserSession();
+            }
+        });
+        executorService.execute(nextTask);
+        assertNull(nextTask.get());
+        assertSame(userSession, GlobalVariables.getUserSession());
+    }
+
+    /**
+     * Tasks run on the calling thread, as they are when the rule executor's queue is full, must leave the caller's
+     * global variables as they were.
+     */
+    @Test
+    public void testTaskRunOnCallingThread() {
+        UserSession userSession = mock(UserSession.class);
+        GlobalVariables.setUserSession(userSession);
+        final GlobalVariables callerVariables = GlobalVariables.getCurrentGlobalVariables();
+
+        final AtomicReference<UserSession> taskUserSession = new AtomicReference<UserSession>();
+        new UserSessionPropagatingExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }).execute(new Runnable() {
+            @Override
+            public void run() {
+                taskUserSession.set(GlobalVariables.getUserSession());
+            }
+        });
+
+        assertSame(userSession, taskUserSession.get());
+        assertSame(callerVariables, GlobalVariables.getCurrentGlobalVariables());
+        assertSame(userSession, GlobalVariables.getUserSession());
+    }
+
+}
@@ -111,6 +111,35 @@ public interface ServiceRegistry {
 	@XmlElementWrapper(name = "serviceInfos", required = false)
 	@XmlElement(name = "serviceInfo", required = false)
 	List<ServiceInfo> getAllOnlineServices();
+
+	/**
+	 * Returns the changes made to the online services in the registry since
+	 * the given registry version.  This allows clients which have already
+	 * retrieved all online services to download only the differences on
+	 * subsequent synchronizations.
+	 *
+	 * <p>If the registry id does not identify the registry answering the
+	 * request, or the registry no longer retains all changes made since the
+	 * given version, the result will indicate that a full synchronization is
+	 * required via {@link ServiceRegistryChanges#isFullSyncRequired()}.  In
+	 * that case the caller should retrieve all services using
+	 * {@link #getAllOnlineServices()} and use the registry id and version of
+	 * the result for its next request.  Passing a null registry id is a
+	 * convenient way of obtaining the current registry id and version.
+	 *
+	 * @param registryId the registry id from the last set of changes the
+	 * caller received, may be null
+	 * @param version the registry version from the last set of changes the
+	 * caller received
+	 *
+	 * @return the changes since the given version, this method should never
+	 * return null
+	 */
+	@WebMethod(operationName = "getOnlineServiceChangesSince")
+	@WebResult(name = "serviceRegistryChanges")
+	@XmlElement(name = "serviceRegistryChanges", required = true)
+	ServiceRegistryChanges getOnlineServiceChangesSince(@WebParam(name = "registryId") String registryId,
+			@WebParam(name = "version") long version);
 	
 	/**
 	 * Returns an unmodifiable list of {@link ServiceInfo} for all services in
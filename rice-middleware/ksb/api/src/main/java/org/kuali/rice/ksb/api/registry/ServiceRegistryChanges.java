@@ -0,0 +1,216 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.ksb.api.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import org.kuali.rice.core.api.CoreConstants;
+import org.kuali.rice.core.api.mo.AbstractDataTransferObject;
+import org.w3c.dom.Element;
+
+/**
+ * Wraps the changes made to the online services in the registry since a given
+ * registry version, as returned from
+ * {@link ServiceRegistry#getOnlineServiceChangesSince(String, long)}.
+ *
+ * <p>Contains the {@link ServiceInfo} for every service which has been
+ * published or updated and is online, as well as the ids of the services
+ * which have been removed or are no longer online.  If the registry can not
+ * supply the complete set of changes since the requested version (for example
+ * because it has been restarted or the changes are no longer retained), then
+ * {@link #isFullSyncRequired()} will be true and the caller must retrieve all
+ * online services instead.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ *
+ */
+@XmlRootElement(name = ServiceRegistryChanges.Constants.ROOT_ELEMENT_NAME)
+@XmlAccessorType(XmlAccessType.NONE)
+@XmlType(name = ServiceRegistryChanges.Constants.TYPE_NAME, propOrder = {
+		ServiceRegistryChanges.Elements.REGISTRY_ID,
+		ServiceRegistryChanges.Elements.VERSION,
+		ServiceRegistryChanges.Elements.FULL_SYNC_REQUIRED,
+		ServiceRegistryChanges.Elements.UPDATED_SERVICES,
+		ServiceRegistryChanges.Elements.REMOVED_SERVICE_IDS,
+		CoreConstants.CommonElements.FUTURE_ELEMENTS
+})
+public class ServiceRegistryChanges extends AbstractDataTransferObject {
+
+	private static final long serialVersionUID = -2537420193470258911L;
+
+	@XmlElement(name = Elements.REGISTRY_ID, required = true)
+	private final String registryId;
+
+	@XmlElement(name = Elements.VERSION, required = true)
+	private final long version;
+
+	@XmlElement(name = Elements.FULL_SYNC_REQUIRED, required = true)
+	private final boolean fullSyncRequired;
+
+	@XmlElementWrapper(name = Elements.UPDATED_SERVICES, required = false)
+	@XmlElement(name = Elements.UPDATED_SERVICE, required = false)
+	private final List<ServiceInfo> updatedServices;
+
+	@XmlElementWrapper(name = Elements.REMOVED_SERVICE_IDS, required = false)
+	@XmlElement(name = Elements.REMOVED_SERVICE_ID, required = false)
+	private final List<String> removedServiceIds;
+
+    @SuppressWarnings("unused")
+    @XmlAnyElement
+    private final Collection<Element> _futureElements = null;
+
+	private ServiceRegistryChanges() {
+		this.registryId = null;
+		this.version = 0;
+		this.fullSyncRequired = true;
+		this.updatedServices = null;
+		this.removedServiceIds = null;
+	}
+
+	private ServiceRegistryChanges(String registryId, long version, boolean fullSyncRequired,
+			List<ServiceInfo> updatedServices, List<String> removedServiceIds) {
+		this.registryId = registryId;
+		this.version = version;
+		this.fullSyncRequired = fullSyncRequired;
+		this.updatedServices = updatedServices;
+		this.removedServiceIds = removedServiceIds;
+	}
+
+	/**
+	 * Creates a new {@code ServiceRegistryChanges} containing the given changes.
+	 *
+	 * @param registryId the id of the registry which produced the changes
+	 * @param version the registry version which the changes bring the caller up to
+	 * @param updatedServices the online services which were published or updated, can be a null or empty list
+	 * @param removedServiceIds the ids of the services which were removed or taken offline, can be a null or empty list
+	 *
+	 * @return the constructed {@code ServiceRegistryChanges}, should never return null
+	 */
+	public static ServiceRegistryChanges create(String registryId, long version, List<ServiceInfo> updatedServices,
+			List<String> removedServiceIds) {
+		return new ServiceRegistryChanges(registryId, version, false,
+				updatedServices == null ? new ArrayList<ServiceInfo>() : new ArrayList<ServiceInfo>(updatedServices),
+				removedServiceIds == null ? new ArrayList<String>() : new ArrayList<String>(removedServiceIds));
+	}
+
+	/**
+	 * Creates a new {@code ServiceRegistryChanges} indicating that the changes could not be determined, so the caller
+	 * needs to perform a full synchronization.
+	 *
+	 * @param registryId the id of the registry
+	 * @param version the current registry version, which the caller can use as the starting point of the next
+	 * request for changes once it has performed a full synchronization
+	 *
+	 * @return the constructed {@code ServiceRegistryChanges}, should never return null
+	 */
+	public static ServiceRegistryChanges fullSyncRequired(String registryId, long version) {
+		return new ServiceRegistryChanges(registryId, version, true, new ArrayList<ServiceInfo>(),
+				new ArrayList<String>());
+	}
+
+	/**
+	 * Returns the id of the registry which produced these changes.  Versions are
+	 * only comparable between changes with the same registry id.
+	 *
+	 * @return the registry id
+	 */
+	public String getRegistryId() {
+		return registryId;
+	}
+
+	/**
+	 * Returns the registry version these changes bring the caller up to.
+	 *
+	 * @return the registry version
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns whether the registry could not supply the changes, in which case
+	 * the caller must retrieve all online services.
+	 *
+	 * @return true if a full synchronization is required
+	 */
+	public boolean isFullSyncRequired() {
+		return fullSyncRequired;
+	}
+
+	/**
+	 * Returns an unmodifiable list of the online services which have been
+	 * published or updated.
+	 *
+	 * @return an unmodifiable list of updated services, will never be null but
+	 * may be empty
+	 */
+	public List<ServiceInfo> getUpdatedServices() {
+		if (updatedServices == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(updatedServices);
+	}
+
+	/**
+	 * Returns an unmodifiable list of the ids of the services which have been
+	 * removed or are no longer online.
+	 *
+	 * @return an unmodifiable list of removed service ids, will never be null
+	 * but may be empty
+	 */
+	public List<String> getRemovedServiceIds() {
+		if (removedServiceIds == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(removedServiceIds);
+	}
+
+	/**
+     * Defines some internal constants used on this class.
+     */
+    static class Constants {
+
+    	final static String ROOT_ELEMENT_NAME = "serviceRegistryChanges";
+        final static String TYPE_NAME = "ServiceRegistryChangesType";
+    }
+
+	/**
+     * Exposes constants which define the XML element names to use when this object is marshalled to XML.
+     */
+    static class Elements {
+
+        final static String REGISTRY_ID = "registryId";
+        final static String VERSION = "version";
+        final static String FULL_SYNC_REQUIRED = "fullSyncRequired";
+        final static String UPDATED_SERVICES = "updatedServices";
+        final static String UPDATED_SERVICE = "updatedService";
+        final static String REMOVED_SERVICE_IDS = "removedServiceIds";
+        final static String REMOVED_SERVICE_ID = "removedServiceId";
+
+    }
+
+}
@@ -28,6 +28,7 @@ import org.kuali.rice.ksb.api.registry.ServiceEndpoint;
 import org.kuali.rice.ksb.api.registry.ServiceEndpointStatus;
 import org.kuali.rice.ksb.api.registry.ServiceInfo;
 import org.kuali.rice.ksb.api.registry.ServiceRegistry;
+import org.kuali.rice.ksb.api.registry.ServiceRegistryChanges;
 import org.kuali.rice.ksb.impl.cxf.interceptors.ImmutableCollectionsInInterceptor;
 import org.kuali.rice.ksb.security.soap.CXFWSS4JInInterceptor;
 import org.kuali.rice.ksb.security.soap.CXFWSS4JOutInterceptor;
@@ -67,6 +68,11 @@ public class LazyRemoteServiceRegistryConnector implements ServiceRegistry {
 		return getDelegate().getAllOnlineServices();
 	}
 
+	@Override
+	public ServiceRegistryChanges getOnlineServiceChangesSince(String registryId, long version) {
+		return getDelegate().getOnlineServiceChangesSince(registryId, version);
+	}
+
 	@Override
 	public List<ServiceInfo> getAllServices() {
 		return getDelegate().getAllServices();
@@ -26,6 +26,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.namespace.QName;
 
@@ -46,15 +47,29 @@ import org.kuali.rice.ksb.impl.bus.diff.CompleteServiceDiff;
 import org.kuali.rice.ksb.impl.bus.diff.LocalServicesDiff;
 import org.kuali.rice.ksb.impl.bus.diff.RemoteServicesDiff;
 import org.kuali.rice.ksb.impl.bus.diff.ServiceRegistryDiffCalculator;
+import org.kuali.rice.ksb.impl.bus.diff.ServiceRegistryVersion;
 import org.kuali.rice.ksb.messaging.serviceexporters.ServiceExportManager;
 import org.kuali.rice.ksb.messaging.threadpool.KSBScheduledPool;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
+/**
+ * Default implementation of the {@link ServiceBus}.
+ *
+ * <p>The local services and the client registry cache are held in an immutable {@link RegistrySnapshot}.  Lookups
+ * read the current snapshot without any locking, while modifications (publishing and removing services, and applying
+ * the results of a registry synchronization) are serialized on a lock, copy the current snapshot and atomically
+ * publish the modified copy.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
 public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, InitializingBean, DisposableBean {
 	
 	private static final Logger LOG = Logger.getLogger(ServiceBusImpl.class);
 	
+	/**
+	 * Serializes modifications of the registry snapshot, lookups do not acquire this lock.
+	 */
 	private final Object serviceLock = new Object();
 	private final Object synchronizeLock = new Object();
 	private final Random randomNumber = new Random();
@@ -69,20 +84,13 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 	private ScheduledFuture<?> registrySyncFuture;
 	
 	/**
-	 * Contains endpoints for services which were published by this client application.
-	 */
-	private final Map<QName, LocalService> localServices;
-	
-	/**
-	 * Contains endpoints for services which exist remotely.  This list may not be
-	 * entirely complete as entries get lazily loaded into it as services are requested.
+	 * The current local services and client registry cache, replaced as a whole whenever either changes.
 	 */
-	private final Map<QName, Set<RemoteService>> clientRegistryCache;
-		
-	public ServiceBusImpl() {
-		this.localServices = new HashMap<QName, LocalService>();
-		this.clientRegistryCache = new HashMap<QName, Set<RemoteService>>();
-	}
+	private volatile RegistrySnapshot snapshot = RegistrySnapshot.EMPTY;
+
+	private final AtomicLong snapshotSwapCount = new AtomicLong();
+	private final AtomicLong snapshotSwapNanos = new AtomicLong();
+	private volatile long lastSnapshotSwapNanos;
 	
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -169,29 +177,27 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		if (serviceName == null) {
 			throw new IllegalArgumentException("serviceName cannot be null");
 		}
-		List<Endpoint> endpoints = new ArrayList<Endpoint>();
-		synchronized (serviceLock) {
-			endpoints.addAll(getRemoteEndpoints(serviceName));
-			Endpoint localEndpoint = getLocalEndpoint(serviceName);
-			if (localEndpoint != null) {
-				for (Iterator<Endpoint> iterator = endpoints.iterator(); iterator.hasNext();) {
-					Endpoint endpoint = iterator.next();
-					if (localEndpoint.getServiceConfiguration().equals(endpoint.getServiceConfiguration())) {
-						iterator.remove();
-						break;
-					}
-				}
-				if(StringUtils.isBlank(applicationId) || StringUtils.equals(localEndpoint.getServiceConfiguration().getApplicationId(), applicationId)) {
-					// add at first position, just because we like the local endpoint the best, it's our friend ;)
-					endpoints.add(0, localEndpoint);
+		RegistrySnapshot current = this.snapshot;
+		List<Endpoint> endpoints = new ArrayList<Endpoint>(current.getRemoteEndpoints(serviceName));
+		Endpoint localEndpoint = current.getLocalEndpoint(serviceName);
+		if (localEndpoint != null) {
+			for (Iterator<Endpoint> iterator = endpoints.iterator(); iterator.hasNext();) {
+				Endpoint endpoint = iterator.next();
+				if (localEndpoint.getServiceConfiguration().equals(endpoint.getServiceConfiguration())) {
+					iterator.remove();
+					break;
 				}
 			}
-			if(StringUtils.isNotBlank(applicationId)) {
-				for (Iterator<Endpoint> iterator = endpoints.iterator(); iterator.hasNext();) {
-					Endpoint endpoint = (Endpoint) iterator.next();
-					if(!StringUtils.equals(endpoint.getServiceConfiguration().getApplicationId(), applicationId)) {
-						iterator.remove();
-					}
+			if(StringUtils.isBlank(applicationId) || StringUtils.equals(localEndpoint.getServiceConfiguration().getApplicationId(), applicationId)) {
+				// add at first position, just because we like the local endpoint the best, it's our friend ;)
+				endpoints.add(0, localEndpoint);
+			}
+		}
+		if(StringUtils.isNotBlank(applicationId)) {
+			for (Iterator<Endpoint> iterator = endpoints.iterator(); iterator.hasNext();) {
+				Endpoint endpoint = (Endpoint) iterator.next();
+				if(!StringUtils.equals(endpoint.getServiceConfiguration().getApplicationId(), applicationId)) {
+					iterator.remove();
 				}
 			}
 		}
@@ -203,16 +209,7 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		if (serviceName == null) {
 			throw new IllegalArgumentException("serviceName cannot be null");
 		}
-		List<Endpoint> endpoints = new ArrayList<Endpoint>();
-		synchronized (serviceLock) {
-			Set<RemoteService> remoteServices = clientRegistryCache.get(serviceName);
-			if (remoteServices != null) {
-				for (RemoteService remoteService : remoteServices) {
-					endpoints.add(remoteService.getEndpoint());
-				}
-			}
-		}
-		return Collections.unmodifiableList(endpoints);
+		return Collections.unmodifiableList(this.snapshot.getRemoteEndpoints(serviceName));
 	}
 
 	@Override
@@ -220,39 +217,28 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		if (serviceName == null) {
 			throw new IllegalArgumentException("serviceName cannot be null");
 		}
-		synchronized (serviceLock) {
-			LocalService localService = localServices.get(serviceName);
-			if (localService != null) {
-				return localService.getEndpoint();
-			}
-			return null;
-		}
+		return this.snapshot.getLocalEndpoint(serviceName);
 	}
 
 	@Override
 	public Map<QName, Endpoint> getLocalEndpoints() {
 		Map<QName, Endpoint> localEndpoints = new HashMap<QName, Endpoint>();
-		synchronized (serviceLock) {
-			for (QName localServiceName : localServices.keySet()) {
-				LocalService localService = localServices.get(localServiceName);
-				localEndpoints.put(localServiceName, localService.getEndpoint());
-			}
+		for (Map.Entry<QName, LocalService> entry : this.snapshot.getLocalServices().entrySet()) {
+			localEndpoints.put(entry.getKey(), entry.getValue().getEndpoint());
 		}
 		return Collections.unmodifiableMap(localEndpoints);
 	}
 
 	@Override
 	public List<Endpoint> getAllEndpoints() {
+		RegistrySnapshot current = this.snapshot;
 		List<Endpoint> allEndpoints = new ArrayList<Endpoint>();
-		synchronized (serviceLock) {
-			for (QName serviceName : this.localServices.keySet()) {
-				allEndpoints.add(this.localServices.get(serviceName).getEndpoint());
-			}
-			for (QName serviceName : this.clientRegistryCache.keySet()) {
-				Set<RemoteService> remoteServices = clientRegistryCache.get(serviceName);
-				for (RemoteService remoteService : remoteServices) {
-					allEndpoints.add(remoteService.getEndpoint());
-				}
+		for (LocalService localService : current.getLocalServices().values()) {
+			allEndpoints.add(localService.getEndpoint());
+		}
+		for (Set<RemoteService> remoteServices : current.getRemoteServices().values()) {
+			for (RemoteService remoteService : remoteServices) {
+				allEndpoints.add(remoteService.getEndpoint());
 			}
 		}
 		return Collections.unmodifiableList(allEndpoints);
@@ -268,20 +254,18 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
         if (serviceName == null) {
             throw new IllegalArgumentException("serviceName cannot be null");
         }
-        Endpoint availableEndpoint = null;
-        synchronized (serviceLock) {
-            // look at local services first
-            availableEndpoint = getLocalEndpoint(serviceName);
-            if (availableEndpoint == null || (!StringUtils.isBlank(applicationId) && !availableEndpoint.getServiceConfiguration().getApplicationId().equals(applicationId))) {
-                 // TODO - would be better to return an Endpoint that contained an internal proxy to all the services so fail-over would be easier to implement!
-                Set<RemoteService> remoteServices = clientRegistryCache.get(serviceName);
-                remoteServices = filterByApplicationId(applicationId, remoteServices);
-                if (remoteServices != null && !remoteServices.isEmpty()) {
-                    // TODO - this should also probably check the current status of the service?
-                    RemoteService[] remoteServiceArray = remoteServices.toArray(new RemoteService[0]);
-                    RemoteService availableRemoteService = remoteServiceArray[this.randomNumber.nextInt(remoteServiceArray.length)];
-                    availableEndpoint = availableRemoteService.getEndpoint();
-                }
+        RegistrySnapshot current = this.snapshot;
+        // look at local services first
+        Endpoint availableEndpoint = current.getLocalEndpoint(serviceName);
+        if (availableEndpoint == null || (!StringUtils.isBlank(applicationId) && !availableEndpoint.getServiceConfiguration().getApplicationId().equals(applicationId))) {
+             // TODO - would be better to return an Endpoint that contained an internal proxy to all the services so fail-over would be easier to implement!
+            Set<RemoteService> remoteServices = current.getRemoteServices().get(serviceName);
+            remoteServices = filterByApplicationId(applicationId, remoteServices);
+            if (remoteServices != null && !remoteServices.isEmpty()) {
+                // TODO - this should also probably check the current status of the service?
+                RemoteService[] remoteServiceArray = remoteServices.toArray(new RemoteService[0]);
+                RemoteService availableRemoteService = remoteServiceArray[this.randomNumber.nextInt(remoteServiceArray.length)];
+                availableEndpoint = availableRemoteService.getEndpoint();
             }
         }
         return availableEndpoint;
@@ -305,16 +289,15 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		if (serviceConfiguration == null) {
 			throw new IllegalArgumentException("serviceConfiguration cannot be null");
 		}
-		synchronized (serviceLock) {
-			Endpoint localEndpoint = getLocalEndpoint(serviceConfiguration.getServiceName());
-			if (localEndpoint != null && localEndpoint.getServiceConfiguration().equals(serviceConfiguration)) {
-				return localEndpoint;
-			}
-			List<Endpoint> remoteEndpoints = getRemoteEndpoints(serviceConfiguration.getServiceName());
-			for (Endpoint remoteEndpoint : remoteEndpoints) {
-				if (remoteEndpoint.getServiceConfiguration().equals(serviceConfiguration)) {
-					return remoteEndpoint;
-				}
+		RegistrySnapshot current = this.snapshot;
+		Endpoint localEndpoint = current.getLocalEndpoint(serviceConfiguration.getServiceName());
+		if (localEndpoint != null && localEndpoint.getServiceConfiguration().equals(serviceConfiguration)) {
+			return localEndpoint;
+		}
+		List<Endpoint> remoteEndpoints = current.getRemoteEndpoints(serviceConfiguration.getServiceName());
+		for (Endpoint remoteEndpoint : remoteEndpoints) {
+			if (remoteEndpoint.getServiceConfiguration().equals(serviceConfiguration)) {
+				return remoteEndpoint;
 			}
 		}
 		return null;
@@ -342,7 +325,10 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		LocalService localService = new LocalService(getInstanceId(), serviceDefinition);
 		synchronized (serviceLock) {
 			serviceExportManager.exportService(serviceDefinition);
-			localServices.put(serviceDefinition.getServiceName(), localService);
+			long start = System.nanoTime();
+			Map<QName, LocalService> newLocalServices = new HashMap<QName, LocalService>(this.snapshot.getLocalServices());
+			newLocalServices.put(serviceDefinition.getServiceName(), localService);
+			swapSnapshot(this.snapshot.withLocalServices(newLocalServices), start);
 		}
 		if (synchronize) {
 			synchronize();
@@ -375,9 +361,14 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		}
 		boolean serviceRemoved = false;
 		synchronized (serviceLock) {
-			LocalService localService = localServices.remove(serviceName);
-			serviceRemoved = localService != null;
 			serviceExportManager.removeService(serviceName);
+			long start = System.nanoTime();
+			Map<QName, LocalService> newLocalServices = new HashMap<QName, LocalService>(this.snapshot.getLocalServices());
+			LocalService localService = newLocalServices.remove(serviceName);
+			serviceRemoved = localService != null;
+			if (serviceRemoved) {
+				swapSnapshot(this.snapshot.withLocalServices(newLocalServices), start);
+			}
 		}
 		if (serviceRemoved && synchronize) {
 			synchronize();
@@ -395,7 +386,11 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		synchronized (serviceLock) {
 			for (QName serviceName : serviceNames) {
 				serviceExportManager.removeService(serviceName);
-				LocalService localService = localServices.remove(serviceName);
+			}
+			long start = System.nanoTime();
+			Map<QName, LocalService> newLocalServices = new HashMap<QName, LocalService>(this.snapshot.getLocalServices());
+			for (QName serviceName : serviceNames) {
+				LocalService localService = newLocalServices.remove(serviceName);
 				if (localService != null) {
 					servicesRemoved.add(Boolean.TRUE);
 					serviceRemoved = true;
@@ -403,6 +398,9 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 					servicesRemoved.add(Boolean.FALSE);
 				}
 			}
+			if (serviceRemoved) {
+				swapSnapshot(this.snapshot.withLocalServices(newLocalServices), start);
+			}
 		}
 		if (serviceRemoved && synchronize) {
 			synchronize();
@@ -413,17 +411,14 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
     protected void synchronizeAndProcess(SyncProcessor processor) {
         if (!isDevMode()) {
 			synchronized (synchronizeLock) {
-				List<LocalService> localServicesList;
-				List<RemoteService> clientRegistryCacheList;
-				synchronized (serviceLock) {
-					// first, flatten the lists
-					localServicesList = new ArrayList<LocalService>(this.localServices.values());
-					clientRegistryCacheList = new ArrayList<RemoteService>();
-					for (Set<RemoteService> remoteServices : this.clientRegistryCache.values()) {
-						clientRegistryCacheList.addAll(remoteServices);
-					}
+				// first, flatten the lists
+				RegistrySnapshot current = this.snapshot;
+				List<LocalService> localServicesList = new ArrayList<LocalService>(current.getLocalServices().values());
+				List<RemoteService> clientRegistryCacheList = new ArrayList<RemoteService>();
+				for (Set<RemoteService> remoteServices : current.getRemoteServices().values()) {
+					clientRegistryCacheList.addAll(remoteServices);
 				}
-				CompleteServiceDiff serviceDiff = diffCalculator.diffServices(getInstanceId(), localServicesList, clientRegistryCacheList);
+				CompleteServiceDiff serviceDiff = diffCalculator.diffServices(getInstanceId(), localServicesList, clientRegistryCacheList, current.getRegistryVersion());
                 logCompleteServiceDiff(serviceDiff);
                 processor.sync(serviceDiff);
             }
@@ -487,11 +482,22 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 	protected void processRemoteServiceDiff(RemoteServicesDiff remoteServicesDiff) {
 		// note that since there is a gap between when the original services are acquired, the diff, and this subsequent critical section
 		// the list of local and client registry services could have changed, so that needs to be considered in the remaining code
+		List<RemoteService> removedServices = remoteServicesDiff.getRemovedServices();
+		List<ServiceInfo> newServices = remoteServicesDiff.getNewServices();
+		if (removedServices.isEmpty() && newServices.isEmpty()) {
+			synchronized (serviceLock) {
+				this.snapshot = this.snapshot.withRegistryVersion(remoteServicesDiff.getRegistryVersion());
+			}
+			return;
+		}
 		synchronized (serviceLock) {
+			long start = System.nanoTime();
+			// the sets in the current snapshot are shared with readers, so copy any set which is about to change
+			Map<QName, Set<RemoteService>> clientRegistryCache = new HashMap<QName, Set<RemoteService>>(this.snapshot.getRemoteServices());
+			Set<QName> copiedServiceNames = new HashSet<QName>();
 			// first, let's update what we know about the remote services
-			List<RemoteService> removedServices = remoteServicesDiff.getRemovedServices();
 			for (RemoteService removedRemoteService : removedServices) {
-				Set<RemoteService> remoteServiceSet = this.clientRegistryCache.get(removedRemoteService.getServiceName());
+				Set<RemoteService> remoteServiceSet = getModifiableRemoteServices(clientRegistryCache, copiedServiceNames, removedRemoteService.getServiceName());
 				if (remoteServiceSet != null) {
 					boolean wasRemoved = remoteServiceSet.remove(removedRemoteService);
 					if (!wasRemoved) {
@@ -499,16 +505,26 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 					}
 				}
 			}
-			List<ServiceInfo> newServices = remoteServicesDiff.getNewServices();
 			for (ServiceInfo newService : newServices) {
-				Set<RemoteService> remoteServiceSet = clientRegistryCache.get(newService.getServiceName());
+				Set<RemoteService> remoteServiceSet = getModifiableRemoteServices(clientRegistryCache, copiedServiceNames, newService.getServiceName());
 				if (remoteServiceSet == null) {
 					remoteServiceSet = new HashSet<RemoteService>();
 					clientRegistryCache.put(newService.getServiceName(), remoteServiceSet);
+					copiedServiceNames.add(newService.getServiceName());
 				}
 				remoteServiceSet.add(new RemoteService(newService, this.serviceRegistry));
 			}
+			swapSnapshot(this.snapshot.withRemoteServices(clientRegistryCache, remoteServicesDiff.getRegistryVersion()), start);
+		}
+	}
+
+	private Set<RemoteService> getModifiableRemoteServices(Map<QName, Set<RemoteService>> clientRegistryCache, Set<QName> copiedServiceNames, QName serviceName) {
+		Set<RemoteService> remoteServiceSet = clientRegistryCache.get(serviceName);
+		if (remoteServiceSet != null && copiedServiceNames.add(serviceName)) {
+			remoteServiceSet = new HashSet<RemoteService>(remoteServiceSet);
+			clientRegistryCache.put(serviceName, remoteServiceSet);
 		}
+		return remoteServiceSet;
 	}
 	
 	protected void processLocalServiceDiff(LocalServicesDiff localServicesDiff) {
@@ -530,9 +546,12 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 			// now update the ServiceEndpoints for our local services so we can get the proper id for them
 			if (!result.getServicesPublished().isEmpty()) {
 				synchronized (serviceLock) {
+					long start = System.nanoTime();
+					Map<QName, LocalService> newLocalServices = new HashMap<QName, LocalService>(this.snapshot.getLocalServices());
 					for (ServiceEndpoint publishedService : result.getServicesPublished()) {
-						rebuildLocalServiceEndpointAfterPublishing(publishedService);
+						rebuildLocalServiceEndpointAfterPublishing(newLocalServices, publishedService);
 					}
+					swapSnapshot(this.snapshot.withLocalServices(newLocalServices), start);
 				}
 			}
 		}
@@ -546,7 +565,30 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		return builder.build();
 	}
 	
+	/**
+	 * Replaces the local service for the given published endpoint in the current registry snapshot.
+	 *
+	 * @param publishedService the endpoint returned by the registry after publishing
+	 * @deprecated local services are now updated on a copy of the registry snapshot, use
+	 * {@link #rebuildLocalServiceEndpointAfterPublishing(Map, ServiceEndpoint)} instead
+	 */
+	@Deprecated
 	protected void rebuildLocalServiceEndpointAfterPublishing(ServiceEndpoint publishedService) {
+		synchronized (serviceLock) {
+			long start = System.nanoTime();
+			Map<QName, LocalService> newLocalServices = new HashMap<QName, LocalService>(this.snapshot.getLocalServices());
+			rebuildLocalServiceEndpointAfterPublishing(newLocalServices, publishedService);
+			swapSnapshot(this.snapshot.withLocalServices(newLocalServices), start);
+		}
+	}
+
+	/**
+	 * Replaces the local service for the given published endpoint in a copy of the local services.
+	 *
+	 * @param localServices the copy of the local services which will be published in the next snapshot
+	 * @param publishedService the endpoint returned by the registry after publishing
+	 */
+	protected void rebuildLocalServiceEndpointAfterPublishing(Map<QName, LocalService> localServices, ServiceEndpoint publishedService) {
 		// verify the service is still published
 		QName serviceName = publishedService.getInfo().getServiceName();
 		if (localServices.containsKey(serviceName)) {
@@ -555,6 +597,49 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
 		}
 	}
 
+	/**
+	 * Publishes a new registry snapshot, must be called while holding the service lock.
+	 *
+	 * @param newSnapshot the snapshot to publish
+	 * @param startNanos the {@link System#nanoTime()} at which the construction of the new snapshot began, after any
+	 * service export or removal has completed
+	 */
+	private void swapSnapshot(RegistrySnapshot newSnapshot, long startNanos) {
+		this.snapshot = newSnapshot;
+		long elapsed = System.nanoTime() - startNanos;
+		this.lastSnapshotSwapNanos = elapsed;
+		this.snapshotSwapNanos.addAndGet(elapsed);
+		this.snapshotSwapCount.incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of times the registry snapshot has been replaced.
+	 *
+	 * @return the number of snapshot swaps
+	 */
+	public long getSnapshotSwapCount() {
+		return this.snapshotSwapCount.get();
+	}
+
+	/**
+	 * Returns the total time spent building and publishing registry snapshots, in nanoseconds.  The time spent
+	 * exporting or removing the services themselves is not included.
+	 *
+	 * @return the total snapshot swap time
+	 */
+	public long getSnapshotSwapTotalNanos() {
+		return this.snapshotSwapNanos.get();
+	}
+
+	/**
+	 * Returns the time spent building and publishing the most recent registry snapshot, in nanoseconds.
+	 *
+	 * @return the latest snapshot swap time
+	 */
+	public long getLastSnapshotSwapNanos() {
+		return this.lastSnapshotSwapNanos;
+	}
+
 	public void setServiceRegistry(ServiceRegistry serviceRegistry) {
 		this.serviceRegistry = serviceRegistry;
 	}
@@ -574,5 +659,84 @@ public class ServiceBusImpl extends BaseLifecycle implements ServiceBus, Initial
     private static interface SyncProcessor {
         void sync(CompleteServiceDiff diff);
     }
+
+	/**
+	 * An immutable view of the local services and client registry cache.  Neither the maps nor the sets of remote
+	 * services they contain may be modified once the snapshot has been constructed.
+	 */
+	private static final class RegistrySnapshot {
+
+		static final RegistrySnapshot EMPTY = new RegistrySnapshot(Collections.<QName, LocalService>emptyMap(),
+				Collections.<QName, Set<RemoteService>>emptyMap(), null);
+
+		/**
+		 * Contains endpoints for services which were published by this client application.
+		 */
+		private final Map<QName, LocalService> localServices;
+
+		/**
+		 * Contains endpoints for services which exist remotely.  This list may not be
+		 * entirely complete as entries get lazily loaded into it as services are requested.
+		 */
+		private final Map<QName, Set<RemoteService>> remoteServices;
+
+		/**
+		 * The registry version the remote services have been synchronized up to, null if unknown.
+		 */
+		private final ServiceRegistryVersion registryVersion;
+
+		private RegistrySnapshot(Map<QName, LocalService> localServices, Map<QName, Set<RemoteService>> remoteServices,
+				ServiceRegistryVersion registryVersion) {
+			this.localServices = localServices;
+			this.remoteServices = remoteServices;
+			this.registryVersion = registryVersion;
+		}
+
+		RegistrySnapshot withLocalServices(Map<QName, LocalService> newLocalServices) {
+			return new RegistrySnapshot(Collections.unmodifiableMap(newLocalServices), this.remoteServices,
+					this.registryVersion);
+		}
+
+		RegistrySnapshot withRemoteServices(Map<QName, Set<RemoteService>> newRemoteServices,
+				ServiceRegistryVersion newRegistryVersion) {
+			return new RegistrySnapshot(this.localServices, Collections.unmodifiableMap(newRemoteServices),
+					newRegistryVersion);
+		}
+
+		RegistrySnapshot withRegistryVersion(ServiceRegistryVersion newRegistryVersion) {
+			return new RegistrySnapshot(this.localServices, this.remoteServices, newRegistryVersion);
+		}
+
+		ServiceRegistryVersion getRegistryVersion() {
+			return this.registryVersion;
+		}
+
+		Map<QName, LocalService> getLocalServices() {
+			return this.localServices;
+		}
+
+		Map<QName, Set<RemoteService>> getRemoteServices() {
+			return this.remoteServices;
+		}
+
+		Endpoint getLocalEndpoint(QName serviceName) {
+			LocalService localService = this.localServices.get(serviceName);
+			if (localService != null) {
+				return localService.getEndpoint();
+			}
+			return null;
+		}
+
+		List<Endpoint> getRemoteEndpoints(QName serviceName) {
+			List<Endpoint> endpoints = new ArrayList<Endpoint>();
+			Set<RemoteService> remoteServiceSet = this.remoteServices.get(serviceName);
+			if (remoteServiceSet != null) {
+				for (RemoteService remoteService : remoteServiceSet) {
+					endpoints.add(remoteService.getEndpoint());
+				}
+			}
+			return endpoints;
+		}
+	}
 	
 }
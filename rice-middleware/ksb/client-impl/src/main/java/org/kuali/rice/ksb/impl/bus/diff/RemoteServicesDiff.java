@@ -31,10 +31,16 @@ public class RemoteServicesDiff {
 
 	private final List<ServiceInfo> newServices;
 	private final List<RemoteService> removedServices;
+	private final ServiceRegistryVersion registryVersion;
 	
 	public RemoteServicesDiff(List<ServiceInfo> newServices, List<RemoteService> removedServices) {
+		this(newServices, removedServices, null);
+	}
+
+	public RemoteServicesDiff(List<ServiceInfo> newServices, List<RemoteService> removedServices, ServiceRegistryVersion registryVersion) {
 		this.newServices = newServices == null ? new ArrayList<ServiceInfo>(0) : newServices;
 		this.removedServices = removedServices == null ? new ArrayList<RemoteService>(0) : removedServices;
+		this.registryVersion = registryVersion;
 	}
 	
 	
@@ -45,5 +51,15 @@ public class RemoteServicesDiff {
 	public List<RemoteService> getRemovedServices() {
 		return this.removedServices;
 	} 
+
+	/**
+	 * Returns the registry version the client registry cache will be at once this diff has been applied, or null if
+	 * the registry did not supply a version.
+	 *
+	 * @return the registry version, may be null
+	 */
+	public ServiceRegistryVersion getRegistryVersion() {
+		return this.registryVersion;
+	}
 	
 }
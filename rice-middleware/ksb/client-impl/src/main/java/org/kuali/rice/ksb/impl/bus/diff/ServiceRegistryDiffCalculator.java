@@ -29,5 +29,18 @@ import org.kuali.rice.ksb.impl.bus.RemoteService;
 public interface ServiceRegistryDiffCalculator {
 	
 	public CompleteServiceDiff diffServices(String instanceId, List<LocalService> localServices, List<RemoteService> clientRegistryCache);
+
+	/**
+	 * Calculates the differences between the client service bus state and the service registry state.  If the
+	 * client registry cache is known to be at the given registry version, the calculator may retrieve only the
+	 * changes to the registry since that version rather than all online services.
+	 *
+	 * @param instanceId the instance id of the client
+	 * @param localServices the services published by the client
+	 * @param clientRegistryCache the remote services currently known to the client
+	 * @param registryVersion the registry version of the client registry cache, may be null if unknown
+	 * @return the differences, never null
+	 */
+	public CompleteServiceDiff diffServices(String instanceId, List<LocalService> localServices, List<RemoteService> clientRegistryCache, ServiceRegistryVersion registryVersion);
 	
 }
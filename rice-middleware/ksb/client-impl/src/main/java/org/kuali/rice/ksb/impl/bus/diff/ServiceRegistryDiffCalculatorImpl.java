@@ -21,18 +21,35 @@ import java.util.List;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPFault;
+import javax.xml.ws.soap.SOAPFaultException;
 
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.Logger;
+import org.kuali.rice.core.api.config.property.ConfigContext;
 import org.kuali.rice.ksb.api.registry.ServiceInfo;
 import org.kuali.rice.ksb.api.registry.ServiceRegistry;
+import org.kuali.rice.ksb.api.registry.ServiceRegistryChanges;
 import org.kuali.rice.ksb.impl.bus.LocalService;
 import org.kuali.rice.ksb.impl.bus.RemoteService;
+import org.kuali.rice.ksb.util.KSBConstants;
 
 /**
  * Default implementation of the {@link ServiceRegistryDiffCalculator} which calculates
  * differences between client service bus state and service registry state.
  * 
+ * <p>When {@link KSBConstants.Config#REGISTRY_DELTA_SYNC} is enabled and the
+ * version of the client registry cache is known, only the changes made to the
+ * registry since that version are retrieved to calculate the remote services
+ * diff.  A full synchronization is still performed if the registry reports a
+ * gap in its change feed, if retrieving the changes fails, and
+ * every {@link KSBConstants.Config#REGISTRY_FULL_SYNC_INTERVAL} synchronizations
+ * as a safety net against changes made to the registry tables directly.  The change
+ * feed is only disabled for good if the registry reports that it does not
+ * support the operation, any other failure falls back to a full synchronization
+ * for that synchronization only.
+ * 
  * @author Kuali Rice Team (rice.collab@kuali.org)
  *
  */
@@ -40,7 +57,14 @@ public class ServiceRegistryDiffCalculatorImpl implements ServiceRegistryDiffCal
 
 	private static final Logger LOG = Logger.getLogger(ServiceRegistryDiffCalculatorImpl.class);
 	
+	private static final int DEFAULT_FULL_SYNC_INTERVAL = 10;
+
+	private static final String CHANGE_FEED_OPERATION = "getOnlineServiceChangesSince";
+
 	private ServiceRegistry serviceRegistry;
+
+	private volatile boolean changeFeedSupported = true;
+	private int syncsSinceFullSync;
 	
 	public void setServiceRegistry(ServiceRegistry serviceRegistry) {
 		this.serviceRegistry = serviceRegistry;
@@ -48,13 +72,146 @@ public class ServiceRegistryDiffCalculatorImpl implements ServiceRegistryDiffCal
 	
 	@Override
 	public CompleteServiceDiff diffServices(String instanceId, List<LocalService> localServices, List<RemoteService> clientRegistryCache) {
-        List<ServiceInfo> allRegistryServices = serviceRegistry.getAllOnlineServices();
+		return diffServices(instanceId, localServices, clientRegistryCache, null);
+	}
+
+	@Override
+	public CompleteServiceDiff diffServices(String instanceId, List<LocalService> localServices, List<RemoteService> clientRegistryCache, ServiceRegistryVersion registryVersion) {
         List<ServiceInfo> allRegistryServicesForInstance = serviceRegistry.getAllServicesForInstance(instanceId);
 		LocalServicesDiff localServicesDiff = calculateLocalServicesDiff(allRegistryServicesForInstance, instanceId, localServices);
-		RemoteServicesDiff remoteServicesDiff = calculateRemoteServicesDiff(allRegistryServices, clientRegistryCache);
+		RemoteServicesDiff remoteServicesDiff = null;
+		if (isDeltaSyncEnabled()) {
+			remoteServicesDiff = calculateRemoteServicesDiffFromChanges(registryVersion, clientRegistryCache);
+		}
+		if (remoteServicesDiff == null) {
+			ServiceRegistryVersion currentVersion = isDeltaSyncEnabled() ? getCurrentRegistryVersion() : null;
+			List<ServiceInfo> allRegistryServices = serviceRegistry.getAllOnlineServices();
+			RemoteServicesDiff fullDiff = calculateRemoteServicesDiff(allRegistryServices, clientRegistryCache);
+			remoteServicesDiff = new RemoteServicesDiff(fullDiff.getNewServices(), fullDiff.getRemovedServices(), currentVersion);
+		}
 		return new CompleteServiceDiff(localServicesDiff, remoteServicesDiff);
 	}
 
+	protected boolean isDeltaSyncEnabled() {
+		return changeFeedSupported && ConfigContext.getCurrentContextConfig().getBooleanProperty(KSBConstants.Config.REGISTRY_DELTA_SYNC, false);
+	}
+
+	/**
+	 * Calculates the remote services diff from the registry change feed.
+	 *
+	 * @return the diff, or null if a full synchronization needs to be performed instead
+	 */
+	protected RemoteServicesDiff calculateRemoteServicesDiffFromChanges(ServiceRegistryVersion registryVersion, List<RemoteService> clientRegistryCache) {
+		if (registryVersion == null || isFullSyncDue()) {
+			return null;
+		}
+		ServiceRegistryChanges changes;
+		try {
+			changes = serviceRegistry.getOnlineServiceChangesSince(registryVersion.getRegistryId(), registryVersion.getVersion());
+		} catch (RuntimeException e) {
+			handleChangeFeedFailure(e);
+			return null;
+		}
+		if (changes.isFullSyncRequired()) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Service registry could not supply changes since " + registryVersion + ", performing full synchronization");
+			}
+			return null;
+		}
+
+		Map<String, RemoteService> indexedClientRegistryCache = new HashMap<String, RemoteService>(clientRegistryCache.size());
+		for (RemoteService remoteService : clientRegistryCache) {
+			indexedClientRegistryCache.put(remoteService.getServiceInfo().getServiceId(), remoteService);
+		}
+		List<ServiceInfo> servicesToAddToClientRegistryCache = new ArrayList<ServiceInfo>();
+		List<RemoteService> servicesToRemoveFromClientRegistryCache = new ArrayList<RemoteService>();
+		for (String removedServiceId : changes.getRemovedServiceIds()) {
+			RemoteService remoteService = indexedClientRegistryCache.get(removedServiceId);
+			if (remoteService != null) {
+				servicesToRemoveFromClientRegistryCache.add(remoteService);
+			}
+		}
+		for (ServiceInfo updatedService : changes.getUpdatedServices()) {
+			RemoteService remoteService = indexedClientRegistryCache.get(updatedService.getServiceId());
+			if (remoteService == null) {
+				servicesToAddToClientRegistryCache.add(updatedService);
+			} else if (!remoteService.getServiceInfo().getChecksum().equals(updatedService.getChecksum())) {
+				servicesToRemoveFromClientRegistryCache.add(remoteService);
+				servicesToAddToClientRegistryCache.add(updatedService);
+			}
+		}
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("From registry changes since " + registryVersion + " found " + servicesToRemoveFromClientRegistryCache.size()
+					+ " services to remove from client registry cache, " + servicesToAddToClientRegistryCache.size()
+					+ " services to add to client registry cache");
+		}
+
+		return new RemoteServicesDiff(servicesToAddToClientRegistryCache, servicesToRemoveFromClientRegistryCache,
+				new ServiceRegistryVersion(changes.getRegistryId(), changes.getVersion()));
+	}
+
+	/**
+	 * Retrieves the current registry version, which must happen before all online services are retrieved so that no
+	 * changes are missed by the next delta synchronization.
+	 */
+	protected ServiceRegistryVersion getCurrentRegistryVersion() {
+		try {
+			ServiceRegistryChanges changes = serviceRegistry.getOnlineServiceChangesSince(null, 0);
+			return new ServiceRegistryVersion(changes.getRegistryId(), changes.getVersion());
+		} catch (RuntimeException e) {
+			handleChangeFeedFailure(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Handles a failure to retrieve changes from the registry.  The change feed is disabled only if the registry
+	 * does not support it, any other failure (such as a network or database error) only causes a full
+	 * synchronization to be performed for the current synchronization.
+	 */
+	protected void handleChangeFeedFailure(RuntimeException e) {
+		if (isChangeFeedUnsupported(e)) {
+			LOG.warn("Service registry does not support retrieving changes, disabling delta synchronization", e);
+			changeFeedSupported = false;
+		} else {
+			LOG.warn("Failed to retrieve changes from the service registry, falling back to full synchronization", e);
+		}
+	}
+
+	/**
+	 * Determines whether the given failure indicates that the registry does not support the change feed, either
+	 * because it threw an {@link UnsupportedOperationException} or because a remote registry returned a SOAP fault
+	 * for the unknown change feed operation.
+	 */
+	protected boolean isChangeFeedUnsupported(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof UnsupportedOperationException) {
+				return true;
+			}
+			if (cause instanceof SOAPFaultException) {
+				SOAPFault fault = ((SOAPFaultException) cause).getFault();
+				if (fault != null && StringUtils.contains(fault.getFaultString(), CHANGE_FEED_OPERATION)) {
+					return true;
+				}
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return false;
+	}
+
+	private synchronized boolean isFullSyncDue() {
+		long fullSyncInterval = ConfigContext.getCurrentContextConfig().getNumericProperty(
+				KSBConstants.Config.REGISTRY_FULL_SYNC_INTERVAL, DEFAULT_FULL_SYNC_INTERVAL);
+		if (fullSyncInterval > 0 && ++syncsSinceFullSync >= fullSyncInterval) {
+			syncsSinceFullSync = 0;
+			return true;
+		}
+		return false;
+	}
+
 	protected LocalServicesDiff calculateLocalServicesDiff(List<ServiceInfo> allRegistryServicesForInstance, String instanceId, List<LocalService> localServices) {
 		
 		List<ServiceInfo> servicesToRemoveFromRegistry = new ArrayList<ServiceInfo>();
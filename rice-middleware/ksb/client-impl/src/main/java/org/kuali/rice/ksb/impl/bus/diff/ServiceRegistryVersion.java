@@ -0,0 +1,49 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.ksb.impl.bus.diff;
+
+/**
+ * Identifies the point in the registry's change feed which a client registry cache is synchronized up to.
+ *
+ * @see org.kuali.rice.ksb.api.registry.ServiceRegistry#getOnlineServiceChangesSince(String, long)
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ *
+ */
+public final class ServiceRegistryVersion {
+
+	private final String registryId;
+	private final long version;
+
+	public ServiceRegistryVersion(String registryId, long version) {
+		this.registryId = registryId;
+		this.version = version;
+	}
+
+	public String getRegistryId() {
+		return this.registryId;
+	}
+
+	public long getVersion() {
+		return this.version;
+	}
+
+	@Override
+	public String toString() {
+		return "[ServiceRegistryVersion: registryId=" + this.registryId + ", version=" + this.version + "]";
+	}
+
+}
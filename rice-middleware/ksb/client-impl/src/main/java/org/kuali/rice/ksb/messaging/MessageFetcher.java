@@ -23,9 +23,15 @@ import org.kuali.rice.ksb.util.KSBConstants;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Fetches messages from the db. Marks as 'R'. Gives messages to ThreadPool for execution
  *
+ * <p>When {@link KSBConstants.Config#MESSAGE_FETCHER_CLAIM_MODE} is enabled the whole batch of messages is claimed in
+ * a single transaction instead of marking and saving each message in a transaction of its own.</p>
+ *
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
 public class MessageFetcher implements Runnable {
@@ -58,9 +64,15 @@ public class MessageFetcher implements Runnable {
     private void requeueMessages() {
         if (this.routeQueueId == null) {
             try {
-                for (PersistedMessageBO message : getRouteQueueService().getNextDocuments(maxMessages)) {
-                    message = markEnrouteAndSaveMessage(message);
-                    executeMessage(message);
+                if (isClaimMode()) {
+                    for (PersistedMessageBO message : claimMessages()) {
+                        executeMessage(message);
+                    }
+                } else {
+                    for (PersistedMessageBO message : getRouteQueueService().getNextDocuments(maxMessages)) {
+                        message = markEnrouteAndSaveMessage(message);
+                        executeMessage(message);
+                    }
                 }
             } catch (Throwable t) {
                 LOG.error("Failed to fetch or process some messages during requeueMessages", t);
@@ -103,6 +115,24 @@ public class MessageFetcher implements Runnable {
         return message;
     }
 
+    private List<PersistedMessageBO> claimMessages() {
+        try {
+            return KSBServiceLocator.getTransactionTemplate().execute(new TransactionCallback<List<PersistedMessageBO>>() {
+                public List<PersistedMessageBO> doInTransaction(TransactionStatus status) {
+                    return getRouteQueueService().claimNextDocuments(maxMessages);
+                }
+            });
+        } catch (Throwable t) {
+            LOG.error("Caught error attempting to claim messages", t);
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean isClaimMode() {
+        return ConfigContext.getCurrentContextConfig().getBooleanProperty(KSBConstants.Config.MESSAGE_FETCHER_CLAIM_MODE,
+                false);
+    }
+
     private MessageQueueService getRouteQueueService() {
         return KSBServiceLocator.getMessageQueueService();
     }
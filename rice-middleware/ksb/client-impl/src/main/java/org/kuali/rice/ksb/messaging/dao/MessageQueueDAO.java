@@ -37,6 +37,16 @@ public interface MessageQueueDAO {
 
     public List<PersistedMessageBO> getNextDocuments(Integer maxDocuments);
 
+    /**
+     * Claims the next batch of messages queued for routing on this node.  The batch is locked, marked as routing and
+     * has its version incremented as a unit, so the caller must invoke this method within a transaction.  Rows which
+     * are currently locked by another node are skipped on platforms which support it.
+     *
+     * @param maxDocuments the maximum number of messages to claim, or null to claim all available messages
+     * @return the claimed messages, already marked as routing
+     */
+    public List<PersistedMessageBO> claimNextDocuments(Integer maxDocuments);
+
     public List<PersistedMessageBO> findByServiceName(QName serviceName, String methodName);
 
     /**
@@ -18,18 +18,22 @@ package org.kuali.rice.ksb.messaging.dao.impl;
 import org.kuali.rice.core.api.config.CoreConfigHelper;
 import org.kuali.rice.core.api.exception.RiceRuntimeException;
 import org.kuali.rice.core.api.util.RiceUtilities;
+import org.kuali.rice.krad.data.platform.DatabasePlatformInfo;
+import org.kuali.rice.krad.data.platform.DatabasePlatforms;
 import org.kuali.rice.ksb.messaging.PersistedMessageBO;
 import org.kuali.rice.ksb.messaging.PersistedMessagePayload;
 import org.kuali.rice.ksb.messaging.dao.MessageQueueDAO;
 import org.kuali.rice.ksb.util.KSBConstants;
 
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.sql.DataSource;
 import javax.xml.namespace.QName;
 import java.util.List;
 import java.util.Map;
@@ -38,8 +42,19 @@ public class MessageQueueDaoJpa implements MessageQueueDAO {
 
     private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(MessageQueueDaoJpa.class);
 
+    /**
+     * Native equivalent of the PersistedMessageBO.GetNextDocuments query which skips rows locked by other claimants.
+     */
+    private static final String CLAIM_NEXT_DOCUMENTS_SKIP_LOCKED_SQL = "SELECT * FROM KRSB_MSG_QUE_T"
+            + " WHERE APPL_ID = ?1 AND STAT_CD <> ?2 AND IP_NBR = ?3"
+            + " ORDER BY PRIO ASC, MSG_QUE_ID ASC, DT ASC FOR UPDATE SKIP LOCKED";
+
     private EntityManager entityManager;
 
+    private DataSource dataSource;
+
+    private Boolean skipLockedSupported;
+
     public List<PersistedMessageBO> findAll() {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Returning all persisted messages");
@@ -112,6 +127,77 @@ public class MessageQueueDaoJpa implements MessageQueueDAO {
         return query.getResultList();
     }
 
+    @SuppressWarnings("unchecked")
+    public List<PersistedMessageBO> claimNextDocuments(Integer maxDocuments) {
+        String applicationId = CoreConfigHelper.getApplicationId();
+        String ipNumber = RiceUtilities.getIpNumber();
+
+        List<PersistedMessageBO> messages;
+        if (isSkipLockedSupported()) {
+            Query query = entityManager.createNativeQuery(CLAIM_NEXT_DOCUMENTS_SKIP_LOCKED_SQL, PersistedMessageBO.class);
+            query.setParameter(1, applicationId);
+            query.setParameter(2, KSBConstants.ROUTE_QUEUE_EXCEPTION);
+            query.setParameter(3, ipNumber);
+            if (maxDocuments != null) {
+                query.setMaxResults(maxDocuments);
+            }
+            messages = query.getResultList();
+        } else {
+            // no skip locked support on this platform, fall back to blocking until competing claims are committed
+            TypedQuery<PersistedMessageBO> query = entityManager.createNamedQuery(
+                    "PersistedMessageBO.GetNextDocuments", PersistedMessageBO.class);
+            query.setParameter("applicationId", applicationId);
+            query.setParameter("queueStatus", KSBConstants.ROUTE_QUEUE_EXCEPTION);
+            query.setParameter("ipNumber", ipNumber);
+            query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+            if (maxDocuments != null) {
+                query.setMaxResults(maxDocuments);
+            }
+            messages = query.getResultList();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Claiming " + messages.size() + " messages for " + ipNumber);
+        }
+
+        // the rows are locked by this transaction, so the updates for the whole batch are written in a single flush.
+        // Every claim increments the version, even for messages which are already routing, so that a fetcher still
+        // holding a copy from an earlier claim fails with an optimistic lock exception when it saves the message.
+        for (PersistedMessageBO message : messages) {
+            message.setQueueStatus(KSBConstants.ROUTE_QUEUE_ROUTING);
+            entityManager.lock(message, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+        entityManager.flush();
+
+        return messages;
+    }
+
+    /**
+     * Determines whether the message datasource supports {@code SELECT ... FOR UPDATE SKIP LOCKED}.  If no datasource
+     * has been injected, the portable (blocking) claim query is used.
+     *
+     * @return true if skip locked can be used when claiming messages
+     */
+    protected boolean isSkipLockedSupported() {
+        if (skipLockedSupported == null) {
+            boolean supported = false;
+            if (dataSource != null) {
+                try {
+                    DatabasePlatformInfo platformInfo = DatabasePlatforms.detectPlatform(dataSource);
+                    if (DatabasePlatforms.ORACLE.equalsIgnoreCase(platformInfo.getName())) {
+                        supported = platformInfo.getMajorVersion() >= 11;
+                    } else if (DatabasePlatforms.MYSQL.equalsIgnoreCase(platformInfo.getName())) {
+                        supported = platformInfo.getMajorVersion() >= 8;
+                    }
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to detect the message database platform, claiming messages without skip locked", e);
+                }
+            }
+            skipLockedSupported = Boolean.valueOf(supported);
+        }
+        return skipLockedSupported.booleanValue();
+    }
+
     public void remove(PersistedMessageBO routeQueue) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Removing message " + routeQueue);
@@ -153,4 +239,12 @@ public class MessageQueueDaoJpa implements MessageQueueDAO {
         this.entityManager = entityManager;
     }
 
+    public DataSource getDataSource() {
+        return this.dataSource;
+    }
+
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
 }
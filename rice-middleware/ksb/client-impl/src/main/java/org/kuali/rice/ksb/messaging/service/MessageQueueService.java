@@ -62,6 +62,15 @@ public interface MessageQueueService {
      */
     List<PersistedMessageBO> getNextDocuments(Integer maxDocuments);
 
+    /**
+     * Claims a batch of RouteQueue documents which are queued for routing, marking all of them as routing in a
+     * single transaction.  Will not claim more RouteQueues than the value of maxDocuments.
+     *
+     * @param maxDocuments the maximum number of messages to claim, or null for no limit
+     * @return the claimed messages, already marked as routing
+     */
+    List<PersistedMessageBO> claimNextDocuments(Integer maxDocuments);
+
     PersistedMessagePayload findByPersistedMessageByRouteQueueId(Long routeQueueId);
     
     /**
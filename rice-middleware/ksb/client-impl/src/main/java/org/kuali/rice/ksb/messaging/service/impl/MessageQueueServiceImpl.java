@@ -24,6 +24,7 @@ import org.kuali.rice.ksb.messaging.service.MessageQueueService;
 import org.kuali.rice.ksb.util.KSBConstants;
 
 import javax.xml.namespace.QName;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -72,6 +73,13 @@ public class MessageQueueServiceImpl implements MessageQueueService {
         return this.getMessageQueueDao().getNextDocuments(maxDocuments);
     }
 
+    public List<PersistedMessageBO> claimNextDocuments(Integer maxDocuments) {
+        if (Boolean.valueOf(ConfigContext.getCurrentContextConfig().getProperty(KSBConstants.Config.MESSAGE_PERSISTENCE))) {
+            return this.getMessageQueueDao().claimNextDocuments(maxDocuments);
+        }
+        return Collections.emptyList();
+    }
+
     public MessageQueueDAO getMessageQueueDao() {
         return this.messageQueueDao;
     }
@@ -16,6 +16,7 @@
 package org.kuali.rice.ksb.messaging.threadpool;
 
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 
@@ -53,5 +54,60 @@ public interface KSBThreadPool extends ExecutorService, Lifecycle {
 	public BlockingQueue getQueue();
 
 	public Object getInstance();
+
+	/**
+	 * Returns the statistics of the lanes of the pool's work queue, if the pool is configured to use lanes.
+	 *
+	 * @return the lane statistics, or an empty list if the pool does not use lanes
+	 */
+	public List<LaneBlockingQueue.LaneStatistics> getLaneStatistics();
+
+	/**
+	 * Returns whether the pool's work queue is split into lanes.
+	 *
+	 * @return true if the pool uses lanes
+	 */
+	public boolean isLanesEnabled();
+
+	/**
+	 * Returns the capacity of lanes which have not been configured individually.
+	 *
+	 * @return the lane capacity
+	 */
+	public int getLaneCapacity();
+
+	/**
+	 * Sets the capacity of lanes which have not been configured individually.  Has no effect if the pool does not use
+	 * lanes.
+	 *
+	 * @param capacity the lane capacity, must be positive
+	 */
+	public void setLaneCapacity(int capacity);
+
+	/**
+	 * Returns the maximum number of threads which may execute messages from a single lane at once, for lanes which
+	 * have not been configured individually.
+	 *
+	 * @return the active limit, zero or less for no limit
+	 */
+	public int getLaneMaxActive();
+
+	/**
+	 * Sets the maximum number of threads which may execute messages from a single lane at once, for lanes which have
+	 * not been configured individually.  Has no effect if the pool does not use lanes.
+	 *
+	 * @param maxActive the active limit, zero or less for no limit
+	 */
+	public void setLaneMaxActive(int maxActive);
+
+	/**
+	 * Overrides the capacity and the maximum number of active threads of a single lane.  Has no effect if the pool
+	 * does not use lanes.
+	 *
+	 * @param laneName the name of the lane
+	 * @param capacity the capacity, or null to use the pool wide setting
+	 * @param maxActive the active limit, or null to use the pool wide setting
+	 */
+	public void setLaneLimits(String laneName, Integer capacity, Integer maxActive);
 }
 
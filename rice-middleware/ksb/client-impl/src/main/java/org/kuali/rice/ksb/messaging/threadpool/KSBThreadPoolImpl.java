@@ -20,7 +20,11 @@ import org.kuali.rice.core.api.config.CoreConfigHelper;
 import org.kuali.rice.core.api.config.property.Config;
 import org.kuali.rice.core.api.config.property.ConfigContext;
 import org.kuali.rice.core.api.util.ClassLoaderUtils;
+import org.kuali.rice.ksb.util.KSBConstants;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadFactory;
@@ -30,6 +34,12 @@ import java.util.concurrent.TimeUnit;
 /**
  * A Thread Pool implementation for the KSB which implements a thread pool backed by a configuration store.
  *
+ * <p>If {@link KSBConstants.Config#THREAD_POOL_LANES_ENABLED} is set, queued messages are held in a
+ * {@link LaneBlockingQueue} instead of a single priority queue, which bounds the queue depth and the number of workers
+ * each service namespace (or queue priority) can occupy.  The lane limits are read by {@link #loadSettings()} when the
+ * pool starts and can be changed while it is running from the thread pool screen, which calls the lane setters of
+ * this class.</p>
+ *
  * @author Kuali Rice Team (rice.collab@kuali.org)
  */
 public class KSBThreadPoolImpl extends ThreadPoolExecutor implements KSBThreadPool {
@@ -37,12 +47,103 @@ public class KSBThreadPoolImpl extends ThreadPoolExecutor implements KSBThreadPo
     private static final Logger LOG = Logger.getLogger(KSBThreadPoolImpl.class);
 
     public static final int DEFAULT_POOL_SIZE = 5;
+    public static final int DEFAULT_LANE_CAPACITY = Integer.MAX_VALUE;
+    public static final int DEFAULT_LANE_MAX_ACTIVE = 0;
 
     private boolean started;
     private boolean poolSizeSet;
 
     public KSBThreadPoolImpl() {
-    	super(DEFAULT_POOL_SIZE, DEFAULT_POOL_SIZE, 60, TimeUnit.SECONDS, new PriorityBlockingQueue(1, new PriorityBlockingQueuePersistedMessageComparator()),  new KSBThreadFactory(ClassLoaderUtils.getDefaultClassLoader()), new ThreadPoolExecutor.AbortPolicy());
+    	super(DEFAULT_POOL_SIZE, DEFAULT_POOL_SIZE, 60, TimeUnit.SECONDS, createWorkQueue(),  new KSBThreadFactory(ClassLoaderUtils.getDefaultClassLoader()), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Creates the work queue, a {@link LaneBlockingQueue} if lanes are enabled, otherwise a priority queue.
+     */
+    private static BlockingQueue createWorkQueue() {
+        Config config = ConfigContext.getCurrentContextConfig();
+        if (config != null && config.getBooleanProperty(KSBConstants.Config.THREAD_POOL_LANES_ENABLED, false)) {
+            LaneBlockingQueue.LaneKey laneKey = LaneBlockingQueue.LaneKey.fromString(config.getProperty(
+                    KSBConstants.Config.THREAD_POOL_LANE_KEY));
+            LOG.info("Using a lane work queue keyed by " + laneKey + " for the KSB thread pool.");
+            return new LaneBlockingQueue(laneKey, DEFAULT_LANE_CAPACITY, DEFAULT_LANE_MAX_ACTIVE);
+        }
+        return new PriorityBlockingQueue(1, new PriorityBlockingQueuePersistedMessageComparator());
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable task) {
+        super.beforeExecute(thread, task);
+        if (getQueue() instanceof LaneBlockingQueue) {
+            ((LaneBlockingQueue) getQueue()).beforeExecute(task);
+        }
+    }
+
+    @Override
+    protected void afterExecute(Runnable task, Throwable throwable) {
+        if (getQueue() instanceof LaneBlockingQueue) {
+            ((LaneBlockingQueue) getQueue()).afterExecute();
+        }
+        super.afterExecute(task, throwable);
+    }
+
+    public List<LaneBlockingQueue.LaneStatistics> getLaneStatistics() {
+        if (getQueue() instanceof LaneBlockingQueue) {
+            return ((LaneBlockingQueue) getQueue()).getLaneStatistics();
+        }
+        return Collections.emptyList();
+    }
+
+    public boolean isLanesEnabled() {
+        return getQueue() instanceof LaneBlockingQueue;
+    }
+
+    public int getLaneCapacity() {
+        if (getQueue() instanceof LaneBlockingQueue) {
+            return ((LaneBlockingQueue) getQueue()).getDefaultCapacity();
+        }
+        return DEFAULT_LANE_CAPACITY;
+    }
+
+    /**
+     * Sets the capacity of lanes which have not been configured individually.  Has no effect if lanes are not enabled.
+     */
+    public void setLaneCapacity(int capacity) {
+        if (getQueue() instanceof LaneBlockingQueue) {
+            LOG.info("Setting lane capacity to " + capacity + " messages.");
+            ((LaneBlockingQueue) getQueue()).setDefaultCapacity(capacity);
+        }
+    }
+
+    public int getLaneMaxActive() {
+        if (getQueue() instanceof LaneBlockingQueue) {
+            return ((LaneBlockingQueue) getQueue()).getDefaultMaxActive();
+        }
+        return DEFAULT_LANE_MAX_ACTIVE;
+    }
+
+    /**
+     * Sets the maximum number of threads which may execute messages from a single lane at once, for lanes which have
+     * not been configured individually.  Zero or less means no limit.  Has no effect if lanes are not enabled.
+     */
+    public void setLaneMaxActive(int maxActive) {
+        if (getQueue() instanceof LaneBlockingQueue) {
+            LOG.info("Setting lane max active to " + maxActive + " threads.");
+            ((LaneBlockingQueue) getQueue()).setDefaultMaxActive(maxActive);
+        }
+    }
+
+    /**
+     * Overrides the capacity and the maximum number of active threads of a single lane.  A null value reverts to the
+     * pool wide setting.  Has no effect if lanes are not enabled.
+     */
+    public void setLaneLimits(String laneName, Integer capacity, Integer maxActive) {
+        if (getQueue() instanceof LaneBlockingQueue) {
+            LOG.info("Setting limits of lane '" + laneName + "' to capacity=" + capacity + ", maxActive=" + maxActive);
+            LaneBlockingQueue laneQueue = (LaneBlockingQueue) getQueue();
+            laneQueue.setLaneCapacity(laneName, capacity);
+            laneQueue.setLaneMaxActive(laneName, maxActive);
+        }
     }
 
     public void setCorePoolSize(int corePoolSize) {
@@ -92,6 +193,13 @@ public class KSBThreadPoolImpl extends ThreadPoolExecutor implements KSBThreadPo
 		    }
 		    setCorePoolSize(poolSize);
 		}
+		if (getQueue() instanceof LaneBlockingQueue) {
+		    Config config = ConfigContext.getCurrentContextConfig();
+		    setLaneCapacity((int) config.getNumericProperty(KSBConstants.Config.THREAD_POOL_LANE_CAPACITY,
+		            DEFAULT_LANE_CAPACITY));
+		    setLaneMaxActive((int) config.getNumericProperty(KSBConstants.Config.THREAD_POOL_LANE_MAX_ACTIVE,
+		            DEFAULT_LANE_MAX_ACTIVE));
+		}
     }
 
     public Object getInstance() {
@@ -0,0 +1,690 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.ksb.messaging.threadpool;
+
+import org.apache.commons.lang.StringUtils;
+import org.kuali.rice.ksb.messaging.MessageServiceInvoker;
+import org.kuali.rice.ksb.messaging.PersistedMessageBO;
+
+import javax.xml.namespace.QName;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A work queue for the {@link KSBThreadPoolImpl} which splits queued tasks into lanes, keyed by the service namespace
+ * or the queue priority of the message being invoked.
+ *
+ * <p>Each lane is bounded by a capacity and by the maximum number of its tasks which may execute at the same time.
+ * Worker threads are not bound to a lane, whenever a worker asks for work it takes the highest priority task from any
+ * lane which has not reached its active limit, so idle workers pick up the backlog of other lanes instead of waiting on
+ * their own.  A single slow or flooded service can therefore only occupy the workers its lane is allowed and can only
+ * queue up to its lane's capacity, offers beyond which are rejected.  The capacity and active limits may be changed
+ * at any time and take effect on the next offer or take.</p>
+ *
+ * <p>Tasks which are not {@link MessageServiceInvoker}s are placed in the {@link #DEFAULT_LANE}.  Within a lane, and
+ * between lanes when choosing the next task, tasks are ordered using the
+ * {@link PriorityBlockingQueuePersistedMessageComparator} and then by the order they were queued in.</p>
+ *
+ * <p>The owning executor must call {@link #beforeExecute(Runnable)} and {@link #afterExecute()} around every task it
+ * runs so that the active counts and execution times of the lanes are maintained.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class LaneBlockingQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    public static final String DEFAULT_LANE = "default";
+
+    /**
+     * Determines which lane a message is placed in.
+     */
+    public enum LaneKey {
+        /** one lane per service namespace */
+        NAMESPACE,
+        /** one lane per message queue priority */
+        PRIORITY;
+
+        public static LaneKey fromString(String value) {
+            if (StringUtils.isBlank(value)) {
+                return NAMESPACE;
+            }
+            return valueOf(value.trim().toUpperCase());
+        }
+    }
+
+    private final LaneKey laneKey;
+    private final Comparator<Object> comparator;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<String, Lane> lanes = new LinkedHashMap<String, Lane>();
+    private final ThreadLocal<Execution> currentExecution = new ThreadLocal<Execution>();
+
+    private volatile int defaultCapacity;
+    private volatile int defaultMaxActive;
+    private long sequence;
+    private int count;
+
+    /**
+     * Creates a new lane queue.
+     *
+     * @param laneKey determines which lane each message is placed in
+     * @param defaultCapacity the capacity of lanes which have not been configured individually, must be positive
+     * @param defaultMaxActive the active limit of lanes which have not been configured individually, zero or less
+     * for no limit
+     */
+    @SuppressWarnings("unchecked")
+    public LaneBlockingQueue(LaneKey laneKey, int defaultCapacity, int defaultMaxActive) {
+        if (defaultCapacity < 1) {
+            throw new IllegalArgumentException("defaultCapacity must be at least 1");
+        }
+        this.laneKey = laneKey;
+        this.comparator = new PriorityBlockingQueuePersistedMessageComparator();
+        this.defaultCapacity = defaultCapacity;
+        this.defaultMaxActive = defaultMaxActive;
+    }
+
+    /**
+     * Returns the name of the lane the given task belongs in.
+     *
+     * @param task the task
+     * @return the lane name, never null
+     */
+    protected String getLaneName(Runnable task) {
+        if (!(task instanceof MessageServiceInvoker)) {
+            return DEFAULT_LANE;
+        }
+        PersistedMessageBO message = ((MessageServiceInvoker) task).getMessage();
+        if (message == null) {
+            return DEFAULT_LANE;
+        }
+        if (laneKey == LaneKey.PRIORITY) {
+            return "priority-" + message.getQueuePriority();
+        }
+        if (StringUtils.isBlank(message.getServiceName())) {
+            return DEFAULT_LANE;
+        }
+        String namespace = QName.valueOf(message.getServiceName()).getNamespaceURI();
+        return StringUtils.isBlank(namespace) ? DEFAULT_LANE : namespace;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        String laneName = getLaneName(task);
+        lock.lock();
+        try {
+            Lane lane = getOrCreateLane(laneName);
+            if (lane.tasks.size() >= lane.getCapacity()) {
+                lane.rejected++;
+                return false;
+            }
+            lane.tasks.add(new Entry(task, sequence++, System.nanoTime()));
+            lane.enqueued++;
+            count++;
+            available.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the task to its lane.  Lanes are never waited on for space.
+     *
+     * @throws IllegalStateException if the task's lane is full
+     */
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        if (!offer(task)) {
+            throw new IllegalStateException("Lane '" + getLaneName(task) + "' is full");
+        }
+    }
+
+    /**
+     * Offers the task to its lane.  Lanes are never waited on for space, a full lane rejects the task immediately.
+     */
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer(task);
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = dequeue(true)) == null) {
+                available.await();
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = dequeue(true)) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = available.awaitNanos(nanos);
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return dequeue(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            Lane lane = selectLane();
+            return lane == null ? null : lane.tasks.peek().task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lanes are bounded individually, so the queue as a whole does not report a remaining capacity.
+     */
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            for (Lane lane : lanes.values()) {
+                for (Iterator<Entry> iterator = lane.tasks.iterator(); iterator.hasNext();) {
+                    if (o.equals(iterator.next().task)) {
+                        iterator.remove();
+                        count--;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Drains the queued tasks from every lane, regardless of the lanes' active limits.
+     */
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int drained = 0;
+            for (Lane lane : lanes.values()) {
+                while (drained < maxElements && !lane.tasks.isEmpty()) {
+                    c.add(lane.tasks.poll().task);
+                    count--;
+                    drained++;
+                }
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the queued tasks.  Removing through the iterator removes the task from
+     * this queue.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        final List<Runnable> snapshot = new ArrayList<Runnable>();
+        lock.lock();
+        try {
+            for (Lane lane : lanes.values()) {
+                for (Entry entry : lane.tasks) {
+                    snapshot.add(entry.task);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Iterator<Runnable>() {
+            private final Iterator<Runnable> delegate = snapshot.iterator();
+            private Runnable last;
+
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            public Runnable next() {
+                last = delegate.next();
+                return last;
+            }
+
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                LaneBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * Records that the calling thread is about to execute the given task.  Tasks taken from this queue by the calling
+     * thread have already been counted as active when they were taken, tasks handed directly to a new worker are
+     * counted here.
+     *
+     * @param task the task about to be executed
+     */
+    public void beforeExecute(Runnable task) {
+        Execution execution = currentExecution.get();
+        if (execution == null || execution.task != task) {
+            String laneName = getLaneName(task);
+            lock.lock();
+            try {
+                getOrCreateLane(laneName).active++;
+            } finally {
+                lock.unlock();
+            }
+            execution = new Execution(laneName, task);
+            currentExecution.set(execution);
+        }
+        execution.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Records that the calling thread has finished executing the task passed to the last call to
+     * {@link #beforeExecute(Runnable)}, which may allow a waiting worker to take a task from that lane.
+     */
+    public void afterExecute() {
+        Execution execution = currentExecution.get();
+        if (execution == null) {
+            return;
+        }
+        currentExecution.remove();
+        long executionNanos = System.nanoTime() - execution.startNanos;
+        lock.lock();
+        try {
+            Lane lane = lanes.get(execution.laneName);
+            lane.active--;
+            lane.completed++;
+            lane.totalExecutionNanos += executionNanos;
+            if (!lane.tasks.isEmpty()) {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of every lane which has been used so far.
+     *
+     * @return the lane statistics, in the order the lanes were first used
+     */
+    public List<LaneStatistics> getLaneStatistics() {
+        lock.lock();
+        try {
+            List<LaneStatistics> statistics = new ArrayList<LaneStatistics>(lanes.size());
+            for (Map.Entry<String, Lane> entry : lanes.entrySet()) {
+                Lane lane = entry.getValue();
+                statistics.add(new LaneStatistics(entry.getKey(), lane.tasks.size(), lane.active, lane.getCapacity(),
+                        lane.getMaxActive(), lane.enqueued, lane.taken, lane.completed, lane.rejected,
+                        lane.totalWaitNanos, lane.totalExecutionNanos));
+            }
+            return statistics;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public LaneKey getLaneKey() {
+        return laneKey;
+    }
+
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    public void setDefaultCapacity(int defaultCapacity) {
+        if (defaultCapacity < 1) {
+            throw new IllegalArgumentException("defaultCapacity must be at least 1");
+        }
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    public int getDefaultMaxActive() {
+        return defaultMaxActive;
+    }
+
+    public void setDefaultMaxActive(int defaultMaxActive) {
+        this.defaultMaxActive = defaultMaxActive;
+        signalAll();
+    }
+
+    /**
+     * Overrides the capacity of a single lane.
+     *
+     * @param laneName the name of the lane
+     * @param capacity the capacity, or null to use the default capacity again
+     */
+    public void setLaneCapacity(String laneName, Integer capacity) {
+        if (capacity != null && capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        lock.lock();
+        try {
+            getOrCreateLane(laneName).capacity = capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Overrides the active limit of a single lane.
+     *
+     * @param laneName the name of the lane
+     * @param maxActive the active limit, zero or less for no limit, or null to use the default limit again
+     */
+    public void setLaneMaxActive(String laneName, Integer maxActive) {
+        lock.lock();
+        try {
+            getOrCreateLane(laneName).maxActive = maxActive;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalAll() {
+        lock.lock();
+        try {
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lane getOrCreateLane(String laneName) {
+        Lane lane = lanes.get(laneName);
+        if (lane == null) {
+            lane = new Lane(laneName);
+            lanes.put(laneName, lane);
+        }
+        return lane;
+    }
+
+    /**
+     * Selects the lane holding the next task to run: the best task at the head of any lane which is under its active
+     * limit.  Must be called while holding the lock.
+     */
+    private Lane selectLane() {
+        Lane selected = null;
+        for (Lane lane : lanes.values()) {
+            if (lane.tasks.isEmpty() || !lane.hasActiveCapacity()) {
+                continue;
+            }
+            if (selected == null || compare(lane.tasks.peek(), selected.tasks.peek()) < 0) {
+                selected = lane;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Removes the next task to run.  Must be called while holding the lock.
+     *
+     * @param worker whether the calling thread is a worker which will execute the task, in which case the task is
+     * counted as active right away so that other workers respect the lane's active limit
+     */
+    private Runnable dequeue(boolean worker) {
+        Lane lane = selectLane();
+        if (lane == null) {
+            return null;
+        }
+        Entry entry = lane.tasks.poll();
+        count--;
+        lane.taken++;
+        lane.totalWaitNanos += System.nanoTime() - entry.enqueuedNanos;
+        if (worker) {
+            lane.active++;
+            currentExecution.set(new Execution(lane.name, entry.task));
+        }
+        if (count > 0) {
+            available.signal();
+        }
+        return entry.task;
+    }
+
+    private int compare(Entry entry1, Entry entry2) {
+        int result = comparator.compare(entry1.task, entry2.task);
+        if (result != 0) {
+            return result;
+        }
+        return entry1.sequence < entry2.sequence ? -1 : (entry1.sequence == entry2.sequence ? 0 : 1);
+    }
+
+    private final class Lane {
+        private final String name;
+        private final PriorityQueue<Entry> tasks = new PriorityQueue<Entry>(11, new Comparator<Entry>() {
+            public int compare(Entry entry1, Entry entry2) {
+                return LaneBlockingQueue.this.compare(entry1, entry2);
+            }
+        });
+        private Integer capacity;
+        private Integer maxActive;
+        private int active;
+        private long enqueued;
+        private long taken;
+        private long completed;
+        private long rejected;
+        private long totalWaitNanos;
+        private long totalExecutionNanos;
+
+        private Lane(String name) {
+            this.name = name;
+        }
+
+        private int getCapacity() {
+            return capacity == null ? defaultCapacity : capacity;
+        }
+
+        private int getMaxActive() {
+            return maxActive == null ? defaultMaxActive : maxActive;
+        }
+
+        private boolean hasActiveCapacity() {
+            int limit = getMaxActive();
+            return limit <= 0 || active < limit;
+        }
+    }
+
+    private static final class Entry {
+        private final Runnable task;
+        private final long sequence;
+        private final long enqueuedNanos;
+
+        private Entry(Runnable task, long sequence, long enqueuedNanos) {
+            this.task = task;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private static final class Execution {
+        private final String laneName;
+        private final Runnable task;
+        private long startNanos;
+
+        private Execution(String laneName, Runnable task) {
+            this.laneName = laneName;
+            this.task = task;
+        }
+    }
+
+    /**
+     * An immutable snapshot of the state and counters of a single lane.
+     */
+    public static final class LaneStatistics {
+
+        private final String laneName;
+        private final int depth;
+        private final int activeCount;
+        private final int capacity;
+        private final int maxActive;
+        private final long enqueuedCount;
+        private final long takenCount;
+        private final long completedCount;
+        private final long rejectedCount;
+        private final long totalWaitNanos;
+        private final long totalExecutionNanos;
+
+        LaneStatistics(String laneName, int depth, int activeCount, int capacity, int maxActive, long enqueuedCount,
+                long takenCount, long completedCount, long rejectedCount, long totalWaitNanos,
+                long totalExecutionNanos) {
+            this.laneName = laneName;
+            this.depth = depth;
+            this.activeCount = activeCount;
+            this.capacity = capacity;
+            this.maxActive = maxActive;
+            this.enqueuedCount = enqueuedCount;
+            this.takenCount = takenCount;
+            this.completedCount = completedCount;
+            this.rejectedCount = rejectedCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.totalExecutionNanos = totalExecutionNanos;
+        }
+
+        public String getLaneName() {
+            return laneName;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getActiveCount() {
+            return activeCount;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getMaxActive() {
+            return maxActive;
+        }
+
+        public long getEnqueuedCount() {
+            return enqueuedCount;
+        }
+
+        /**
+         * @return the number of tasks taken from this lane for execution, which excludes tasks removed or drained
+         */
+        public long getTakenCount() {
+            return takenCount;
+        }
+
+        public long getCompletedCount() {
+            return completedCount;
+        }
+
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        public long getTotalWaitNanos() {
+            return totalWaitNanos;
+        }
+
+        public long getTotalExecutionNanos() {
+            return totalExecutionNanos;
+        }
+
+        /**
+         * @return the average time in milliseconds tasks taken from this lane spent queued
+         */
+        public long getAverageWaitMillis() {
+            return takenCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / takenCount);
+        }
+
+        /**
+         * @return the average time in milliseconds tasks from this lane took to execute
+         */
+        public long getAverageExecutionMillis() {
+            return completedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalExecutionNanos / completedCount);
+        }
+
+    }
+
+}
@@ -53,6 +53,13 @@ public final class KSBConstants {
         public static final String INSTANCE_ID = "rice.ksb.bus.instanceId";
         public static final String REGISTRY_SERVICE_URL = "rice.ksb.registry.serviceUrl";
         public static final String WEB_FORCE_ENABLE = "rice.ksb.web.forceEnable";
+        public static final String MESSAGE_FETCHER_CLAIM_MODE = "rice.ksb.messageFetcher.claimMode";
+        public static final String REGISTRY_DELTA_SYNC = "rice.ksb.registry.deltaSync";
+        public static final String REGISTRY_FULL_SYNC_INTERVAL = "rice.ksb.registry.fullSyncInterval";
+        public static final String THREAD_POOL_LANES_ENABLED = "rice.ksb.threadPool.lanes.enabled";
+        public static final String THREAD_POOL_LANE_KEY = "rice.ksb.threadPool.lanes.key";
+        public static final String THREAD_POOL_LANE_CAPACITY = "rice.ksb.threadPool.lanes.capacity";
+        public static final String THREAD_POOL_LANE_MAX_ACTIVE = "rice.ksb.threadPool.lanes.maxActive";
 
 
     	private Config() {
@@ -17,6 +17,9 @@ package org.kuali.rice.ksb.impl.bus.diff
 
 import groovy.mock.interceptor.MockFor
 import javax.xml.namespace.QName
+import javax.xml.soap.SOAPConstants
+import javax.xml.soap.SOAPFactory
+import javax.xml.ws.soap.SOAPFaultException
 import org.apache.commons.lang.RandomStringUtils
 import org.junit.Before
 import org.junit.Ignore
@@ -29,8 +32,10 @@ import org.kuali.rice.ksb.api.bus.support.SoapServiceDefinition
 import org.kuali.rice.ksb.api.registry.ServiceEndpointStatus
 import org.kuali.rice.ksb.api.registry.ServiceInfo
 import org.kuali.rice.ksb.api.registry.ServiceRegistry
+import org.kuali.rice.ksb.api.registry.ServiceRegistryChanges
 import org.kuali.rice.ksb.impl.bus.LocalService
 import org.kuali.rice.ksb.impl.bus.RemoteService
+import org.kuali.rice.ksb.util.KSBConstants
 
 class ServiceRegistryDiffCalculatorImplTest {
     private static final org.apache.log4j.Logger LOG = org.apache.log4j.Logger.getLogger(ServiceRegistryDiffCalculatorImplTest.class)
@@ -43,6 +48,7 @@ class ServiceRegistryDiffCalculatorImplTest {
 	private static final String TEST3_INSTANCE_ID = "${TEST3_NAMESPACE}-${LOCALHOST_IP}";
 	
 	private static final def CONFIG_MAP = [(CoreConstants.Config.APPLICATION_ID) : "TEST", (CoreConstants.Config.INSTANCE_ID) : "TEST1"]
+	private static final def DELTA_SYNC_CONFIG_MAP = [(KSBConstants.Config.REGISTRY_DELTA_SYNC) : "true", (KSBConstants.Config.REGISTRY_FULL_SYNC_INTERVAL) : "0"]
 	
 	int nextServiceId = 1
     ServiceRegistryDiffCalculatorImpl diffCalculatorImpl
@@ -192,6 +198,70 @@ class ServiceRegistryDiffCalculatorImplTest {
 		assert removedFound[3]
 	}
 	
+	@Test
+	void testCalculateRemoteServicesDiffFromChanges_transientFailure() {
+		int calls = 0
+		diffCalculatorImpl.setServiceRegistry([getOnlineServiceChangesSince: { String registryId, long version ->
+			if (calls++ == 0) {
+				throw new RuntimeException("Connection refused")
+			}
+			return ServiceRegistryChanges.create(registryId, version + 1, [newServiceInfoPrototype().build()], [])
+		}] as ServiceRegistry)
+
+		doInConfig(DELTA_SYNC_CONFIG_MAP) {
+			ServiceRegistryVersion registryVersion = new ServiceRegistryVersion("registry", 5)
+			// a transient failure only falls back to a full synchronization for this synchronization
+			assert diffCalculatorImpl.calculateRemoteServicesDiffFromChanges(registryVersion, []) == null
+			assert diffCalculatorImpl.isDeltaSyncEnabled()
+
+			RemoteServicesDiff remoteServicesDiff = diffCalculatorImpl.calculateRemoteServicesDiffFromChanges(registryVersion, [])
+			assert remoteServicesDiff != null
+			assert remoteServicesDiff.getNewServices().size() == 1
+			assert remoteServicesDiff.getRegistryVersion().getVersion() == 6
+		}
+	}
+
+	@Test
+	void testCalculateRemoteServicesDiffFromChanges_unsupportedOperation() {
+		diffCalculatorImpl.setServiceRegistry([getOnlineServiceChangesSince: { String registryId, long version ->
+			throw new UnsupportedOperationException()
+		}] as ServiceRegistry)
+
+		doInConfig(DELTA_SYNC_CONFIG_MAP) {
+			assert diffCalculatorImpl.calculateRemoteServicesDiffFromChanges(new ServiceRegistryVersion("registry", 5), []) == null
+			assert !diffCalculatorImpl.isDeltaSyncEnabled()
+		}
+	}
+
+	@Test
+	void testCalculateRemoteServicesDiffFromChanges_unknownOperationFault() {
+		def fault = SOAPFactory.newInstance().createFault(
+				"Unexpected wrapper element {http://rice.kuali.org/ksb/v2_0}getOnlineServiceChangesSince found.",
+				SOAPConstants.SOAP_SENDER_FAULT)
+		diffCalculatorImpl.setServiceRegistry([getOnlineServiceChangesSince: { String registryId, long version ->
+			throw new SOAPFaultException(fault)
+		}] as ServiceRegistry)
+
+		doInConfig(DELTA_SYNC_CONFIG_MAP) {
+			assert diffCalculatorImpl.getCurrentRegistryVersion() == null
+			assert !diffCalculatorImpl.isDeltaSyncEnabled()
+		}
+	}
+
+	@Test
+	void testCalculateRemoteServicesDiffFromChanges_serverFault() {
+		def fault = SOAPFactory.newInstance().createFault("Could not open JDBC connection",
+				SOAPConstants.SOAP_RECEIVER_FAULT)
+		diffCalculatorImpl.setServiceRegistry([getOnlineServiceChangesSince: { String registryId, long version ->
+			throw new SOAPFaultException(fault)
+		}] as ServiceRegistry)
+
+		doInConfig(DELTA_SYNC_CONFIG_MAP) {
+			assert diffCalculatorImpl.getCurrentRegistryVersion() == null
+			assert diffCalculatorImpl.isDeltaSyncEnabled()
+		}
+	}
+
 	@Test
 	void testCalculateLocalServicesDiff_emptyLists() {
 		LocalServicesDiff localServicesDiff = diffCalculatorImpl.calculateLocalServicesDiff([], TEST1_INSTANCE_ID, [])
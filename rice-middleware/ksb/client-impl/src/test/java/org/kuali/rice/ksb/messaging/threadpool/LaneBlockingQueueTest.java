@@ -0,0 +1,132 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.ksb.messaging.threadpool;
+
+import org.junit.Test;
+import org.kuali.rice.ksb.messaging.MessageServiceInvoker;
+import org.kuali.rice.ksb.messaging.PersistedMessageBO;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the lane selection and limits of {@link LaneBlockingQueue}.
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class LaneBlockingQueueTest {
+
+    @Test
+    public void testLaneCapacity() {
+        LaneBlockingQueue queue = new LaneBlockingQueue(LaneBlockingQueue.LaneKey.NAMESPACE, 2, 0);
+
+        assertTrue(queue.offer(createTask("{ns1}service", 5)));
+        assertTrue(queue.offer(createTask("{ns1}service", 5)));
+        assertFalse(queue.offer(createTask("{ns1}service", 5)));
+        assertTrue(queue.offer(createTask("{ns2}service", 5)));
+        assertEquals(3, queue.size());
+
+        LaneBlockingQueue.LaneStatistics statistics = queue.getLaneStatistics().get(0);
+        assertEquals("ns1", statistics.getLaneName());
+        assertEquals(2, statistics.getDepth());
+        assertEquals(1, statistics.getRejectedCount());
+
+        queue.setDefaultCapacity(3);
+        assertTrue(queue.offer(createTask("{ns1}service", 5)));
+    }
+
+    @Test
+    public void testPriorityOrderAcrossLanes() throws Exception {
+        LaneBlockingQueue queue = new LaneBlockingQueue(LaneBlockingQueue.LaneKey.NAMESPACE, 10, 0);
+        MessageServiceInvoker low = createTask("{ns1}service", 10);
+        MessageServiceInvoker high = createTask("{ns2}service", 1);
+        queue.offer(low);
+        queue.offer(high);
+
+        assertSame(high, queue.poll(0, TimeUnit.MILLISECONDS));
+        assertSame(low, queue.poll(0, TimeUnit.MILLISECONDS));
+        assertNull(queue.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testMaxActiveLetsOtherLanesProceed() throws Exception {
+        LaneBlockingQueue queue = new LaneBlockingQueue(LaneBlockingQueue.LaneKey.NAMESPACE, 10, 1);
+        MessageServiceInvoker slow1 = createTask("{slow}service", 1);
+        MessageServiceInvoker slow2 = createTask("{slow}service", 1);
+        MessageServiceInvoker other = createTask("{other}service", 5);
+        queue.offer(slow1);
+        queue.offer(slow2);
+        queue.offer(other);
+
+        Runnable task = queue.poll(0, TimeUnit.MILLISECONDS);
+        assertSame(slow1, task);
+        queue.beforeExecute(task);
+
+        // the slow lane is at its limit, so the lower priority task from the other lane is taken instead
+        assertSame(other, queue.poll());
+        assertNull(queue.poll());
+
+        queue.afterExecute();
+        assertSame(slow2, queue.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDrainIgnoresMaxActive() throws Exception {
+        LaneBlockingQueue queue = new LaneBlockingQueue(LaneBlockingQueue.LaneKey.PRIORITY, 10, 1);
+        queue.offer(createTask("{ns}service", 1));
+        queue.offer(createTask("{ns}service", 1));
+        queue.offer(createTask("{ns}service", 2));
+        queue.poll(0, TimeUnit.MILLISECONDS);
+
+        List<Runnable> drained = new ArrayList<Runnable>();
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testAverageWaitCountsOnlyTakenTasks() throws Exception {
+        LaneBlockingQueue queue = new LaneBlockingQueue(LaneBlockingQueue.LaneKey.NAMESPACE, 10, 0);
+        MessageServiceInvoker removed = createTask("{ns}service", 5);
+        queue.offer(createTask("{ns}service", 1));
+        queue.offer(removed);
+        queue.offer(createTask("{ns}service", 10));
+        Thread.sleep(50);
+
+        assertTrue(queue.remove(removed));
+        assertNotNull(queue.poll(0, TimeUnit.MILLISECONDS));
+        assertEquals(1, queue.drainTo(new ArrayList<Runnable>()));
+
+        // only the task which was taken waited, the removed and drained tasks must not dilute its wait time
+        LaneBlockingQueue.LaneStatistics statistics = queue.getLaneStatistics().get(0);
+        assertEquals(3, statistics.getEnqueuedCount());
+        assertEquals(1, statistics.getTakenCount());
+        assertEquals(0, statistics.getDepth());
+        assertTrue(statistics.getAverageWaitMillis() >= 50);
+    }
+
+    private MessageServiceInvoker createTask(String serviceName, int priority) {
+        PersistedMessageBO message = new PersistedMessageBO();
+        message.setServiceName(serviceName);
+        message.setQueuePriority(priority);
+        message.setQueueDate(new Timestamp(System.currentTimeMillis()));
+        return new MessageServiceInvoker(message);
+    }
+
+}
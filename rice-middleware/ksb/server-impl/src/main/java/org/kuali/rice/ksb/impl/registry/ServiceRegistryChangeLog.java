@@ -0,0 +1,182 @@
+/**
+ * Copyright 2005-2015 The Kuali Foundation
+ *
+ * Licensed under the Educational Community License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.opensource.org/licenses/ecl2.php
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kuali.rice.ksb.impl.registry;
+
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A bounded log of the changes made to services in the registry, kept in the registry database so that it is shared
+ * by every registry node using that database.
+ *
+ * <p>Every recorded change is assigned the next registry version from the single row of {@code KRSB_SVC_REG_VER_T}
+ * and stored in {@code KRSB_SVC_CHG_T} as part of the transaction making the change.  The version row stays locked
+ * until that transaction completes, so versions become visible in order and a reader never sees a version while an
+ * older one is still uncommitted.  Only the id of the changed service is recorded, the current state of the service
+ * is read from {@code KRSB_SVC_DEF_T} when the changes are requested.</p>
+ *
+ * <p>The log is identified by a registry id which is generated when the version row is first created, so versions
+ * are never mistaken for versions of a registry database which has since been recreated.  Only the most recent
+ * {@code maxSize} changes are retained; requests for changes older than that require a full synchronization.</p>
+ *
+ * @author Kuali Rice Team (rice.collab@kuali.org)
+ */
+public class ServiceRegistryChangeLog {
+
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final String SELECT_VERSION_SQL = "select REG_ID, CHG_VER from KRSB_SVC_REG_VER_T where REG_VER_ID = 1";
+    private static final String UPDATE_VERSION_SQL = "update KRSB_SVC_REG_VER_T set CHG_VER = CHG_VER + 1 where REG_VER_ID = 1";
+    private static final String INSERT_VERSION_SQL = "insert into KRSB_SVC_REG_VER_T (REG_VER_ID, REG_ID, CHG_VER) values (1, ?, 1)";
+    private static final String INSERT_CHANGE_SQL = "insert into KRSB_SVC_CHG_T (CHG_VER, SVC_DEF_ID) values (?, ?)";
+    private static final String DELETE_CHANGES_SQL = "delete from KRSB_SVC_CHG_T where CHG_VER <= ?";
+    private static final String SELECT_OLDEST_CHANGE_SQL = "select min(CHG_VER) from KRSB_SVC_CHG_T";
+    private static final String SELECT_CHANGED_SERVICE_IDS_SQL =
+            "select distinct SVC_DEF_ID from KRSB_SVC_CHG_T where CHG_VER > ? and CHG_VER <= ?";
+
+    private DataSource dataSource;
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    /**
+     * Records a change to the given service in the current transaction.  Services are recorded whether they were
+     * published, updated, taken offline or removed.
+     *
+     * @param serviceId the id of the changed service
+     */
+    public void recordChange(String serviceId) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        // locks the version row until the transaction completes, which keeps the versions in commit order
+        if (template.update(UPDATE_VERSION_SQL) == 0) {
+            try {
+                template.update(INSERT_VERSION_SQL, UUID.randomUUID().toString());
+            } catch (DuplicateKeyException e) {
+                // another transaction created the row first
+                template.update(UPDATE_VERSION_SQL);
+            }
+        }
+        long version = readVersion(template).getVersion();
+        template.update(INSERT_CHANGE_SQL, version, serviceId);
+        if (version > maxSize) {
+            template.update(DELETE_CHANGES_SQL, version - maxSize);
+        }
+    }
+
+    /**
+     * Returns the ids of the services changed since the given version.
+     *
+     * @param registryId the registry id the version belongs to
+     * @param sinceVersion the version the caller is at
+     * @return the changed services since the given version, with a null list of service ids if a full
+     * synchronization is required
+     */
+    public ChangedServices getChangedServicesSince(String registryId, long sinceVersion) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        ChangedServices current = readVersion(template);
+        if (current.getRegistryId() == null || !current.getRegistryId().equals(registryId)
+                || sinceVersion > current.getVersion()) {
+            return current;
+        }
+        if (sinceVersion == current.getVersion()) {
+            return new ChangedServices(current.getRegistryId(), current.getVersion(), Collections.<String>emptyList());
+        }
+        Long oldestRetained = template.queryForObject(SELECT_OLDEST_CHANGE_SQL, Long.class);
+        if (oldestRetained == null || sinceVersion + 1 < oldestRetained.longValue()) {
+            return current;
+        }
+        List<String> serviceIds = template.queryForList(SELECT_CHANGED_SERVICE_IDS_SQL, String.class, sinceVersion,
+                current.getVersion());
+        return new ChangedServices(current.getRegistryId(), current.getVersion(), serviceIds);
+    }
+
+    private ChangedServices readVersion(JdbcTemplate template) {
+        List<ChangedServices> versions = template.query(SELECT_VERSION_SQL, new RowMapper<ChangedServices>() {
+            @Override
+            public ChangedServices mapRow(ResultSet rs, int rowNum) throws SQLException {
+                return new ChangedServices(rs.getString(1), rs.getLong(2), null);
+            }
+        });
+        if (versions.isEmpty()) {
+            return new ChangedServices(null, 0, null);
+        }
+        return versions.get(0);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Required
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = new TransactionAwareDataSourceProxy(dataSource);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * The ids of the services changed up to a registry version.
+     */
+    public static final class ChangedServices {
+        private final String registryId;
+        private final long version;
+        private final List<String> serviceIds;
+
+        ChangedServices(String registryId, long version, List<String> serviceIds) {
+            this.registryId = registryId;
+            this.version = version;
+            this.serviceIds = serviceIds;
+        }
+
+        public String getRegistryId() {
+            return registryId;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Returns the ids of the changed services, or null if the changes could not be determined and a full
+         * synchronization is required.
+         */
+        public List<String> getServiceIds() {
+            return serviceIds;
+        }
+
+        public boolean isFullSyncRequired() {
+            return serviceIds == null;
+        }
+    }
+
+}
@@ -26,26 +26,40 @@ import org.kuali.rice.ksb.api.registry.ServiceEndpoint;
 import org.kuali.rice.ksb.api.registry.ServiceEndpointStatus;
 import org.kuali.rice.ksb.api.registry.ServiceInfo;
 import org.kuali.rice.ksb.api.registry.ServiceRegistry;
+import org.kuali.rice.ksb.api.registry.ServiceRegistryChanges;
 import org.springframework.beans.factory.annotation.Required;
 
 import javax.xml.namespace.QName;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.kuali.rice.core.api.criteria.PredicateFactory.equal;
+import static org.kuali.rice.core.api.criteria.PredicateFactory.in;
 
 /**
  * Reference implementation of the {@link ServiceRegistry} which is backed by a
  * data access object that handles reading and writing data related to registry
  * entries from a backend datastore.
  *
+ * <p>If a {@link ServiceRegistryChangeLog} is configured, changes made
+ * through this registry are also recorded in it as part of their
+ * transaction, which allows clients to retrieve only the changes since their
+ * last synchronization.  The change log is kept in the same datastore, so it
+ * includes the changes made through every registry instance sharing that
+ * datastore.
+ *
  * @author Kuali Rice Team (rice.collab@kuali.org)
  *
  */
 public class ServiceRegistryImpl implements ServiceRegistry {
 
+    private static final int CHANGED_SERVICES_QUERY_SIZE = 500;
+
     private DataObjectService dataObjectService;
+    private ServiceRegistryChangeLog changeLog;
 
 	@Override
 	public List<ServiceInfo> getOnlineServicesByName(QName serviceName)
@@ -70,6 +84,37 @@ public class ServiceRegistryImpl implements ServiceRegistry {
                 ServiceInfoBo.class,builder.build()).getResults();
 		return convertServiceInfoBoList(serviceInfoBos);
 	}
+
+	@Override
+	public ServiceRegistryChanges getOnlineServiceChangesSince(String registryId, long version) {
+		if (getChangeLog() == null) {
+			throw new UnsupportedOperationException("getOnlineServiceChangesSince requires a service registry change log");
+		}
+		ServiceRegistryChangeLog.ChangedServices changedServices = getChangeLog().getChangedServicesSince(registryId,
+				version);
+		if (changedServices.isFullSyncRequired()) {
+			return ServiceRegistryChanges.fullSyncRequired(changedServices.getRegistryId(), changedServices.getVersion());
+		}
+
+		// the change log only holds the ids, services which are no longer online have been removed or taken offline
+		List<String> serviceIds = changedServices.getServiceIds();
+		Set<String> removedServiceIds = new LinkedHashSet<String>(serviceIds);
+		List<ServiceInfo> updatedServices = new ArrayList<ServiceInfo>();
+		for (int start = 0; start < serviceIds.size(); start += CHANGED_SERVICES_QUERY_SIZE) {
+			List<String> chunk = serviceIds.subList(start, Math.min(start + CHANGED_SERVICES_QUERY_SIZE,
+					serviceIds.size()));
+			QueryByCriteria.Builder builder = QueryByCriteria.Builder.create();
+			builder.setPredicates(in("serviceId", chunk),
+					equal("statusCode", ServiceEndpointStatus.ONLINE.getCode()));
+			for (ServiceInfoBo serviceInfoBo : getDataObjectService().findMatching(ServiceInfoBo.class,
+					builder.build()).getResults()) {
+				updatedServices.add(ServiceInfoBo.to(serviceInfoBo));
+				removedServiceIds.remove(serviceInfoBo.getServiceId());
+			}
+		}
+		return ServiceRegistryChanges.create(changedServices.getRegistryId(), changedServices.getVersion(),
+				updatedServices, new ArrayList<String>(removedServiceIds));
+	}
 	
 	@Override
 	public List<ServiceInfo> getAllServices() {
@@ -144,9 +189,10 @@ public class ServiceRegistryImpl implements ServiceRegistry {
 		serviceInfoBo.setServiceDescriptorId(serviceDescriptorBo.getId());
         serviceInfoBo = getDataObjectService().save(serviceInfoBo);
 		
-		
-		return ServiceEndpoint.Builder.create(ServiceInfo.Builder.create(serviceInfoBo),
+		ServiceEndpoint publishedEndpoint = ServiceEndpoint.Builder.create(ServiceInfo.Builder.create(serviceInfoBo),
 				ServiceDescriptor.Builder.create(serviceDescriptorBo)).build();
+		recordChange(publishedEndpoint.getInfo().getServiceId());
+		return publishedEndpoint;
 	}
 
 	@Override
@@ -183,11 +229,13 @@ public class ServiceRegistryImpl implements ServiceRegistry {
                 builder = QueryByCriteria.Builder.create();
                 builder.setPredicates(equal("id",serviceInfoBo.getServiceDescriptorId()));
                 getDataObjectService().deleteMatching(ServiceDescriptorBo.class,builder.build());
+                recordChange(serviceId);
                 return endpointPriorRemoval;
            }else{
                 QueryByCriteria.Builder builder = QueryByCriteria.Builder.create();
                 builder.setPredicates(equal("serviceId",serviceInfoBo.getServiceId()));
                 getDataObjectService().deleteMatching(ServiceInfoBo.class,builder.build());
+                recordChange(serviceId);
            }
 		}
 		return null;
@@ -233,7 +281,8 @@ public class ServiceRegistryImpl implements ServiceRegistry {
             return false;
         }
         serviceInfoBo.setStatusCode(status.getCode());
-        getDataObjectService().save(serviceInfoBo);
+        serviceInfoBo = getDataObjectService().save(serviceInfoBo);
+        recordChange(serviceInfoBo.getServiceId());
         return true;
 	}
 
@@ -266,9 +315,19 @@ public class ServiceRegistryImpl implements ServiceRegistry {
         for (ServiceInfoBo serviceInfo : results.getResults()) {
             serviceInfo.setStatusCode(ServiceEndpointStatus.OFFLINE.getCode());
             getDataObjectService().save(serviceInfo);
+            recordChange(serviceInfo.getServiceId());
         }
 	}
 
+	/**
+	 * Records a changed service in the change log, if there is one, as part of the current transaction.
+	 */
+	private void recordChange(String serviceId) {
+		if (getChangeLog() != null) {
+			getChangeLog().recordChange(serviceId);
+		}
+	}
+
 	private List<ServiceInfo> convertServiceInfoBoList(List<ServiceInfoBo> serviceInfoBos) {
 		List<ServiceInfo> serviceInfos = new ArrayList<ServiceInfo>();
 		if (serviceInfoBos != null) {
@@ -290,6 +349,14 @@ public class ServiceRegistryImpl implements ServiceRegistry {
         this.dataObjectService = dataObjectService;
     }
 
+    public ServiceRegistryChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    public void setChangeLog(ServiceRegistryChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
 
 
 }
@@ -19,8 +19,10 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.struts.action.ActionForm;
 import org.apache.struts.action.ActionForward;
 import org.apache.struts.action.ActionMapping;
+import org.apache.struts.action.ActionMessage;
 import org.apache.struts.action.ActionMessages;
 import org.kuali.rice.core.api.config.property.ConfigContext;
+import org.kuali.rice.ksb.messaging.threadpool.KSBThreadPool;
 import org.kuali.rice.ksb.service.KSBServiceLocator;
 import org.kuali.rice.ksb.util.KSBConstants;
 
@@ -44,6 +46,36 @@ public class ThreadPoolAction extends KSBAction {
 	return mapping.findForward("basic");
     }
 
+    /**
+     * Changes the lane limits of this node's thread pool, which take effect on the next message queued or taken.
+     */
+    public ActionForward updateLaneLimits(ActionMapping mapping, ActionForm actionForm, HttpServletRequest request,
+	    HttpServletResponse response) throws IOException, ServletException {
+	ThreadPoolForm form = (ThreadPoolForm)actionForm;
+	KSBThreadPool threadPool = KSBServiceLocator.getThreadPool();
+	ActionMessages messages = new ActionMessages();
+	try {
+	    if (form.getLaneCapacity() != null) {
+		threadPool.setLaneCapacity(form.getLaneCapacity());
+	    }
+	    if (form.getLaneMaxActive() != null) {
+		threadPool.setLaneMaxActive(form.getLaneMaxActive());
+	    }
+	    if (!StringUtils.isBlank(form.getOverrideLaneName())) {
+		threadPool.setLaneLimits(form.getOverrideLaneName().trim(), form.getOverrideLaneCapacity(),
+			form.getOverrideLaneMaxActive());
+	    }
+	} catch (IllegalArgumentException e) {
+	    LOG.warn("Invalid lane limits: " + e.getMessage());
+	    messages.add(ActionMessages.GLOBAL_MESSAGE, new ActionMessage("Invalid lane limits: " + e.getMessage(), false));
+	    saveErrors(request, messages);
+	    return mapping.findForward("basic");
+	}
+	messages.add(ActionMessages.GLOBAL_MESSAGE, new ActionMessage("Lane limits updated.", false));
+	saveMessages(request, messages);
+	return mapping.findForward("basic");
+    }
+
     public ActionMessages establishRequiredState(HttpServletRequest request, ActionForm actionForm) throws Exception {
 	ThreadPoolForm form = (ThreadPoolForm)actionForm;
 	form.setThreadPool(KSBServiceLocator.getThreadPool());
@@ -53,6 +85,12 @@ public class ThreadPoolAction extends KSBAction {
 	if (form.getMaximumPoolSize() == null) {
 	    form.setMaximumPoolSize(form.getThreadPool().getMaximumPoolSize());
 	}
+	if (form.getLaneCapacity() == null) {
+	    form.setLaneCapacity(form.getThreadPool().getLaneCapacity());
+	}
+	if (form.getLaneMaxActive() == null) {
+	    form.setLaneMaxActive(form.getThreadPool().getLaneMaxActive());
+	}
 	if (form.getTimeIncrement() == null) {
 	    String timeIncrementValue = ConfigContext.getCurrentContextConfig().getProperty(KSBConstants.Config.ROUTE_QUEUE_TIME_INCREMENT_KEY);
 	    if (!StringUtils.isEmpty(timeIncrementValue)) {
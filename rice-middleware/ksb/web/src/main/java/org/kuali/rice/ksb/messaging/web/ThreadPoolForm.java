@@ -38,6 +38,11 @@ public class ThreadPoolForm extends ActionForm {
     private boolean allServers;
     private Long timeIncrement;
     private Long maxRetryAttempts;
+    private Integer laneCapacity; //editable
+    private Integer laneMaxActive; //editable
+    private String overrideLaneName;
+    private Integer overrideLaneCapacity;
+    private Integer overrideLaneMaxActive;
 
     public String getMethodToCall() {
         return this.methodToCall;
@@ -84,5 +89,35 @@ public class ThreadPoolForm extends ActionForm {
     public void setTimeIncrement(Long timeIncrement) {
         this.timeIncrement = timeIncrement;
     }
+    public Integer getLaneCapacity() {
+        return this.laneCapacity;
+    }
+    public void setLaneCapacity(Integer laneCapacity) {
+        this.laneCapacity = laneCapacity;
+    }
+    public Integer getLaneMaxActive() {
+        return this.laneMaxActive;
+    }
+    public void setLaneMaxActive(Integer laneMaxActive) {
+        this.laneMaxActive = laneMaxActive;
+    }
+    public String getOverrideLaneName() {
+        return this.overrideLaneName;
+    }
+    public void setOverrideLaneName(String overrideLaneName) {
+        this.overrideLaneName = overrideLaneName;
+    }
+    public Integer getOverrideLaneCapacity() {
+        return this.overrideLaneCapacity;
+    }
+    public void setOverrideLaneCapacity(Integer overrideLaneCapacity) {
+        this.overrideLaneCapacity = overrideLaneCapacity;
+    }
+    public Integer getOverrideLaneMaxActive() {
+        return this.overrideLaneMaxActive;
+    }
+    public void setOverrideLaneMaxActive(Integer overrideLaneMaxActive) {
+        this.overrideLaneMaxActive = overrideLaneMaxActive;
+    }
 
 }
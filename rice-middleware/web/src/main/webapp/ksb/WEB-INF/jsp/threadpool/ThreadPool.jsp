@@ -69,6 +69,34 @@ Completed Task Count: <c:out value="${ThreadPoolForm.threadPool.completedTaskCou
 RouteQueue.TimeIncrement: <c:out value="${ThreadPoolForm.timeIncrement}"/><br>
 RouteQueue.maxRetryAttempts: <c:out value="${ThreadPoolForm.maxRetryAttempts}"/><br>
 <br>
+<c:if test="${!empty ThreadPoolForm.threadPool.laneStatistics}">
+<display:table excludedParams="*" class="bord-r-t" style="width:100%" cellspacing="0" cellpadding="0" name="${ThreadPoolForm.threadPool.laneStatistics}" id="lane" requestURI="ThreadPool.do?methodToCall=start">
+  <display:column title="Lane" property="laneName" class="bord-l-b"/>
+  <display:column title="Depth" property="depth" class="bord-l-b"/>
+  <display:column title="Capacity" property="capacity" class="bord-l-b"/>
+  <display:column title="Active" property="activeCount" class="bord-l-b"/>
+  <display:column title="Max Active" property="maxActive" class="bord-l-b"/>
+  <display:column title="Enqueued" property="enqueuedCount" class="bord-l-b"/>
+  <display:column title="Taken" property="takenCount" class="bord-l-b"/>
+  <display:column title="Completed" property="completedCount" class="bord-l-b"/>
+  <display:column title="Rejected" property="rejectedCount" class="bord-l-b"/>
+  <display:column title="Avg Wait (ms)" property="averageWaitMillis" class="bord-l-b"/>
+  <display:column title="Avg Execution (ms)" property="averageExecutionMillis" class="bord-l-b"/>
+</display:table>
+<br>
+</c:if>
+<c:if test="${ThreadPoolForm.threadPool.lanesEnabled}">
+<html-el:form action="/ThreadPool.do">
+<html-el:hidden property="methodToCall" />
+Lane Capacity: <html-el:text property="laneCapacity" size="10"/><br>
+Lane Max Active: <html-el:text property="laneMaxActive" size="5"/> (0 for no limit)<br>
+Override Lane: <html-el:text property="overrideLaneName" size="30"/>
+Capacity: <html-el:text property="overrideLaneCapacity" size="10"/>
+Max Active: <html-el:text property="overrideLaneMaxActive" size="5"/> (blank to use the settings above)<br>
+<input type="button" value="Update Lane Limits" onclick="updateLaneLimits()"/>
+</html-el:form>
+<br>
+</c:if>
 </td>
 </tr>
   <tr>
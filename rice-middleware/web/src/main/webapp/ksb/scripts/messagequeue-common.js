@@ -53,3 +53,9 @@ function deleteApplicationIdEntries()
 	document.forms[0].elements['methodToCall'].value = 'deleteApplicationIdEntries';
    	document.forms[0].submit();
 }
+
+function updateLaneLimits()
+{
+	document.forms[0].elements['methodToCall'].value = 'updateLaneLimits';
+   	document.forms[0].submit();
+}